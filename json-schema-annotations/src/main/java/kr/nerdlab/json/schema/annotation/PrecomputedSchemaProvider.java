@@ -0,0 +1,29 @@
+package kr.nerdlab.json.schema.annotation;
+
+import java.util.Map;
+
+/**
+ * <br>
+ * Service implemented by the registry classes generated at compile time for {@link SchemaDefinition} types.
+ * Each registry lists the schemas that were written as classpath resources during its compilation,
+ * so that they can be loaded without reflecting on the annotated classes.
+ * <p>
+ * Implementations are registered in {@code META-INF/services/kr.nerdlab.json.schema.annotation.PrecomputedSchemaProvider}.
+ */
+public interface PrecomputedSchemaProvider {
+
+    /**
+     * The classpath directory that precomputed schemas are written to.
+     * A schema is stored as {@code RESOURCE_DIRECTORY + <binary class name> + ".json"}.
+     */
+    String RESOURCE_DIRECTORY = "META-INF/json-schema/";
+
+    /**
+     * @return the binary names of the root classes mapped to the classpath resource of their schema
+     */
+    Map<String, String> schemaResources();
+
+    static String resourceName(String binaryClassName) {
+        return RESOURCE_DIRECTORY + binaryClassName + ".json";
+    }
+}
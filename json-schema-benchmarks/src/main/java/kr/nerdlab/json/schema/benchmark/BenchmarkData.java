@@ -0,0 +1,148 @@
+package kr.nerdlab.json.schema.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Schemas and documents shared by the benchmarks. Schemas are written inline (without {@code $ref})
+ * so that every keyword is actually exercised.
+ */
+final class BenchmarkData {
+    static final ObjectMapper mapper = new ObjectMapper();
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * The schema of {@code WebAppConfigurationImpl} with its item definitions inlined.
+     */
+    static JsonNode webAppSchema() {
+        return read("""
+                {
+                  "type": "object",
+                  "required": ["display-name"],
+                  "properties": {
+                    "display-name": {"type": "string"},
+                    "servlets": {
+                      "type": "array",
+                      "items": {
+                        "type": "object",
+                        "required": ["servlet-name", "servlet-class"],
+                        "properties": {
+                          "servlet-name": {"type": "string"},
+                          "servlet-class": {"type": "string", "pattern": "^[a-zA-Z_$][\\\\w$]*(\\\\.[a-zA-Z_$][\\\\w$]*)*$"},
+                          "init-params": {"type": "object"}
+                        }
+                      }
+                    },
+                    "servlet-mappings": {
+                      "type": "array",
+                      "items": {
+                        "type": "object",
+                        "required": ["servlet-name", "url-pattern"],
+                        "properties": {
+                          "servlet-name": {"type": "string"},
+                          "url-pattern": {"type": "string", "pattern": "^/.*"}
+                        }
+                      }
+                    }
+                  }
+                }
+                """);
+    }
+
+    /**
+     * A valid web application document with the given number of servlets and mappings.
+     */
+    static ObjectNode webAppDocument(int servlets) {
+        ObjectNode root = mapper.createObjectNode();
+        root.put("display-name", "Benchmark Application");
+        ArrayNode servletArray = root.putArray("servlets");
+        ArrayNode mappingArray = root.putArray("servlet-mappings");
+        for (int i = 0; i < servlets; i++) {
+            ObjectNode servlet = servletArray.addObject();
+            servlet.put("servlet-name", "Servlet" + i);
+            servlet.put("servlet-class", "kr.nerdlab.demo.servlet.Servlet" + i);
+            servlet.putObject("init-params").put("greeting", "Hello " + i);
+
+            ObjectNode mapping = mappingArray.addObject();
+            mapping.put("servlet-name", "Servlet" + i);
+            mapping.put("url-pattern", "/servlet/" + i);
+        }
+        return root;
+    }
+
+    /**
+     * An object schema with {@code count} string properties, each constrained by a different pattern.
+     */
+    static JsonNode patternSchema(int count) {
+        ObjectNode schema = mapper.createObjectNode();
+        schema.put("type", "object");
+        ObjectNode properties = schema.putObject("properties");
+        for (int i = 0; i < count; i++) {
+            ObjectNode property = properties.putObject("field" + i);
+            property.put("type", "string");
+            property.put("pattern", "^[a-z]{2,8}-" + i + "-[0-9a-f]{8}(\\.[a-z]+)*$");
+        }
+        return schema;
+    }
+
+    static ObjectNode patternDocument(int count) {
+        ObjectNode document = mapper.createObjectNode();
+        for (int i = 0; i < count; i++) {
+            document.put("field" + i, "abcd-" + i + "-0123abcd.example.value");
+        }
+        return document;
+    }
+
+    /**
+     * A schema of objects nested {@code depth} levels deep through the {@code child} property.
+     */
+    static JsonNode deepSchema(int depth) {
+        ObjectNode leaf = mapper.createObjectNode();
+        leaf.put("type", "string");
+        JsonNode current = leaf;
+        for (int i = 0; i < depth; i++) {
+            ObjectNode level = mapper.createObjectNode();
+            level.put("type", "object");
+            level.putArray("required").add("child");
+            ObjectNode properties = level.putObject("properties");
+            properties.set("child", current);
+            properties.putObject("name").put("type", "string");
+            current = level;
+        }
+        return current;
+    }
+
+    static JsonNode deepDocument(int depth) {
+        JsonNode current = mapper.getNodeFactory().textNode("leaf");
+        for (int i = 0; i < depth; i++) {
+            ObjectNode level = mapper.createObjectNode();
+            level.put("name", "level" + i);
+            level.set("child", current);
+            current = level;
+        }
+        return current;
+    }
+
+    static byte[] bytes(JsonNode node) {
+        try {
+            return mapper.writeValueAsBytes(node);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static JsonNode read(String json) {
+        try {
+            return mapper.readTree(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package kr.nerdlab.json.schema.benchmark;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Accepts the regular JMH command line, but writes results as JSON to
+ * {@code jmh-result.json} unless {@code -rf}/{@code -rff} are given, so runs can be compared across releases.
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        if (!arguments.contains("-rf")) {
+            arguments.add("-rf");
+            arguments.add("json");
+        }
+        if (!arguments.contains("-rff")) {
+            arguments.add("-rff");
+            arguments.add("jmh-result.json");
+        }
+        Main.main(arguments.toArray(new String[0]));
+    }
+}
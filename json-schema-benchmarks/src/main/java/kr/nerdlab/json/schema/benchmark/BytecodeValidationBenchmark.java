@@ -0,0 +1,66 @@
+package kr.nerdlab.json.schema.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import kr.nerdlab.json.schema.core.validation.ValidationMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation of web application documents by the interpreted schema nodes and by a generated validator class,
+ * collecting all errors and fail-fast.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BytecodeValidationBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int servlets;
+
+    private CompiledSchema interpreted;
+    private CompiledSchema generated;
+    private JsonNode document;
+
+    @Setup
+    public void setUp() {
+        interpreted = CompiledSchema.compile(BenchmarkData.webAppSchema());
+        generated = CompiledSchema.compileToBytecode(BenchmarkData.webAppSchema());
+        document = BenchmarkData.webAppDocument(servlets);
+    }
+
+    @Benchmark
+    public Set<String> interpreted() {
+        return interpreted.validate(document);
+    }
+
+    @Benchmark
+    public Set<String> generated() {
+        return generated.validate(document);
+    }
+
+    @Benchmark
+    public boolean interpretedFailFast() {
+        return interpreted.validate(document, ValidationMode.FAIL_FAST).isValid();
+    }
+
+    @Benchmark
+    public boolean generatedFailFast() {
+        return generated.validate(document, ValidationMode.FAIL_FAST).isValid();
+    }
+}
@@ -0,0 +1,45 @@
+package kr.nerdlab.json.schema.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of one shared compiled schema validated from all available threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class ConcurrentValidationBenchmark {
+
+    private CompiledSchema schema;
+    private JsonNode document;
+
+    @Setup
+    public void setUp() {
+        schema = CompiledSchema.compile(BenchmarkData.webAppSchema());
+        document = BenchmarkData.webAppDocument(100);
+    }
+
+    @Benchmark
+    public Set<String> sharedSchema() {
+        return schema.validate(document);
+    }
+}
@@ -0,0 +1,58 @@
+package kr.nerdlab.json.schema.benchmark;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Documents nested hundreds of levels deep, where per-level path handling dominates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xss8m")
+public class DeepNestingBenchmark {
+
+    @Param({"16", "256", "900"})
+    public int depth;
+
+    private CompiledSchema schema;
+    private JsonNode document;
+    private byte[] documentBytes;
+
+    @Setup
+    public void setUp() {
+        schema = CompiledSchema.compile(BenchmarkData.deepSchema(depth));
+        document = BenchmarkData.deepDocument(depth);
+        documentBytes = BenchmarkData.bytes(document);
+    }
+
+    @Benchmark
+    public Set<String> tree() {
+        return schema.validate(document);
+    }
+
+    @Benchmark
+    public Set<String> streaming() throws IOException {
+        try (JsonParser parser = BenchmarkData.mapper.getFactory().createParser(documentBytes)) {
+            return schema.validate(parser);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package kr.nerdlab.json.schema.benchmark;
+
+import kr.nerdlab.json.schema.core.format.FormatValidator;
+import kr.nerdlab.json.schema.core.format.Formats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * The built-in {@code "format"} validators against the regular expressions commonly used for the same formats, on
+ * the same values, one in four of them invalid. {@link #javaTime()} parses {@code date-time} values with
+ * {@link OffsetDateTime#parse}, catching the exception for invalid ones, and is only meaningful for that format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatBenchmark {
+    private static final int VALUES = 1024;
+    private static final String IPV4_PART = "(25[0-5]|2[0-4][0-9]|1[0-9][0-9]|[1-9]?[0-9])";
+    private static final String IPV6_GROUP = "[0-9a-fA-F]{1,4}";
+    private static final Map<String, Pattern> REGEXES = Map.of(
+            "date-time", Pattern.compile("\\d{4}-(0[1-9]|1[0-2])-(0[1-9]|[12]\\d|3[01])[Tt]([01]\\d|2[0-3]):[0-5]\\d:([0-5]\\d|60)(\\.\\d+)?([Zz]|[+-]([01]\\d|2[0-3]):[0-5]\\d)"),
+            "email", Pattern.compile("[A-Za-z0-9!#$%&'*+/=?^_`{|}~-]+(\\.[A-Za-z0-9!#$%&'*+/=?^_`{|}~-]+)*@([A-Za-z0-9]([A-Za-z0-9-]{0,61}[A-Za-z0-9])?\\.)*[A-Za-z0-9]([A-Za-z0-9-]{0,61}[A-Za-z0-9])?"),
+            "ipv4", Pattern.compile(IPV4_PART + "(\\." + IPV4_PART + "){3}"),
+            "ipv6", Pattern.compile("(" + IPV6_GROUP + ":){7}" + IPV6_GROUP
+                    + "|((" + IPV6_GROUP + ":){0,6}" + IPV6_GROUP + ")?::((" + IPV6_GROUP + ":){0,6}" + IPV6_GROUP + ")?"),
+            "uri", Pattern.compile("[A-Za-z][A-Za-z0-9+.-]*:(//([A-Za-z0-9._~!$&'()*+,;=:-]|%[0-9A-Fa-f]{2})*@?([A-Za-z0-9._~!$&'()*+,;=-]|%[0-9A-Fa-f]{2}|\\[[0-9A-Fa-f:.]+\\])*(:\\d*)?)?([A-Za-z0-9._~!$&'()*+,;=:@/?-]|%[0-9A-Fa-f]{2})*(#([A-Za-z0-9._~!$&'()*+,;=:@/?-]|%[0-9A-Fa-f]{2})*)?"),
+            "uuid", Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}"));
+
+    @Param({"date-time", "email", "ipv4", "ipv6", "uri", "uuid"})
+    public String format;
+
+    private String[] values;
+    private FormatValidator validator;
+    private Pattern regex;
+
+    @Setup
+    public void setUp() {
+        validator = Formats.builtIn().get(format);
+        regex = REGEXES.get(format);
+        values = new String[VALUES];
+        for (int i = 0; i < VALUES; i++) {
+            String value = sample(format, i);
+            values[i] = i % 4 == 3 ? value.substring(0, value.length() - 2) + " " : value;
+        }
+    }
+
+    @Benchmark
+    public int handWritten() {
+        int valid = 0;
+        for (String value : values) {
+            if (validator.isValid(value)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int regex() {
+        int valid = 0;
+        for (String value : values) {
+            if (regex.matcher(value).matches()) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int javaTime() {
+        int valid = 0;
+        for (String value : values) {
+            try {
+                OffsetDateTime.parse(value);
+                valid++;
+            } catch (DateTimeParseException e) {
+                // counted as invalid
+            }
+        }
+        return valid;
+    }
+
+    private static String sample(String format, int i) {
+        return switch (format) {
+            case "date-time" -> String.format("20%02d-%02d-%02dT%02d:%02d:%02d.%03dZ",
+                    i % 100, i % 12 + 1, i % 28 + 1, i % 24, i % 60, i % 60, i);
+            case "email" -> "user." + i + "@mail" + i % 7 + ".example.com";
+            case "ipv4" -> "10." + i % 256 + "." + i / 256 + "." + (i * 7) % 256;
+            case "ipv6" -> String.format("2001:db8::%x:%x", i, i * 31 % 65536);
+            case "uri" -> "https://api" + i % 5 + ".example.com:8443/v1/items/" + i + "?filter=a%20b&page=" + i % 10;
+            default -> String.format("%08x-%04x-4%03x-8%03x-%012x", i * 2654435761L & 0xffffffffL, i & 0xffff,
+                    i & 0xfff, (i * 3) & 0xfff, i * 1000003L);
+        };
+    }
+}
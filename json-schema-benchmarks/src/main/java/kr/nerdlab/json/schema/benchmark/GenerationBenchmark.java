@@ -0,0 +1,62 @@
+package kr.nerdlab.json.schema.benchmark;
+
+import kr.nerdlab.json.schema.core.DefaultJsonSchemaGenerator;
+import kr.nerdlab.json.schema.core.SampleJsonSchemaGenerator;
+import kr.nerdlab.json.schema.test.entity.WebAppConfigurationImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reflective schema generation from annotated entity graphs. {@code sampleGenerator*} reflect on every call;
+ * {@code freshGenerator*} only reuse the class metadata cache; {@code memoizedGenerator*} return the memoized schema.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerationBenchmark {
+
+    private final DefaultJsonSchemaGenerator generator = new DefaultJsonSchemaGenerator();
+
+    @Benchmark
+    public String sampleGeneratorWebApp() throws IOException {
+        return SampleJsonSchemaGenerator.generateSchema(WebAppConfigurationImpl.class);
+    }
+
+    @Benchmark
+    public String sampleGeneratorSynthetic() throws IOException {
+        return SampleJsonSchemaGenerator.generateSchema(SyntheticEntities.Deployment.class);
+    }
+
+    @Benchmark
+    public String freshGeneratorWebApp() {
+        return new DefaultJsonSchemaGenerator().generate(WebAppConfigurationImpl.class);
+    }
+
+    @Benchmark
+    public String freshGeneratorSynthetic() {
+        return new DefaultJsonSchemaGenerator().generate(SyntheticEntities.Deployment.class);
+    }
+
+    @Benchmark
+    public String memoizedGeneratorWebApp() {
+        return generator.generate(WebAppConfigurationImpl.class);
+    }
+
+    @Benchmark
+    public String memoizedGeneratorSynthetic() {
+        return generator.generate(SyntheticEntities.Deployment.class);
+    }
+}
@@ -0,0 +1,63 @@
+package kr.nerdlab.json.schema.benchmark;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import kr.nerdlab.json.schema.core.validation.ValidationMode;
+import kr.nerdlab.json.schema.core.validation.ValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation of a web application document after one servlet class was replaced, validating the whole document
+ * again and revalidating only the changed value.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IncrementalValidationBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int servlets;
+
+    private CompiledSchema schema;
+    private JsonNode document;
+    private ValidationResult previous;
+    private List<JsonPointer> changed;
+
+    @Setup
+    public void setUp() {
+        schema = CompiledSchema.compile(BenchmarkData.webAppSchema());
+        document = BenchmarkData.webAppDocument(servlets);
+        previous = schema.validate(document, ValidationMode.COLLECT_ALL);
+        int index = servlets / 2;
+        ((ObjectNode) document.get("servlets").get(index)).put("servlet-class", "kr.nerdlab.demo.servlet.Changed");
+        changed = List.of(JsonPointer.compile("/servlets/" + index + "/servlet-class"));
+    }
+
+    @Benchmark
+    public boolean full() {
+        return schema.validate(document, ValidationMode.COLLECT_ALL).isValid();
+    }
+
+    @Benchmark
+    public boolean incremental() {
+        return schema.revalidate(document, previous, changed, ValidationMode.COLLECT_ALL).isValid();
+    }
+}
@@ -0,0 +1,105 @@
+package kr.nerdlab.json.schema.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A batch of 1,000 telemetry samples constrained by {@code "minimum"}, {@code "maximum"},
+ * {@code "exclusiveMinimum"}, {@code "multipleOf"}, {@code "minLength"} and {@code "maxLength"}, validated by the
+ * compiled and the bytecode-generated schema. {@link #bigDecimalBaseline()} checks the same numeric constraints by
+ * converting every value to a {@link BigDecimal}, the straightforward exact implementation. Run with {@code -prof gc}
+ * to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumericKeywordBenchmark {
+    private static final int SAMPLES = 1_000;
+    private static final BigDecimal TEMPERATURE_MIN = new BigDecimal("-273.15");
+    private static final BigDecimal TEMPERATURE_MAX = new BigDecimal("1000");
+    private static final BigDecimal TEMPERATURE_STEP = new BigDecimal("0.01");
+    private static final BigDecimal COUNTER_STEP = new BigDecimal("8");
+
+    private CompiledSchema schema;
+    private CompiledSchema generated;
+    private ArrayNode document;
+
+    @Setup
+    public void setUp() {
+        JsonNodeFactory nodes = JsonNodeFactory.instance;
+        ObjectNode root = nodes.objectNode();
+        ObjectNode properties = root.putObject("items").putObject("properties");
+        ObjectNode temperature = properties.putObject("temperature");
+        temperature.put("minimum", -273.15);
+        temperature.put("maximum", 1000);
+        temperature.put("multipleOf", 0.01);
+        ObjectNode counter = properties.putObject("counter");
+        counter.put("exclusiveMinimum", 0);
+        counter.put("multipleOf", 8);
+        ObjectNode sensor = properties.putObject("sensor");
+        sensor.put("minLength", 3);
+        sensor.put("maxLength", 32);
+        schema = CompiledSchema.compile(root);
+        generated = CompiledSchema.compileToBytecode(root);
+
+        document = nodes.arrayNode();
+        for (int i = 0; i < SAMPLES; i++) {
+            ObjectNode sample = document.addObject();
+            sample.put("temperature", (i % 5000 - 2000) / 100.0);
+            sample.put("counter", 8L * (i + 1) * 1_000_003L);
+            sample.put("sensor", "sensor-" + i);
+        }
+    }
+
+    @Benchmark
+    public Set<String> compiled() {
+        return schema.validate(document);
+    }
+
+    @Benchmark
+    public Set<String> bytecode() {
+        return generated.validate(document);
+    }
+
+    @Benchmark
+    public int bigDecimalBaseline() {
+        int invalid = 0;
+        for (JsonNode sample : document) {
+            BigDecimal temperature = BigDecimal.valueOf(sample.get("temperature").doubleValue());
+            if (temperature.compareTo(TEMPERATURE_MIN) < 0 || temperature.compareTo(TEMPERATURE_MAX) > 0
+                    || temperature.remainder(TEMPERATURE_STEP).signum() != 0) {
+                invalid++;
+            }
+            BigDecimal counter = BigDecimal.valueOf(sample.get("counter").longValue());
+            if (counter.signum() <= 0 || counter.remainder(COUNTER_STEP).signum() != 0) {
+                invalid++;
+            }
+            String sensor = sample.get("sensor").textValue();
+            int length = sensor.codePointCount(0, sensor.length());
+            if (length < 3 || length > 32) {
+                invalid++;
+            }
+        }
+        return invalid;
+    }
+}
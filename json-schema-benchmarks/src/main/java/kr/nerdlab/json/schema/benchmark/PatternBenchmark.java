@@ -0,0 +1,70 @@
+package kr.nerdlab.json.schema.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import kr.nerdlab.json.schema.core.pattern.PatternCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Objects whose every property is constrained by a distinct {@code pattern}, on the linear-time engine and on
+ * {@link java.util.regex}. {@link #catastrophic()} matches {@code ^(.*a){12}$} against a string that makes a
+ * backtracking engine try every way of splitting its input; {@link java.util.regex} gives up when the step budget
+ * runs out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternBenchmark {
+
+    @Param({"10", "200"})
+    public int properties;
+
+    @Param({"true", "false"})
+    public boolean linearEngine;
+
+    private CompiledSchema schema;
+    private JsonNode document;
+    private CompiledSchema catastrophicSchema;
+    private JsonNode catastrophicDocument;
+
+    @Setup
+    public void setUp() {
+        PatternCache patterns = new PatternCache(PatternCache.DEFAULT_CAPACITY, linearEngine, PatternCache.DEFAULT_STEP_BUDGET);
+        schema = CompiledSchema.compile(BenchmarkData.patternSchema(properties), patterns);
+        document = BenchmarkData.patternDocument(properties);
+
+        ObjectNode catastrophic = JsonNodeFactory.instance.objectNode();
+        catastrophic.put("type", "string");
+        catastrophic.put("pattern", "^(.*a){12}$");
+        catastrophicSchema = CompiledSchema.compile(catastrophic, patterns);
+        catastrophicDocument = JsonNodeFactory.instance.textNode("a".repeat(30) + "b");
+    }
+
+    @Benchmark
+    public Set<String> validate() {
+        return schema.validate(document);
+    }
+
+    @Benchmark
+    public Set<String> catastrophic() {
+        return catastrophicSchema.validate(catastrophicDocument);
+    }
+}
@@ -0,0 +1,56 @@
+package kr.nerdlab.json.schema.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import kr.nerdlab.json.schema.core.pojo.PojoValidator;
+import kr.nerdlab.json.schema.test.entity.WebAppConfigurationImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation of a deserialized web application object: walked directly, and converted to a tree first.
+ * Run with {@code -prof gc} to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PojoValidationBenchmark {
+
+    @Param({"1", "100"})
+    public int servlets;
+
+    private CompiledSchema schema;
+    private WebAppConfigurationImpl configuration;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        schema = CompiledSchema.compile(BenchmarkData.webAppSchema());
+        configuration = BenchmarkData.mapper.treeToValue(
+                BenchmarkData.webAppDocument(servlets), WebAppConfigurationImpl.class);
+    }
+
+    @Benchmark
+    public Set<String> direct() {
+        return PojoValidator.validate(configuration);
+    }
+
+    @Benchmark
+    public Set<String> valueToTree() {
+        return schema.validate(BenchmarkData.mapper.valueToTree(configuration));
+    }
+}
@@ -0,0 +1,121 @@
+package kr.nerdlab.json.schema.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import kr.nerdlab.json.schema.annotation.SchemaDefinition;
+import kr.nerdlab.json.schema.annotation.SchemaProperty;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A larger entity graph than {@code WebAppConfigurationImpl}: a root with three levels of list-valued children,
+ * twelve definitions in total.
+ */
+final class SyntheticEntities {
+
+    private SyntheticEntities() {
+    }
+
+    @SchemaDefinition(title = "Synthetic deployment descriptor", description = "Benchmark-only entity graph.")
+    static class Deployment {
+        @SchemaProperty(description = "Deployment name", required = true, pattern = "^[a-z][a-z0-9-]*$")
+        @JsonProperty("name")
+        private String name;
+        @SchemaProperty(description = "Release number", minimum = 0)
+        private Integer releaseNumber;
+        @SchemaProperty(description = "Enabled flag")
+        private Boolean enabled;
+        @SchemaProperty(description = "Free-form labels")
+        private Map<String, String> labels;
+        @SchemaProperty(description = "Services")
+        private List<Service> services;
+        @SchemaProperty(description = "Databases")
+        private List<Database> databases;
+        @SchemaProperty(description = "Queues")
+        private List<Queue> queues;
+    }
+
+    static class Service {
+        @SchemaProperty(description = "Service name", required = true)
+        private String serviceName;
+        @SchemaProperty(description = "Replica count", minimum = 1, maximum = 100)
+        private Integer replicas;
+        @SchemaProperty(description = "Container image", pattern = "^[\\w./-]+(:[\\w.-]+)?$")
+        private String image;
+        @SchemaProperty(description = "Ports")
+        private List<Port> ports;
+        @SchemaProperty(description = "Environment variables")
+        private List<EnvironmentVariable> environment;
+        @SchemaProperty(description = "Volumes")
+        private List<Volume> volumes;
+    }
+
+    static class Port {
+        @SchemaProperty(description = "Port number", required = true, minimum = 1, maximum = 65535)
+        private Integer containerPort;
+        @SchemaProperty(description = "Protocol", pattern = "^(TCP|UDP)$")
+        private String protocol;
+    }
+
+    static class EnvironmentVariable {
+        @SchemaProperty(description = "Variable name", required = true, pattern = "^[A-Z_][A-Z0-9_]*$")
+        private String variableName;
+        @SchemaProperty(description = "Variable value")
+        private String value;
+    }
+
+    static class Volume {
+        @SchemaProperty(description = "Mount path", required = true, pattern = "^/.*")
+        private String mountPath;
+        @SchemaProperty(description = "Read only")
+        private Boolean readOnly;
+        @SchemaProperty(description = "Snapshots")
+        private List<Snapshot> snapshots;
+    }
+
+    static class Snapshot {
+        @SchemaProperty(description = "Snapshot id", required = true, format = "uuid")
+        private String snapshotId;
+        @SchemaProperty(description = "Created at", format = "date-time")
+        private String createdAt;
+    }
+
+    static class Database {
+        @SchemaProperty(description = "Database name", required = true)
+        private String databaseName;
+        @SchemaProperty(description = "Engine", pattern = "^(postgres|mysql|mariadb)$")
+        private String engine;
+        @SchemaProperty(description = "Replicas")
+        private List<Replica> replicas;
+        @SchemaProperty(description = "Users")
+        private List<DatabaseUser> users;
+    }
+
+    static class Replica {
+        @SchemaProperty(description = "Replica host", required = true, format = "hostname")
+        private String host;
+        @SchemaProperty(description = "Lag threshold in seconds", minimum = 0)
+        private Double lagThreshold;
+    }
+
+    static class DatabaseUser {
+        @SchemaProperty(description = "User name", required = true)
+        private String userName;
+        @SchemaProperty(description = "Grants")
+        private Map<String, String> grants;
+    }
+
+    static class Queue {
+        @SchemaProperty(description = "Queue name", required = true)
+        private String queueName;
+        @SchemaProperty(description = "Consumers")
+        private List<Consumer> consumers;
+    }
+
+    static class Consumer {
+        @SchemaProperty(description = "Consumer group", required = true)
+        private String group;
+        @SchemaProperty(description = "Concurrency", minimum = 1)
+        private Integer concurrency;
+    }
+}
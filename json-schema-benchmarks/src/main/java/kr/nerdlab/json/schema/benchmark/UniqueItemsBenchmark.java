@@ -0,0 +1,88 @@
+package kr.nerdlab.json.schema.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code "uniqueItems"} on an array of distinct objects, checked through canonical hashes by the schema and, for
+ * comparison, by comparing every pair with {@link JsonNode#equals(Object)}. The pairwise check is quadratic and only
+ * runs up to 10,000 items. {@link #enumMembership()} looks every item's name up in an {@code "enum"} of as many values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UniqueItemsBenchmark {
+    private static final int PAIRWISE_LIMIT = 10_000;
+
+    @Param({"100", "10000", "100000"})
+    public int items;
+
+    private CompiledSchema uniqueSchema;
+    private CompiledSchema enumSchema;
+    private ArrayNode document;
+
+    @Setup
+    public void setUp() {
+        JsonNodeFactory nodes = JsonNodeFactory.instance;
+        document = nodes.arrayNode();
+        ObjectNode enumSchemaNode = nodes.objectNode();
+        ArrayNode names = enumSchemaNode.putObject("items").putObject("properties").putObject("name").putArray("enum");
+        for (int i = 0; i < items; i++) {
+            ObjectNode item = document.addObject();
+            item.put("id", i);
+            item.put("name", "item-" + i);
+            names.add("item-" + i);
+        }
+        ObjectNode unique = nodes.objectNode();
+        unique.put("type", "array");
+        unique.put("uniqueItems", true);
+        uniqueSchema = CompiledSchema.compile(unique);
+        enumSchema = CompiledSchema.compile(enumSchemaNode);
+    }
+
+    @Benchmark
+    public Set<String> canonicalHash() {
+        return uniqueSchema.validate(document);
+    }
+
+    @Benchmark
+    public boolean pairwiseEquals() {
+        if (items > PAIRWISE_LIMIT) {
+            return true;
+        }
+        for (int i = 1; i < items; i++) {
+            JsonNode item = document.get(i);
+            for (int j = 0; j < i; j++) {
+                if (document.get(j).equals(item)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Benchmark
+    public Set<String> enumMembership() {
+        return enumSchema.validate(document);
+    }
+}
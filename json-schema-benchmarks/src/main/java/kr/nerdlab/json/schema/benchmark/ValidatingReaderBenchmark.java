@@ -0,0 +1,63 @@
+package kr.nerdlab.json.schema.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import kr.nerdlab.json.schema.core.ValidatingReader;
+import kr.nerdlab.json.schema.core.validation.ValidationMode;
+import kr.nerdlab.json.schema.test.entity.WebAppConfigurationImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validating and binding a serialized web application document: reading a tree to validate and then binding the
+ * bytes, and validating while binding in a single pass.
+ * Run with {@code -prof gc} to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatingReaderBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int servlets;
+
+    private CompiledSchema schema;
+    private ValidatingReader<WebAppConfigurationImpl> reader;
+    private byte[] document;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        schema = CompiledSchema.compile(BenchmarkData.webAppSchema());
+        reader = new ValidatingReader<>(BenchmarkData.mapper, WebAppConfigurationImpl.class, schema,
+                ValidationMode.COLLECT_ALL);
+        document = BenchmarkData.mapper.writeValueAsBytes(BenchmarkData.webAppDocument(servlets));
+    }
+
+    @Benchmark
+    public WebAppConfigurationImpl twoPasses() throws IOException {
+        if (!schema.validate(BenchmarkData.mapper.readTree(document), ValidationMode.COLLECT_ALL).isValid()) {
+            return null;
+        }
+        return BenchmarkData.mapper.readValue(document, WebAppConfigurationImpl.class);
+    }
+
+    @Benchmark
+    public WebAppConfigurationImpl fused() throws IOException {
+        return reader.read(document).value();
+    }
+}
@@ -0,0 +1,90 @@
+package kr.nerdlab.json.schema.benchmark;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import kr.nerdlab.json.schema.core.validation.ValidationMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation of small (1 servlet), medium (100) and huge (100,000) web application documents:
+ * against an already parsed tree, parsed to a tree first, and streamed from the parser,
+ * collecting all errors or only answering whether the document is valid, and splitting the tree across the
+ * common fork-join pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+    private static final ValidationMode PARALLEL = ValidationMode.COLLECT_ALL.parallel(1024);
+
+    @Param({"1", "100", "100000"})
+    public int servlets;
+
+    private CompiledSchema schema;
+    private JsonNode document;
+    private byte[] documentBytes;
+
+    @Setup
+    public void setUp() {
+        schema = CompiledSchema.compile(BenchmarkData.webAppSchema());
+        document = BenchmarkData.webAppDocument(servlets);
+        documentBytes = BenchmarkData.bytes(document);
+    }
+
+    @Benchmark
+    public Set<String> compiledTree() {
+        return schema.validate(document);
+    }
+
+    @Benchmark
+    public boolean compiledTreeFailFast() {
+        return schema.isValid(document);
+    }
+
+    @Benchmark
+    public Set<String> compiledTreeParallel() {
+        return schema.validate(document, PARALLEL).getMessages();
+    }
+
+    @Benchmark
+    public Set<String> parseAndValidateTree() throws IOException {
+        return schema.validate(BenchmarkData.mapper.readTree(documentBytes));
+    }
+
+    @Benchmark
+    public Set<String> streaming() throws IOException {
+        try (JsonParser parser = BenchmarkData.mapper.getFactory().createParser(documentBytes)) {
+            return schema.validate(parser);
+        }
+    }
+
+    @Benchmark
+    public boolean streamingFailFast() throws IOException {
+        try (JsonParser parser = BenchmarkData.mapper.getFactory().createParser(documentBytes)) {
+            return schema.isValid(parser);
+        }
+    }
+
+    @Benchmark
+    public CompiledSchema compileSchema() {
+        return CompiledSchema.compile(BenchmarkData.webAppSchema());
+    }
+}
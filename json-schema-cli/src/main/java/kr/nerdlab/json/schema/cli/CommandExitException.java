@@ -0,0 +1,23 @@
+package kr.nerdlab.json.schema.cli;
+
+import org.springframework.boot.ExitCodeGenerator;
+
+/**
+ * Ends a non-interactive command with a non-zero exit code once the command has printed why it failed. It carries no
+ * stack trace, and {@link CommandExitReporter} keeps Spring Boot from reporting it as a failed application start.
+ */
+final class CommandExitException extends RuntimeException implements ExitCodeGenerator {
+    private static final long serialVersionUID = 1L;
+
+    private final int exitCode;
+
+    CommandExitException(int exitCode) {
+        super("exit code " + exitCode, null, false, false);
+        this.exitCode = exitCode;
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+}
@@ -0,0 +1,15 @@
+package kr.nerdlab.json.schema.cli;
+
+import org.springframework.boot.SpringBootExceptionReporter;
+
+/**
+ * Reports a {@link CommandExitException} by doing nothing, so that Spring Boot neither logs it nor prints it as an
+ * uncaught exception, and only exits with its code. Registered in {@code META-INF/spring.factories}.
+ */
+public class CommandExitReporter implements SpringBootExceptionReporter {
+
+    @Override
+    public boolean reportException(Throwable failure) {
+        return failure instanceof CommandExitException;
+    }
+}
@@ -1,7 +1,30 @@
 package kr.nerdlab.json.schema.cli;
 
+import kr.nerdlab.json.schema.cli.daemon.DaemonClient;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.shell.command.annotation.CommandScan;
+import org.springframework.shell.exit.ExitCodeExceptionProvider;
+
+import java.util.Arrays;
+
+@SpringBootApplication
+@CommandScan
 public class JsonSchemaCli {
     public static void main(String[] args) {
+        // 'remote' talks to a running daemon and must not pay for starting Spring
+        if (args.length > 0 && DaemonClient.COMMAND.equals(args[0])) {
+            System.exit(DaemonClient.run(Arrays.copyOfRange(args, 1, args.length), System.out, System.err));
+        }
+        SpringApplication.run(JsonSchemaCli.class, args);
+    }
 
+    /**
+     * Replaces Spring Shell's exit code exception, which Spring Boot would log with its stack trace.
+     */
+    @Bean
+    ExitCodeExceptionProvider exitCodeExceptionProvider() {
+        return (exception, exitCode) -> new CommandExitException(exitCode);
     }
 }
@@ -0,0 +1,65 @@
+package kr.nerdlab.json.schema.cli.command;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.cli.daemon.DaemonClient;
+import kr.nerdlab.json.schema.cli.daemon.DaemonResponse;
+import kr.nerdlab.json.schema.cli.daemon.ValidationDaemon;
+import kr.nerdlab.json.schema.core.DefaultJsonSchemaGenerator;
+import kr.nerdlab.json.schema.core.DefaultJsonSchemaValidator;
+import kr.nerdlab.json.schema.core.cache.BoundedSchemaCache;
+import kr.nerdlab.json.schema.core.cache.SchemaRegistry;
+import org.springframework.shell.command.annotation.Command;
+import org.springframework.shell.command.annotation.Option;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Command(group = "Daemon")
+public class DaemonCommands {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Command(command = "daemon-start", description = "Serve validation requests from 'remote' invocations over a Unix-domain socket until stopped.")
+    public String start(
+            @Option(longNames = "socket", description = "Socket file; defaults to daemon.sock in $XDG_RUNTIME_DIR/json-schema-cli or ~/.json-schema-cli") String socket,
+            @Option(longNames = "schema-store", description = "Directory of compiled schemas reused across runs") String schemaStore,
+            @Option(longNames = "idle-timeout", defaultValue = "180", description = "Minutes without requests after which the daemon stops") long idleTimeoutMinutes
+    ) throws IOException {
+        BoundedSchemaCache schemaCache = new BoundedSchemaCache();
+        DefaultJsonSchemaValidator validator = DefaultJsonSchemaValidator.builder(mapper, new DefaultJsonSchemaGenerator(mapper))
+                .schemaCache(schemaCache)
+                .schemaStore(SchemaLocations.toStore(schemaStore))
+                .registry(new SchemaRegistry())
+                .build();
+        ValidationDaemon daemon = new ValidationDaemon(toSocket(socket), validator, schemaCache,
+                Duration.ofMinutes(idleTimeoutMinutes));
+        daemon.serve();
+        return "daemon on " + daemon.getSocket() + " stopped after " + daemon.getRequestCount() + " request(s)";
+    }
+
+    @Command(command = "daemon-stop", description = "Stop the validation daemon.")
+    public String stop(
+            @Option(longNames = "socket", description = "Socket file; defaults to daemon.sock in $XDG_RUNTIME_DIR/json-schema-cli or ~/.json-schema-cli") String socket
+    ) throws IOException {
+        try (DaemonClient client = DaemonClient.connect(toSocket(socket))) {
+            return client.stop().message();
+        }
+    }
+
+    @Command(command = "daemon-status", description = "Show whether the validation daemon is running and what it holds.")
+    public String status(
+            @Option(longNames = "socket", description = "Socket file; defaults to daemon.sock in $XDG_RUNTIME_DIR/json-schema-cli or ~/.json-schema-cli") String socket
+    ) {
+        Path path = toSocket(socket);
+        try (DaemonClient client = DaemonClient.connect(path)) {
+            DaemonResponse response = client.status();
+            return response.message();
+        } catch (IOException e) {
+            return "no daemon is listening on " + path;
+        }
+    }
+
+    private static Path toSocket(String socket) {
+        return socket == null || socket.isEmpty() ? ValidationDaemon.defaultSocket() : Path.of(socket);
+    }
+}
@@ -0,0 +1,87 @@
+package kr.nerdlab.json.schema.cli.command;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Which schema each watched document is bound to, and the reverse, so that a changed schema revalidates exactly the
+ * documents bound to it. Schema URIs are {@link kr.nerdlab.json.schema.core.cache.SchemaCache#normalize(URI)
+ * normalized}. Not thread-safe; {@link DirectoryWatch} uses it from its watch thread only.
+ */
+final class DependencyIndex {
+    private final Map<Path, URI> schemaByDocument = new HashMap<>();
+    private final Map<URI, Set<Path>> documentsBySchema = new HashMap<>();
+    /**
+     * Every schema a document was ever bound to, so that a schema file stays one after its last document is gone.
+     */
+    private final Set<URI> schemas = new HashSet<>();
+
+    /**
+     * Binds the document to the schema, replacing its previous binding.
+     */
+    void bind(Path document, URI schema) {
+        URI previous = schemaByDocument.put(document, schema);
+        if (schema.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            unbind(document, previous);
+        }
+        documentsBySchema.computeIfAbsent(schema, uri -> new TreeSet<>()).add(document);
+        schemas.add(schema);
+    }
+
+    /**
+     * Forgets the document, for example because it was deleted or no longer declares a schema.
+     */
+    void remove(Path document) {
+        URI previous = schemaByDocument.remove(document);
+        if (previous != null) {
+            unbind(document, previous);
+        }
+    }
+
+    /**
+     * @return the schema the document is bound to, or {@code null}
+     */
+    URI schemaOf(Path document) {
+        return schemaByDocument.get(document);
+    }
+
+    /**
+     * @return the documents bound to the schema, sorted; empty if none
+     */
+    List<Path> documentsOf(URI schema) {
+        Set<Path> documents = documentsBySchema.get(schema);
+        return documents != null ? List.copyOf(documents) : List.of();
+    }
+
+    boolean isSchema(URI uri) {
+        return schemas.contains(uri);
+    }
+
+    boolean isDocument(Path file) {
+        return schemaByDocument.containsKey(file);
+    }
+
+    int documentCount() {
+        return schemaByDocument.size();
+    }
+
+    int schemaCount() {
+        return documentsBySchema.size();
+    }
+
+    private void unbind(Path document, URI schema) {
+        Set<Path> documents = documentsBySchema.get(schema);
+        if (documents != null && documents.remove(document) && documents.isEmpty()) {
+            documentsBySchema.remove(schema);
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package kr.nerdlab.json.schema.cli.command;
+
+import kr.nerdlab.json.schema.core.DefaultJsonSchemaValidator;
+import kr.nerdlab.json.schema.core.cache.SchemaCache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Watches directory trees and revalidates the {@code .json} documents in them as they change.
+ * <p>
+ * Only changed documents are revalidated. A {@link DependencyIndex} maps every schema to the documents bound to it,
+ * so when a schema file changes its compiled form is dropped from the validator's cache and exactly its documents are
+ * revalidated; schema files are never validated as documents themselves. Filesystem events are coalesced: after the
+ * first event the watch waits until no further event arrives for the quiet period (but at most ten quiet periods),
+ * so an editor's save or a checkout touching thousands of files is handled as one batch. If the watch service drops
+ * events, every tree is rescanned. Schema files outside the watched trees raise no events; the validator's cache
+ * notices their edits when their documents are next revalidated.
+ * <p>
+ * {@link #run()} blocks until {@link #close()} is called or the thread is interrupted.
+ */
+final class DirectoryWatch implements Closeable {
+    private final List<Path> roots;
+    private final DefaultJsonSchemaValidator validator;
+    private final URI schema;
+    private final Duration quietPeriod;
+    private final int concurrency;
+    private final FileResultFormat results;
+    private final Consumer<String> log;
+
+    private final WatchService service;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private final DependencyIndex index = new DependencyIndex();
+
+    /**
+     * @param roots       the directories to watch, recursively
+     * @param schema      the schema every document is validated against, or {@code null} to use each document's
+     *                    {@code $schema}
+     * @param quietPeriod how long the watch waits for further events before revalidating
+     * @param concurrency how many documents are validated at once
+     * @param results     receives the result of every revalidated document, and of the documents that are not valid
+     *                    on the initial scan
+     * @param log         receives one line per batch
+     */
+    DirectoryWatch(List<Path> roots, DefaultJsonSchemaValidator validator, URI schema, Duration quietPeriod,
+                   int concurrency, FileResultFormat results, Consumer<String> log)
+            throws IOException {
+        if (quietPeriod.isNegative() || quietPeriod.isZero()) {
+            throw new IllegalArgumentException("quietPeriod must be positive: " + quietPeriod);
+        }
+        for (Path root : roots) {
+            if (!Files.isDirectory(root)) {
+                throw new IllegalArgumentException("Not a directory: " + root);
+            }
+        }
+        this.roots = roots.stream().map(root -> root.toAbsolutePath().normalize()).toList();
+        this.validator = validator;
+        this.schema = schema != null ? SchemaCache.normalize(schema) : null;
+        this.quietPeriod = quietPeriod;
+        this.concurrency = concurrency;
+        this.results = results;
+        this.log = log;
+        this.service = FileSystems.getDefault().newWatchService();
+    }
+
+    void run() throws IOException {
+        long start = System.nanoTime();
+        Set<Path> documents = new TreeSet<>();
+        for (Path root : roots) {
+            register(root, documents);
+        }
+        revalidate(documents, true, start);
+
+        try {
+            while (true) {
+                Set<Path> changed = new LinkedHashSet<>();
+                boolean overflow = collect(service.take(), changed);
+                long deadline = System.nanoTime() + 10 * quietPeriod.toNanos();
+                WatchKey key;
+                while (System.nanoTime() < deadline
+                        && (key = service.poll(quietPeriod.toMillis(), TimeUnit.MILLISECONDS)) != null) {
+                    overflow |= collect(key, changed);
+                }
+                start = System.nanoTime();
+                if (overflow) {
+                    rescan();
+                } else {
+                    revalidate(affected(changed), false, start);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // closed by close()
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        service.close();
+    }
+
+    /**
+     * @return {@code true} if the watch service dropped events for the key's directory
+     */
+    private boolean collect(WatchKey key, Set<Path> changed) throws IOException {
+        Path directory = directories.get(key);
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+                overflow = true;
+                continue;
+            }
+            Path file = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(file)) {
+                register(file, changed);
+            } else {
+                changed.add(file);
+            }
+        }
+        if (!key.reset()) {
+            directories.remove(key);
+        }
+        return overflow;
+    }
+
+    /**
+     * @return the documents to revalidate for the changed files; deleted documents are dropped from the index
+     */
+    private Set<Path> affected(Set<Path> changed) {
+        Set<Path> documents = new TreeSet<>();
+        for (Path file : changed) {
+            URI uri = SchemaCache.normalize(file.toUri());
+            if (uri.equals(schema) || index.isSchema(uri)) {
+                validator.getSchemaCache().invalidate(uri);
+                documents.addAll(index.documentsOf(uri));
+            } else if (Files.isRegularFile(file)) {
+                if (isDocument(file)) {
+                    documents.add(file);
+                }
+            } else if (index.isDocument(file)) {
+                index.remove(file);
+                log.accept(file + ": removed");
+            }
+        }
+        return documents;
+    }
+
+    private void rescan() throws IOException {
+        long start = System.nanoTime();
+        for (WatchKey key : directories.keySet()) {
+            key.cancel();
+        }
+        directories.clear();
+        validator.getSchemaCache().invalidateAll();
+        Set<Path> documents = new TreeSet<>();
+        for (Path root : roots) {
+            register(root, documents);
+        }
+        log.accept("events were dropped; rescanning every watched directory");
+        revalidate(documents, false, start);
+    }
+
+    /**
+     * Binds each document to its schema, then validates the documents that are not schemas themselves and reports the
+     * results in file order.
+     *
+     * @param initial whether this is the initial scan, which reports only documents that are not valid
+     */
+    private void revalidate(Collection<Path> documents, boolean initial, long start) throws IOException {
+        List<FileResult> done = new ArrayList<>(documents.size());
+        List<Path> bound = new ArrayList<>(documents.size());
+        if (schema != null) {
+            for (Path document : documents) {
+                index.bind(document, schema);
+                bound.add(document);
+            }
+        } else {
+            // every declared schema has to be known before deciding which files are documents
+            List<Object> declared = inParallel(documents, document -> {
+                try {
+                    return DocumentFiles.declaredSchema(validator.getInputFormats(), document);
+                } catch (IOException | RuntimeException e) {
+                    return FileResult.failed(document, null, DocumentFiles.describe(e));
+                }
+            });
+            int i = 0;
+            for (Path document : documents) {
+                Object outcome = declared.get(i++);
+                if (outcome instanceof URI uri) {
+                    index.bind(document, uri);
+                    bound.add(document);
+                } else {
+                    index.remove(document);
+                    done.add((FileResult) outcome);
+                }
+            }
+        }
+        bound.removeIf(document -> {
+            if (index.isSchema(SchemaCache.normalize(document.toUri()))) {
+                index.remove(document);
+                return true;
+            }
+            return false;
+        });
+        done.addAll(inParallel(bound, document ->
+                DocumentFiles.validate(validator, document, index.schemaOf(document), schema == null)));
+        done.sort(Comparator.comparing(FileResult::file));
+
+        long valid = 0;
+        long invalid = 0;
+        for (FileResult result : done) {
+            if (result.isValid()) {
+                valid++;
+            } else if (result.isInvalid()) {
+                invalid++;
+            }
+            if (!initial || !result.isValid()) {
+                results.file(result);
+            }
+        }
+        results.flush();
+
+        long millis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        if (initial) {
+            log.accept(String.format("watching %d document(s) bound to %d schema(s) under %s: %d valid, %d invalid, %d not validated (%d ms)",
+                    index.documentCount(), index.schemaCount(), roots, valid, invalid, done.size() - valid - invalid, millis));
+        } else if (!done.isEmpty()) {
+            log.accept(String.format("revalidated %d document(s): %d valid, %d invalid, %d not validated (%d ms)",
+                    done.size(), valid, invalid, done.size() - valid - invalid, millis));
+        }
+    }
+
+    /**
+     * Applies the task to every document on virtual threads, at most {@code concurrency} at once.
+     *
+     * @return the results in document order
+     */
+    private <T> List<T> inParallel(Collection<Path> documents, Function<Path, T> task) throws IOException {
+        Semaphore permits = new Semaphore(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<T>> pending = new ArrayList<>(documents.size());
+            for (Path document : documents) {
+                pending.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return task.apply(document);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            List<T> done = new ArrayList<>(pending.size());
+            for (Future<T> result : pending) {
+                done.add(result.get());
+            }
+            return done;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while revalidating");
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Watches the directory and every directory below it, and adds the documents found to {@code documents}.
+     */
+    private void register(Path directory, Set<Path> documents) throws IOException {
+        Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) throws IOException {
+                WatchKey key = dir.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                directories.put(key, dir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                if (attributes.isRegularFile() && isDocument(file)) {
+                    documents.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private boolean isDocument(Path file) {
+        return file.getFileName().toString().endsWith(".json")
+                && !SchemaCache.normalize(file.toUri()).equals(schema);
+    }
+}
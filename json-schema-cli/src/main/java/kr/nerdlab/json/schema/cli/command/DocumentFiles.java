@@ -0,0 +1,80 @@
+package kr.nerdlab.json.schema.cli.command;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import kr.nerdlab.json.schema.core.AbstractJsonSchemaValidator;
+import kr.nerdlab.json.schema.core.DefaultJsonSchemaValidator;
+import kr.nerdlab.json.schema.core.cache.SchemaCache;
+import kr.nerdlab.json.schema.core.dataformat.InputFormats;
+import kr.nerdlab.json.schema.core.exception.JsonValidationException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Validation of single document files, shared by the commands that validate many of them.
+ */
+final class DocumentFiles {
+
+    private DocumentFiles() {
+    }
+
+    /**
+     * Reads the file, in any of the validator's input formats, only up to its top-level {@code $schema} property.
+     *
+     * @return the declared schema, normalized as a {@link SchemaCache} key
+     * @throws IllegalArgumentException if the file declares no usable schema
+     */
+    static URI declaredSchema(InputFormats formats, Path file) throws IOException {
+        try (JsonParser parser = formats.createParser(file)) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if ("$schema".equals(name) && value == JsonToken.VALUE_STRING) {
+                        return SchemaCache.normalize(AbstractJsonSchemaValidator.resolveSchemaUri(parser.getText()));
+                    }
+                    parser.skipChildren();
+                }
+            }
+        }
+        throw new IllegalArgumentException("JSON instance does not contain a valid textual '$schema' property");
+    }
+
+    /**
+     * @param declared whether the file declares the schema, so it can be validated without building a tree
+     */
+    static FileResult validate(DefaultJsonSchemaValidator validator, Path file, URI schema, boolean declared) {
+        String schemaId = schema.toString();
+        long start = System.nanoTime();
+        try {
+            long bytes = Files.size(file);
+            try {
+                if (declared) {
+                    validator.validate(file);
+                } else {
+                    validator.validate(file.toFile(), schema);
+                }
+                return new FileResult(file, schemaId, List.of(), null, bytes, System.nanoTime() - start);
+            } catch (JsonValidationException e) {
+                Set<String> errors = new LinkedHashSet<>();
+                e.getErrors().forEach(error -> errors.add(error.getMessage()));
+                if (errors.isEmpty()) {
+                    errors.add(e.getMessage());
+                }
+                return new FileResult(file, schemaId, List.copyOf(errors), null, bytes, System.nanoTime() - start);
+            }
+        } catch (IOException | RuntimeException e) {
+            return FileResult.failed(file, schemaId, describe(e));
+        }
+    }
+
+    static String describe(Exception e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+    }
+}
@@ -0,0 +1,29 @@
+package kr.nerdlab.json.schema.cli.command;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The outcome of validating one file of a {@code validate-files} run.
+ *
+ * @param file    the file
+ * @param schema  the schema the file was validated against, or {@code null} if it could not be determined
+ * @param errors  the validation errors, empty if the file is valid or could not be validated
+ * @param failure why the file could not be validated, or {@code null}
+ * @param bytes   the file size
+ * @param nanos   the time spent validating the file
+ */
+record FileResult(Path file, String schema, List<String> errors, String failure, long bytes, long nanos) {
+
+    static FileResult failed(Path file, String schema, String failure) {
+        return new FileResult(file, schema, List.of(), failure, 0, 0);
+    }
+
+    boolean isValid() {
+        return failure == null && errors.isEmpty();
+    }
+
+    boolean isInvalid() {
+        return failure == null && !errors.isEmpty();
+    }
+}
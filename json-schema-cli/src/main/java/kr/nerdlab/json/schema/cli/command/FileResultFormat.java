@@ -0,0 +1,181 @@
+package kr.nerdlab.json.schema.cli.command;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes the results of a {@code validate-files} or {@code watch} run as they become available. Text and JSON Lines output is
+ * written per file as soon as it has been validated; JUnit XML is written per schema, one test suite each, once all
+ * files of the schema are done. Calls are serialized by the caller.
+ */
+abstract class FileResultFormat {
+    protected final Writer out;
+    protected final boolean all;
+
+    private FileResultFormat(Writer out, boolean all) {
+        this.out = out;
+        this.all = all;
+    }
+
+    /**
+     * @param format {@code text}, {@code json} or {@code junit}
+     * @param all    whether valid files are reported too; JUnit XML always reports them
+     */
+    static FileResultFormat of(String format, Writer out, boolean all, JsonFactory factory) {
+        return switch (format.toLowerCase(Locale.ROOT)) {
+            case "text" -> new Text(out, all);
+            case "json" -> new Json(out, all, factory);
+            case "junit" -> new JUnit(out);
+            default -> throw new IllegalArgumentException("Unknown format, expected text, json or junit: " + format);
+        };
+    }
+
+    void start() throws IOException {
+    }
+
+    /**
+     * Called once per file, in completion order.
+     */
+    void file(FileResult result) throws IOException {
+    }
+
+    /**
+     * Called once per schema after all its files, with the results in file order.
+     */
+    void schema(String schema, List<FileResult> results) throws IOException {
+    }
+
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    void finish() throws IOException {
+        flush();
+    }
+
+    private static final class Text extends FileResultFormat {
+        Text(Writer out, boolean all) {
+            super(out, all);
+        }
+
+        @Override
+        void file(FileResult result) throws IOException {
+            if (result.failure() != null) {
+                out.write(String.format("%s: cannot validate: %s%n", result.file(), result.failure()));
+            } else if (result.isValid()) {
+                if (all) {
+                    out.write(String.format("%s: valid%n", result.file()));
+                }
+            } else {
+                for (String error : result.errors()) {
+                    out.write(String.format("%s: %s%n", result.file(), error));
+                }
+            }
+        }
+    }
+
+    private static final class Json extends FileResultFormat {
+        private final JsonFactory factory;
+
+        Json(Writer out, boolean all, JsonFactory factory) {
+            super(out, all);
+            this.factory = factory;
+        }
+
+        @Override
+        void file(FileResult result) throws IOException {
+            if (result.isValid() && !all) {
+                return;
+            }
+            try (JsonGenerator generator = factory.createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartObject();
+                generator.writeStringField("file", result.file().toString());
+                if (result.schema() != null) {
+                    generator.writeStringField("schema", result.schema());
+                }
+                generator.writeBooleanField("valid", result.isValid());
+                generator.writeArrayFieldStart("errors");
+                for (String error : result.errors()) {
+                    generator.writeString(error);
+                }
+                generator.writeEndArray();
+                if (result.failure() != null) {
+                    generator.writeStringField("failure", result.failure());
+                }
+                generator.writeEndObject();
+            }
+            out.write(System.lineSeparator());
+        }
+    }
+
+    private static final class JUnit extends FileResultFormat {
+        JUnit(Writer out) {
+            super(out, true);
+        }
+
+        @Override
+        void start() throws IOException {
+            out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<testsuites>\n");
+        }
+
+        @Override
+        void schema(String schema, List<FileResult> results) throws IOException {
+            long failures = results.stream().filter(FileResult::isInvalid).count();
+            long errors = results.stream().filter(result -> result.failure() != null).count();
+            long nanos = results.stream().mapToLong(FileResult::nanos).sum();
+            String suite = schema != null ? schema : "(no schema)";
+            out.write(String.format(Locale.ROOT, "  <testsuite name=\"%s\" tests=\"%d\" failures=\"%d\" errors=\"%d\" time=\"%.3f\">%n",
+                    escape(suite), results.size(), failures, errors, nanos / 1e9));
+            for (FileResult result : results) {
+                out.write(String.format(Locale.ROOT, "    <testcase classname=\"%s\" name=\"%s\" time=\"%.3f\"",
+                        escape(suite), escape(result.file().toString()), result.nanos() / 1e9));
+                if (result.isValid()) {
+                    out.write("/>\n");
+                    continue;
+                }
+                out.write(">\n");
+                if (result.failure() != null) {
+                    out.write("      <error message=\"" + escape(result.failure()) + "\"/>\n");
+                } else {
+                    out.write(String.format("      <failure message=\"%d error(s)\">%s</failure>%n",
+                            result.errors().size(), escape(String.join("\n", result.errors()))));
+                }
+                out.write("    </testcase>\n");
+            }
+            out.write("  </testsuite>\n");
+        }
+
+        @Override
+        void finish() throws IOException {
+            out.write("</testsuites>\n");
+            super.finish();
+        }
+
+        private static String escape(String text) {
+            StringBuilder escaped = new StringBuilder(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '&' -> escaped.append("&amp;");
+                    case '<' -> escaped.append("&lt;");
+                    case '>' -> escaped.append("&gt;");
+                    case '"' -> escaped.append("&quot;");
+                    case '\n', '\t' -> escaped.append(c);
+                    default -> {
+                        // characters XML 1.0 cannot represent at all
+                        if (c >= 0x20 || c == '\r') {
+                            escaped.append(c);
+                        }
+                    }
+                }
+            }
+            return escaped.toString();
+        }
+    }
+}
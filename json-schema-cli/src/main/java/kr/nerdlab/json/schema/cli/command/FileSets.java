@@ -0,0 +1,85 @@
+package kr.nerdlab.json.schema.cli.command;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Expands the file arguments of a command: files, directories (every {@code .json} file below them) and glob
+ * patterns such as {@code config/**&#47;*.json}.
+ */
+final class FileSets {
+    private static final String GLOB_CHARACTERS = "*?[{";
+
+    private FileSets() {
+    }
+
+    /**
+     * @param locations comma-separated files, directories or glob patterns
+     * @return the matching regular files, sorted and without duplicates
+     * @throws NoSuchFileException if a location that is not a pattern does not exist
+     */
+    static List<Path> expand(String locations) throws IOException {
+        TreeSet<Path> files = new TreeSet<>();
+        for (String location : locations.split(",")) {
+            String trimmed = location.trim();
+            if (!trimmed.isEmpty()) {
+                expand(trimmed, files);
+            }
+        }
+        return new ArrayList<>(files);
+    }
+
+    private static void expand(String location, TreeSet<Path> files) throws IOException {
+        int glob = firstGlobCharacter(location);
+        if (glob < 0) {
+            Path path = Path.of(location).toAbsolutePath().normalize();
+            if (Files.isDirectory(path)) {
+                walk(path, file -> file.getFileName().toString().endsWith(".json"), files);
+            } else if (Files.isRegularFile(path)) {
+                files.add(path);
+            } else {
+                throw new NoSuchFileException(location);
+            }
+            return;
+        }
+
+        // the directory part before the first pattern segment is walked, the rest is matched relative to it
+        int separator = Math.max(location.lastIndexOf('/', glob), location.lastIndexOf('\\', glob));
+        Path base = Path.of(separator < 0 ? "." : location.substring(0, separator + 1)).toAbsolutePath().normalize();
+        String pattern = location.substring(separator + 1);
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+        // "**/" also matches no directory at all, as in most shells
+        PathMatcher topLevel = pattern.startsWith("**/")
+                ? FileSystems.getDefault().getPathMatcher("glob:" + pattern.substring(3))
+                : matcher;
+        if (Files.isDirectory(base)) {
+            walk(base, file -> {
+                Path relative = base.relativize(file);
+                return matcher.matches(relative) || topLevel.matches(relative);
+            }, files);
+        }
+    }
+
+    private static void walk(Path directory, PathMatcher matcher, TreeSet<Path> files) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.filter(Files::isRegularFile).filter(matcher::matches).forEach(files::add);
+        }
+    }
+
+    private static int firstGlobCharacter(String location) {
+        for (int i = 0; i < location.length(); i++) {
+            if (GLOB_CHARACTERS.indexOf(location.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,102 @@
+package kr.nerdlab.json.schema.cli.command;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import kr.nerdlab.json.schema.core.bulk.BulkValidationSummary;
+import kr.nerdlab.json.schema.core.bulk.JsonLinesValidator;
+import kr.nerdlab.json.schema.core.bulk.RecordResult;
+import kr.nerdlab.json.schema.core.bulk.RecordResultSink;
+import kr.nerdlab.json.schema.core.cache.CompiledSchemaStore;
+import org.springframework.shell.command.annotation.Command;
+import org.springframework.shell.command.annotation.Option;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Command(group = "Validation")
+public class JsonLinesCommands {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Command(command = "validate-lines", description = "Validate every record of a JSON Lines (NDJSON) file against one schema.")
+    public String validateLines(
+            @Option(longNames = "schema", required = true, description = "Schema file path or URI") String schema,
+            @Option(longNames = "input", defaultValue = "-", description = "JSON Lines file, or '-' for standard input") String input,
+            @Option(longNames = "format", defaultValue = "text", description = "Result format: text or json") String format,
+            @Option(longNames = "all", defaultValue = "false", description = "Also report valid records") boolean all,
+            @Option(longNames = "batch-size", defaultValue = "1024", description = "Records validated per batch") int batchSize,
+            @Option(longNames = "threads", defaultValue = "0", description = "Worker threads, 0 for one per CPU") int threads,
+            @Option(longNames = "schema-store", description = "Directory of compiled schemas reused across runs") String schemaStore
+    ) throws IOException {
+        CompiledSchemaStore store = SchemaLocations.toStore(schemaStore);
+        CompiledSchema compiled = store != null
+                ? store.loader().load(SchemaLocations.toUri(schema))
+                : CompiledSchema.compile(mapper.readTree(SchemaLocations.toUri(schema).toURL()));
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        RecordResultSink sink = "json".equalsIgnoreCase(format) ? jsonSink(out, all) : textSink(out, all);
+
+        BulkValidationSummary summary;
+        try (ExecutorService executor = Executors.newFixedThreadPool(workers)) {
+            JsonLinesValidator validator = new JsonLinesValidator(mapper.getFactory(), compiled, executor,
+                    batchSize, JsonLinesValidator.DEFAULT_MAX_RECORD_BYTES);
+            if ("-".equals(input)) {
+                summary = validator.validate(System.in, sink);
+            } else {
+                summary = validator.validate(Path.of(input), sink);
+            }
+        } finally {
+            out.flush();
+        }
+
+        return String.format("%d records, %d valid, %d invalid (%d bytes)",
+                summary.recordCount(), summary.validCount(), summary.invalidCount(), summary.byteCount());
+    }
+
+    private static RecordResultSink textSink(Writer out, boolean all) {
+        return result -> {
+            if (result.isValid()) {
+                if (all) {
+                    out.write(String.format("line %d (offset %d): valid%n", result.lineNumber(), result.byteOffset()));
+                }
+                return;
+            }
+            for (String error : result.errors()) {
+                out.write(String.format("line %d (offset %d): %s%n", result.lineNumber(), result.byteOffset(), error));
+            }
+        };
+    }
+
+    private static RecordResultSink jsonSink(Writer out, boolean all) {
+        return result -> {
+            if (result.isValid() && !all) {
+                return;
+            }
+            writeJson(out, result);
+            out.write(System.lineSeparator());
+        };
+    }
+
+    private static void writeJson(Writer out, RecordResult result) throws IOException {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeNumberField("line", result.lineNumber());
+            generator.writeNumberField("offset", result.byteOffset());
+            generator.writeBooleanField("valid", result.isValid());
+            generator.writeArrayFieldStart("errors");
+            for (String error : result.errors()) {
+                generator.writeString(error);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package kr.nerdlab.json.schema.cli.command;
+
+import kr.nerdlab.json.schema.core.metrics.Histogram;
+import kr.nerdlab.json.schema.core.metrics.InMemoryValidationMetrics;
+import kr.nerdlab.json.schema.core.metrics.SchemaMetrics;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Renders {@link InMemoryValidationMetrics} as plain text, one block per schema.
+ */
+final class MetricsReport {
+    private static final double NANOS_PER_MICRO = 1_000.0;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private MetricsReport() {
+    }
+
+    static String format(InMemoryValidationMetrics metrics) {
+        StringBuilder out = new StringBuilder();
+        for (SchemaMetrics schema : metrics.getSchemas().values()) {
+            if (!out.isEmpty()) {
+                out.append(System.lineSeparator());
+            }
+            out.append("schema ").append(schema.getSchemaId()).append(System.lineSeparator());
+
+            long validations = schema.getValidationCount();
+            out.append(String.format("  validations      %d (%d invalid), %.1f nodes visited per document%n",
+                    validations, schema.getInvalidCount(),
+                    validations == 0 ? 0.0 : (double) schema.getNodesVisited() / validations));
+            if (validations > 0) {
+                out.append("  latency (us)     ").append(percentiles(schema.getLatency(), NANOS_PER_MICRO)).append(System.lineSeparator());
+            }
+            if (schema.getDocumentSize().getTotalCount() > 0) {
+                out.append("  document (bytes) ").append(percentiles(schema.getDocumentSize(), 1)).append(System.lineSeparator());
+            }
+            out.append(String.format("  schema cache     %d hits, %d misses%n", schema.getCacheHitCount(), schema.getCacheMissCount()));
+            if (schema.getLoadTime().getTotalCount() > 0) {
+                out.append("  load (ms)        ").append(percentiles(schema.getLoadTime(), NANOS_PER_MILLI)).append(System.lineSeparator());
+            }
+            Map<String, Long> errors = schema.getErrorsByKeyword();
+            if (!errors.isEmpty()) {
+                out.append("  errors           ").append(errors.entrySet().stream()
+                        .map(entry -> entry.getKey() + "=" + entry.getValue())
+                        .collect(Collectors.joining(", "))).append(System.lineSeparator());
+            }
+        }
+        return out.isEmpty() ? "no metrics recorded" : out.toString().stripTrailing();
+    }
+
+    private static String percentiles(Histogram histogram, double unit) {
+        return String.format("p50 %.1f  p90 %.1f  p99 %.1f  p99.9 %.1f  max %.1f  mean %.1f",
+                histogram.getValueAtPercentile(50) / unit, histogram.getValueAtPercentile(90) / unit,
+                histogram.getValueAtPercentile(99) / unit, histogram.getValueAtPercentile(99.9) / unit,
+                histogram.getMaxValue() / unit, histogram.getMean() / unit);
+    }
+}
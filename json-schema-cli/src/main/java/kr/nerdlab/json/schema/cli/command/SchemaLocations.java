@@ -0,0 +1,30 @@
+package kr.nerdlab.json.schema.cli.command;
+
+import kr.nerdlab.json.schema.core.cache.CompiledSchemaStore;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+public final class SchemaLocations {
+
+    private SchemaLocations() {
+    }
+
+    /**
+     * Accepts either an absolute URI ({@code file:}, {@code http:}, {@code https:}) or a local file path.
+     */
+    public static URI toUri(String location) {
+        if (location.startsWith("file:") || location.startsWith("http://") || location.startsWith("https://")) {
+            return URI.create(location).normalize();
+        }
+        return Path.of(location).toAbsolutePath().normalize().toUri();
+    }
+
+    /**
+     * @param directory the {@code --schema-store} option, which is {@code null} when it is not given
+     * @return the compiled schema store in the directory, or {@code null} for a missing or empty option value
+     */
+    public static CompiledSchemaStore toStore(String directory) {
+        return directory == null || directory.isEmpty() ? null : new CompiledSchemaStore(Path.of(directory));
+    }
+}
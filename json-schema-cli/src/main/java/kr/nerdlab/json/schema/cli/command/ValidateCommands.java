@@ -0,0 +1,68 @@
+package kr.nerdlab.json.schema.cli.command;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.core.DefaultJsonSchemaGenerator;
+import kr.nerdlab.json.schema.core.DefaultJsonSchemaValidator;
+import kr.nerdlab.json.schema.core.exception.JsonValidationException;
+import kr.nerdlab.json.schema.core.metrics.InMemoryValidationMetrics;
+import kr.nerdlab.json.schema.core.metrics.ValidationInstrumentation;
+import org.springframework.shell.command.annotation.Command;
+import org.springframework.shell.command.annotation.Option;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+@Command(group = "Validation")
+public class ValidateCommands {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Command(command = "validate", description = "Validate a JSON document against its '$schema' or the given schema.")
+    public String validate(
+            @Option(longNames = "data", required = true, description = "JSON document file path") String data,
+            @Option(longNames = "schema", description = "Schema file path or URI; defaults to the document's '$schema'") String schema,
+            @Option(longNames = "repeat", defaultValue = "1", description = "Number of times to validate the document") int repeat,
+            @Option(longNames = "metrics", defaultValue = "false", description = "Print latency, size, error and schema cache metrics") boolean metrics,
+            @Option(longNames = "schema-store", description = "Directory of compiled schemas reused across runs") String schemaStore
+    ) throws IOException {
+        if (repeat < 1) {
+            throw new IllegalArgumentException("repeat must be positive: " + repeat);
+        }
+        InMemoryValidationMetrics recorder = metrics ? new InMemoryValidationMetrics() : null;
+        DefaultJsonSchemaValidator validator = DefaultJsonSchemaValidator.builder(mapper, new DefaultJsonSchemaGenerator(mapper))
+                .instrumentation(recorder != null ? recorder : ValidationInstrumentation.none())
+                .schemaStore(SchemaLocations.toStore(schemaStore))
+                .build();
+
+        File file = new File(data);
+        Set<String> errors = new LinkedHashSet<>();
+        for (int i = 0; i < repeat; i++) {
+            try {
+                if (schema == null || schema.isEmpty()) {
+                    validator.validate(file.toPath());
+                } else {
+                    validator.validate(file, SchemaLocations.toUri(schema));
+                }
+            } catch (JsonValidationException e) {
+                if (errors.isEmpty()) {
+                    e.getErrors().forEach(error -> errors.add(error.getMessage()));
+                }
+            }
+        }
+
+        StringBuilder out = new StringBuilder();
+        if (errors.isEmpty()) {
+            out.append(data).append(": valid");
+        } else {
+            out.append(data).append(": ").append(errors.size()).append(" error(s)");
+            for (String error : errors) {
+                out.append(System.lineSeparator()).append("  ").append(error);
+            }
+        }
+        if (recorder != null) {
+            out.append(System.lineSeparator()).append(System.lineSeparator()).append(MetricsReport.format(recorder));
+        }
+        return out.toString();
+    }
+}
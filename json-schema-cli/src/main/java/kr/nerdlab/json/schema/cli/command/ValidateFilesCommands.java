@@ -0,0 +1,233 @@
+package kr.nerdlab.json.schema.cli.command;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.core.DefaultJsonSchemaGenerator;
+import kr.nerdlab.json.schema.core.DefaultJsonSchemaValidator;
+import org.springframework.shell.command.CommandHandlingResult;
+import org.springframework.shell.command.annotation.Command;
+import org.springframework.shell.command.annotation.ExceptionResolver;
+import org.springframework.shell.command.annotation.Option;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+@Command(group = "Validation")
+public class ValidateFilesCommands {
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
+
+    /**
+     * Files are grouped by schema first, by reading each file only up to its {@code $schema} property, so that every
+     * schema is loaded once and a schema that cannot be loaded is reported once per file instead of being retried.
+     * Each file is then validated on its own virtual thread; a semaphore bounds how many files are open at once.
+     */
+    @Command(command = "validate-files", description = "Validate every JSON file of directories or glob patterns against its '$schema' or the given schema.")
+    public String validateFiles(
+            @Option(longNames = "paths", required = true, description = "Comma-separated files, directories or glob patterns such as 'config/**/*.json'") String paths,
+            @Option(longNames = "schema", description = "Schema file path or URI; defaults to each document's '$schema'") String schema,
+            @Option(longNames = "format", defaultValue = "text", description = "Result format: text, json or junit") String format,
+            @Option(longNames = "output", defaultValue = "-", description = "Result file, or '-' for standard output") String output,
+            @Option(longNames = "all", defaultValue = "false", description = "Also report valid files") boolean all,
+            @Option(longNames = "concurrency", defaultValue = "0", description = "Files validated at once, 0 for four per CPU") int concurrency,
+            @Option(longNames = "schema-store", description = "Directory of compiled schemas reused across runs") String schemaStore
+    ) throws IOException {
+        long start = System.nanoTime();
+        int permits = concurrency > 0 ? concurrency : 4 * Runtime.getRuntime().availableProcessors();
+        List<Path> files = FileSets.expand(paths);
+        if (files.isEmpty()) {
+            throw new FilesFailedException("no files match " + paths, 2);
+        }
+        DefaultJsonSchemaValidator validator = DefaultJsonSchemaValidator.builder(mapper, new DefaultJsonSchemaGenerator(mapper))
+                .schemaStore(SchemaLocations.toStore(schemaStore))
+                .build();
+
+        Writer out = "-".equals(output)
+                ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                : Files.newBufferedWriter(Path.of(output), StandardCharsets.UTF_8);
+        FileResultFormat results = FileResultFormat.of(format, out, all, mapper.getFactory());
+
+        List<FileResult> done = new ArrayList<>(files.size());
+        Map<URI, List<Path>> groups;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Run run = new Run(validator, executor, new Semaphore(permits), results);
+            results.start();
+            boolean declared = schema == null || schema.isEmpty();
+            if (declared) {
+                groups = run.groupByDeclaredSchema(files, done);
+            } else {
+                groups = Map.of(SchemaLocations.toUri(schema), files);
+            }
+            List<Future<List<FileResult>>> validated = new ArrayList<>(groups.size());
+            for (Map.Entry<URI, List<Path>> group : groups.entrySet()) {
+                validated.add(executor.submit(() -> run.validate(group.getKey(), group.getValue(), declared)));
+            }
+            for (Future<List<FileResult>> group : validated) {
+                done.addAll(join(group));
+            }
+            results.finish();
+        } finally {
+            if (!"-".equals(output)) {
+                out.close();
+            }
+        }
+
+        long valid = done.stream().filter(FileResult::isValid).count();
+        long invalid = done.stream().filter(FileResult::isInvalid).count();
+        long failed = done.size() - valid - invalid;
+        long bytes = done.stream().mapToLong(FileResult::bytes).sum();
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+        String summary = String.format(Locale.ROOT, "%d files, %d valid, %d invalid, %d not validated against %d schema(s) in %.2f s: %.0f files/s, %.1f MB/s",
+                done.size(), valid, invalid, failed, groups.size(), seconds, done.size() / seconds,
+                bytes / BYTES_PER_MEGABYTE / seconds);
+        if (failed > 0) {
+            throw new FilesFailedException(summary, 2);
+        }
+        if (invalid > 0) {
+            throw new FilesFailedException(summary, 1);
+        }
+        return summary;
+    }
+
+    @ExceptionResolver(FilesFailedException.class)
+    CommandHandlingResult failed(FilesFailedException e) {
+        return CommandHandlingResult.of(e.getMessage() + System.lineSeparator(), e.exitCode);
+    }
+
+    private static <T> T join(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while validating files");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Ends the command with a non-zero exit code: 1 if files are invalid, 2 if files could not be validated.
+     */
+    static final class FilesFailedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int exitCode;
+
+        FilesFailedException(String message, int exitCode) {
+            super(message);
+            this.exitCode = exitCode;
+        }
+    }
+
+    private record Run(DefaultJsonSchemaValidator validator, ExecutorService executor, Semaphore permits,
+                       FileResultFormat results) {
+
+        /**
+         * @param failures receives the files whose schema cannot be determined
+         * @return the files by declared schema, in order of first appearance
+         */
+        Map<URI, List<Path>> groupByDeclaredSchema(List<Path> files, List<FileResult> failures) throws IOException {
+            List<Future<URI>> declared = new ArrayList<>(files.size());
+            for (Path file : files) {
+                declared.add(executor.submit(() -> bounded(() -> DocumentFiles.declaredSchema(validator.getInputFormats(), file))));
+            }
+            Map<URI, List<Path>> groups = new LinkedHashMap<>();
+            for (int i = 0; i < files.size(); i++) {
+                Path file = files.get(i);
+                try {
+                    groups.computeIfAbsent(join(declared.get(i)), uri -> new ArrayList<>()).add(file);
+                } catch (IOException | RuntimeException e) {
+                    FileResult failure = FileResult.failed(file, null, DocumentFiles.describe(e));
+                    failures.add(failure);
+                    report(failure);
+                }
+            }
+            if (!failures.isEmpty()) {
+                synchronized (results) {
+                    results.schema(null, failures);
+                }
+            }
+            return groups;
+        }
+
+        /**
+         * Loads the schema once, then validates its files concurrently.
+         *
+         * @param declared whether the files declare the schema, so they can be validated without building a tree
+         * @return the results in file order
+         */
+        List<FileResult> validate(URI schema, List<Path> files, boolean declared) throws IOException {
+            String schemaId = schema.toString();
+            List<FileResult> validated = new ArrayList<>(files.size());
+            try {
+                validator.getSchema(schema);
+            } catch (IOException | RuntimeException e) {
+                String failure = "cannot load schema " + schemaId + ": " + DocumentFiles.describe(e);
+                for (Path file : files) {
+                    FileResult result = FileResult.failed(file, schemaId, failure);
+                    validated.add(result);
+                    report(result);
+                }
+                return finish(schemaId, validated);
+            }
+
+            List<Future<FileResult>> pending = new ArrayList<>(files.size());
+            for (Path file : files) {
+                pending.add(executor.submit(() -> bounded(() -> {
+                    FileResult result = DocumentFiles.validate(validator, file, schema, declared);
+                    report(result);
+                    return result;
+                })));
+            }
+            for (Future<FileResult> result : pending) {
+                validated.add(join(result));
+            }
+            return finish(schemaId, validated);
+        }
+
+        private List<FileResult> finish(String schemaId, List<FileResult> validated) throws IOException {
+            synchronized (results) {
+                results.schema(schemaId, validated);
+            }
+            return validated;
+        }
+
+        private void report(FileResult result) throws IOException {
+            synchronized (results) {
+                results.file(result);
+            }
+        }
+
+        private <T> T bounded(Callable<T> task) throws Exception {
+            permits.acquire();
+            try {
+                return task.call();
+            } finally {
+                permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package kr.nerdlab.json.schema.cli.command;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.core.DefaultJsonSchemaGenerator;
+import kr.nerdlab.json.schema.core.DefaultJsonSchemaValidator;
+import org.springframework.shell.command.annotation.Command;
+import org.springframework.shell.command.annotation.Option;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+@Command(group = "Validation")
+public class WatchCommands {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Command(command = "watch", description = "Validate the JSON files of directories, then revalidate the files and schemas that change until interrupted.")
+    public String watch(
+            @Option(longNames = "paths", required = true, description = "Comma-separated directories to watch recursively") String paths,
+            @Option(longNames = "schema", description = "Schema file path or URI; defaults to each document's '$schema'") String schema,
+            @Option(longNames = "format", defaultValue = "text", description = "Result format: text or json") String format,
+            @Option(longNames = "quiet-period", defaultValue = "200", description = "Milliseconds without filesystem events before revalidating") long quietPeriodMillis,
+            @Option(longNames = "concurrency", defaultValue = "0", description = "Files validated at once, 0 for four per CPU") int concurrency,
+            @Option(longNames = "schema-store", description = "Directory of compiled schemas reused across runs") String schemaStore
+    ) throws IOException {
+        if ("junit".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("watch results cannot be written as JUnit XML");
+        }
+        List<Path> roots = Arrays.stream(paths.split(","))
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .map(Path::of)
+                .toList();
+        DefaultJsonSchemaValidator validator = DefaultJsonSchemaValidator.builder(mapper, new DefaultJsonSchemaGenerator(mapper))
+                .schemaStore(SchemaLocations.toStore(schemaStore))
+                .build();
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        FileResultFormat results = FileResultFormat.of(format, out, true, mapper.getFactory());
+
+        try (DirectoryWatch watch = new DirectoryWatch(roots, validator,
+                schema == null || schema.isEmpty() ? null : SchemaLocations.toUri(schema), Duration.ofMillis(quietPeriodMillis),
+                concurrency > 0 ? concurrency : 4 * Runtime.getRuntime().availableProcessors(), results,
+                System.err::println)) {
+            watch.run();
+        }
+        return "stopped watching " + roots;
+    }
+}
@@ -0,0 +1,265 @@
+package kr.nerdlab.json.schema.cli.daemon;
+
+import kr.nerdlab.json.schema.cli.JsonSchemaCli;
+import kr.nerdlab.json.schema.cli.command.SchemaLocations;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.URI;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A connection to a {@link ValidationDaemon}, and the thin command-line front end that runs in place of Spring
+ * Shell for {@code json-schema-cli remote ...}: it parses its own arguments, starts the daemon in the background
+ * if none is listening, sends one request per document and prints the answers in the format of the
+ * {@code validate} command.
+ * <p>
+ * Instances are not thread-safe; each sends one request at a time and waits for its response.
+ */
+public final class DaemonClient implements Closeable {
+    /**
+     * The first command-line argument that selects the client instead of the shell.
+     */
+    public static final String COMMAND = "remote";
+
+    static final Duration START_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final String USAGE = "usage: " + COMMAND
+            + " [--socket <path>] [--schema <path or URI>] [--schema-store <dir>] [--no-start] <file>..."
+            + " | --status | --stop";
+
+    private final SocketChannel channel;
+    private final BufferedReader in;
+    private final Writer out;
+
+    private DaemonClient(SocketChannel channel) {
+        this.channel = channel;
+        this.in = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+        this.out = Channels.newWriter(channel, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @throws AccessDeniedException if the socket belongs to another user, who could read every request
+     * @throws IOException           if no daemon is listening on the socket
+     */
+    public static DaemonClient connect(Path socket) throws IOException {
+        DaemonProtocol.checkOwner(socket);
+        return new DaemonClient(SocketChannel.open(UnixDomainSocketAddress.of(socket)));
+    }
+
+    /**
+     * @param data   the document
+     * @param schema the schema, or {@code null} to use the document's {@code $schema}
+     */
+    public DaemonResponse validate(Path data, URI schema) throws IOException {
+        return send(new DaemonProtocol.Request(DaemonProtocol.VALIDATE, data.toAbsolutePath().toString(),
+                schema != null ? schema.toString() : null));
+    }
+
+    public DaemonResponse status() throws IOException {
+        return send(new DaemonProtocol.Request(DaemonProtocol.STATUS, null, null));
+    }
+
+    /**
+     * Asks the daemon to stop once the requests in progress are answered.
+     */
+    public DaemonResponse stop() throws IOException {
+        return send(new DaemonProtocol.Request(DaemonProtocol.STOP, null, null));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private DaemonResponse send(DaemonProtocol.Request request) throws IOException {
+        out.write(DaemonProtocol.encode(request));
+        out.write('\n');
+        out.flush();
+        String line = in.readLine();
+        if (line == null) {
+            throw new IOException("The daemon closed the connection");
+        }
+        return DaemonProtocol.decodeResponse(line);
+    }
+
+    /**
+     * Runs the client front end.
+     *
+     * @param args the arguments after {@link #COMMAND}
+     * @return the exit status: 0 if every document is valid, 1 if any is invalid, 2 on usage or daemon errors
+     */
+    public static int run(String[] args, PrintStream stdout, PrintStream stderr) {
+        Path socket = DaemonProtocol.defaultSocket();
+        String schema = null;
+        String schemaStore = null;
+        boolean autoStart = true;
+        String control = null;
+        List<String> files = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--socket" -> socket = Path.of(value(args, ++i));
+                    case "--schema" -> schema = value(args, ++i);
+                    case "--schema-store" -> schemaStore = value(args, ++i);
+                    case "--no-start" -> autoStart = false;
+                    case "--status", "--stop" -> control = args[i];
+                    default -> files.add(args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            stderr.println(e.getMessage());
+            stderr.println(USAGE);
+            return 2;
+        }
+        if (control == null && files.isEmpty()) {
+            stderr.println(USAGE);
+            return 2;
+        }
+
+        if (control != null) {
+            try (DaemonClient client = connect(socket)) {
+                DaemonResponse response = "--stop".equals(control) ? client.stop() : client.status();
+                stdout.println(response.message());
+                return response.ok() ? 0 : 2;
+            } catch (IOException e) {
+                stderr.println("No daemon is listening on " + socket);
+                return 2;
+            }
+        }
+
+        try (DaemonClient client = autoStart ? connectOrStart(socket, schemaStore) : connect(socket)) {
+            URI schemaUri = schema != null ? SchemaLocations.toUri(schema) : null;
+            int status = 0;
+            for (String file : files) {
+                DaemonResponse response = client.validate(Path.of(file), schemaUri);
+                if (!response.ok()) {
+                    stderr.println(response.message());
+                    status = 2;
+                } else if (response.valid()) {
+                    stdout.println(file + ": valid");
+                } else {
+                    stdout.println(file + ": " + response.errors().size() + " error(s)");
+                    for (String error : response.errors()) {
+                        stdout.println("  " + error);
+                    }
+                    status = Math.max(status, 1);
+                }
+            }
+            return status;
+        } catch (IOException e) {
+            stderr.println("Cannot reach the daemon on " + socket + ": " + e.getMessage());
+            return 2;
+        }
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static DaemonClient connectOrStart(Path socket, String schemaStore) throws IOException {
+        try {
+            return connect(socket);
+        } catch (AccessDeniedException e) {
+            throw e;
+        } catch (IOException notRunning) {
+            // start it below
+        }
+        Process daemon = start(socket, schemaStore);
+        long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+        while (true) {
+            try {
+                return connect(socket);
+            } catch (IOException e) {
+                if (!daemon.isAlive()) {
+                    throw new IOException("the daemon exited with status " + daemon.exitValue() + "; see "
+                            + logFile(socket), e);
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IOException("the daemon did not start within " + START_TIMEOUT.toSeconds()
+                            + "s; see " + logFile(socket), e);
+                }
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the daemon", e);
+            }
+        }
+    }
+
+    /**
+     * Starts {@code daemon-start} in a background JVM with the class path of this one, logging to a file next
+     * to the socket.
+     */
+    private static Process start(Path socket, String schemaStore) throws IOException {
+        DaemonProtocol.createDirectory(socket);
+        File log = openLog(socket);
+        String java = ProcessHandle.current().info().command()
+                .orElse(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        String classPath = System.getProperty("java.class.path");
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        if (classPath.endsWith(".jar") && !classPath.contains(File.pathSeparator)) {
+            command.add("-jar");
+            command.add(classPath);
+        } else {
+            command.add("-cp");
+            command.add(classPath);
+            command.add(JsonSchemaCli.class.getName());
+        }
+        command.add("daemon-start");
+        command.add("--socket");
+        command.add(socket.toAbsolutePath().toString());
+        if (schemaStore != null) {
+            command.add("--schema-store");
+            command.add(Path.of(schemaStore).toAbsolutePath().toString());
+        }
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(log))
+                .start();
+        process.getOutputStream().close();
+        return process;
+    }
+
+    private static Path logFile(Path socket) {
+        return socket.resolveSibling(socket.getFileName() + ".log");
+    }
+
+    /**
+     * Creates the log file, or checks an existing one, so that the redirect, which follows links, appends to a
+     * regular file of the current user rather than to whatever a link planted in its place points to.
+     */
+    private static File openLog(Path socket) throws IOException {
+        Path log = logFile(socket);
+        Set<OpenOption> options = Set.of(StandardOpenOption.CREATE, StandardOpenOption.APPEND,
+                LinkOption.NOFOLLOW_LINKS);
+        try (SeekableByteChannel ignored = Files.newByteChannel(log, options)) {
+            DaemonProtocol.checkOwner(log);
+        }
+        return log.toFile();
+    }
+}
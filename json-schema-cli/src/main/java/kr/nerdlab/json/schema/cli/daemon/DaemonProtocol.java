@@ -0,0 +1,186 @@
+package kr.nerdlab.json.schema.cli.daemon;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The messages exchanged between {@link DaemonClient} and {@link ValidationDaemon}: one compact JSON object per
+ * line, each request answered by exactly one response on the same connection.
+ * <p>
+ * Only Jackson's streaming API is used, so the client does not pay for creating an {@code ObjectMapper}.
+ */
+final class DaemonProtocol {
+    static final String VALIDATE = "validate";
+    static final String STATUS = "status";
+    static final String STOP = "stop";
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private DaemonProtocol() {
+    }
+
+    /**
+     * @param command {@link #VALIDATE}, {@link #STATUS} or {@link #STOP}
+     * @param data    the absolute path of the document to validate
+     * @param schema  the absolute schema URI, or {@code null} to use the document's {@code $schema}
+     */
+    record Request(String command, String data, String schema) {
+    }
+
+    /**
+     * @return {@code json-schema-cli/daemon.sock} in {@code $XDG_RUNTIME_DIR}, or
+     * {@code ~/.json-schema-cli/daemon.sock} where that is not set. Unlike the temporary directory, neither lets
+     * other users plant a socket or a log link under the expected name.
+     */
+    static Path defaultSocket() {
+        String runtimeDirectory = System.getenv("XDG_RUNTIME_DIR");
+        Path directory = runtimeDirectory != null && !runtimeDirectory.isEmpty()
+                ? Path.of(runtimeDirectory, "json-schema-cli")
+                : Path.of(System.getProperty("user.home"), ".json-schema-cli");
+        return directory.resolve("daemon.sock");
+    }
+
+    /**
+     * Creates the directory of a socket, if missing, accessible to its owner only.
+     */
+    static void createDirectory(Path socket) throws IOException {
+        Path directory = socket.toAbsolutePath().getParent();
+        if (Files.isDirectory(directory)) {
+            return;
+        }
+        Files.createDirectories(directory.getParent());
+        try {
+            Files.createDirectory(directory,
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+        } catch (UnsupportedOperationException e) {
+            // not a POSIX file system; the directory keeps the permissions of its parent
+            Files.createDirectory(directory);
+        } catch (FileAlreadyExistsException e) {
+            // created meanwhile by the client or the daemon
+        }
+    }
+
+    /**
+     * @throws AccessDeniedException if the file, or the link in its place, belongs to another user
+     * @throws IOException           if the file does not exist
+     */
+    static void checkOwner(Path file) throws IOException {
+        UserPrincipal owner;
+        try {
+            owner = Files.getOwner(file, LinkOption.NOFOLLOW_LINKS);
+        } catch (UnsupportedOperationException e) {
+            return;
+        }
+        UserPrincipal user = file.getFileSystem().getUserPrincipalLookupService()
+                .lookupPrincipalByName(System.getProperty("user.name"));
+        if (!owner.equals(user)) {
+            throw new AccessDeniedException(file.toString(), null, "owned by " + owner.getName() + ", not " + user.getName());
+        }
+    }
+
+    static String encode(Request request) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("command", request.command());
+            if (request.data() != null) {
+                generator.writeStringField("data", request.data());
+            }
+            if (request.schema() != null) {
+                generator.writeStringField("schema", request.schema());
+            }
+            generator.writeEndObject();
+        }
+        return out.toString();
+    }
+
+    static Request decodeRequest(String line) throws IOException {
+        String command = null;
+        String data = null;
+        String schema = null;
+        try (JsonParser parser = FACTORY.createParser(line)) {
+            expect(parser, JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                switch (name) {
+                    case "command" -> command = parser.getValueAsString();
+                    case "data" -> data = parser.getValueAsString();
+                    case "schema" -> schema = parser.getValueAsString();
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        if (command == null) {
+            throw new IOException("Request has no command: " + line);
+        }
+        return new Request(command, data, schema);
+    }
+
+    static String encode(DaemonResponse response) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeBooleanField("ok", response.ok());
+            generator.writeBooleanField("valid", response.valid());
+            if (!response.errors().isEmpty()) {
+                generator.writeArrayFieldStart("errors");
+                for (String error : response.errors()) {
+                    generator.writeString(error);
+                }
+                generator.writeEndArray();
+            }
+            if (response.message() != null) {
+                generator.writeStringField("message", response.message());
+            }
+            generator.writeEndObject();
+        }
+        return out.toString();
+    }
+
+    static DaemonResponse decodeResponse(String line) throws IOException {
+        boolean ok = false;
+        boolean valid = false;
+        List<String> errors = new ArrayList<>();
+        String message = null;
+        try (JsonParser parser = FACTORY.createParser(line)) {
+            expect(parser, JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                switch (name) {
+                    case "ok" -> ok = parser.getBooleanValue();
+                    case "valid" -> valid = parser.getBooleanValue();
+                    case "errors" -> {
+                        while (parser.nextToken() == JsonToken.VALUE_STRING) {
+                            errors.add(parser.getText());
+                        }
+                    }
+                    case "message" -> message = parser.getValueAsString();
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return new DaemonResponse(ok, valid, errors, message);
+    }
+
+    private static void expect(JsonParser parser, JsonToken token) throws IOException {
+        if (parser.nextToken() != token) {
+            throw new IOException("Malformed daemon message, expected " + token + " but found " + parser.currentToken());
+        }
+    }
+}
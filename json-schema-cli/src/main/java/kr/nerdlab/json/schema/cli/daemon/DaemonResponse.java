@@ -0,0 +1,31 @@
+package kr.nerdlab.json.schema.cli.daemon;
+
+import java.util.List;
+
+/**
+ * The answer of a {@link ValidationDaemon} to one request.
+ *
+ * @param ok      {@code false} if the request could not be carried out, for example because the document is
+ *                unreadable; {@code message} then says why
+ * @param valid   whether the document is valid; only meaningful for a validation that was carried out
+ * @param errors  the validation errors, in order
+ * @param message the failure reason or the status text, or {@code null}
+ */
+public record DaemonResponse(boolean ok, boolean valid, List<String> errors, String message) {
+
+    static DaemonResponse passed() {
+        return new DaemonResponse(true, true, List.of(), null);
+    }
+
+    static DaemonResponse failed(List<String> errors) {
+        return new DaemonResponse(true, false, errors, null);
+    }
+
+    static DaemonResponse failure(String message) {
+        return new DaemonResponse(false, false, List.of(), message);
+    }
+
+    static DaemonResponse status(String message) {
+        return new DaemonResponse(true, true, List.of(), message);
+    }
+}
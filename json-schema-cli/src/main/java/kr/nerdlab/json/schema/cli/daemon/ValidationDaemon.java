@@ -0,0 +1,248 @@
+package kr.nerdlab.json.schema.cli.daemon;
+
+import kr.nerdlab.json.schema.core.DefaultJsonSchemaValidator;
+import kr.nerdlab.json.schema.core.cache.BoundedSchemaCache;
+import kr.nerdlab.json.schema.core.cache.SchemaRegistry;
+import kr.nerdlab.json.schema.core.cache.SchemaRegistryStats;
+import kr.nerdlab.json.schema.core.exception.JsonValidationException;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.StandardProtocolFamily;
+import java.net.URI;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves validation requests over a Unix-domain socket, so that repeated command-line invocations share one warm
+ * JVM: schemas stay compiled in the validator's cache and the JIT keeps its work, where every fresh invocation
+ * pays for JVM and Spring Shell startup first.
+ * <p>
+ * Each connection is served on its own virtual thread and may send any number of requests (see
+ * {@link DaemonClient}). The socket file is created readable and writable by its owner only, in a directory that
+ * is created accessible to its owner only if missing, and is deleted when the daemon stops, either on a
+ * {@code stop} request or after {@code idleTimeout} without requests.
+ */
+public final class ValidationDaemon {
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofHours(3);
+
+    private final Path socket;
+    private final DefaultJsonSchemaValidator validator;
+    private final BoundedSchemaCache schemaCache;
+    private final Duration idleTimeout;
+
+    private final long startNanos = System.nanoTime();
+    private volatile long lastRequestNanos = startNanos;
+    private final LongAdder requestCount = new LongAdder();
+    private volatile ServerSocketChannel server;
+    private volatile boolean stopping;
+
+    /**
+     * @param socket      the socket file
+     * @param validator   the validator requests are served with
+     * @param schemaCache the validator's schema cache, reported by the {@code status} request
+     * @param idleTimeout how long the daemon waits for a request before it stops
+     */
+    public ValidationDaemon(Path socket, DefaultJsonSchemaValidator validator, BoundedSchemaCache schemaCache,
+                            Duration idleTimeout) {
+        if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("idleTimeout must be positive: " + idleTimeout);
+        }
+        this.socket = socket.toAbsolutePath();
+        this.validator = validator;
+        this.schemaCache = schemaCache;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * @return the default socket file, one per user in a directory only that user can access
+     */
+    public static Path defaultSocket() {
+        return DaemonProtocol.defaultSocket();
+    }
+
+    /**
+     * Listens on the socket until the daemon is stopped. A socket file left behind by a daemon that did not stop
+     * cleanly is replaced.
+     *
+     * @throws IOException           if the socket cannot be bound
+     * @throws IllegalStateException if another daemon is listening on the socket
+     */
+    public void serve() throws IOException {
+        DaemonProtocol.createDirectory(socket);
+        removeStaleSocket();
+        try (ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.bind(UnixDomainSocketAddress.of(socket));
+            restrictToOwner();
+            server = channel;
+            if (stopping) {
+                return;
+            }
+            Thread.ofVirtual().name("json-schema-daemon-idle").start(this::stopWhenIdle);
+            while (!stopping) {
+                SocketChannel connection;
+                try {
+                    connection = channel.accept();
+                } catch (ClosedChannelException e) {
+                    break;
+                }
+                Thread.ofVirtual().name("json-schema-daemon-connection").start(() -> handle(connection));
+            }
+        } finally {
+            Files.deleteIfExists(socket);
+        }
+    }
+
+    /**
+     * Stops accepting connections; {@link #serve()} returns shortly after. Requests in progress are completed.
+     */
+    public void stop() {
+        stopping = true;
+        ServerSocketChannel channel = server;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // the daemon is stopping anyway
+            }
+        }
+    }
+
+    public Path getSocket() {
+        return socket;
+    }
+
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    private void handle(SocketChannel connection) {
+        try (connection;
+             BufferedReader in = new BufferedReader(Channels.newReader(connection, StandardCharsets.UTF_8));
+             Writer out = Channels.newWriter(connection, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                lastRequestNanos = System.nanoTime();
+                requestCount.increment();
+                DaemonProtocol.Request request;
+                DaemonResponse response;
+                try {
+                    request = DaemonProtocol.decodeRequest(line);
+                    response = respond(request);
+                } catch (IOException e) {
+                    request = null;
+                    response = DaemonResponse.failure(e.getMessage());
+                }
+                out.write(DaemonProtocol.encode(response));
+                out.write('\n');
+                out.flush();
+                if (request != null && DaemonProtocol.STOP.equals(request.command())) {
+                    stop();
+                    return;
+                }
+            }
+        } catch (IOException ignored) {
+            // the client went away; nothing to answer
+        }
+    }
+
+    private DaemonResponse respond(DaemonProtocol.Request request) {
+        return switch (request.command()) {
+            case DaemonProtocol.VALIDATE -> validate(request);
+            case DaemonProtocol.STATUS -> DaemonResponse.status(status());
+            case DaemonProtocol.STOP -> DaemonResponse.status("stopping daemon on " + socket);
+            default -> DaemonResponse.failure("Unknown command: " + request.command());
+        };
+    }
+
+    private DaemonResponse validate(DaemonProtocol.Request request) {
+        if (request.data() == null) {
+            return DaemonResponse.failure("Validate request has no data path");
+        }
+        File data = new File(request.data());
+        try {
+            if (request.schema() == null) {
+                validator.validate(data.toPath());
+            } else {
+                validator.validate(data, URI.create(request.schema()));
+            }
+            return DaemonResponse.passed();
+        } catch (JsonValidationException e) {
+            Set<String> errors = new LinkedHashSet<>();
+            e.getErrors().forEach(error -> errors.add(error.getMessage()));
+            if (errors.isEmpty()) {
+                errors.add(e.getMessage());
+            }
+            return DaemonResponse.failed(new ArrayList<>(errors));
+        } catch (IOException | RuntimeException e) {
+            return DaemonResponse.failure(request.data() + ": " + e.getMessage());
+        }
+    }
+
+    private String status() {
+        long uptimeSeconds = Duration.ofNanos(System.nanoTime() - startNanos).toSeconds();
+        String status = String.format("daemon pid %d on %s: up %ds, %d request(s), %d cached schema(s)",
+                ProcessHandle.current().pid(), socket, uptimeSeconds, requestCount.sum(), schemaCache.size());
+        SchemaRegistry registry = validator.getRegistry();
+        if (registry == null) {
+            return status;
+        }
+        SchemaRegistryStats stats = registry.getStats();
+        return status + String.format(", %d shared node(s), %.0f%% of sub-schemas reused",
+                stats.internedNodeCount(), stats.nodeHitRate() * 100);
+    }
+
+    private void stopWhenIdle() {
+        long timeoutNanos = idleTimeout.toNanos();
+        while (!stopping) {
+            long idleNanos = System.nanoTime() - lastRequestNanos;
+            if (idleNanos >= timeoutNanos) {
+                stop();
+                return;
+            }
+            try {
+                Thread.sleep(Duration.ofNanos(timeoutNanos - idleNanos));
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void removeStaleSocket() throws IOException {
+        if (!Files.exists(socket)) {
+            return;
+        }
+        try {
+            SocketChannel.open(UnixDomainSocketAddress.of(socket)).close();
+        } catch (IOException e) {
+            // nobody is listening: the file is left over from a daemon that was killed
+            Files.deleteIfExists(socket);
+            return;
+        }
+        throw new IllegalStateException("A daemon is already listening on " + socket);
+    }
+
+    private void restrictToOwner() {
+        try {
+            Files.setPosixFilePermissions(socket,
+                    EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE));
+        } catch (UnsupportedOperationException | IOException ignored) {
+            // not a POSIX file system; the socket keeps the permissions of its directory
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package kr.nerdlab.json.schema.cli;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandExitReporterTest {
+
+    @Test
+    void swallowsOnlyCommandExits() {
+        CommandExitReporter reporter = new CommandExitReporter();
+
+        assertTrue(reporter.reportException(new CommandExitException(2)));
+        assertFalse(reporter.reportException(new IllegalStateException("failed")));
+    }
+
+    @Test
+    void commandExitCarriesTheCodeWithoutStackTrace() {
+        CommandExitException exit = new CommandExitException(2);
+
+        assertEquals(2, exit.getExitCode());
+        assertEquals(0, exit.getStackTrace().length);
+    }
+}
@@ -0,0 +1,132 @@
+package kr.nerdlab.json.schema.cli.command;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.core.DefaultJsonSchemaGenerator;
+import kr.nerdlab.json.schema.core.DefaultJsonSchemaValidator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Watches a directory holding schemas and the documents bound to them, edits files and checks which documents are
+ * revalidated.
+ */
+class DirectoryWatchTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String DRAFT = "http://json-schema.org/draft-07/schema#";
+
+    @TempDir
+    Path directory;
+
+    private final StringWriter out = new StringWriter();
+    private final BlockingQueue<String> log = new LinkedBlockingQueue<>();
+
+    @Test
+    void revalidatesOnlyTheDocumentsBoundToAnEditedSchema() throws Exception {
+        Path ids = write("schemas/ids.json", schema("id"));
+        Path names = write("schemas/names.json", schema("name"));
+        Path first = write("documents/first.json", document(ids, "\"id\": 1"));
+        Path second = write("documents/second.json", document(ids, "\"id\": 2"));
+        Path named = write("documents/named.json", document(names, "\"name\": \"a\""));
+
+        try (DirectoryWatch watch = watch()) {
+            FutureTask<Void> running = start(watch);
+
+            assertTrue(next().startsWith("watching 3 document(s) bound to 2 schema(s) under [" + directory
+                    + "]: 3 valid, 0 invalid, 0 not validated"));
+            assertEquals(List.of(), results());
+
+            Files.writeString(ids, schema("code"));
+            assertTrue(next().startsWith("revalidated 2 document(s): 0 valid, 2 invalid, 0 not validated"));
+            List<JsonNode> revalidated = results();
+            assertEquals(List.of(first.toString(), second.toString()), files(revalidated));
+            for (JsonNode result : revalidated) {
+                assertEquals(mapper.readTree("[\"'#': required property 'code' is missing\"]"), result.get("errors"));
+            }
+
+            Files.writeString(named, document(names, "\"title\": \"a\""));
+            assertTrue(next().startsWith("revalidated 1 document(s): 0 valid, 1 invalid, 0 not validated"));
+            assertEquals(List.of(named.toString()), files(results()));
+
+            Files.delete(second);
+            assertEquals(second + ": removed", next());
+            Files.writeString(ids, schema("id"));
+            assertTrue(next().startsWith("revalidated 1 document(s): 1 valid, 0 invalid, 0 not validated"));
+            assertEquals(List.of(first.toString()), files(results()));
+
+            watch.close();
+            running.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private DirectoryWatch watch() throws IOException {
+        DefaultJsonSchemaValidator validator = DefaultJsonSchemaValidator.builder(mapper, new DefaultJsonSchemaGenerator(mapper))
+                .build();
+        return new DirectoryWatch(List.of(directory), validator, null, Duration.ofMillis(200), 4,
+                FileResultFormat.of("json", out, true, mapper.getFactory()), log::add);
+    }
+
+    private static FutureTask<Void> start(DirectoryWatch watch) {
+        FutureTask<Void> running = new FutureTask<>(() -> {
+            watch.run();
+            return null;
+        });
+        new Thread(running, "directory-watch").start();
+        return running;
+    }
+
+    private String next() throws InterruptedException {
+        String line = log.poll(10, TimeUnit.SECONDS);
+        assertNotNull(line, "no batch was logged");
+        return line;
+    }
+
+    /**
+     * @return the results written since the last call, which the log line of their batch follows
+     */
+    private List<JsonNode> results() throws IOException {
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : out.toString().lines().toList()) {
+            results.add(mapper.readTree(line));
+        }
+        out.getBuffer().setLength(0);
+        return results;
+    }
+
+    private static List<String> files(List<JsonNode> results) {
+        return results.stream().map(result -> result.get("file").asText()).toList();
+    }
+
+    /**
+     * A schema file declares the meta-schema, so the watch binds it like a document and then tells it is a schema.
+     */
+    private static String schema(String required) {
+        return "{\"$schema\": \"" + DRAFT + "\", \"required\": [\"" + required + "\"]}";
+    }
+
+    private static String document(Path schema, String properties) {
+        return "{\"$schema\": \"" + schema.toUri() + "\", " + properties + "}";
+    }
+
+    private Path write(String name, String content) throws IOException {
+        Path file = directory.resolve(name);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+}
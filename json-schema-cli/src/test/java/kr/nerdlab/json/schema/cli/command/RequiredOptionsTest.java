@@ -0,0 +1,109 @@
+package kr.nerdlab.json.schema.cli.command;
+
+import kr.nerdlab.json.schema.cli.daemon.ValidationDaemon;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.ExitCodeGenerator;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every command with only its required options, so that each optional option takes the value Spring Shell
+ * gives it when it is left out.
+ */
+class RequiredOptionsTest {
+    private static TestShell shell;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void startShell() {
+        shell = new TestShell();
+    }
+
+    @AfterAll
+    static void stopShell() {
+        shell.close();
+    }
+
+    /**
+     * Without {@code $XDG_RUNTIME_DIR} the default socket lies below {@code user.home}, which points to the test's
+     * directory meanwhile. The daemon blocks its shell while it serves, so it gets a shell of its own.
+     */
+    @Test
+    void daemonCommandsUseTheDefaultSocket() throws Exception {
+        String home = System.getProperty("user.home");
+        System.setProperty("user.home", directory.toString());
+        try (TestShell daemonShell = new TestShell()) {
+            Path socket = ValidationDaemon.defaultSocket();
+            assertEquals("no daemon is listening on " + socket, shell.run("daemon-status"));
+
+            FutureTask<String> daemon = new FutureTask<>(() -> daemonShell.run("daemon-start"));
+            new Thread(daemon, "daemon-start").start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (shell.run("daemon-status").startsWith("no daemon")) {
+                assertTrue(System.nanoTime() < deadline, "daemon did not start");
+                Thread.sleep(20);
+            }
+
+            assertEquals("stopping daemon on " + socket, shell.run("daemon-stop"));
+            assertTrue(daemon.get(10, TimeUnit.SECONDS).startsWith("daemon on " + socket + " stopped after "));
+        } finally {
+            System.setProperty("user.home", home);
+        }
+    }
+
+    @Test
+    void validateUsesTheDeclaredSchema() throws Exception {
+        Path schema = write("schema.json", "{\"required\": [\"id\"]}");
+        Path document = write("document.json", "{\"$schema\": \"" + schema.toUri() + "\", \"name\": \"a\"}");
+
+        assertEquals(document + ": 1 error(s)\n  '#': required property 'id' is missing",
+                shell.run("validate", "--data", document.toString()));
+    }
+
+    @Test
+    void validateFilesUsesTheDeclaredSchemaAndEndsWithTheExitCode() throws Exception {
+        Path schema = write("schema.json", "{\"required\": [\"id\"]}");
+        write("valid.json", "{\"$schema\": \"" + schema.toUri() + "\", \"id\": 1}");
+        write("invalid.json", "{\"$schema\": \"" + schema.toUri() + "\", \"name\": \"a\"}");
+
+        Exception exit = assertThrows(Exception.class,
+                () -> shell.run("validate-files", "--paths", directory.resolve("*valid.json").toString()));
+
+        assertEquals(1, assertInstanceOf(ExitCodeGenerator.class, exit).getExitCode());
+        assertTrue(shell.output().startsWith("2 files, 1 valid, 1 invalid, 0 not validated against 1 schema(s)"),
+                shell.output());
+    }
+
+    @Test
+    void validateLinesReadsStandardInputWithoutSchemaStore() throws Exception {
+        Path schema = write("schema.json", "{\"required\": [\"id\"]}");
+        InputStream in = System.in;
+        System.setIn(new ByteArrayInputStream("{\"id\": 1}\n{\"name\": \"a\"}\n".getBytes(StandardCharsets.UTF_8)));
+        try {
+            assertEquals("2 records, 1 valid, 1 invalid (24 bytes)", shell.run("validate-lines", "--schema", schema.toString()));
+        } finally {
+            System.setIn(in);
+        }
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content);
+    }
+}
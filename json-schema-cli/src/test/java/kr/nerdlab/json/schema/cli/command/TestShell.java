@@ -0,0 +1,82 @@
+package kr.nerdlab.json.schema.cli.command;
+
+import kr.nerdlab.json.schema.cli.JsonSchemaCli;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.shell.Input;
+import org.springframework.shell.Shell;
+import org.springframework.shell.boot.TerminalCustomizer;
+import org.springframework.shell.config.ShellConversionServiceSupplier;
+import org.springframework.shell.context.InteractionMode;
+import org.springframework.shell.context.ShellContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Runs commands the way {@code json-schema-cli <command> [options]} does: Spring Shell parses, defaults and converts
+ * the options and applies the exception resolvers, and what it prints is captured instead of reaching a terminal.
+ */
+final class TestShell implements AutoCloseable {
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final ConfigurableApplicationContext context;
+
+    TestShell() {
+        context = new SpringApplicationBuilder(JsonSchemaCli.class)
+                .properties("spring.shell.interactive.enabled=false", "spring.shell.noninteractive.enabled=false",
+                        "spring.shell.script.enabled=false")
+                .initializers(context -> context.getBeanFactory().registerSingleton("testTerminalCustomizer",
+                        (TerminalCustomizer) builder -> builder.system(false).streams(InputStream.nullInputStream(), output)))
+                .run();
+        context.getBean(ShellContext.class).setInteractionMode(InteractionMode.NONINTERACTIVE);
+    }
+
+    /**
+     * @param words the command and its options, one word per element
+     * @return what the command printed, as returned by {@link #output()}
+     * @throws Exception what the command threw, or the {@link org.springframework.boot.ExitCodeGenerator} that ends
+     *                   it with a non-zero exit code
+     */
+    String run(String... words) throws Exception {
+        output.reset();
+        Input input = new Input() {
+            @Override
+            public String rawText() {
+                return String.join(" ", words);
+            }
+
+            @Override
+            public List<String> words() {
+                return List.of(words);
+            }
+        };
+        // a shell keeps the exit code of its last non-interactive command, so each command gets a new one, as it
+        // would get a new process
+        Shell shell = context.getAutowireCapableBeanFactory().createBean(Shell.class);
+        shell.setConversionService(context.getBean(ShellConversionServiceSupplier.class).get());
+        boolean[] read = {false};
+        shell.run(() -> {
+            if (read[0]) {
+                return null;
+            }
+            read[0] = true;
+            return input;
+        });
+        return output();
+    }
+
+    /**
+     * @return what the last command printed, with lines separated by {@code \n} and without the trailing line
+     * separator
+     */
+    String output() {
+        return output.toString(StandardCharsets.UTF_8).replace("\r\n", "\n").stripTrailing();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
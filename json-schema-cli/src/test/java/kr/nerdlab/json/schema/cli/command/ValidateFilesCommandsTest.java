@@ -0,0 +1,140 @@
+package kr.nerdlab.json.schema.cli.command;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.core.cache.SchemaCache;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.ExitCodeGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ValidateFilesCommandsTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static TestShell shell;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void startShell() {
+        shell = new TestShell();
+    }
+
+    @AfterAll
+    static void stopShell() {
+        shell.close();
+    }
+
+    @Test
+    void endsNormallyWhenEveryFileIsValid() throws Exception {
+        Path schema = write("schema.json", "{\"required\": [\"id\"]}");
+        write("data/a.json", "{\"id\": 1}");
+        write("data/nested/b.json", "{\"id\": 2}");
+        Path results = directory.resolve("results.jsonl");
+
+        String summary = shell.run("validate-files", "--paths", directory.resolve("data").toString(),
+                "--schema", schema.toString(), "--format", "json", "--output", results.toString());
+
+        assertTrue(summary.startsWith("2 files, 2 valid, 0 invalid, 0 not validated against 1 schema(s)"), summary);
+        assertEquals("", Files.readString(results));
+    }
+
+    @Test
+    void endsWithOneWhenAFileIsInvalid() throws Exception {
+        Path schema = write("schema.json", "{\"required\": [\"id\"]}");
+        Path valid = write("data/valid.json", "{\"$schema\": \"" + schema.toUri() + "\", \"id\": 1}");
+        Path invalid = write("data/invalid.json", "{\"$schema\": \"" + schema.toUri() + "\", \"name\": \"a\"}");
+        Path results = directory.resolve("results.jsonl");
+
+        assertEquals(1, exitCode("validate-files", "--paths", directory.resolve("data").toString(),
+                "--format", "json", "--all", "--output", results.toString()));
+
+        assertTrue(shell.output().startsWith("2 files, 1 valid, 1 invalid, 0 not validated against 1 schema(s)"),
+                shell.output());
+        Map<String, JsonNode> lines = jsonLines(results);
+        assertEquals(2, lines.size());
+        JsonNode failed = lines.get(invalid.toString());
+        assertEquals(id(schema), failed.get("schema").asText());
+        assertEquals(false, failed.get("valid").asBoolean());
+        assertEquals(mapper.readTree("[\"'#': required property 'id' is missing\"]"), failed.get("errors"));
+        JsonNode passed = lines.get(valid.toString());
+        assertEquals(true, passed.get("valid").asBoolean());
+        assertEquals(0, passed.get("errors").size());
+    }
+
+    @Test
+    void endsWithTwoWhenAFileCannotBeValidated() throws Exception {
+        Path schema = write("schema.json", "{\"required\": [\"id\"]}");
+        Path valid = write("data/valid.json", "{\"$schema\": \"" + schema.toUri() + "\", \"id\": 1}");
+        Path invalid = write("data/invalid.json", "{\"$schema\": \"" + schema.toUri() + "\", \"name\": \"a\"}");
+        Path undeclared = write("data/undeclared.json", "{\"id\": 1}");
+        Path missing = directory.resolve("missing.json");
+        write("data/missing.json", "{\"$schema\": \"" + missing.toUri() + "\"}");
+        Path results = directory.resolve("results.xml");
+
+        assertEquals(2, exitCode("validate-files", "--paths", directory.resolve("data").resolve("*.json").toString(),
+                "--format", "junit", "--output", results.toString()));
+
+        assertTrue(shell.output().startsWith("4 files, 1 valid, 1 invalid, 2 not validated against 2 schema(s)"),
+                shell.output());
+        String xml = Files.readString(results);
+        assertTrue(xml.startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<testsuites>\n"), xml);
+        assertTrue(xml.endsWith("</testsuites>\n"), xml);
+        assertTrue(xml.contains("<testsuite name=\"(no schema)\" tests=\"1\" failures=\"0\" errors=\"1\""), xml);
+        assertTrue(xml.contains("<testsuite name=\"" + id(schema) + "\" tests=\"2\" failures=\"1\" errors=\"0\""), xml);
+        assertTrue(xml.contains("<testsuite name=\"" + id(missing) + "\" tests=\"1\" failures=\"0\" errors=\"1\""), xml);
+        assertTrue(xml.contains("name=\"" + valid + "\" time=\""), xml);
+        assertTrue(xml.contains("name=\"" + undeclared + "\" time=\"0.000\">\n      <error message=\""), xml);
+        assertTrue(xml.contains("name=\"" + invalid + "\" time=\""), xml);
+        assertTrue(xml.contains("<failure message=\"1 error(s)\">'#': required property 'id' is missing</failure>"), xml);
+        assertTrue(xml.contains("<error message=\"cannot load schema "), xml);
+    }
+
+    @Test
+    void endsWithTwoWhenNothingMatches() throws Exception {
+        String pattern = directory.resolve("*.json").toString();
+
+        assertEquals(2, exitCode("validate-files", "--paths", pattern));
+
+        assertEquals("no files match " + pattern, shell.output());
+    }
+
+    private static int exitCode(String... words) {
+        Exception exit = assertThrows(Exception.class, () -> shell.run(words));
+        return assertInstanceOf(ExitCodeGenerator.class, exit).getExitCode();
+    }
+
+    /**
+     * @return the schema as the results name it
+     */
+    private static String id(Path schema) {
+        return SchemaCache.normalize(schema.toUri()).toString();
+    }
+
+    private static Map<String, JsonNode> jsonLines(Path file) throws IOException {
+        Map<String, JsonNode> byFile = new HashMap<>();
+        for (String line : Files.readAllLines(file)) {
+            JsonNode result = mapper.readTree(line);
+            byFile.put(result.get("file").asText(), result);
+        }
+        return byFile;
+    }
+
+    private Path write(String name, String content) throws IOException {
+        Path file = directory.resolve(name);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+}
@@ -0,0 +1,163 @@
+package kr.nerdlab.json.schema.cli.daemon;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.core.DefaultJsonSchemaGenerator;
+import kr.nerdlab.json.schema.core.DefaultJsonSchemaValidator;
+import kr.nerdlab.json.schema.core.cache.BoundedSchemaCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs a daemon on a socket in the test's directory and talks to it through {@link DaemonClient}.
+ */
+class ValidationDaemonTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    private final List<ValidationDaemon> daemons = new ArrayList<>();
+    private final List<FutureTask<Void>> serving = new ArrayList<>();
+
+    @AfterEach
+    void stopDaemons() throws Exception {
+        daemons.forEach(ValidationDaemon::stop);
+        for (FutureTask<Void> task : serving) {
+            task.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void validatesReportsStatusAndStops() throws Exception {
+        Path schema = write("schema.json", "{\"type\": \"object\", \"required\": [\"id\"]}");
+        Path valid = write("valid.json", "{\"id\": 1}");
+        Path invalid = write("invalid.json", "{\"name\": \"a\"}");
+        Path socket = directory.resolve("daemon.sock");
+        FutureTask<Void> daemon = start(socket);
+
+        try (DaemonClient client = DaemonClient.connect(socket)) {
+            DaemonResponse passed = client.validate(valid, schema.toUri());
+            assertTrue(passed.ok());
+            assertTrue(passed.valid());
+
+            DaemonResponse failed = client.validate(invalid, schema.toUri());
+            assertTrue(failed.ok());
+            assertFalse(failed.valid());
+            assertEquals(List.of("'#': required property 'id' is missing"), failed.errors());
+
+            DaemonResponse unreadable = client.validate(directory.resolve("missing.json"), schema.toUri());
+            assertFalse(unreadable.ok());
+            assertTrue(unreadable.message().startsWith(directory.resolve("missing.json") + ": "),
+                    unreadable.message());
+
+            DaemonResponse status = client.status();
+            assertTrue(status.ok());
+            assertTrue(status.message().contains(" on " + socket + ": up "), status.message());
+            assertTrue(status.message().endsWith(", 4 request(s), 1 cached schema(s)"), status.message());
+
+            assertEquals("stopping daemon on " + socket, client.stop().message());
+        }
+        daemon.get(10, TimeUnit.SECONDS);
+        assertFalse(Files.exists(socket));
+        assertThrows(IOException.class, () -> DaemonClient.connect(socket));
+    }
+
+    @Test
+    void replacesASocketLeftBehindByAKilledDaemon() throws Exception {
+        Path socket = directory.resolve("daemon.sock");
+        try (ServerSocketChannel killed = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            killed.bind(UnixDomainSocketAddress.of(socket));
+        }
+        assertTrue(Files.exists(socket));
+        assertThrows(IOException.class, () -> DaemonClient.connect(socket));
+
+        start(socket);
+
+        try (DaemonClient client = DaemonClient.connect(socket)) {
+            assertTrue(client.status().ok());
+        }
+    }
+
+    @Test
+    void refusesASocketAnotherDaemonListensOn() throws Exception {
+        Path socket = directory.resolve("daemon.sock");
+        start(socket);
+
+        ValidationDaemon second = daemon(socket);
+        assertThrows(IllegalStateException.class, second::serve);
+        try (DaemonClient client = DaemonClient.connect(socket)) {
+            assertTrue(client.status().ok());
+        }
+    }
+
+    @Test
+    void createsTheSocketDirectoryForItsOwnerOnly() throws Exception {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        Path socket = directory.resolve("runtime").resolve("daemon.sock");
+        start(socket);
+
+        try (DaemonClient client = DaemonClient.connect(socket)) {
+            assertTrue(client.status().ok());
+        }
+        assertEquals(PosixFilePermissions.fromString("rwx------"), Files.getPosixFilePermissions(socket.getParent()));
+        assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(socket));
+    }
+
+    private ValidationDaemon daemon(Path socket) {
+        BoundedSchemaCache schemaCache = new BoundedSchemaCache();
+        DefaultJsonSchemaValidator validator = DefaultJsonSchemaValidator.builder(mapper, new DefaultJsonSchemaGenerator(mapper))
+                .schemaCache(schemaCache)
+                .build();
+        return new ValidationDaemon(socket, validator, schemaCache, Duration.ofMinutes(1));
+    }
+
+    /**
+     * Serves on a thread of its own and returns once a client can connect.
+     */
+    private FutureTask<Void> start(Path socket) throws Exception {
+        ValidationDaemon daemon = daemon(socket);
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            daemon.serve();
+            return null;
+        });
+        daemons.add(daemon);
+        serving.add(task);
+        new Thread(task, "daemon").start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (true) {
+            try {
+                DaemonClient.connect(socket).close();
+                return task;
+            } catch (IOException e) {
+                assertFalse(task.isDone(), "daemon exited");
+                assertTrue(System.nanoTime() < deadline, "daemon did not start");
+                Thread.sleep(20);
+            }
+        }
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content);
+    }
+}
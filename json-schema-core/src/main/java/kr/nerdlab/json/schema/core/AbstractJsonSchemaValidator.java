@@ -1,31 +1,103 @@
 package kr.nerdlab.json.schema.core;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import kr.nerdlab.json.schema.core.cache.BoundedSchemaCache;
+import kr.nerdlab.json.schema.core.cache.CompiledSchemaStore;
+import kr.nerdlab.json.schema.core.cache.SchemaCache;
+import kr.nerdlab.json.schema.core.cache.SchemaRegistry;
+import kr.nerdlab.json.schema.core.dataformat.InputFormats;
 import kr.nerdlab.json.schema.core.exception.JsonValidationException;
+import kr.nerdlab.json.schema.core.format.Formats;
+import kr.nerdlab.json.schema.core.metrics.ValidationInstrumentation;
+import kr.nerdlab.json.schema.core.pattern.PatternCache;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+import kr.nerdlab.json.schema.core.validation.ValidationMode;
+import kr.nerdlab.json.schema.core.validation.ValidationResult;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public abstract class AbstractJsonSchemaValidator implements JsonSchemaValidator {
     private static final Set<String> ALLOWED_SCHEMES = Set.of("https","http","file");
 
     private final ObjectMapper mapper;
     private final JsonSchemaGenerator generator;
+    private final SchemaCache schemaCache;
+    private final ValidationInstrumentation instrumentation;
+    private final CompiledSchemaStore schemaStore;
+    private final InputFormats inputFormats;
+    private final SchemaRegistry registry;
+    private final Formats formats;
+    /**
+     * {@code false} for {@link ValidationInstrumentation#none()}, in which case nothing is measured at all.
+     */
+    private final boolean instrumented;
+    /**
+     * Schemas generated from classes, compiled once per class as {@link #schemaCache} compiles them once per URI.
+     */
+    private final ClassValue<ClassSchema> classSchemas = new ClassValue<>() {
+        @Override
+        protected ClassSchema computeValue(Class<?> schemaClass) {
+            try {
+                return new ClassSchema(generateSchema(schemaClass));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    };
 
     public AbstractJsonSchemaValidator(ObjectMapper mapper, JsonSchemaGenerator generator) {
+        this(mapper, generator, new BoundedSchemaCache(), ValidationInstrumentation.none(), null,
+                InputFormats.detecting(mapper.getFactory()), null, Formats.none());
+    }
+
+    protected AbstractJsonSchemaValidator(Builder<?> builder) {
+        this(builder.mapper, builder.generator,
+                builder.schemaCache != null ? builder.schemaCache : new BoundedSchemaCache(), builder.instrumentation,
+                builder.schemaStore, builder.inputFormats, builder.registry, builder.formats);
+    }
+
+    private AbstractJsonSchemaValidator(ObjectMapper mapper, JsonSchemaGenerator generator, SchemaCache schemaCache,
+                                        ValidationInstrumentation instrumentation, CompiledSchemaStore schemaStore,
+                                        InputFormats inputFormats, SchemaRegistry registry, Formats formats) {
         this.mapper = mapper;
         this.generator = generator;
+        this.schemaCache = schemaCache;
+        this.instrumentation = instrumentation;
+        this.schemaStore = schemaStore;
+        this.inputFormats = inputFormats;
+        this.registry = registry;
+        this.formats = formats;
+        this.instrumented = instrumentation != ValidationInstrumentation.none();
     }
 
-    abstract void validate(JsonNode dataNode, JsonNode schemaNode) throws JsonValidationException;
+    abstract void validate(JsonNode dataNode, CompiledSchema schema, ValidationContext context);
+
+    abstract void validate(JsonParser dataParser, CompiledSchema schema, ValidationContext context) throws IOException;
+
+    /**
+     * @return how many errors to look for before throwing
+     */
+    public abstract ValidationMode getMode();
 
     @Override
     public void validate(File data) throws JsonValidationException, IOException {
-        JsonNode dataNode = mapper.readTree(data);
+        JsonNode dataNode = readTree(data);
 
         // Ensure root is an object
         final JsonNode schemaField = dataNode.get("$schema");
@@ -41,6 +113,129 @@ public abstract class AbstractJsonSchemaValidator implements JsonSchemaValidator
         }
 
         final String schemaText = dataNode.get("$schema").asText();
+
+        URI schemaUri = resolveSchemaUri(schemaText);
+        check(dataNode, loadSchema(schemaUri), schemaId(schemaUri), data.length());
+    }
+
+    /**
+     * Validates the document without building its tree. Properties preceding '$schema' are buffered until the schema
+     * is known; documents that declare '$schema' first are validated in memory proportional to their nesting depth.
+     */
+    @Override
+    public void validate(InputStream data) throws JsonValidationException, IOException {
+        validateDeclared(inputFormats.createParser(data));
+    }
+
+    @Override
+    public void validate(Path data) throws JsonValidationException, IOException {
+        validateDeclared(inputFormats.createParser(data));
+    }
+
+    private void validateDeclared(JsonParser parser) throws JsonValidationException, IOException {
+        try (parser) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("JSON instance root must be an object containing a '$schema' property.");
+            }
+
+            TokenBuffer preceding = new TokenBuffer(parser);
+            preceding.writeStartObject();
+            String schemaText = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                preceding.writeFieldName(name);
+                preceding.copyCurrentStructure(parser);
+                if ("$schema".equals(name) && parser.currentToken() == JsonToken.VALUE_STRING) {
+                    schemaText = parser.getText();
+                    break;
+                }
+            }
+            if (schemaText == null || schemaText.isBlank()) {
+                throw new IllegalArgumentException(
+                        "JSON instance does not contain a valid textual '$schema' property. " +
+                                "Use validate(data, schemaFile/url) to supply a schema explicitly.");
+            }
+
+            URI schemaUri = resolveSchemaUri(schemaText);
+            CompiledSchema schema = loadSchema(schemaUri);
+            try (JsonParser replay = JsonParserSequence.createFlattened(false, preceding.asParser(parser.getCodec()), parser)) {
+                check(replay, parser, schema, schemaId(schemaUri));
+            }
+        }
+    }
+
+    @Override
+    public void validate(File data, Class<?> schemaClass) throws JsonValidationException, IOException {
+        check(readTree(data), compile(schemaClass), schemaClass.getName(), data.length());
+    }
+
+    @Override
+    public void validate(File data, File schema) throws JsonValidationException, IOException {
+        URI schemaUri = schema.toURI();
+        check(readTree(data), loadSchema(schemaUri), schemaId(schemaUri), data.length());
+    }
+
+    @Override
+    public void validate(File data, URI schema) throws JsonValidationException, IOException {
+        check(readTree(data), loadSchema(schema), schemaId(schema), data.length());
+    }
+
+    /**
+     * @return the document in whichever of the {@linkplain #getInputFormats() input formats} it is written
+     */
+    private JsonNode readTree(File data) throws IOException {
+        try (JsonParser parser = inputFormats.createParser(data)) {
+            JsonNode dataNode = mapper.readTree(parser);
+            return dataNode != null ? dataNode : MissingNode.getInstance();
+        }
+    }
+
+    private void check(JsonNode dataNode, CompiledSchema schema, String schemaId, long documentBytes)
+            throws JsonValidationException {
+        ValidationContext context = new ValidationContext(getMode());
+        long start = instrumented ? System.nanoTime() : 0;
+        validate(dataNode, schema, context);
+        finish(context, schemaId, start, documentBytes);
+    }
+
+    /**
+     * @param source the parser reading the underlying input, which knows how many bytes were read
+     */
+    private void check(JsonParser dataParser, JsonParser source, CompiledSchema schema, String schemaId)
+            throws JsonValidationException, IOException {
+        ValidationContext context = new ValidationContext(getMode());
+        long start = instrumented ? System.nanoTime() : 0;
+        validate(dataParser, schema, context);
+        finish(context, schemaId, start, instrumented ? source.currentLocation().getByteOffset() : -1);
+    }
+
+    private void finish(ValidationContext context, String schemaId, long start, long documentBytes)
+            throws JsonValidationException {
+        ValidationResult result = context.toResult();
+        if (instrumented) {
+            instrumentation.validated(schemaId, System.nanoTime() - start, documentBytes, context.getNodesVisited(), result);
+        }
+        throwIfInvalid(result);
+    }
+
+    static void throwIfInvalid(ValidationResult result) throws JsonValidationException {
+        if (result.isValid()) {
+            return;
+        }
+        if (result.getErrors().isEmpty()) {
+            throw new JsonValidationException("JSON validation failed");
+        }
+        throw new JsonValidationException("JSON validation failed: " + String.join(", ", result.getMessages()),
+                result.getErrors());
+    }
+
+    /**
+     * Resolves the value of a document's {@code $schema} property the way {@link #validate(File)} does.
+     *
+     * @throws IllegalArgumentException if the value is not an absolute {@code http}, {@code https} or {@code file} URI
+     */
+    public static URI resolveSchemaUri(String schemaText) {
         final URI schemaUri;
         try {
             schemaUri = URI.create(schemaText).normalize();
@@ -51,23 +246,234 @@ public abstract class AbstractJsonSchemaValidator implements JsonSchemaValidator
         if (!schemaUri.isAbsolute() || !ALLOWED_SCHEMES.contains(schemaUri.getScheme())) {
             throw new IllegalArgumentException("Unsupported $schema URI: " + schemaUri);
         }
-        final JsonNode schemaNode = mapper.readTree(URL.of(schemaUri, null));
+        return schemaUri;
+    }
 
-        validate(dataNode, schemaNode);
+    /**
+     * Returns the compiled schema for the URI, loading it through the schema cache the way validation does, so that
+     * callers can load a schema once before validating many documents against it.
+     */
+    public CompiledSchema getSchema(URI schemaUri) throws IOException {
+        return loadSchema(schemaUri);
     }
 
-    @Override
-    public void validate(File data, Class<?> schemaClass) throws JsonValidationException, IOException {
+    CompiledSchema loadSchema(URI schemaUri) throws IOException {
+        if (!instrumented) {
+            return schemaCache.get(schemaUri, this::readSchema);
+        }
+        String schemaId = schemaId(schemaUri);
+        boolean[] loaded = new boolean[1];
+        CompiledSchema schema = schemaCache.get(schemaUri, uri -> {
+            loaded[0] = true;
+            instrumentation.schemaCacheMiss(schemaId);
+            long start = System.nanoTime();
+            try {
+                return readSchema(uri);
+            } finally {
+                instrumentation.schemaLoaded(schemaId, System.nanoTime() - start);
+            }
+        });
+        if (!loaded[0]) {
+            // also when this thread waited for a load run by another caller
+            instrumentation.schemaCacheHit(schemaId);
+        }
+        return schema;
+    }
 
+    CompiledSchema compile(Class<?> schemaClass) throws IOException {
+        ClassSchema cached;
+        try {
+            cached = classSchemas.get(schemaClass);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (instrumented && !cached.claimLoad()) {
+            instrumentation.schemaCacheHit(schemaClass.getName());
+        }
+        return cached.schema;
     }
 
-    @Override
-    public void validate(File data, File schema) throws JsonValidationException, IOException {
+    private CompiledSchema generateSchema(Class<?> schemaClass) throws IOException {
+        String schemaId = schemaClass.getName();
+        long start = 0;
+        if (instrumented) {
+            instrumentation.schemaCacheMiss(schemaId);
+            start = System.nanoTime();
+        }
+        try {
+            String json = generator.generate(schemaClass);
+            return schemaStore != null
+                    ? schemaStore.get(json.getBytes(StandardCharsets.UTF_8))
+                    : compile(mapper.readTree(json));
+        } finally {
+            if (instrumented) {
+                instrumentation.schemaLoaded(schemaId, System.nanoTime() - start);
+            }
+        }
+    }
 
+    private CompiledSchema readSchema(URI uri) throws IOException {
+        if (schemaStore != null) {
+            return schemaStore.loader().load(uri);
+        }
+        return compile(mapper.readTree(URL.of(uri, null)));
     }
 
-    @Override
-    public void validate(File data, URI schema) throws JsonValidationException, IOException {
+    private CompiledSchema compile(JsonNode schema) {
+        return registry != null ? registry.compile(schema) : CompiledSchema.compile(schema, PatternCache.shared(), null, formats);
+    }
+
+    /**
+     * A schema generated from a class. The lookup that generated it has already been reported as a cache miss, so
+     * the first caller to {@linkplain #claimLoad() claim} it must not report a hit.
+     */
+    private static final class ClassSchema {
+        final CompiledSchema schema;
+        private final AtomicBoolean unclaimed = new AtomicBoolean(true);
+
+        ClassSchema(CompiledSchema schema) {
+            this.schema = schema;
+        }
+
+        boolean claimLoad() {
+            return unclaimed.get() && unclaimed.compareAndSet(true, false);
+        }
+    }
+
+    private static String schemaId(URI schemaUri) {
+        return SchemaCache.normalize(schemaUri).toString();
+    }
+
+    protected ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    protected JsonSchemaGenerator getGenerator() {
+        return generator;
+    }
+
+    public SchemaCache getSchemaCache() {
+        return schemaCache;
+    }
+
+    public ValidationInstrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+    /**
+     * @return the on-disk compiled schema store, or {@code null} if none is used
+     */
+    public CompiledSchemaStore getSchemaStore() {
+        return schemaStore;
+    }
+
+    /**
+     * @return the formats documents are read in
+     */
+    public InputFormats getInputFormats() {
+        return inputFormats;
+    }
+
+    /**
+     * @return the registry schemas are compiled through, or {@code null} if none is used
+     */
+    public SchemaRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * @return the formats whose {@code "format"} is asserted by schemas this validator compiles
+     */
+    public Formats getFormats() {
+        return formats;
+    }
+
+    /**
+     * @return {@code false} if the instrumentation is {@link ValidationInstrumentation#none()}, so that
+     * subclasses can skip taking measurements
+     */
+    protected boolean isInstrumented() {
+        return instrumented;
+    }
+
+    /**
+     * Collects the optional collaborators of a validator; every one that is not set keeps its default.
+     *
+     * @param <B> the concrete builder type, returned by every setter
+     */
+    public abstract static class Builder<B extends Builder<B>> {
+        private final ObjectMapper mapper;
+        private final JsonSchemaGenerator generator;
+        private SchemaCache schemaCache;
+        private ValidationInstrumentation instrumentation = ValidationInstrumentation.none();
+        private CompiledSchemaStore schemaStore;
+        private InputFormats inputFormats;
+        private SchemaRegistry registry;
+        private Formats formats = Formats.none();
+
+        protected Builder(ObjectMapper mapper, JsonSchemaGenerator generator) {
+            this.mapper = Objects.requireNonNull(mapper, "mapper");
+            this.generator = Objects.requireNonNull(generator, "generator");
+            this.inputFormats = InputFormats.detecting(mapper.getFactory());
+        }
+
+        /**
+         * @param schemaCache the cache for schemas referenced by URI; by default a new {@link BoundedSchemaCache} per
+         *                    validator; use {@link SchemaCache#none()} to disable caching
+         */
+        public B schemaCache(SchemaCache schemaCache) {
+            this.schemaCache = Objects.requireNonNull(schemaCache, "schemaCache");
+            return self();
+        }
+
+        /**
+         * @param instrumentation the receiver of schema cache, schema load and validation measurements, for example
+         *                        {@link kr.nerdlab.json.schema.core.metrics.InMemoryValidationMetrics}; by default none
+         */
+        public B instrumentation(ValidationInstrumentation instrumentation) {
+            this.instrumentation = Objects.requireNonNull(instrumentation, "instrumentation");
+            return self();
+        }
+
+        /**
+         * @param schemaStore the on-disk store compiled schemas are restored from across restarts, or {@code null}
+         *                    (the default) to parse and compile every schema that misses the schema cache
+         */
+        public B schemaStore(CompiledSchemaStore schemaStore) {
+            this.schemaStore = schemaStore;
+            return self();
+        }
+
+        /**
+         * @param inputFormats the formats documents are read in; by default JSON, plus Smile and CBOR when their
+         *                     Jackson data format modules are on the class path. Schemas are always read as JSON.
+         */
+        public B inputFormats(InputFormats inputFormats) {
+            this.inputFormats = Objects.requireNonNull(inputFormats, "inputFormats");
+            return self();
+        }
+
+        /**
+         * @param registry the registry schemas are compiled through, so that identical sub-schemas of different
+         *                 schemas share their compiled nodes, or {@code null} (the default) to compile each schema on
+         *                 its own; schemas restored from the schema store do not go through it
+         */
+        public B registry(SchemaRegistry registry) {
+            this.registry = registry;
+            return self();
+        }
+
+        /**
+         * @param formats the formats whose {@code "format"} is asserted, such as {@link Formats#builtIn()}; by
+         *                default none, as {@code "format"} is an annotation unless the format-assertion vocabulary is
+         *                enabled. Schemas compiled through the registry or restored from the schema store assert the
+         *                formats those were created with.
+         */
+        public B formats(Formats formats) {
+            this.formats = Objects.requireNonNull(formats, "formats");
+            return self();
+        }
 
+        protected abstract B self();
     }
 }
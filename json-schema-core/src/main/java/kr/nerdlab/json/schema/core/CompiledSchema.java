@@ -0,0 +1,327 @@
+package kr.nerdlab.json.schema.core;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.core.format.Formats;
+import kr.nerdlab.json.schema.core.keyword.BytecodeGenerator;
+import kr.nerdlab.json.schema.core.keyword.GeneratedValidator;
+import kr.nerdlab.json.schema.core.keyword.IncrementalValidator;
+import kr.nerdlab.json.schema.core.keyword.NodeInterner;
+import kr.nerdlab.json.schema.core.keyword.SchemaCompiler;
+import kr.nerdlab.json.schema.core.keyword.SchemaNode;
+import kr.nerdlab.json.schema.core.keyword.StreamingValidator;
+import kr.nerdlab.json.schema.core.keyword.ValidatingParser;
+import kr.nerdlab.json.schema.core.pattern.PatternCache;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+import kr.nerdlab.json.schema.core.validation.ValidationMode;
+import kr.nerdlab.json.schema.core.validation.ValidationResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * A schema compiled once into a tree of keyword checkers.
+ * Validating an instance only walks the instance; the schema document is never re-read.
+ * Instances are immutable and can be shared between threads.
+ * <p>
+ * Numbers are compared as the instance holds them. A parser validated directly keeps decimals with more significant
+ * digits than a double as {@link java.math.BigDecimal}s, but a tree read with the default
+ * {@link ObjectMapper} has already rounded them, so that
+ * {@code 9.999999999999999999999} reaches {@code "exclusiveMaximum": 10}. Read such documents with
+ * {@link com.fasterxml.jackson.databind.DeserializationFeature#USE_BIG_DECIMAL_FOR_FLOATS} to compare them exactly.
+ */
+public final class CompiledSchema {
+    private volatile JsonNode source;
+    private final byte[] sourceJson;
+    private final SchemaNode root;
+    private final GeneratedValidator generated;
+
+    private CompiledSchema(JsonNode source, SchemaNode root, GeneratedValidator generated) {
+        this.source = source;
+        this.sourceJson = null;
+        this.root = root;
+        this.generated = generated;
+    }
+
+    private CompiledSchema(byte[] sourceJson, SchemaNode root) {
+        this.sourceJson = sourceJson;
+        this.root = root;
+        this.generated = null;
+    }
+
+    /**
+     * Compiles the given schema document.
+     *
+     * @param schema the schema document
+     * @return the compiled schema
+     * @throws IllegalArgumentException if the schema contains a malformed keyword value
+     */
+    public static CompiledSchema compile(JsonNode schema) {
+        return compile(schema, PatternCache.shared());
+    }
+
+    /**
+     * Compiles the given schema document, compiling {@code "pattern"} expressions through the given cache.
+     *
+     * @param schema   the schema document
+     * @param patterns the pattern cache
+     * @return the compiled schema
+     * @throws IllegalArgumentException if the schema contains a malformed keyword value
+     */
+    public static CompiledSchema compile(JsonNode schema, PatternCache patterns) {
+        return compile(schema, patterns, null);
+    }
+
+    /**
+     * Compiles the given schema document, reusing nodes compiled earlier for identical sub-schemas.
+     *
+     * @param schema   the schema document
+     * @param patterns the pattern cache
+     * @param interner the source of shared nodes, typically a {@link kr.nerdlab.json.schema.core.cache.SchemaRegistry},
+     *                 or {@code null}
+     * @return the compiled schema
+     * @throws IllegalArgumentException if the schema contains a malformed keyword value
+     */
+    public static CompiledSchema compile(JsonNode schema, PatternCache patterns, NodeInterner interner) {
+        return compile(schema, patterns, interner, Formats.none());
+    }
+
+    /**
+     * Compiles the given schema document, asserting {@code "format"} for the given formats.
+     *
+     * @param schema   the schema document
+     * @param patterns the pattern cache
+     * @param interner the source of shared nodes, compiled with the same formats, or {@code null}
+     * @param formats  the formats whose {@code "format"} is asserted, such as {@link Formats#builtIn()}
+     * @return the compiled schema
+     * @throws IllegalArgumentException if the schema contains a malformed keyword value
+     */
+    public static CompiledSchema compile(JsonNode schema, PatternCache patterns, NodeInterner interner, Formats formats) {
+        return new CompiledSchema(schema, SchemaCompiler.compile(schema, patterns, interner, formats), null);
+    }
+
+    /**
+     * Compiles the given schema document and generates a specialized validator class for it.
+     * Trees are then validated by the generated class instead of the interpreted schema nodes, except in a
+     * {@linkplain ValidationMode#isParallel() parallel} mode. Streaming validation is not affected.
+     * Generation writes and defines a class, which takes far longer than {@link #compile(JsonNode)}; it pays off
+     * for long-lived schemas that validate many documents.
+     *
+     * @param schema the schema document
+     * @return the compiled schema
+     * @throws IllegalArgumentException if the schema contains a malformed keyword value
+     * @throws IllegalStateException    if the validator class cannot be defined
+     * @see BytecodeGenerator
+     */
+    public static CompiledSchema compileToBytecode(JsonNode schema) {
+        return compileToBytecode(schema, Formats.none());
+    }
+
+    /**
+     * Compiles the given schema document, asserting {@code "format"} for the given formats, and generates a
+     * specialized validator class for it, as {@link #compileToBytecode(JsonNode)} does.
+     *
+     * @param schema  the schema document
+     * @param formats the formats whose {@code "format"} is asserted
+     * @return the compiled schema
+     * @throws IllegalArgumentException if the schema contains a malformed keyword value
+     * @throws IllegalStateException    if the validator class cannot be defined
+     */
+    public static CompiledSchema compileToBytecode(JsonNode schema, Formats formats) {
+        SchemaNode root = SchemaCompiler.compile(schema, PatternCache.shared(), null, formats);
+        return new CompiledSchema(schema, root, BytecodeGenerator.generate(root));
+    }
+
+    /**
+     * Restores a schema whose root node was decoded with {@link kr.nerdlab.json.schema.core.keyword.SchemaNodeCodec},
+     * without parsing the schema document; {@link #getSource()} parses it on first use.
+     *
+     * @param root       the decoded root node
+     * @param sourceJson the schema document the node was compiled from
+     * @return the compiled schema
+     */
+    public static CompiledSchema restore(SchemaNode root, byte[] sourceJson) {
+        return new CompiledSchema(sourceJson, root);
+    }
+
+    /**
+     * Validates an instance against this schema, collecting all errors.
+     *
+     * @param instance the instance to validate
+     * @return a set of error messages, or an empty set if valid
+     */
+    public Set<String> validate(JsonNode instance) {
+        return validate(instance, ValidationMode.COLLECT_ALL).getMessages();
+    }
+
+    /**
+     * Validates an instance against this schema.
+     *
+     * @param instance the instance to validate
+     * @param mode     how many errors to look for
+     * @return the validation result
+     */
+    public ValidationResult validate(JsonNode instance, ValidationMode mode) {
+        ValidationContext context = new ValidationContext(mode);
+        validate(instance, context);
+        return context.toResult();
+    }
+
+    /**
+     * Validates an instance into the given context, in the context's mode. Lets callers reuse a context or read
+     * its counters, such as {@link ValidationContext#getNodesVisited()}, before taking the result.
+     *
+     * @param instance the instance to validate
+     * @param context  a new or {@linkplain ValidationContext#reset(ValidationMode) reset} context
+     */
+    public void validate(JsonNode instance, ValidationContext context) {
+        if (generated != null && !context.getMode().isParallel()) {
+            generated.validate(instance, context);
+        } else {
+            root.validate(instance, context);
+        }
+    }
+
+    /**
+     * Revalidates a document after some of its values changed, for example by a
+     * {@linkplain kr.nerdlab.json.schema.core.patch.JsonPatch JSON Patch}. Only the changed values are validated, plus
+     * the keywords that apply to their ancestors, such as {@code "required"}; errors elsewhere are taken over from the
+     * previous result. The cost therefore depends on the size of the change, not of the document.
+     * <p>
+     * The errors are the same as those of a complete validation, but taken-over errors come before the new ones.
+     * If the previous result is {@linkplain ValidationResult#isTruncated() truncated} or was produced in a mode that
+     * does not record errors, it cannot be reused and the document is validated completely.
+     *
+     * @param instance the document after the change
+     * @param previous the result of validating the document before the change against this schema
+     * @param changed  the locations, as JSON Pointers, of every value that was added, removed or replaced; where
+     *                 elements were inserted into or removed from an array other than at its end, the array itself
+     *                 must be listed, since the following elements moved
+     * @param mode     how many errors to look for
+     * @return the validation result
+     * @see kr.nerdlab.json.schema.core.patch.JsonPatch.Applied#changed()
+     */
+    public ValidationResult revalidate(JsonNode instance, ValidationResult previous, Collection<JsonPointer> changed,
+                                       ValidationMode mode) {
+        if (previous.isTruncated() || (!previous.isValid() && previous.getErrors().isEmpty())) {
+            return validate(instance, mode);
+        }
+        ValidationContext context = new ValidationContext(mode);
+        IncrementalValidator.revalidate(root, instance, previous.getErrors(), changed, context);
+        return context.toResult();
+    }
+
+    /**
+     * Validates the next value of the parser without building a tree of the whole document, collecting all errors.
+     *
+     * @param parser the parser positioned before or at the value to validate
+     * @return a set of error messages, or an empty set if valid
+     * @throws IOException if the input cannot be read or is not well-formed
+     * @see StreamingValidator
+     */
+    public Set<String> validate(JsonParser parser) throws IOException {
+        return validate(parser, ValidationMode.COLLECT_ALL).getMessages();
+    }
+
+    /**
+     * Validates the next value of the parser without building a tree of the whole document.
+     * Once the error budget of the mode is used up, the rest of the value is only skipped. The errors are those of
+     * {@link #validate(JsonNode, ValidationMode)}, except that missing {@code "required"} properties are reported at
+     * the end of their object.
+     * Streaming validation is always sequential; a {@linkplain ValidationMode#isParallel() parallel} mode only
+     * applies to {@link #validate(JsonNode, ValidationMode)}.
+     *
+     * @param parser the parser positioned before or at the value to validate
+     * @param mode   how many errors to look for
+     * @return the validation result
+     * @throws IOException if the input cannot be read or is not well-formed
+     * @see StreamingValidator
+     */
+    public ValidationResult validate(JsonParser parser, ValidationMode mode) throws IOException {
+        ValidationContext context = new ValidationContext(mode);
+        validate(parser, context);
+        return context.toResult();
+    }
+
+    /**
+     * Validates the next value of the parser into the given context, in the context's mode.
+     *
+     * @param parser  the parser positioned before or at the value to validate
+     * @param context a new or {@linkplain ValidationContext#reset(ValidationMode) reset} context
+     * @throws IOException if the input cannot be read or is not well-formed
+     * @see #validate(JsonNode, ValidationContext)
+     */
+    public void validate(JsonParser parser, ValidationContext context) throws IOException {
+        StreamingValidator.validate(parser, root, context);
+    }
+
+    /**
+     * Wraps the parser so that the next value read through the wrapper is validated on the way, for example while an
+     * {@link ObjectMapper} binds it to a class, without tokenizing the input a second time.
+     * The errors are complete once the wrapper {@linkplain ValidatingParser#isComplete() has read the whole value}.
+     *
+     * @param parser  the parser positioned before or at the value to validate
+     * @param context a new or {@linkplain ValidationContext#reset(ValidationMode) reset} context
+     * @return the parser to read the value from
+     * @throws IOException if the input cannot be read
+     * @see ValidatingReader
+     */
+    public ValidatingParser validatingParser(JsonParser parser, ValidationContext context) throws IOException {
+        return new ValidatingParser(parser, root, context);
+    }
+
+    /**
+     * @return {@code true} if the instance is valid, stopping at the first violation
+     */
+    public boolean isValid(JsonNode instance) {
+        return validate(instance, ValidationMode.FAIL_FAST).isValid();
+    }
+
+    /**
+     * @return {@code true} if the next value of the parser is valid, stopping at the first violation
+     * @throws IOException if the input cannot be read or is not well-formed
+     */
+    public boolean isValid(JsonParser parser) throws IOException {
+        return validate(parser, ValidationMode.FAIL_FAST).isValid();
+    }
+
+    /**
+     * @return the schema document; for a {@linkplain #restore(SchemaNode, byte[]) restored} schema it is parsed
+     * on the first call
+     */
+    public JsonNode getSource() {
+        JsonNode node = source;
+        if (node == null) {
+            try {
+                node = SourceReader.MAPPER.readTree(sourceJson);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot parse the source of a restored schema", e);
+            }
+            source = node;
+        }
+        return node;
+    }
+
+    public SchemaNode getRoot() {
+        return root;
+    }
+
+    /**
+     * @return {@code true} if trees are validated by a generated class
+     * @see #compileToBytecode(JsonNode)
+     */
+    public boolean isBytecodeGenerated() {
+        return generated != null;
+    }
+
+    /**
+     * Created on the first {@link #getSource()} of a restored schema, not when the class is initialized.
+     */
+    private static final class SourceReader {
+        static final ObjectMapper MAPPER = new ObjectMapper();
+    }
+}
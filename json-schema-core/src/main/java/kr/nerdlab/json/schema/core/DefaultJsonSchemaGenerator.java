@@ -0,0 +1,227 @@
+package kr.nerdlab.json.schema.core;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import kr.nerdlab.json.schema.annotation.PrecomputedSchemaProvider;
+import kr.nerdlab.json.schema.annotation.SchemaDefinition;
+import kr.nerdlab.json.schema.annotation.SchemaProperty;
+import kr.nerdlab.json.schema.core.metadata.ClassMetadata;
+import kr.nerdlab.json.schema.core.metadata.PropertyDescriptor;
+import kr.nerdlab.json.schema.core.metadata.PropertyKind;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * Generates a JSON Schema from classes annotated with {@link SchemaDefinition} and {@link SchemaProperty}.
+ * <p>
+ * Reflection results are cached per class in {@link ClassMetadata}, and the generated schema is memoized per root class
+ * both as a tree and as pre-serialized bytes (see {@link GeneratedSchema}), so repeated requests for the same class
+ * cost a single lookup.
+ * <p>
+ * When the {@code json-schema-processor} annotation processor ran over the root class, the schema it wrote to
+ * {@link PrecomputedSchemaProvider#RESOURCE_DIRECTORY} is loaded instead, and the class is not reflected on at all.
+ *
+ * @see <a href="https://json-schema.org/specification">JSON Schema Specification</a>
+ */
+public class DefaultJsonSchemaGenerator implements JsonSchemaGenerator {
+    private final ObjectMapper mapper;
+    private final boolean usePrecomputed;
+    private final ClassValue<GeneratedSchema> schemas = new ClassValue<>() {
+        @Override
+        protected GeneratedSchema computeValue(Class<?> rootType) {
+            return build(rootType);
+        }
+    };
+
+    public DefaultJsonSchemaGenerator() {
+        this(new ObjectMapper());
+    }
+
+    public DefaultJsonSchemaGenerator(ObjectMapper mapper) {
+        this(mapper, true);
+    }
+
+    /**
+     * @param usePrecomputed whether to load schemas written at compile time by the annotation processor, when present
+     */
+    public DefaultJsonSchemaGenerator(ObjectMapper mapper, boolean usePrecomputed) {
+        this.mapper = mapper;
+        this.usePrecomputed = usePrecomputed;
+    }
+
+    /**
+     * Lists the schemas precomputed by the annotation processor that are visible to the class loader.
+     *
+     * @return the binary names of the root classes mapped to their schema resource
+     */
+    public static Map<String, String> precomputedSchemaResources(ClassLoader classLoader) {
+        Map<String, String> resources = new HashMap<>();
+        for (PrecomputedSchemaProvider provider : ServiceLoader.load(PrecomputedSchemaProvider.class, classLoader)) {
+            resources.putAll(provider.schemaResources());
+        }
+        return resources;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the root class is not annotated with @SchemaDefinition
+     */
+    @Override
+    public String generate(Class<?> rootType) {
+        return schemas.get(rootType).getJson();
+    }
+
+    /**
+     * @return the memoized schema tree; shared, do not modify
+     * @throws IllegalArgumentException if the root class is not annotated with @SchemaDefinition
+     */
+    public JsonNode generateNode(Class<?> rootType) {
+        return schemas.get(rootType).getNode();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the root class is not annotated with @SchemaDefinition
+     */
+    public GeneratedSchema generateSchema(Class<?> rootType) {
+        return schemas.get(rootType);
+    }
+
+    private GeneratedSchema build(Class<?> rootType) {
+        if (usePrecomputed) {
+            JsonNode precomputed = loadPrecomputed(rootType);
+            if (precomputed != null) {
+                return toGeneratedSchema(rootType, precomputed);
+            }
+        }
+
+        ClassMetadata metadata = ClassMetadata.of(rootType);
+        SchemaDefinition schemaDefinition = metadata.getSchemaDefinition();
+        if (schemaDefinition == null) {
+            throw new IllegalArgumentException("Root class must be annotated with @SchemaDefinition");
+        }
+
+        ObjectNode schema = mapper.createObjectNode();
+        schema.put("$schema", schemaDefinition.version().getUrl());
+        schema.put("title", schemaDefinition.title());
+        if (!schemaDefinition.description().isEmpty()) {
+            schema.put("description", schemaDefinition.description());
+        }
+        schema.put("type", "object");
+        schema.put("additionalProperties", schemaDefinition.additionalProperties());
+        ObjectNode definitions = schema.putObject("definitions");
+
+        Set<Class<?>> processedClasses = new HashSet<>();
+        processedClasses.add(rootType);
+        writeProperties(metadata, schema, definitions, processedClasses);
+
+        return toGeneratedSchema(rootType, schema);
+    }
+
+    private JsonNode loadPrecomputed(Class<?> rootType) {
+        ClassLoader classLoader = rootType.getClassLoader();
+        if (classLoader == null) {
+            return null;
+        }
+        try (InputStream in = classLoader.getResourceAsStream(PrecomputedSchemaProvider.resourceName(rootType.getName()))) {
+            return in == null ? null : mapper.readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read precomputed schema of " + rootType.getName(), e);
+        }
+    }
+
+    private GeneratedSchema toGeneratedSchema(Class<?> rootType, JsonNode schema) {
+        try {
+            String json = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(schema);
+            byte[] bytes = mapper.writeValueAsBytes(schema);
+            return new GeneratedSchema(rootType, schema, json, bytes);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeDefinition(Class<?> type, ObjectNode definitions, Set<Class<?>> processedClasses) {
+        if (!processedClasses.add(type)) {
+            return;
+        }
+        ObjectNode definition = mapper.createObjectNode();
+        definition.put("type", "object");
+        definition.put("title", type.getSimpleName());
+        writeProperties(ClassMetadata.of(type), definition, definitions, processedClasses);
+        definitions.set(type.getSimpleName(), definition);
+    }
+
+    private void writeProperties(ClassMetadata metadata, ObjectNode target, ObjectNode definitions, Set<Class<?>> processedClasses) {
+        ObjectNode properties = target.putObject("properties");
+        ArrayNode required = mapper.createArrayNode();
+        for (PropertyDescriptor property : metadata.getProperties()) {
+            properties.set(property.getName(), buildPropertyNode(property, definitions, processedClasses));
+            if (property.isRequired()) {
+                required.add(property.getName());
+            }
+        }
+        if (!required.isEmpty()) {
+            target.set("required", required);
+        }
+    }
+
+    private ObjectNode buildPropertyNode(PropertyDescriptor property, ObjectNode definitions, Set<Class<?>> processedClasses) {
+        SchemaProperty schemaProperty = property.getSchemaProperty();
+        ObjectNode propertyNode = mapper.createObjectNode();
+
+        // @formatter:off
+        if (!schemaProperty.description().isEmpty()) propertyNode.put("description", schemaProperty.description());
+        if (!schemaProperty.comment().isEmpty()) propertyNode.put("$comment", schemaProperty.comment());
+        if (!schemaProperty.defaultValue().isEmpty()) propertyNode.put("default", schemaProperty.defaultValue());
+        if (schemaProperty.examples().length != 0) {
+            ArrayNode examples = propertyNode.putArray("examples");
+            for (String example : schemaProperty.examples()) examples.add(example);
+        }
+        if (schemaProperty.readOnly()) propertyNode.put("readOnly", true);
+        if (schemaProperty.writeOnly()) propertyNode.put("writeOnly", true);
+        if (schemaProperty.deprecated()) propertyNode.put("deprecated", true);
+        if (!schemaProperty.pattern().isEmpty()) propertyNode.put("pattern", schemaProperty.pattern());
+        if (!schemaProperty.format().isEmpty()) propertyNode.put("format", schemaProperty.format());
+        if (schemaProperty.minLength() >= 0) propertyNode.put("minLength", schemaProperty.minLength());
+        if (schemaProperty.maxLength() >= 0) propertyNode.put("maxLength", schemaProperty.maxLength());
+        if (!schemaProperty.contentEncoding().isEmpty()) propertyNode.put("contentEncoding", schemaProperty.contentEncoding());
+        if (!schemaProperty.contentMediaType().isEmpty()) propertyNode.put("contentMediaType", schemaProperty.contentMediaType());
+        if (!Double.isNaN(schemaProperty.minimum())) propertyNode.put("minimum", schemaProperty.minimum());
+        if (!Double.isNaN(schemaProperty.maximum())) propertyNode.put("maximum", schemaProperty.maximum());
+        if (!Double.isNaN(schemaProperty.exclusiveMinimum())) propertyNode.put("exclusiveMinimum", schemaProperty.exclusiveMinimum());
+        if (!Double.isNaN(schemaProperty.exclusiveMaximum())) propertyNode.put("exclusiveMaximum", schemaProperty.exclusiveMaximum());
+        if (!Double.isNaN(schemaProperty.multipleOf())) propertyNode.put("multipleOf", schemaProperty.multipleOf());
+        if (schemaProperty.minItems() >= 0) propertyNode.put("minItems", schemaProperty.minItems());
+        if (schemaProperty.maxItems() >= 0) propertyNode.put("maxItems", schemaProperty.maxItems());
+        if (schemaProperty.uniqueItems()) propertyNode.put("uniqueItems", true);
+        // @formatter:on
+
+        switch (property.getKind()) {
+            case LIST -> {
+                propertyNode.put("type", "array");
+                Class<?> itemType = property.getItemType();
+                PropertyKind itemKind = PropertyKind.of(itemType);
+                if (itemKind == PropertyKind.OBJECT) {
+                    propertyNode.putObject("items").put("$ref", "#/definitions/" + itemType.getSimpleName());
+                    writeDefinition(itemType, definitions, processedClasses);
+                } else {
+                    propertyNode.putObject("items").put("type", itemKind.getSchemaType());
+                }
+            }
+            case OBJECT -> {
+                propertyNode.put("$ref", "#/definitions/" + property.getType().getSimpleName());
+                writeDefinition(property.getType(), definitions, processedClasses);
+            }
+            default -> propertyNode.put("type", property.getKind().getSchemaType());
+        }
+        return propertyNode;
+    }
+}
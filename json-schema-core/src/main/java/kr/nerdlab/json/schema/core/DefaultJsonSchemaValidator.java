@@ -0,0 +1,105 @@
+package kr.nerdlab.json.schema.core;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.core.exception.JsonValidationException;
+import kr.nerdlab.json.schema.core.pojo.PojoValidator;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+import kr.nerdlab.json.schema.core.validation.ValidationMode;
+import kr.nerdlab.json.schema.core.validation.ValidationResult;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * {@link JsonSchemaValidator} backed by {@link CompiledSchema}.
+ */
+public class DefaultJsonSchemaValidator extends AbstractJsonSchemaValidator {
+
+    private final ValidationMode mode;
+
+    public DefaultJsonSchemaValidator(ObjectMapper mapper, JsonSchemaGenerator generator) {
+        super(mapper, generator);
+        this.mode = ValidationMode.COLLECT_ALL;
+    }
+
+    private DefaultJsonSchemaValidator(Builder builder) {
+        super(builder);
+        this.mode = builder.mode;
+    }
+
+    /**
+     * @return a builder for a validator with the given mapper and generator; every other setting has a default
+     */
+    public static Builder builder(ObjectMapper mapper, JsonSchemaGenerator generator) {
+        return new Builder(mapper, generator);
+    }
+
+    @Override
+    void validate(JsonNode dataNode, CompiledSchema schema, ValidationContext context) {
+        schema.validate(dataNode, context);
+    }
+
+    @Override
+    void validate(JsonParser dataParser, CompiledSchema schema, ValidationContext context) throws IOException {
+        if (mode.isParallel()) {
+            // parallel validation needs random access to containers, which only a tree provides
+            JsonNode dataNode = getMapper().readTree(dataParser);
+            if (dataNode == null) {
+                throw new EOFException("No JSON content to validate");
+            }
+            schema.validate(dataNode, context);
+            return;
+        }
+        schema.validate(dataParser, context);
+    }
+
+    /**
+     * Validates the object graph directly against its {@code @SchemaProperty} keywords.
+     *
+     * @see PojoValidator
+     */
+    @Override
+    public void validate(Object data) throws JsonValidationException, IOException {
+        long start = isInstrumented() ? System.nanoTime() : 0;
+        ValidationResult result = PojoValidator.validate(data, mode);
+        if (isInstrumented()) {
+            getInstrumentation().validated(data.getClass().getName(), System.nanoTime() - start, -1, -1, result);
+        }
+        throwIfInvalid(result);
+    }
+
+    @Override
+    public ValidationMode getMode() {
+        return mode;
+    }
+
+    public static final class Builder extends AbstractJsonSchemaValidator.Builder<Builder> {
+        private ValidationMode mode = ValidationMode.COLLECT_ALL;
+
+        private Builder(ObjectMapper mapper, JsonSchemaGenerator generator) {
+            super(mapper, generator);
+        }
+
+        /**
+         * @param mode how many errors to look for before throwing; by default {@link ValidationMode#COLLECT_ALL}.
+         *             {@link ValidationMode#FAIL_FAST} throws at the first violation with no details. With a
+         *             {@linkplain ValidationMode#parallel(int) parallel} mode, streamed input is read into a tree first.
+         */
+        public Builder mode(ValidationMode mode) {
+            this.mode = Objects.requireNonNull(mode, "mode");
+            return this;
+        }
+
+        public DefaultJsonSchemaValidator build() {
+            return new DefaultJsonSchemaValidator(this);
+        }
+
+        @Override
+        protected Builder self() {
+            return this;
+        }
+    }
+}
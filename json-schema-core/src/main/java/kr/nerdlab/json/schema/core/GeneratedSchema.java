@@ -0,0 +1,67 @@
+package kr.nerdlab.json.schema.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A schema generated for a root class, memoized by {@link DefaultJsonSchemaGenerator}.
+ * The same instance is handed to every caller, so the tree returned by {@link #getNode()} must be treated as read-only.
+ */
+public final class GeneratedSchema {
+    private final Class<?> rootType;
+    private final JsonNode node;
+    private final String json;
+    private final byte[] bytes;
+
+    GeneratedSchema(Class<?> rootType, JsonNode node, String json, byte[] bytes) {
+        this.rootType = rootType;
+        this.node = node;
+        this.json = json;
+        this.bytes = bytes;
+    }
+
+    public Class<?> getRootType() {
+        return rootType;
+    }
+
+    /**
+     * @return the schema tree; shared, do not modify
+     */
+    public JsonNode getNode() {
+        return node;
+    }
+
+    /**
+     * @return the indented schema JSON
+     */
+    public String getJson() {
+        return json;
+    }
+
+    /**
+     * @return a read-only view of the compact UTF-8 serialization
+     */
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    /**
+     * Writes the compact UTF-8 serialization without copying it.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(bytes);
+    }
+
+    public int getByteLength() {
+        return bytes.length;
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -4,7 +4,9 @@ import kr.nerdlab.json.schema.core.exception.JsonValidationException;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Path;
 
 public interface JsonSchemaValidator {
     void validate(File data) throws JsonValidationException, IOException;
@@ -12,4 +14,6 @@ public interface JsonSchemaValidator {
     void validate(File data, Class<?> schemaClass) throws JsonValidationException, IOException;
     void validate(File data, File schema) throws JsonValidationException, IOException;
     void validate(File data, URI schema) throws JsonValidationException, IOException;
+    void validate(InputStream data) throws JsonValidationException, IOException;
+    void validate(Path data) throws JsonValidationException, IOException;
 }
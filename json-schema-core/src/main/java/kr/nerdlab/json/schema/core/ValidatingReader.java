@@ -0,0 +1,138 @@
+package kr.nerdlab.json.schema.core;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.annotation.SchemaDefinition;
+import kr.nerdlab.json.schema.core.exception.JsonValidationException;
+import kr.nerdlab.json.schema.core.keyword.ValidatingParser;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+import kr.nerdlab.json.schema.core.validation.ValidationMode;
+import kr.nerdlab.json.schema.core.validation.ValidationResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Binds JSON documents to a class annotated with {@link SchemaDefinition} and validates them against the schema
+ * generated for that class in the same pass over the tokens, instead of reading a tree to validate and then reading
+ * the document again to bind it.
+ * <p>
+ * The {@link ObjectMapper} reads through a {@link ValidatingParser}, so the validation errors are the same as those of
+ * {@link CompiledSchema#validate(com.fasterxml.jackson.databind.JsonNode, ValidationMode)}, including errors in
+ * properties the mapper ignores, though missing {@code "required"} properties are reported at the end of their object.
+ * A document that violates the schema may still bind; one that cannot be bound is read to its end so that all its
+ * errors are reported. Instances are immutable and can be shared between threads.
+ *
+ * @param <T> the type documents are bound to
+ */
+public final class ValidatingReader<T> {
+    private final ObjectMapper mapper;
+    private final Class<T> type;
+    private final CompiledSchema schema;
+    private final ValidationMode mode;
+
+    /**
+     * @param mapper the mapper that binds documents and creates their parsers
+     * @param type   the type documents are bound to
+     * @param schema the schema documents are validated against
+     * @param mode   how many errors to look for
+     */
+    public ValidatingReader(ObjectMapper mapper, Class<T> type, CompiledSchema schema, ValidationMode mode) {
+        this.mapper = mapper;
+        this.type = type;
+        this.schema = schema;
+        this.mode = mode;
+    }
+
+    /**
+     * Creates a reader that validates against the schema {@link DefaultJsonSchemaGenerator} generates for the type,
+     * collecting all errors.
+     *
+     * @throws IllegalArgumentException if the type is not annotated with {@link SchemaDefinition}
+     */
+    public static <T> ValidatingReader<T> forType(ObjectMapper mapper, Class<T> type) throws IOException {
+        return forType(mapper, type, new DefaultJsonSchemaGenerator(mapper), ValidationMode.COLLECT_ALL);
+    }
+
+    /**
+     * @param generator the generator of the type's schema
+     * @throws IllegalArgumentException if the type is not annotated with {@link SchemaDefinition}
+     */
+    public static <T> ValidatingReader<T> forType(ObjectMapper mapper, Class<T> type, JsonSchemaGenerator generator,
+                                                  ValidationMode mode) throws IOException {
+        CompiledSchema schema = CompiledSchema.compile(mapper.readTree(generator.generate(type)));
+        return new ValidatingReader<>(mapper, type, schema, mode);
+    }
+
+    public Result<T> read(InputStream data) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(data)) {
+            return read(parser);
+        }
+    }
+
+    public Result<T> read(byte[] data) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(data)) {
+            return read(parser);
+        }
+    }
+
+    /**
+     * Binds and validates the next value of the parser.
+     *
+     * @param parser the parser positioned before or at the value
+     * @return the bound value and the validation result
+     * @throws IOException if the input cannot be read, is not well-formed, or cannot be bound although it is valid
+     */
+    public Result<T> read(JsonParser parser) throws IOException {
+        ValidationContext context = new ValidationContext(mode);
+        ValidatingParser validating = schema.validatingParser(parser, context);
+        T value;
+        try {
+            value = mapper.readValue(validating, type);
+        } catch (DatabindException e) {
+            skipRest(validating);
+            ValidationResult result = context.toResult();
+            if (result.isValid()) {
+                throw e;
+            }
+            return new Result<>(null, result);
+        }
+        skipRest(validating);
+        return new Result<>(value, context.toResult());
+    }
+
+    /**
+     * Binds the document if it is valid.
+     *
+     * @throws JsonValidationException if the document violates the schema
+     */
+    public T readValid(InputStream data) throws JsonValidationException, IOException {
+        Result<T> result = read(data);
+        AbstractJsonSchemaValidator.throwIfInvalid(result.validation());
+        return result.value();
+    }
+
+    public CompiledSchema getSchema() {
+        return schema;
+    }
+
+    private static void skipRest(ValidatingParser parser) throws IOException {
+        while (!parser.isComplete() && parser.nextToken() != null) {
+            // every token is validated as it is read
+        }
+    }
+
+    /**
+     * The outcome of {@link #read(JsonParser)}.
+     *
+     * @param value      the bound value, or {@code null} if the document is not valid and could not be bound
+     * @param validation the validation result
+     */
+    public record Result<T>(T value, ValidationResult validation) {
+
+        public boolean isValid() {
+            return validation.isValid();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package kr.nerdlab.json.schema.core.bulk;
+
+/**
+ * Totals of a bulk validation run.
+ *
+ * @param recordCount  the number of non-blank records read
+ * @param invalidCount the number of records with at least one error
+ * @param byteCount    the number of bytes read
+ */
+public record BulkValidationSummary(long recordCount, long invalidCount, long byteCount) {
+
+    public long validCount() {
+        return recordCount - invalidCount;
+    }
+}
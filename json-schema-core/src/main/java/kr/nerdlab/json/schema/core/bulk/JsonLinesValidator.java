@@ -0,0 +1,299 @@
+package kr.nerdlab.json.schema.core.bulk;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Validates newline-delimited JSON (JSON Lines / NDJSON) where every record is checked against the same compiled schema.
+ * <p>
+ * Records are read in batches; each batch is validated in parallel on the given executor while the next batch is read.
+ * Results are handed to a {@link RecordResultSink} in input order. At most two batches are held in memory; a batch ends
+ * after {@code batchSize} records or before the record that would take it over {@code maxBatchBytes}, and a record longer
+ * than {@code maxRecordBytes} is reported as invalid without being buffered, so memory use is bounded regardless of the
+ * input size. Blank lines are skipped. A record whose validation throws is reported as invalid with the exception, and
+ * the other records are still validated.
+ */
+public class JsonLinesValidator {
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+    public static final int DEFAULT_MAX_RECORD_BYTES = 16 * 1024 * 1024;
+    public static final int DEFAULT_MAX_BATCH_BYTES = 64 * 1024 * 1024;
+
+    private final JsonFactory factory;
+    private final CompiledSchema schema;
+    private final Executor executor;
+    private final int batchSize;
+    private final int maxRecordBytes;
+    private final int maxBatchBytes;
+    private final int parallelism;
+
+    public JsonLinesValidator(JsonFactory factory, CompiledSchema schema, Executor executor) {
+        this(factory, schema, executor, DEFAULT_BATCH_SIZE, DEFAULT_MAX_RECORD_BYTES);
+    }
+
+    public JsonLinesValidator(JsonFactory factory, CompiledSchema schema, Executor executor, int batchSize, int maxRecordBytes) {
+        this(factory, schema, executor, batchSize, maxRecordBytes, DEFAULT_MAX_BATCH_BYTES);
+    }
+
+    /**
+     * @param factory        the factory used to parse each record
+     * @param schema         the schema every record is validated against
+     * @param executor       the executor that validates batches
+     * @param batchSize      the maximum number of records per batch
+     * @param maxRecordBytes the maximum length of a single record
+     * @param maxBatchBytes  the maximum length of the records of a batch; a single longer record is a batch of its own
+     */
+    public JsonLinesValidator(JsonFactory factory, CompiledSchema schema, Executor executor, int batchSize, int maxRecordBytes,
+                              int maxBatchBytes) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        if (maxRecordBytes < 1) {
+            throw new IllegalArgumentException("maxRecordBytes must be positive: " + maxRecordBytes);
+        }
+        if (maxBatchBytes < 1) {
+            throw new IllegalArgumentException("maxBatchBytes must be positive: " + maxBatchBytes);
+        }
+        this.factory = factory;
+        this.schema = schema;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxRecordBytes = maxRecordBytes;
+        this.maxBatchBytes = maxBatchBytes;
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+    }
+
+    public BulkValidationSummary validate(Path data, RecordResultSink sink) throws IOException {
+        try (InputStream in = Files.newInputStream(data)) {
+            return validate(in, sink);
+        }
+    }
+
+    /**
+     * Validates every record of the stream. The stream is read to the end but not closed.
+     *
+     * @param data the JSON Lines input
+     * @param sink the receiver of per-record results, called on the calling thread in input order
+     * @return the totals of the run
+     * @throws IOException if the input cannot be read or the sink fails
+     */
+    public BulkValidationSummary validate(InputStream data, RecordResultSink sink) throws IOException {
+        LineReader reader = new LineReader(data, maxRecordBytes);
+        long recordCount = 0;
+        long invalidCount = 0;
+
+        CompletableFuture<RecordResult[]> pending = null;
+        while (true) {
+            Line[] batch = reader.readBatch(batchSize, maxBatchBytes);
+            CompletableFuture<RecordResult[]> submitted = batch.length == 0 ? null : submit(batch);
+            if (pending != null) {
+                for (RecordResult result : await(pending)) {
+                    recordCount++;
+                    if (!result.isValid()) invalidCount++;
+                    sink.accept(result);
+                }
+            }
+            if (submitted == null) {
+                break;
+            }
+            pending = submitted;
+        }
+        return new BulkValidationSummary(recordCount, invalidCount, reader.offset);
+    }
+
+    private CompletableFuture<RecordResult[]> submit(Line[] batch) {
+        RecordResult[] results = new RecordResult[batch.length];
+        int chunkSize = Math.max(1, (batch.length + parallelism - 1) / parallelism);
+        CompletableFuture<?>[] chunks = new CompletableFuture<?>[(batch.length + chunkSize - 1) / chunkSize];
+        for (int c = 0; c < chunks.length; c++) {
+            int from = c * chunkSize;
+            int to = Math.min(batch.length, from + chunkSize);
+            chunks[c] = CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to; i++) {
+                    results[i] = validateRecord(batch[i]);
+                }
+            }, executor);
+        }
+        return CompletableFuture.allOf(chunks).thenApply(ignored -> results);
+    }
+
+    private RecordResult validateRecord(Line line) {
+        Set<String> errors;
+        if (line.truncated) {
+            errors = new LinkedHashSet<>();
+            errors.add(String.format("'#': record exceeds the maximum length of %d bytes", maxRecordBytes));
+        } else {
+            try (JsonParser parser = factory.createParser(line.bytes)) {
+                errors = schema.validate(parser);
+                if (parser.nextToken() != null) {
+                    // the result of a valid record is immutable
+                    errors = new LinkedHashSet<>(errors);
+                    errors.add("'#': unexpected content after the end of the record");
+                }
+            } catch (JsonProcessingException e) {
+                errors = new LinkedHashSet<>();
+                errors.add("'#': malformed JSON: " + e.getOriginalMessage());
+            } catch (IOException e) {
+                // parsing a byte array cannot fail with anything but malformed input
+                errors = new LinkedHashSet<>();
+                errors.add("'#': unreadable record: " + e.getMessage());
+            } catch (RuntimeException e) {
+                // a failing custom format, for example; the record fails rather than the whole run
+                errors = new LinkedHashSet<>();
+                errors.add("'#': validation failed: " + e);
+            }
+        }
+        return new RecordResult(line.lineNumber, line.byteOffset, errors);
+    }
+
+    private static RecordResult[] await(CompletableFuture<RecordResult[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while validating records");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error error) throw error;
+            throw new IOException("Record validation failed", cause);
+        }
+    }
+
+    private record Line(long lineNumber, long byteOffset, byte[] bytes, boolean truncated) {
+    }
+
+    /**
+     * Splits a byte stream on '\n' while tracking line numbers and byte offsets; a trailing '\r' is dropped.
+     */
+    private static final class LineReader {
+        private final InputStream in;
+        private final int maxRecordBytes;
+        private final byte[] buffer = new byte[64 * 1024];
+        private int position;
+        private int limit;
+        private boolean eof;
+
+        private byte[] line = new byte[8 * 1024];
+        private int lineLength;
+        /**
+         * The record read past the end of the previous batch, which starts the next one.
+         */
+        private Line carried;
+        long offset;
+        long lineNumber;
+
+        LineReader(InputStream in, int maxRecordBytes) {
+            this.in = in;
+            this.maxRecordBytes = maxRecordBytes;
+        }
+
+        Line[] readBatch(int size, int maxBytes) throws IOException {
+            Line[] batch = new Line[Math.min(size, DEFAULT_BATCH_SIZE)];
+            int count = 0;
+            long bytes = 0;
+            while (count < size) {
+                Line next = carried != null ? carried : next();
+                carried = null;
+                if (next == null) {
+                    break;
+                }
+                if (count > 0 && bytes + next.bytes.length > maxBytes) {
+                    carried = next;
+                    break;
+                }
+                if (count == batch.length) {
+                    batch = Arrays.copyOf(batch, Math.min(size, count * 2));
+                }
+                batch[count++] = next;
+                bytes += next.bytes.length;
+            }
+            return count == batch.length ? batch : Arrays.copyOf(batch, count);
+        }
+
+        private Line next() throws IOException {
+            while (true) {
+                long start = offset;
+                lineLength = 0;
+                boolean truncated = false;
+                boolean terminated = false;
+                while (!terminated) {
+                    if (position == limit && !fill()) {
+                        break;
+                    }
+                    int end = position;
+                    while (end < limit && buffer[end] != '\n') {
+                        end++;
+                    }
+                    int length = end - position;
+                    if (!truncated && lineLength + length > maxRecordBytes) {
+                        truncated = true;
+                    }
+                    if (!truncated) {
+                        append(position, length);
+                    }
+                    terminated = end < limit;
+                    int consumed = terminated ? length + 1 : length;
+                    position += consumed;
+                    offset += consumed;
+                }
+                if (!terminated && offset == start) {
+                    return null;
+                }
+                lineNumber++;
+                if (lineLength > 0 && line[lineLength - 1] == '\r') {
+                    lineLength--;
+                }
+                if (!truncated && isBlank()) {
+                    continue;
+                }
+                return new Line(lineNumber, start, Arrays.copyOf(line, lineLength), truncated);
+            }
+        }
+
+        private boolean fill() throws IOException {
+            if (eof) {
+                return false;
+            }
+            int read = in.read(buffer);
+            if (read < 0) {
+                eof = true;
+                return false;
+            }
+            position = 0;
+            limit = read;
+            return true;
+        }
+
+        private void append(int from, int length) {
+            if (lineLength + length > line.length) {
+                line = Arrays.copyOf(line, Math.max(lineLength + length, line.length * 2));
+            }
+            System.arraycopy(buffer, from, line, lineLength, length);
+            lineLength += length;
+        }
+
+        private boolean isBlank() {
+            for (int i = 0; i < lineLength; i++) {
+                byte b = line[i];
+                if (b != ' ' && b != '\t' && b != '\r') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
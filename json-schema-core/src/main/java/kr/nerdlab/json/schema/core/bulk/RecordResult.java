@@ -0,0 +1,17 @@
+package kr.nerdlab.json.schema.core.bulk;
+
+import java.util.Set;
+
+/**
+ * The validation result of one JSON Lines record.
+ *
+ * @param lineNumber the 1-based line number of the record
+ * @param byteOffset the offset of the first byte of the record in the input
+ * @param errors     the error messages, empty if the record is valid
+ */
+public record RecordResult(long lineNumber, long byteOffset, Set<String> errors) {
+
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+}
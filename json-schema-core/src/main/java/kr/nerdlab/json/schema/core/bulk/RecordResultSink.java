@@ -0,0 +1,11 @@
+package kr.nerdlab.json.schema.core.bulk;
+
+import java.io.IOException;
+
+/**
+ * Receives record results in input order, as soon as their batch has been validated.
+ */
+@FunctionalInterface
+public interface RecordResultSink {
+    void accept(RecordResult result) throws IOException;
+}
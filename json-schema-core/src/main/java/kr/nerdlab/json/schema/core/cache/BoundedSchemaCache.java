@@ -0,0 +1,195 @@
+package kr.nerdlab.json.schema.core.cache;
+
+import kr.nerdlab.json.schema.core.CompiledSchema;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link SchemaCache} bounded by entry count (least recently used entries are evicted first) and by time to live.
+ * <p>
+ * Concurrent misses on the same URI are coalesced: only the first caller runs the loader, the others wait for its result.
+ * Entries loaded from {@code file:} URIs are additionally revalidated against the file's last-modified time on every hit,
+ * so editing a local schema takes effect immediately.
+ */
+public class BoundedSchemaCache implements SchemaCache {
+    public static final int DEFAULT_MAXIMUM_SIZE = 256;
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    private static final long NO_MTIME = Long.MIN_VALUE;
+
+    private final int maximumSize;
+    private final long timeToLiveNanos;
+    private final Map<URI, Entry> entries;
+    private final ConcurrentHashMap<URI, CompletableFuture<CompiledSchema>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTimeNanos = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public BoundedSchemaCache() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * @param maximumSize the maximum number of cached schemas, at least 1
+     * @param timeToLive  how long an entry stays valid after it was loaded
+     */
+    public BoundedSchemaCache(int maximumSize, Duration timeToLive) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("timeToLive must be positive: " + timeToLive);
+        }
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<URI, Entry> eldest) {
+                if (size() > BoundedSchemaCache.this.maximumSize) {
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public CompiledSchema get(URI uri, SchemaLoader loader) throws IOException {
+        final URI key = SchemaCache.normalize(uri);
+
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null) {
+            if (isFresh(key, entry)) {
+                hitCount.increment();
+                return entry.schema;
+            }
+            synchronized (entries) {
+                if (entries.remove(key, entry)) {
+                    evictionCount.increment();
+                }
+            }
+        }
+
+        missCount.increment();
+        CompletableFuture<CompiledSchema> future = new CompletableFuture<>();
+        CompletableFuture<CompiledSchema> inFlight = loading.putIfAbsent(key, future);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+
+        long start = System.nanoTime();
+        try {
+            // another caller may have finished loading between our lookup and claiming the load
+            synchronized (entries) {
+                entry = entries.get(key);
+            }
+            if (entry != null && isFresh(key, entry)) {
+                future.complete(entry.schema);
+                return entry.schema;
+            }
+
+            long mtime = lastModified(key);
+            CompiledSchema schema = loader.load(key);
+            long now = System.nanoTime();
+            totalLoadTimeNanos.add(now - start);
+            loadSuccessCount.increment();
+            synchronized (entries) {
+                entries.put(key, new Entry(schema, now + timeToLiveNanos, mtime));
+            }
+            future.complete(schema);
+            return schema;
+        } catch (IOException | RuntimeException | Error e) {
+            totalLoadTimeNanos.add(System.nanoTime() - start);
+            loadFailureCount.increment();
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    @Override
+    public void invalidate(URI uri) {
+        synchronized (entries) {
+            entries.remove(SchemaCache.normalize(uri));
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    @Override
+    public SchemaCacheStats stats() {
+        return new SchemaCacheStats(hitCount.sum(), missCount.sum(), loadSuccessCount.sum(), loadFailureCount.sum(),
+                totalLoadTimeNanos.sum(), evictionCount.sum());
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private boolean isFresh(URI key, Entry entry) throws IOException {
+        if (System.nanoTime() - entry.expiresAtNanos >= 0) {
+            return false;
+        }
+        return entry.mtime == NO_MTIME || entry.mtime == lastModified(key);
+    }
+
+    private static long lastModified(URI key) throws IOException {
+        if (!"file".equals(key.getScheme())) {
+            return NO_MTIME;
+        }
+        Path path;
+        try {
+            path = Path.of(key);
+        } catch (IllegalArgumentException e) {
+            // file://host/... and other file URIs the default file system cannot open are loaded without mtime checks
+            return NO_MTIME;
+        }
+        return Files.exists(path) ? Files.getLastModifiedTime(path).toMillis() : NO_MTIME;
+    }
+
+    private static CompiledSchema await(CompletableFuture<CompiledSchema> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for schema to load");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) throw new IOException(io.getMessage(), io);
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error error) throw error;
+            throw new UncheckedIOException(new IOException(cause));
+        }
+    }
+
+    private record Entry(CompiledSchema schema, long expiresAtNanos, long mtime) {
+    }
+}
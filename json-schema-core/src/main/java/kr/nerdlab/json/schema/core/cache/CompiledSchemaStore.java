@@ -0,0 +1,275 @@
+package kr.nerdlab.json.schema.core.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import kr.nerdlab.json.schema.core.format.Formats;
+import kr.nerdlab.json.schema.core.keyword.SchemaNode;
+import kr.nerdlab.json.schema.core.keyword.SchemaNodeCodec;
+import kr.nerdlab.json.schema.core.pattern.PatternCache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+/**
+ * An on-disk store of compiled schemas that survives restarts, so that a warm start skips parsing and
+ * compiling schema documents.
+ * <p>
+ * Entries are keyed by a hash of the schema document, the library version, the
+ * {@linkplain SchemaNodeCodec#FORMAT_VERSION format version} and the names of the asserted {@link Formats}, so an
+ * edited schema, an upgraded library or a change of asserted formats never reads a stale entry. An entry holds the document and its {@linkplain SchemaNodeCodec encoded} schema tree and
+ * is read through a memory-mapped buffer. The stored document is compared with the requested one, so the key
+ * only needs to be cheap to compute, not collision-free: CRC-32 runs natively even before the JIT has warmed
+ * up, where a cryptographic digest would cost more than it saves on a cold start.
+ * <p>
+ * Entries are written to a temporary file and moved into place, so concurrent processes sharing the directory
+ * never see a partial entry; an unreadable entry is discarded and rewritten. Failing to write an entry does not
+ * fail the lookup.
+ * <p>
+ * The library version is read from a resource the build fills in, and a store cannot be created without it.
+ * Schemas with keywords that have no binary form are compiled on every lookup and never stored.
+ * Instances are thread-safe.
+ */
+public final class CompiledSchemaStore {
+    public static final String FILE_SUFFIX = ".jscb";
+
+    private static final int MAGIC = 0x4A534342;
+    private static final String VERSION_RESOURCE = "/kr/nerdlab/json/schema/core/json-schema-core.properties";
+    /**
+     * The library and format version every key starts with, or {@code null} if the library version is unknown.
+     */
+    private static final byte[] LIBRARY_VERSION = libraryVersion();
+
+    private final Path directory;
+    private volatile ObjectMapper mapper;
+    private final PatternCache patterns;
+    private final Formats formats;
+    private final byte[] formatNames;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder writeFailureCount = new LongAdder();
+
+    public CompiledSchemaStore(Path directory) {
+        this(directory, null, PatternCache.shared());
+    }
+
+    /**
+     * @param directory the store directory, created on the first write
+     * @param mapper    the mapper schema documents are parsed with on a miss; if {@code null}, one is created
+     *                  on the first miss, so that a warm start does not pay for it
+     * @param patterns  the cache {@code "pattern"} expressions are compiled through
+     */
+    public CompiledSchemaStore(Path directory, ObjectMapper mapper, PatternCache patterns) {
+        this(directory, mapper, patterns, Formats.none());
+    }
+
+    /**
+     * @param formats the formats whose {@code "format"} stored schemas assert
+     */
+    public CompiledSchemaStore(Path directory, ObjectMapper mapper, PatternCache patterns, Formats formats) {
+        if (LIBRARY_VERSION == null) {
+            // without it, entries written by another version of the library would be read as current
+            throw new IllegalStateException("Unknown json-schema-core version: " + VERSION_RESOURCE
+                    + " is missing or was not filtered by the build");
+        }
+        this.directory = directory;
+        this.mapper = mapper;
+        this.patterns = patterns;
+        this.formats = formats;
+        this.formatNames = String.join(",", formats.getNames()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the stored schema for the document, compiling and storing it on a miss.
+     *
+     * @param schemaJson the schema document
+     * @return the compiled schema
+     * @throws IOException              if the document is not well-formed JSON
+     * @throws IllegalArgumentException if the schema contains a malformed keyword value
+     */
+    public CompiledSchema get(byte[] schemaJson) throws IOException {
+        Path file = directory.resolve(key(schemaJson) + FILE_SUFFIX);
+        CompiledSchema stored = read(file, schemaJson);
+        if (stored != null) {
+            hitCount.increment();
+            return stored;
+        }
+        missCount.increment();
+        CompiledSchema compiled = CompiledSchema.compile(mapper().readTree(schemaJson), patterns, null, formats);
+        write(file, schemaJson, compiled.getRoot());
+        return compiled;
+    }
+
+    /**
+     * @return a loader for a {@link SchemaCache} that fetches the schema document and looks it up in this store
+     */
+    public SchemaLoader loader() {
+        return uri -> {
+            try (InputStream in = URL.of(uri, null).openStream()) {
+                return get(in.readAllBytes());
+            }
+        };
+    }
+
+    /**
+     * Deletes every entry of the store.
+     *
+     * @throws IOException if the directory cannot be listed or an entry cannot be deleted
+     */
+    public void clear() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+            for (Path entry : entries) {
+                Files.deleteIfExists(entry);
+            }
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return the entries that could not be written, for example because the directory is read-only
+     */
+    public long getWriteFailureCount() {
+        return writeFailureCount.sum();
+    }
+
+    /**
+     * @return the stored schema, or {@code null} if there is no entry or it is for another document
+     */
+    private CompiledSchema read(Path file, byte[] schemaJson) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        try {
+            if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a compiled schema: " + file);
+            }
+            int sourceLength = buffer.getInt();
+            if (sourceLength != schemaJson.length || sourceLength > buffer.remaining()) {
+                return null;
+            }
+            byte[] sourceJson = new byte[sourceLength];
+            buffer.get(sourceJson);
+            if (!Arrays.equals(sourceJson, schemaJson)) {
+                return null;
+            }
+            return CompiledSchema.restore(SchemaNodeCodec.decode(buffer, patterns, formats), sourceJson);
+        } catch (IllegalArgumentException e) {
+            Files.deleteIfExists(file);
+            return null;
+        }
+    }
+
+    private void write(Path file, byte[] schemaJson, SchemaNode root) {
+        byte[] encoded;
+        try {
+            encoded = SchemaNodeCodec.encode(root);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        ByteBuffer entry = ByteBuffer.allocate(8 + schemaJson.length + encoded.length)
+                .putInt(MAGIC)
+                .putInt(schemaJson.length)
+                .put(schemaJson)
+                .put(encoded)
+                .flip();
+        Path temporary = null;
+        try {
+            Files.createDirectories(directory);
+            temporary = Files.createTempFile(directory, "entry", ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                while (entry.hasRemaining()) {
+                    channel.write(entry);
+                }
+            }
+            try {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            writeFailureCount.increment();
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException ignored) {
+                    // the failure is already counted
+                }
+            }
+        }
+    }
+
+    private ObjectMapper mapper() {
+        ObjectMapper current = mapper;
+        if (current == null) {
+            current = new ObjectMapper();
+            mapper = current;
+        }
+        return current;
+    }
+
+    /**
+     * @return the CRC-32 of the library version, the asserted formats and the document, and the document length, in
+     * hexadecimal
+     */
+    private String key(byte[] schemaJson) {
+        CRC32 crc = new CRC32();
+        crc.update(LIBRARY_VERSION);
+        crc.update(formatNames);
+        crc.update(schemaJson);
+        return String.format("%08x-%x", crc.getValue(), schemaJson.length);
+    }
+
+    /**
+     * @return the library version, as filtered into {@link #VERSION_RESOURCE}, and the format version, or
+     * {@code null} if the library version cannot be read
+     */
+    private static byte[] libraryVersion() {
+        Properties properties = new Properties();
+        try (InputStream in = CompiledSchemaStore.class.getResourceAsStream(VERSION_RESOURCE)) {
+            if (in == null) {
+                return null;
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            return null;
+        }
+        String version = properties.getProperty("version");
+        if (version == null || version.isBlank() || version.startsWith("${")) {
+            return null;
+        }
+        return (version + '/' + SchemaNodeCodec.FORMAT_VERSION).getBytes(StandardCharsets.UTF_8);
+    }
+}
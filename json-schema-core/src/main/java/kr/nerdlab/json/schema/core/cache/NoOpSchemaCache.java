@@ -0,0 +1,31 @@
+package kr.nerdlab.json.schema.core.cache;
+
+import kr.nerdlab.json.schema.core.CompiledSchema;
+
+import java.io.IOException;
+import java.net.URI;
+
+final class NoOpSchemaCache implements SchemaCache {
+    static final NoOpSchemaCache INSTANCE = new NoOpSchemaCache();
+
+    private NoOpSchemaCache() {
+    }
+
+    @Override
+    public CompiledSchema get(URI uri, SchemaLoader loader) throws IOException {
+        return loader.load(SchemaCache.normalize(uri));
+    }
+
+    @Override
+    public void invalidate(URI uri) {
+    }
+
+    @Override
+    public void invalidateAll() {
+    }
+
+    @Override
+    public SchemaCacheStats stats() {
+        return SchemaCacheStats.EMPTY;
+    }
+}
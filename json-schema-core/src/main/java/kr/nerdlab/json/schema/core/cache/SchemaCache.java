@@ -0,0 +1,58 @@
+package kr.nerdlab.json.schema.core.cache;
+
+import kr.nerdlab.json.schema.core.CompiledSchema;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Locale;
+
+/**
+ * Cache of compiled schemas keyed by normalized schema URI.
+ *
+ * @see BoundedSchemaCache
+ */
+public interface SchemaCache {
+
+    /**
+     * Returns the cached schema for the URI, loading it with {@code loader} on a miss.
+     *
+     * @param uri    the schema URI; normalized with {@link #normalize(URI)} before lookup
+     * @param loader the loader invoked on a miss
+     * @return the compiled schema
+     * @throws IOException if the schema could not be loaded
+     */
+    CompiledSchema get(URI uri, SchemaLoader loader) throws IOException;
+
+    void invalidate(URI uri);
+
+    void invalidateAll();
+
+    SchemaCacheStats stats();
+
+    /**
+     * Normalizes a schema URI into a cache key: dot segments are removed, scheme and host are lower-cased
+     * and the fragment is dropped, since it does not change which document is fetched.
+     */
+    static URI normalize(URI uri) {
+        URI normalized = uri.normalize();
+        if (normalized.isOpaque()) {
+            return normalized;
+        }
+        String scheme = normalized.getScheme() == null ? null : normalized.getScheme().toLowerCase(Locale.ROOT);
+        String host = normalized.getHost() == null ? null : normalized.getHost().toLowerCase(Locale.ROOT);
+        try {
+            return new URI(scheme, normalized.getUserInfo(), host, normalized.getPort(),
+                    normalized.getPath(), normalized.getQuery(), null);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid schema URI: " + uri, e);
+        }
+    }
+
+    /**
+     * A cache that stores nothing and calls the loader on every lookup.
+     */
+    static SchemaCache none() {
+        return NoOpSchemaCache.INSTANCE;
+    }
+}
@@ -0,0 +1,35 @@
+package kr.nerdlab.json.schema.core.cache;
+
+/**
+ * Point-in-time statistics of a {@link SchemaCache}.
+ *
+ * @param hitCount           lookups answered from the cache
+ * @param missCount          lookups that had to wait for a load, including callers joining an in-flight load
+ * @param loadSuccessCount   loads that completed
+ * @param loadFailureCount   loads that threw
+ * @param totalLoadTimeNanos time spent in successful and failed loads
+ * @param evictionCount      entries removed for size, expiry or a changed file
+ */
+public record SchemaCacheStats(long hitCount,
+                               long missCount,
+                               long loadSuccessCount,
+                               long loadFailureCount,
+                               long totalLoadTimeNanos,
+                               long evictionCount) {
+
+    static final SchemaCacheStats EMPTY = new SchemaCacheStats(0, 0, 0, 0, 0, 0);
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    public double averageLoadPenaltyNanos() {
+        long loads = loadSuccessCount + loadFailureCount;
+        return loads == 0 ? 0.0 : (double) totalLoadTimeNanos / loads;
+    }
+}
@@ -0,0 +1,14 @@
+package kr.nerdlab.json.schema.core.cache;
+
+import kr.nerdlab.json.schema.core.CompiledSchema;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Fetches, parses and compiles the schema a {@link SchemaCache} is missing.
+ */
+@FunctionalInterface
+public interface SchemaLoader {
+    CompiledSchema load(URI uri) throws IOException;
+}
@@ -0,0 +1,197 @@
+package kr.nerdlab.json.schema.core.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import kr.nerdlab.json.schema.core.canonical.CanonicalJson;
+import kr.nerdlab.json.schema.core.format.Formats;
+import kr.nerdlab.json.schema.core.keyword.NodeInterner;
+import kr.nerdlab.json.schema.core.keyword.SchemaNode;
+import kr.nerdlab.json.schema.core.pattern.PatternCache;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Compiles schema documents so that structurally identical parts share their compiled nodes across all documents
+ * compiled through the registry. Schemas generated from related classes typically embed the same definitions, such as
+ * the schema of a shared DTO in several roots; compiled through a registry, each distinct definition is held once and
+ * every schema that contains it runs the same keyword objects.
+ * <p>
+ * Sub-schemas are identified by their pointer and their {@linkplain CanonicalJson canonical form}, so member order
+ * and the notation of numbers do not matter. They are looked up by a hash of the canonical form, and a hit is
+ * confirmed by comparing the forms, so sub-schemas whose hashes collide are never taken for each other. The pointer
+ * is part of the identity because errors report it. Sub-schemas that contain a {@code "$ref"} are compiled per document, since a reference means something
+ * different in each. A document identical to one compiled before yields the same {@link CompiledSchema}.
+ * <p>
+ * The registry holds compiled nodes weakly: once no schema uses a node, it is dropped together with the copy of the
+ * sub-schema it was compiled from. Hashing a sub-schema costs about as much as compiling it, so the registry pays off when documents overlap, not for a single large document.
+ * Instances are thread-safe.
+ */
+public final class SchemaRegistry implements NodeInterner {
+    private final PatternCache patterns;
+    private final Formats formats;
+    private final ConcurrentMap<Key, Entry<SchemaNode>> nodes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Key, Entry<CompiledSchema>> schemas = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+    private final LongAdder schemaCount = new LongAdder();
+    private final LongAdder sharedSchemaCount = new LongAdder();
+    private final LongAdder nodeHitCount = new LongAdder();
+    private final LongAdder nodeMissCount = new LongAdder();
+
+    public SchemaRegistry() {
+        this(PatternCache.shared());
+    }
+
+    /**
+     * @param patterns the cache {@code "pattern"} expressions are compiled through
+     */
+    public SchemaRegistry(PatternCache patterns) {
+        this(patterns, Formats.none());
+    }
+
+    /**
+     * @param patterns the cache {@code "pattern"} expressions are compiled through
+     * @param formats  the formats whose {@code "format"} every schema compiled through the registry asserts
+     */
+    public SchemaRegistry(PatternCache patterns, Formats formats) {
+        this.patterns = patterns;
+        this.formats = formats;
+    }
+
+    /**
+     * Compiles a schema document, reusing the nodes of identical sub-schemas compiled before.
+     *
+     * @param schema the schema document
+     * @return the compiled schema
+     * @throws IllegalArgumentException if the schema contains a malformed keyword value
+     */
+    public CompiledSchema compile(JsonNode schema) {
+        expungeCollected();
+        schemaCount.increment();
+        Key key = new Key("", schema);
+        CompiledSchema compiled = get(schemas, key);
+        if (compiled != null) {
+            sharedSchemaCount.increment();
+            return compiled;
+        }
+        compiled = CompiledSchema.compile(schema, patterns, this, formats);
+        return putIfAbsent(schemas, key, compiled);
+    }
+
+    @Override
+    public SchemaNode intern(String pointer, JsonNode schema, Supplier<SchemaNode> compiler) {
+        Key key = new Key(pointer, schema);
+        SchemaNode node = get(nodes, key);
+        if (node != null) {
+            nodeHitCount.increment();
+            return node;
+        }
+        nodeMissCount.increment();
+        // compiled outside the map, since compiling interns the children; a concurrent duplicate is discarded
+        return putIfAbsent(nodes, key, compiler.get());
+    }
+
+    public SchemaRegistryStats getStats() {
+        expungeCollected();
+        return new SchemaRegistryStats(schemaCount.sum(), sharedSchemaCount.sum(),
+                nodeHitCount.sum(), nodeMissCount.sum(), nodes.size());
+    }
+
+    /**
+     * Drops every entry; schemas compiled before keep their nodes but no longer share them with later ones.
+     */
+    public void clear() {
+        nodes.clear();
+        schemas.clear();
+    }
+
+    private static <T> T get(ConcurrentMap<Key, Entry<T>> map, Key key) {
+        Entry<T> entry = map.get(key);
+        return entry == null ? null : entry.get();
+    }
+
+    private <T> T putIfAbsent(ConcurrentMap<Key, Entry<T>> map, Key lookup, T value) {
+        Key key = lookup.detach();
+        Entry<T> entry = new Entry<>(value, key, map, collected);
+        while (true) {
+            Entry<T> existing = map.putIfAbsent(key, entry);
+            if (existing == null) {
+                return value;
+            }
+            T current = existing.get();
+            if (current != null) {
+                return current;
+            }
+            // collected but not expunged yet
+            map.remove(key, existing);
+        }
+    }
+
+    private void expungeCollected() {
+        for (Object entry; (entry = collected.poll()) != null; ) {
+            ((Entry<?>) entry).expunge();
+        }
+    }
+
+    /**
+     * A sub-schema by its pointer and canonical form. The hash only spreads the keys; equal keys have canonically
+     * equal schemas.
+     */
+    private static final class Key {
+        private final String pointer;
+        private final JsonNode schema;
+        private final int hash;
+
+        /**
+         * @param pointer the pointer of a sub-schema, or the empty string for a whole document
+         */
+        Key(String pointer, JsonNode schema) {
+            this(pointer, schema, 31 * pointer.hashCode() + Long.hashCode(CanonicalJson.hash(schema)));
+        }
+
+        private Key(String pointer, JsonNode schema, int hash) {
+            this.pointer = pointer;
+            this.schema = schema;
+            this.hash = hash;
+        }
+
+        /**
+         * @return a key to store, holding a copy of the schema so that later changes to the caller's document do not
+         * change the key
+         */
+        Key detach() {
+            return new Key(pointer, schema.deepCopy(), hash);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && hash == key.hash && pointer.equals(key.pointer)
+                    && CanonicalJson.equal(schema, key.schema);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Entry<T> extends WeakReference<T> {
+        private final Key key;
+        private final ConcurrentMap<Key, Entry<T>> map;
+
+        Entry(T value, Key key, ConcurrentMap<Key, Entry<T>> map, ReferenceQueue<Object> queue) {
+            super(value, queue);
+            this.key = key;
+            this.map = map;
+        }
+
+        void expunge() {
+            map.remove(key, this);
+        }
+    }
+}
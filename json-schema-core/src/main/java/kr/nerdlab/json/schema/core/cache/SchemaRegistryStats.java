@@ -0,0 +1,30 @@
+package kr.nerdlab.json.schema.core.cache;
+
+/**
+ * Point-in-time statistics of a {@link SchemaRegistry}.
+ *
+ * @param schemaCount       documents compiled through the registry
+ * @param sharedSchemaCount documents answered with the schema compiled for an identical document
+ * @param nodeHitCount      sub-schemas answered with an existing node, each sharing the node's whole subtree
+ * @param nodeMissCount     sub-schemas that were compiled because no identical one was known
+ * @param internedNodeCount distinct nodes the registry currently holds; nodes no loaded schema uses any more are
+ *                          dropped once they are garbage collected
+ */
+public record SchemaRegistryStats(long schemaCount,
+                                  long sharedSchemaCount,
+                                  long nodeHitCount,
+                                  long nodeMissCount,
+                                  long internedNodeCount) {
+
+    public long nodeRequestCount() {
+        return nodeHitCount + nodeMissCount;
+    }
+
+    /**
+     * @return the share of sub-schema lookups that reused a node
+     */
+    public double nodeHitRate() {
+        long requests = nodeRequestCount();
+        return requests == 0 ? 0.0 : (double) nodeHitCount / requests;
+    }
+}
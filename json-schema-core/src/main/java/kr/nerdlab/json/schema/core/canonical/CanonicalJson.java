@@ -0,0 +1,197 @@
+package kr.nerdlab.json.schema.core.canonical;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+
+/**
+ * Equality and hashing of JSON values by their canonical form, in which the members of an object are unordered and
+ * numbers are compared by value, so that {@code {"a":1,"b":2.0}} and {@code {"b":2,"a":1.00}} are the same value.
+ * This is the equality JSON Schema uses, unlike {@link JsonNode#equals(Object)}, which tells an {@code IntNode} from a
+ * {@code DoubleNode} of the same value.
+ * <p>
+ * The canonical form is never materialized: object members are hashed with a commutative combination instead of being
+ * sorted, and numbers are hashed through their exact value, so hashing a value allocates only for numbers that are
+ * neither integers nor doubles nor fit in a {@code long}.
+ */
+public final class CanonicalJson {
+    private static final long DEFAULT_SEED = 0x9E3779B97F4A7C15L;
+
+    private static final long NULL = 0x6A09E667F3BCC909L;
+    private static final long TRUE = 0xBB67AE8584CAA73BL;
+    private static final long FALSE = 0x3C6EF372FE94F82BL;
+    private static final long NUMBER = 0xA54FF53A5F1D36F1L;
+    private static final long STRING = 0x510E527FADE682D1L;
+    private static final long ARRAY = 0x9B05688C2B3E6C1FL;
+    private static final long OBJECT = 0x1F83D9ABFB41BD6BL;
+
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private CanonicalJson() {
+    }
+
+    /**
+     * @return {@code true} if both values have the same canonical form
+     */
+    public static boolean equal(JsonNode a, JsonNode b) {
+        if (a == b) {
+            return true;
+        }
+        if (a.isNumber() && b.isNumber()) {
+            return numbersEqual(a, b);
+        }
+        if (a.getNodeType() != b.getNodeType() || a.size() != b.size()) {
+            return false;
+        }
+        if (a.isObject()) {
+            for (Map.Entry<String, JsonNode> field : a.properties()) {
+                JsonNode other = b.get(field.getKey());
+                if (other == null || !equal(field.getValue(), other)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (a.isArray()) {
+            for (int i = 0; i < a.size(); i++) {
+                if (!equal(a.get(i), b.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return a.equals(b);
+    }
+
+    /**
+     * @return a hash of the canonical form; values that are {@linkplain #equal equal} have the same hash
+     */
+    public static long hash(JsonNode node) {
+        return hash(node, DEFAULT_SEED);
+    }
+
+    /**
+     * Hashes with a caller-chosen seed, so that two hashes with different seeds can be combined into a wider
+     * fingerprint.
+     */
+    public static long hash(JsonNode node, long seed) {
+        switch (node.getNodeType()) {
+            case OBJECT -> {
+                // addition is commutative, so the member order does not matter
+                long members = 0;
+                for (Map.Entry<String, JsonNode> field : node.properties()) {
+                    members += mix(hashString(field.getKey(), seed) * 31 + hash(field.getValue(), seed));
+                }
+                return mix(seed ^ OBJECT ^ members ^ node.size());
+            }
+            case ARRAY -> {
+                long h = seed ^ ARRAY;
+                for (JsonNode element : node) {
+                    h = mix(h * 31 + hash(element, seed));
+                }
+                return mix(h ^ node.size());
+            }
+            case STRING -> {
+                return hashString(node.textValue(), seed ^ STRING);
+            }
+            case NUMBER -> {
+                return hashNumber(node, seed);
+            }
+            case BOOLEAN -> {
+                return mix(seed ^ (node.booleanValue() ? TRUE : FALSE));
+            }
+            default -> {
+                return mix(seed ^ NULL);
+            }
+        }
+    }
+
+    private static boolean numbersEqual(JsonNode a, JsonNode b) {
+        if (isLong(a) && isLong(b)) {
+            return a.longValue() == b.longValue();
+        }
+        if (a.isDouble() && b.isDouble()) {
+            return a.doubleValue() == b.doubleValue();
+        }
+        BigDecimal x = decimalValue(a);
+        BigDecimal y = decimalValue(b);
+        return x != null && y != null ? x.compareTo(y) == 0 : a.doubleValue() == b.doubleValue();
+    }
+
+    /**
+     * @return {@code true} if the number is an integer or an integral double that {@link JsonNode#longValue()} returns
+     * exactly; a double of 2<sup>63</sup> converts to a {@code long}, but only by saturating
+     */
+    private static boolean isLong(JsonNode node) {
+        if (node.isIntegralNumber()) {
+            return node.canConvertToLong();
+        }
+        if (node.isDouble() || node.isFloat()) {
+            double value = node.doubleValue();
+            return value == Math.rint(value) && value >= -0x1p63 && value < 0x1p63;
+        }
+        return false;
+    }
+
+    /**
+     * Hashes integers that fit in a {@code long} by their value, whatever their representation, and every other
+     * number by its decimal value without trailing zeros.
+     */
+    private static long hashNumber(JsonNode node, long seed) {
+        if (isLong(node)) {
+            return hashLong(node.longValue(), seed);
+        }
+        BigDecimal value = decimalValue(node);
+        if (value == null) {
+            // NaN and infinities, which JSON cannot express
+            return mix(seed ^ NUMBER ^ Double.doubleToLongBits(node.doubleValue()));
+        }
+        value = value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+        if (value.scale() <= 0 && value.compareTo(LONG_MIN) >= 0 && value.compareTo(LONG_MAX) <= 0) {
+            return hashLong(value.longValueExact(), seed);
+        }
+        return mix(seed ^ NUMBER ^ mix(value.unscaledValue().hashCode()) ^ ((long) value.scale() << 32));
+    }
+
+    /**
+     * @return the exact value as written, or {@code null} for NaN and infinities
+     */
+    private static BigDecimal decimalValue(JsonNode node) {
+        if (node.isBigInteger()) {
+            return new BigDecimal((BigInteger) node.numberValue());
+        }
+        if (node.isDouble() || node.isFloat()) {
+            double value = node.doubleValue();
+            // the shortest decimal that reads back as the double, which is how the number was written
+            return Double.isFinite(value) ? BigDecimal.valueOf(value) : null;
+        }
+        return node.decimalValue();
+    }
+
+    private static long hashLong(long value, long seed) {
+        return mix(seed ^ NUMBER ^ mix(value));
+    }
+
+    private static long hashString(String value, long seed) {
+        long h = seed;
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(h ^ value.length());
+    }
+
+    /**
+     * The finalizer of MurmurHash3, which spreads every input bit over the whole result.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93FE53E87EBL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,131 @@
+package kr.nerdlab.json.schema.core.dataformat;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.format.DataFormatDetector;
+import com.fasterxml.jackson.core.format.DataFormatMatcher;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The data formats documents are read in: JSON plus, optionally, binary formats with the same data model, such as
+ * Smile and CBOR. The format of each document is detected from its leading bytes, so binary payloads are validated
+ * directly instead of being transcoded to JSON text first.
+ * <p>
+ * {@link #detecting(JsonFactory)} adds the Smile and CBOR factories of {@code jackson-dataformat-smile} and
+ * {@code jackson-dataformat-cbor} when they are on the class path; both are optional dependencies. Formats without a
+ * recognizable signature, such as MessagePack, cannot be detected reliably; read them with {@link #only(JsonFactory)}
+ * and their factory. Input no format recognizes is read as JSON, so that it fails with the JSON parser's message.
+ * Instances are immutable and can be shared between threads.
+ */
+public final class InputFormats {
+    private static final String[] OPTIONAL_FACTORIES = {
+            "com.fasterxml.jackson.dataformat.smile.SmileFactory",
+            "com.fasterxml.jackson.dataformat.cbor.CBORFactory"
+    };
+
+    private final JsonFactory json;
+    private final DataFormatDetector detector;
+    private final List<String> formatNames;
+
+    private InputFormats(JsonFactory json, List<JsonFactory> binary) {
+        this.json = json;
+        List<JsonFactory> factories = new ArrayList<>(binary.size() + 1);
+        // first, so that JSON wins ties with equally weak binary matches
+        factories.add(json);
+        factories.addAll(binary);
+        this.detector = binary.isEmpty() ? null : new DataFormatDetector(factories);
+        this.formatNames = factories.stream().map(JsonFactory::getFormatName).toList();
+    }
+
+    /**
+     * Reads every document with the given factory, without detection.
+     */
+    public static InputFormats only(JsonFactory factory) {
+        return new InputFormats(factory, List.of());
+    }
+
+    /**
+     * Detects JSON and the binary formats whose factories are on the class path.
+     *
+     * @param json the factory for JSON, typically the one of the {@code ObjectMapper}
+     */
+    public static InputFormats detecting(JsonFactory json) {
+        List<JsonFactory> binary = new ArrayList<>();
+        for (String className : OPTIONAL_FACTORIES) {
+            JsonFactory factory = instantiate(className);
+            if (factory != null) {
+                binary.add(factory);
+            }
+        }
+        return new InputFormats(json, binary);
+    }
+
+    /**
+     * Detects JSON and the given binary formats.
+     *
+     * @param binary factories whose {@link JsonFactory#hasFormat hasFormat} recognizes their format
+     */
+    public static InputFormats detecting(JsonFactory json, JsonFactory... binary) {
+        return new InputFormats(json, List.of(binary));
+    }
+
+    /**
+     * @param data the document; detection reads ahead a few bytes, which the returned parser reads again
+     * @return a parser for the detected format; closing it closes the stream
+     */
+    public JsonParser createParser(InputStream data) throws IOException {
+        if (detector == null) {
+            return json.createParser(data);
+        }
+        DataFormatMatcher match = detector.findFormat(data);
+        return match.hasMatch() ? match.createParserWithMatch() : json.createParser(match.getDataStream());
+    }
+
+    public JsonParser createParser(Path data) throws IOException {
+        if (detector == null) {
+            return json.createParser(data.toFile());
+        }
+        InputStream in = Files.newInputStream(data);
+        try {
+            return createParser(in);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    public JsonParser createParser(File data) throws IOException {
+        return createParser(data.toPath());
+    }
+
+    public JsonParser createParser(byte[] data) throws IOException {
+        if (detector == null) {
+            return json.createParser(data);
+        }
+        DataFormatMatcher match = detector.findFormat(data);
+        return match.hasMatch() ? match.createParserWithMatch() : json.createParser(data);
+    }
+
+    /**
+     * @return the names of the formats read, such as {@code JSON} and {@code Smile}, JSON first
+     */
+    public List<String> getFormatNames() {
+        return formatNames;
+    }
+
+    private static JsonFactory instantiate(String className) {
+        try {
+            Class<?> type = Class.forName(className, true, InputFormats.class.getClassLoader());
+            return (JsonFactory) type.getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+            return null;
+        }
+    }
+}
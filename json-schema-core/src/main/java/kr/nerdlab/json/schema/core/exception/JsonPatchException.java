@@ -0,0 +1,17 @@
+package kr.nerdlab.json.schema.core.exception;
+
+/**
+ * Thrown when a JSON Patch is malformed or one of its operations cannot be applied, for example because its path
+ * does not exist or a {@code test} operation fails.
+ */
+public class JsonPatchException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    public JsonPatchException(String message) {
+        super(message);
+    }
+
+    public JsonPatchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
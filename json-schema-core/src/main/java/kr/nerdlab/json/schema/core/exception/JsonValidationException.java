@@ -1,11 +1,32 @@
 package kr.nerdlab.json.schema.core.exception;
 
+import kr.nerdlab.json.schema.core.validation.ValidationError;
+
+import java.util.List;
+
 public class JsonValidationException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<ValidationError> errors;
+
     public JsonValidationException(String message) {
-        super(message);
+        this(message, List.of());
     }
 
     public JsonValidationException(String message, Throwable cause) {
         super(message, cause);
+        this.errors = List.of();
+    }
+
+    public JsonValidationException(String message, List<ValidationError> errors) {
+        super(message);
+        this.errors = List.copyOf(errors);
+    }
+
+    /**
+     * @return the structured errors behind this exception; empty if they were not recorded
+     */
+    public List<ValidationError> getErrors() {
+        return errors == null ? List.of() : errors;
     }
 }
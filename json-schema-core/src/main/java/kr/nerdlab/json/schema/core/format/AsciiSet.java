@@ -0,0 +1,52 @@
+package kr.nerdlab.json.schema.core.format;
+
+/**
+ * A set of ASCII characters as two bit masks, so that a membership test is a shift and a mask.
+ */
+final class AsciiSet {
+    static final AsciiSet DIGIT = range('0', '9');
+    static final AsciiSet ALPHA = range('a', 'z').union(range('A', 'Z'));
+    static final AsciiSet HEXDIG = DIGIT.union(range('a', 'f')).union(range('A', 'F'));
+    static final AsciiSet ALPHANUMERIC = ALPHA.union(DIGIT);
+
+    private final long low;
+    private final long high;
+
+    private AsciiSet(long low, long high) {
+        this.low = low;
+        this.high = high;
+    }
+
+    static AsciiSet of(String chars) {
+        long low = 0;
+        long high = 0;
+        for (int i = 0; i < chars.length(); i++) {
+            char c = chars.charAt(i);
+            if (c < 64) {
+                low |= 1L << c;
+            } else {
+                high |= 1L << (c - 64);
+            }
+        }
+        return new AsciiSet(low, high);
+    }
+
+    static AsciiSet range(char from, char to) {
+        StringBuilder chars = new StringBuilder();
+        for (char c = from; c <= to; c++) {
+            chars.append(c);
+        }
+        return of(chars.toString());
+    }
+
+    AsciiSet union(AsciiSet other) {
+        return new AsciiSet(low | other.low, high | other.high);
+    }
+
+    boolean contains(char c) {
+        if (c < 64) {
+            return (low >>> c & 1) != 0;
+        }
+        return c < 128 && (high >>> (c - 64) & 1) != 0;
+    }
+}
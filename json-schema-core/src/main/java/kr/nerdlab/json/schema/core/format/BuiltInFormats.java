@@ -0,0 +1,44 @@
+package kr.nerdlab.json.schema.core.format;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The formats {@link Formats#builtIn()} asserts, and {@code "uuid"}: the RFC 4122 string form of eight, four, four,
+ * four and twelve hexadecimal digits in either case, separated by hyphens, whatever its version.
+ */
+final class BuiltInFormats {
+    private static final int UUID_LENGTH = 36;
+
+    private BuiltInFormats() {
+    }
+
+    static Map<String, FormatValidator> all() {
+        Map<String, FormatValidator> formats = new LinkedHashMap<>();
+        formats.put("date-time", DateTimeFormats::isDateTime);
+        formats.put("date", DateTimeFormats::isDate);
+        formats.put("time", DateTimeFormats::isTime);
+        formats.put("duration", DateTimeFormats::isDuration);
+        formats.put("email", NetworkFormats::isEmail);
+        formats.put("hostname", NetworkFormats::isHostname);
+        formats.put("ipv4", NetworkFormats::isIpv4);
+        formats.put("ipv6", NetworkFormats::isIpv6);
+        formats.put("uri", NetworkFormats::isUri);
+        formats.put("uuid", BuiltInFormats::isUuid);
+        return formats;
+    }
+
+    static boolean isUuid(String value) {
+        if (value.length() != UUID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < UUID_LENGTH; i++) {
+            char c = value.charAt(i);
+            boolean valid = i == 8 || i == 13 || i == 18 || i == 23 ? c == '-' : AsciiSet.HEXDIG.contains(c);
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,181 @@
+package kr.nerdlab.json.schema.core.format;
+
+/**
+ * {@code "date-time"}, {@code "date"} and {@code "time"} as defined by RFC 3339, section 5.6, and {@code "duration"}
+ * as defined by its Appendix A. Each check reads the string once, left to right, and allocates nothing.
+ * <p>
+ * {@code "T"} and {@code "Z"} may be lowercase, as RFC 3339 permits. A leap second, {@code :60}, is accepted only at
+ * the last minute of a UTC day, after applying the offset.
+ */
+final class DateTimeFormats {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int LAST_MINUTE = MINUTES_PER_DAY - 1;
+    private static final String DATE_UNITS = "YMD";
+    private static final String TIME_UNITS = "HMS";
+
+    private DateTimeFormats() {
+    }
+
+    static boolean isDateTime(String value) {
+        int length = value.length();
+        if (length < 20 || !isDate(value, 0)) {
+            return false;
+        }
+        char separator = value.charAt(10);
+        return (separator == 'T' || separator == 't') && isTime(value, 11);
+    }
+
+    static boolean isDate(String value) {
+        return value.length() == 10 && isDate(value, 0);
+    }
+
+    static boolean isTime(String value) {
+        return isTime(value, 0);
+    }
+
+    /**
+     * {@code P} followed by years, months and days, then {@code T} and hours, minutes and seconds, or by weeks alone.
+     * Within each part the units that are present are adjacent, as in the RFC's grammar: {@code P1Y2M} is a duration,
+     * {@code P1Y2D} is not.
+     */
+    static boolean isDuration(String value) {
+        int length = value.length();
+        if (length < 3 || value.charAt(0) != 'P') {
+            return false;
+        }
+        int i = 1;
+        if (value.charAt(i) != 'T') {
+            int last = -1;
+            while (i < length && value.charAt(i) != 'T') {
+                int start = i;
+                while (i < length && isDigit(value.charAt(i))) {
+                    i++;
+                }
+                if (i == start || i == length) {
+                    return false;
+                }
+                char unit = value.charAt(i++);
+                if (unit == 'W') {
+                    return last < 0 && i == length;
+                }
+                int index = DATE_UNITS.indexOf(unit);
+                if (index < 0 || last >= 0 && index != last + 1) {
+                    return false;
+                }
+                last = index;
+            }
+            if (i == length) {
+                return true;
+            }
+        }
+        // at the T
+        if (++i == length) {
+            return false;
+        }
+        int last = -1;
+        while (i < length) {
+            int start = i;
+            while (i < length && isDigit(value.charAt(i))) {
+                i++;
+            }
+            if (i == start || i == length) {
+                return false;
+            }
+            int index = TIME_UNITS.indexOf(value.charAt(i++));
+            if (index < 0 || last >= 0 && index != last + 1) {
+                return false;
+            }
+            last = index;
+        }
+        return true;
+    }
+
+    /**
+     * {@code full-date}, {@code YYYY-MM-DD}, at the index; the caller checks that ten characters are left.
+     */
+    private static boolean isDate(String value, int from) {
+        int year = digits(value, from, 4);
+        if (year < 0 || value.charAt(from + 4) != '-') {
+            return false;
+        }
+        int month = digits(value, from + 5, 2);
+        if (month < 1 || month > 12 || value.charAt(from + 7) != '-') {
+            return false;
+        }
+        int day = digits(value, from + 8, 2);
+        return day >= 1 && day <= daysInMonth(year, month);
+    }
+
+    /**
+     * {@code full-time}, {@code HH:MM:SS[.fraction]} and {@code Z} or an offset, from the index to the end.
+     */
+    private static boolean isTime(String value, int from) {
+        int length = value.length();
+        if (length - from < 9) {
+            return false;
+        }
+        int hour = digits(value, from, 2);
+        int minute = digits(value, from + 3, 2);
+        int second = digits(value, from + 6, 2);
+        if (hour < 0 || hour > 23 || value.charAt(from + 2) != ':'
+                || minute < 0 || minute > 59 || value.charAt(from + 5) != ':'
+                || second < 0 || second > 60) {
+            return false;
+        }
+        int i = from + 8;
+        if (value.charAt(i) == '.') {
+            int start = ++i;
+            while (i < length && isDigit(value.charAt(i))) {
+                i++;
+            }
+            if (i == start) {
+                return false;
+            }
+        }
+        if (i == length) {
+            return false;
+        }
+        char zone = value.charAt(i);
+        int offset;
+        if ((zone == 'Z' || zone == 'z') && i + 1 == length) {
+            offset = 0;
+        } else if ((zone == '+' || zone == '-') && length - i == 6) {
+            int offsetHour = digits(value, i + 1, 2);
+            int offsetMinute = digits(value, i + 4, 2);
+            if (offsetHour < 0 || offsetHour > 23 || value.charAt(i + 3) != ':' || offsetMinute < 0 || offsetMinute > 59) {
+                return false;
+            }
+            offset = (offsetHour * 60 + offsetMinute) * (zone == '+' ? 1 : -1);
+        } else {
+            return false;
+        }
+        return second < 60 || Math.floorMod(hour * 60 + minute - offset, MINUTES_PER_DAY) == LAST_MINUTE;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /**
+     * @return the value of the decimal digits at the index, or {@code -1} if one of them is not a digit
+     */
+    private static int digits(String value, int from, int count) {
+        int result = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = value.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,17 @@
+package kr.nerdlab.json.schema.core.format;
+
+import java.util.Map;
+
+/**
+ * Contributes custom formats to {@link Formats#discovered()}. Implementations are found with
+ * {@link java.util.ServiceLoader}, so they are listed in
+ * {@code META-INF/services/kr.nerdlab.json.schema.core.format.FormatProvider} and have a public no-argument
+ * constructor.
+ */
+public interface FormatProvider {
+
+    /**
+     * @return the validators by format name; a name of a built-in format replaces the built-in validator
+     */
+    Map<String, FormatValidator> formats();
+}
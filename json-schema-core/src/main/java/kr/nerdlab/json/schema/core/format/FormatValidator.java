@@ -0,0 +1,16 @@
+package kr.nerdlab.json.schema.core.format;
+
+/**
+ * Decides whether a string is valid for a {@code "format"}, such as {@code "date-time"}.
+ * Implementations are immutable and safe to share between threads, and should not throw for any input.
+ *
+ * @see Formats
+ */
+@FunctionalInterface
+public interface FormatValidator {
+
+    /**
+     * @return {@code true} if the string is valid for the format
+     */
+    boolean isValid(String value);
+}
@@ -0,0 +1,81 @@
+package kr.nerdlab.json.schema.core.format;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * The {@code "format"} values a compiled schema asserts. Since draft 2019-09, {@code "format"} is only an annotation
+ * unless the format-assertion vocabulary is enabled, so schemas are compiled with {@link #none()} by default and
+ * asserting formats is opt-in.
+ * <p>
+ * {@link #builtIn()} asserts {@code date-time}, {@code date}, {@code time}, {@code duration}, {@code email},
+ * {@code hostname}, {@code ipv4}, {@code ipv6}, {@code uri} and {@code uuid} with hand-written parsers that read the
+ * string once and allocate nothing; none of them uses regular expressions or {@code java.time}. Custom formats are
+ * added with {@link #with(String, FormatValidator)}, or contributed by a {@link FormatProvider} found by
+ * {@link #discovered()}. Formats not asserted, including unknown ones, are ignored, as the specification requires.
+ * Instances are immutable and can be shared between threads.
+ */
+public final class Formats {
+    private static final Formats NONE = new Formats(Map.of());
+    private static final Formats BUILT_IN = new Formats(BuiltInFormats.all());
+
+    private final Map<String, FormatValidator> validators;
+
+    private Formats(Map<String, FormatValidator> validators) {
+        this.validators = Collections.unmodifiableMap(validators);
+    }
+
+    /**
+     * Asserts no format; {@code "format"} is an annotation only.
+     */
+    public static Formats none() {
+        return NONE;
+    }
+
+    /**
+     * Asserts the built-in formats.
+     */
+    public static Formats builtIn() {
+        return BUILT_IN;
+    }
+
+    /**
+     * Asserts the built-in formats and those of every {@link FormatProvider} on the class path; a provider's
+     * validator replaces a built-in one of the same name.
+     *
+     * @throws java.util.ServiceConfigurationError if a provider cannot be loaded
+     */
+    public static Formats discovered() {
+        Map<String, FormatValidator> validators = new LinkedHashMap<>(BUILT_IN.validators);
+        for (FormatProvider provider : ServiceLoader.load(FormatProvider.class, Formats.class.getClassLoader())) {
+            validators.putAll(provider.formats());
+        }
+        return new Formats(validators);
+    }
+
+    /**
+     * @return formats that also assert the given one, replacing a validator of the same name
+     */
+    public Formats with(String name, FormatValidator validator) {
+        Map<String, FormatValidator> copy = new LinkedHashMap<>(validators);
+        copy.put(name, validator);
+        return new Formats(copy);
+    }
+
+    /**
+     * @return the validator of the format, or {@code null} if the format is not asserted
+     */
+    public FormatValidator get(String name) {
+        return validators.get(name);
+    }
+
+    /**
+     * @return the names of the asserted formats
+     */
+    public Set<String> getNames() {
+        return validators.keySet();
+    }
+}
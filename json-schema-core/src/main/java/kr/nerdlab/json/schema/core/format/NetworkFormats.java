@@ -0,0 +1,341 @@
+package kr.nerdlab.json.schema.core.format;
+
+/**
+ * {@code "ipv4"}, {@code "ipv6"}, {@code "hostname"}, {@code "email"} and {@code "uri"}. Each check reads the string
+ * once, apart from finding the {@code @} of an address, and allocates nothing.
+ * <ul>
+ * <li>{@code ipv4} is the dotted-quad of RFC 2673, section 3.2; parts have no leading zeros, which some resolvers
+ * read as octal.</li>
+ * <li>{@code ipv6} is the text form of RFC 4291, section 2.2, with at most one {@code ::} and optionally a trailing
+ * IPv4 address; zone identifiers are not part of an address.</li>
+ * <li>{@code hostname} is an RFC 1123 host name of ASCII letters, digits and hyphens, in labels of at most 63
+ * characters that neither start nor end with a hyphen, at most 253 characters in all.</li>
+ * <li>{@code email} is an RFC 5321 mailbox: a dot-atom or quoted-string local part of at most 64 characters, and a
+ * host name or an IPv4 or {@code IPv6:} address literal.</li>
+ * <li>{@code uri} is an absolute URI as defined by RFC 3986: a scheme, an optional authority, and a path, query and
+ * fragment of the characters the grammar allows, with well-formed percent-encodings.</li>
+ * </ul>
+ */
+final class NetworkFormats {
+    private static final int MAX_HOSTNAME_LENGTH = 253;
+    private static final int MAX_LABEL_LENGTH = 63;
+    private static final int MAX_LOCAL_PART_LENGTH = 64;
+    private static final String IPV6_LITERAL_PREFIX = "IPv6:";
+
+    private static final AsciiSet ATEXT = AsciiSet.ALPHANUMERIC.union(AsciiSet.of("!#$%&'*+-/=?^_`{|}~"));
+    private static final AsciiSet SCHEME = AsciiSet.ALPHANUMERIC.union(AsciiSet.of("+-."));
+    private static final AsciiSet UNRESERVED = AsciiSet.ALPHANUMERIC.union(AsciiSet.of("-._~"));
+    private static final AsciiSet SUB_DELIMS = AsciiSet.of("!$&'()*+,;=");
+    private static final AsciiSet REG_NAME = UNRESERVED.union(SUB_DELIMS);
+    private static final AsciiSet USERINFO = REG_NAME.union(AsciiSet.of(":"));
+    /**
+     * {@code pchar}, and {@code /} and {@code ?}, which path, query and fragment all allow besides.
+     */
+    private static final AsciiSet PATH = USERINFO.union(AsciiSet.of("@/?"));
+
+    private NetworkFormats() {
+    }
+
+    static boolean isIpv4(String value) {
+        return isIpv4(value, 0, value.length());
+    }
+
+    static boolean isIpv6(String value) {
+        return isIpv6(value, 0, value.length());
+    }
+
+    static boolean isHostname(String value) {
+        return isHostname(value, 0, value.length());
+    }
+
+    static boolean isEmail(String value) {
+        int at = value.lastIndexOf('@');
+        if (at <= 0 || at > MAX_LOCAL_PART_LENGTH || at == value.length() - 1) {
+            return false;
+        }
+        if (!(value.charAt(0) == '"' ? isQuotedString(value, 0, at) : isDotAtom(value, 0, at))) {
+            return false;
+        }
+        int from = at + 1;
+        int to = value.length();
+        if (value.charAt(from) == '[') {
+            if (value.charAt(to - 1) != ']') {
+                return false;
+            }
+            return value.startsWith(IPV6_LITERAL_PREFIX, from + 1)
+                    ? isIpv6(value, from + 1 + IPV6_LITERAL_PREFIX.length(), to - 1)
+                    : isIpv4(value, from + 1, to - 1);
+        }
+        return isHostname(value, from, to);
+    }
+
+    static boolean isUri(String value) {
+        int length = value.length();
+        if (length == 0 || !AsciiSet.ALPHA.contains(value.charAt(0))) {
+            return false;
+        }
+        int i = 1;
+        while (i < length && SCHEME.contains(value.charAt(i))) {
+            i++;
+        }
+        if (i == length || value.charAt(i) != ':') {
+            return false;
+        }
+        i++;
+        if (value.startsWith("//", i)) {
+            i += 2;
+            int end = i;
+            while (end < length && value.charAt(end) != '/' && value.charAt(end) != '?' && value.charAt(end) != '#') {
+                end++;
+            }
+            if (!isAuthority(value, i, end)) {
+                return false;
+            }
+            i = end;
+        }
+        boolean fragment = false;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '%') {
+                if (!isPercentEncoded(value, i, length)) {
+                    return false;
+                }
+                i += 2;
+            } else if (c == '#') {
+                if (fragment) {
+                    return false;
+                }
+                fragment = true;
+            } else if (!PATH.contains(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isIpv4(String value, int from, int to) {
+        int parts = 0;
+        int i = from;
+        while (true) {
+            int start = i;
+            int part = 0;
+            while (i < to && i - start < 3 && AsciiSet.DIGIT.contains(value.charAt(i))) {
+                part = part * 10 + (value.charAt(i) - '0');
+                i++;
+            }
+            if (i == start || part > 255 || i - start > 1 && value.charAt(start) == '0') {
+                return false;
+            }
+            parts++;
+            if (i == to) {
+                return parts == 4;
+            }
+            if (parts == 4 || value.charAt(i) != '.') {
+                return false;
+            }
+            i++;
+        }
+    }
+
+    private static boolean isIpv6(String value, int from, int to) {
+        if (to - from < 2) {
+            return false;
+        }
+        int groups = 0;
+        boolean compressed = false;
+        int i = from;
+        if (value.charAt(i) == ':') {
+            if (value.charAt(i + 1) != ':') {
+                return false;
+            }
+            compressed = true;
+            i += 2;
+            if (i == to) {
+                return true;
+            }
+        }
+        while (true) {
+            int start = i;
+            while (i < to && i - start < 4 && AsciiSet.HEXDIG.contains(value.charAt(i))) {
+                i++;
+            }
+            if (i == start) {
+                return false;
+            }
+            if (i < to && value.charAt(i) == '.') {
+                // a trailing IPv4 address takes the place of the last two groups
+                if (groups > 6 || !isIpv4(value, start, to)) {
+                    return false;
+                }
+                groups += 2;
+                break;
+            }
+            groups++;
+            if (i == to) {
+                break;
+            }
+            if (value.charAt(i) != ':' || ++i == to) {
+                return false;
+            }
+            if (value.charAt(i) == ':') {
+                if (compressed) {
+                    return false;
+                }
+                compressed = true;
+                if (++i == to) {
+                    break;
+                }
+            }
+            if (groups == 8) {
+                return false;
+            }
+        }
+        return compressed ? groups < 8 : groups == 8;
+    }
+
+    private static boolean isHostname(String value, int from, int to) {
+        if (to == from || to - from > MAX_HOSTNAME_LENGTH) {
+            return false;
+        }
+        int labelStart = from;
+        for (int i = from; i <= to; i++) {
+            if (i == to || value.charAt(i) == '.') {
+                int labelLength = i - labelStart;
+                if (labelLength == 0 || labelLength > MAX_LABEL_LENGTH
+                        || value.charAt(labelStart) == '-' || value.charAt(i - 1) == '-') {
+                    return false;
+                }
+                labelStart = i + 1;
+            } else if (!AsciiSet.ALPHANUMERIC.contains(value.charAt(i)) && value.charAt(i) != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Atoms of {@code atext} separated by single dots.
+     */
+    private static boolean isDotAtom(String value, int from, int to) {
+        boolean dotAllowed = false;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                if (!dotAllowed) {
+                    return false;
+                }
+                dotAllowed = false;
+            } else if (ATEXT.contains(c)) {
+                dotAllowed = true;
+            } else {
+                return false;
+            }
+        }
+        return dotAllowed;
+    }
+
+    /**
+     * Printable ASCII between double quotes, where a double quote or backslash is escaped by a backslash.
+     */
+    private static boolean isQuotedString(String value, int from, int to) {
+        if (to - from < 2 || value.charAt(to - 1) != '"') {
+            return false;
+        }
+        for (int i = from + 1; i < to - 1; i++) {
+            char c = value.charAt(i);
+            if (c == '\\') {
+                if (++i == to - 1 || !isPrintable(value.charAt(i))) {
+                    return false;
+                }
+            } else if (c == '"' || !isPrintable(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code [userinfo "@"] host [":" port]}, where the host is a registered name, which includes IPv4 addresses, or
+     * an IPv6 or future address literal in brackets.
+     */
+    private static boolean isAuthority(String value, int from, int to) {
+        int i = from;
+        int at = value.indexOf('@', from);
+        if (at >= 0 && at < to) {
+            for (; i < at; i++) {
+                char c = value.charAt(i);
+                if (c == '%') {
+                    if (!isPercentEncoded(value, i, at)) {
+                        return false;
+                    }
+                    i += 2;
+                } else if (!USERINFO.contains(c)) {
+                    return false;
+                }
+            }
+            i = at + 1;
+        }
+        if (i < to && value.charAt(i) == '[') {
+            int close = value.indexOf(']', i);
+            if (close < 0 || close >= to || !isIpLiteral(value, i + 1, close)) {
+                return false;
+            }
+            i = close + 1;
+        } else {
+            for (; i < to && value.charAt(i) != ':'; i++) {
+                char c = value.charAt(i);
+                if (c == '%') {
+                    if (!isPercentEncoded(value, i, to)) {
+                        return false;
+                    }
+                    i += 2;
+                } else if (!REG_NAME.contains(c)) {
+                    return false;
+                }
+            }
+        }
+        if (i == to) {
+            return true;
+        }
+        if (value.charAt(i) != ':') {
+            return false;
+        }
+        for (i++; i < to; i++) {
+            if (!AsciiSet.DIGIT.contains(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * An IPv6 address, or {@code IPvFuture}: {@code v}, a hexadecimal version, a dot and at least one character.
+     */
+    private static boolean isIpLiteral(String value, int from, int to) {
+        if (from == to || value.charAt(from) != 'v' && value.charAt(from) != 'V') {
+            return isIpv6(value, from, to);
+        }
+        int i = from + 1;
+        int start = i;
+        while (i < to && AsciiSet.HEXDIG.contains(value.charAt(i))) {
+            i++;
+        }
+        if (i == start || i == to || value.charAt(i) != '.' || ++i == to) {
+            return false;
+        }
+        for (; i < to; i++) {
+            if (!USERINFO.contains(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPercentEncoded(String value, int at, int to) {
+        return at + 2 < to && AsciiSet.HEXDIG.contains(value.charAt(at + 1)) && AsciiSet.HEXDIG.contains(value.charAt(at + 2));
+    }
+
+    private static boolean isPrintable(char c) {
+        return c >= ' ' && c <= '~';
+    }
+}
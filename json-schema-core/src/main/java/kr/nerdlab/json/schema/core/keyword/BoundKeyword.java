@@ -0,0 +1,155 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * {@code "minimum"}, {@code "maximum"}, {@code "exclusiveMinimum"} and {@code "exclusiveMaximum"}.
+ * <p>
+ * The limit is turned into the range of {@code long} values that satisfy it when the schema is compiled, so integer
+ * instances are checked with two comparisons, exactly, whatever the limit. Doubles are compared as doubles whenever the
+ * limit is a double; only limits no double represents, such as decimals with more than seventeen digits, and instances
+ * outside both primitive types, are compared as {@link BigDecimal}s. Checking a valid value never allocates.
+ */
+final class BoundKeyword implements Keyword {
+
+    enum Kind {
+        MINIMUM("minimum", "'%s': value %s is less than minimum %s", true, false),
+        MAXIMUM("maximum", "'%s': value %s is greater than maximum %s", false, false),
+        EXCLUSIVE_MINIMUM("exclusiveMinimum", "'%s': value %s is not greater than exclusiveMinimum %s", true, true),
+        EXCLUSIVE_MAXIMUM("exclusiveMaximum", "'%s': value %s is not less than exclusiveMaximum %s", false, true);
+
+        final String keyword;
+        final String message;
+        final boolean lower;
+        final boolean exclusive;
+
+        Kind(String keyword, String message, boolean lower, boolean exclusive) {
+            this.keyword = keyword;
+            this.message = message;
+            this.lower = lower;
+            this.exclusive = exclusive;
+        }
+    }
+
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+    private final Kind kind;
+    private final JsonNode limit;
+    private final String schemaPointer;
+    private final String limitText;
+    private final BigDecimal decimalLimit;
+    private final double doubleLimit;
+    /**
+     * Whether {@link #doubleLimit} is the limit itself, not just the double nearest to it.
+     */
+    private final boolean exactDouble;
+    /**
+     * The {@code long} values from {@code longFrom} to {@code longTo} satisfy the limit; none do if
+     * {@code longFrom > longTo}.
+     */
+    private final long longFrom;
+    private final long longTo;
+
+    BoundKeyword(Kind kind, JsonNode limit, String schemaPointer) {
+        this.kind = kind;
+        this.limit = limit;
+        this.schemaPointer = schemaPointer;
+        this.limitText = Numbers.text(limit);
+        this.decimalLimit = Numbers.decimal(limit);
+        this.doubleLimit = decimalLimit.doubleValue();
+        this.exactDouble = Double.isFinite(doubleLimit) && BigDecimal.valueOf(doubleLimit).compareTo(decimalLimit) == 0;
+
+        BigInteger threshold;
+        if (kind.lower) {
+            // the smallest integer that satisfies the limit
+            threshold = kind.exclusive
+                    ? decimalLimit.setScale(0, RoundingMode.FLOOR).toBigInteger().add(BigInteger.ONE)
+                    : decimalLimit.setScale(0, RoundingMode.CEILING).toBigInteger();
+            boolean none = threshold.compareTo(LONG_MAX) > 0;
+            this.longFrom = none ? Long.MAX_VALUE : threshold.max(LONG_MIN).longValue();
+            this.longTo = none ? Long.MIN_VALUE : Long.MAX_VALUE;
+        } else {
+            // the largest integer that satisfies the limit
+            threshold = kind.exclusive
+                    ? decimalLimit.setScale(0, RoundingMode.CEILING).toBigInteger().subtract(BigInteger.ONE)
+                    : decimalLimit.setScale(0, RoundingMode.FLOOR).toBigInteger();
+            boolean none = threshold.compareTo(LONG_MIN) < 0;
+            this.longFrom = none ? Long.MAX_VALUE : Long.MIN_VALUE;
+            this.longTo = none ? Long.MIN_VALUE : threshold.min(LONG_MAX).longValue();
+        }
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    JsonNode getLimit() {
+        return limit;
+    }
+
+    String getSchemaPointer() {
+        return schemaPointer;
+    }
+
+    long getLongFrom() {
+        return longFrom;
+    }
+
+    long getLongTo() {
+        return longTo;
+    }
+
+    @Override
+    public void validate(JsonNode instance, ValidationContext context) {
+        if (!instance.isNumber()) {
+            return;
+        }
+        boolean valid;
+        if (Numbers.isLong(instance)) {
+            long value = instance.longValue();
+            valid = value >= longFrom && value <= longTo;
+        } else if (Numbers.isDouble(instance)) {
+            valid = accepts(instance.doubleValue());
+        } else {
+            valid = accepts(Numbers.decimal(instance));
+        }
+        if (!valid) {
+            report(instance, context);
+        }
+    }
+
+    /**
+     * Shared with generated validators, which check {@code long} values inline.
+     */
+    void report(JsonNode instance, ValidationContext context) {
+        context.report(kind.keyword, schemaPointer, kind.message, Numbers.text(instance), limitText);
+    }
+
+    private boolean accepts(double value) {
+        if (exactDouble || Double.isInfinite(value)) {
+            // not Double.compare, which orders -0.0 before 0.0
+            return accepts(value < doubleLimit ? -1 : value > doubleLimit ? 1 : 0);
+        }
+        return accepts(BigDecimal.valueOf(value));
+    }
+
+    private boolean accepts(BigDecimal value) {
+        return accepts(value.compareTo(decimalLimit));
+    }
+
+    /**
+     * @param comparison the sign of the value minus the limit
+     */
+    private boolean accepts(int comparison) {
+        if (kind.lower) {
+            return kind.exclusive ? comparison > 0 : comparison >= 0;
+        }
+        return kind.exclusive ? comparison < 0 : comparison <= 0;
+    }
+}
@@ -0,0 +1,36 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+
+/**
+ * Generates a specialized {@link GeneratedValidator} class for a compiled schema and defines it as a hidden class.
+ * <p>
+ * The class file is written directly by {@link ValidatorClassWriter} and defined with
+ * {@link MethodHandles.Lookup#defineHiddenClassWithClassData(byte[], Object, boolean, MethodHandles.Lookup.ClassOption...)},
+ * so the class is not visible by name and can be unloaded as soon as the validator is unreachable.
+ * Generation runs on any Java runtime; it does not need a compiler or a class path.
+ */
+public final class BytecodeGenerator {
+
+    private BytecodeGenerator() {
+    }
+
+    /**
+     * @param root the compiled schema to specialize
+     * @return a validator that reports the same errors as {@code root}
+     * @throws IllegalStateException if the generated class cannot be defined
+     */
+    public static GeneratedValidator generate(SchemaNode root) {
+        ValidatorClassWriter writer = ValidatorClassWriter.write(root);
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup()
+                    .defineHiddenClassWithClassData(writer.bytes(), List.copyOf(writer.classData()), true);
+            return (GeneratedValidator) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot define the generated validator class", e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.canonical.CanonicalJson;
+
+/**
+ * An open-addressing hash table of JSON values under {@linkplain CanonicalJson canonical equality}, so that
+ * membership costs one hash of the value plus a comparison with the values of the same hash, however many values the
+ * table holds. Values are only compared structurally when their 64-bit hashes are equal.
+ * <p>
+ * Not thread-safe while values are added; a table that is no longer modified can be shared.
+ */
+final class CanonicalValueTable {
+    private final JsonNode[] values;
+    private final long[] hashes;
+    /**
+     * The index in {@link #values} plus one, or zero for a free slot; the length is a power of two.
+     */
+    private final int[] slots;
+    private int size;
+
+    /**
+     * @param capacity the number of values that will be added
+     */
+    CanonicalValueTable(int capacity) {
+        this.values = new JsonNode[capacity];
+        this.hashes = new long[capacity];
+        this.slots = new int[Math.max(2, Integer.highestOneBit(Math.max(1, capacity) * 2 - 1) << 1)];
+    }
+
+    static CanonicalValueTable of(JsonNode[] values) {
+        CanonicalValueTable table = new CanonicalValueTable(values.length);
+        for (JsonNode value : values) {
+            table.addIfAbsent(value);
+        }
+        return table;
+    }
+
+    /**
+     * @return the index of an equal value added before, or {@code -1} if the value was added now
+     */
+    int addIfAbsent(JsonNode value) {
+        long hash = CanonicalJson.hash(value);
+        int mask = slots.length - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+            if (entry == 0) {
+                values[size] = value;
+                hashes[size] = hash;
+                slots[slot] = ++size;
+                return -1;
+            }
+            if (hashes[entry - 1] == hash && CanonicalJson.equal(values[entry - 1], value)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    boolean contains(JsonNode value) {
+        long hash = CanonicalJson.hash(value);
+        int mask = slots.length - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+            if (entry == 0) {
+                return false;
+            }
+            if (hashes[entry - 1] == hash && CanonicalJson.equal(values[entry - 1], value)) {
+                return true;
+            }
+        }
+    }
+
+    private static int spread(long hash) {
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
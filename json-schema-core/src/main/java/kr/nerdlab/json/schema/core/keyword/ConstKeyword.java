@@ -0,0 +1,50 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.canonical.CanonicalJson;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+
+/**
+ * {@code "const"}: the instance equals the value, comparing numbers by value and objects regardless of member order.
+ */
+final class ConstKeyword implements Keyword {
+    static final String MESSAGE = "'%s': value %s does not equal const %s";
+
+    private final JsonNode value;
+    private final String schemaPointer;
+
+    ConstKeyword(JsonNode value, String schemaPointer) {
+        this.value = value;
+        this.schemaPointer = schemaPointer;
+    }
+
+    JsonNode getValue() {
+        return value;
+    }
+
+    String getSchemaPointer() {
+        return schemaPointer;
+    }
+
+    @Override
+    public void validate(JsonNode instance, ValidationContext context) {
+        check(value, instance, schemaPointer, context);
+    }
+
+    /**
+     * Shared with generated validators.
+     */
+    static void check(JsonNode value, JsonNode instance, String schemaPointer, ValidationContext context) {
+        if (!CanonicalJson.equal(value, instance)) {
+            context.report("const", schemaPointer, MESSAGE, instance, value);
+        }
+    }
+
+    /**
+     * An object or array can only be compared as a whole.
+     */
+    @Override
+    public boolean requiresTree() {
+        return true;
+    }
+}
@@ -0,0 +1,67 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+
+/**
+ * {@code "enum"}: the instance equals one of the listed values, comparing numbers by value and objects regardless of
+ * member order. The values are hashed into a {@link CanonicalValueTable} when the schema is compiled, so membership
+ * does not depend on the number of values.
+ */
+final class EnumKeyword implements Keyword {
+    static final String MESSAGE = "'%s': value %s is not one of the enum values %s";
+
+    private final JsonNode[] values;
+    private final CanonicalValueTable table;
+    private final String valuesText;
+    private final String schemaPointer;
+
+    EnumKeyword(JsonNode[] values, String schemaPointer) {
+        this.values = values;
+        this.table = CanonicalValueTable.of(values);
+        this.valuesText = text(values);
+        this.schemaPointer = schemaPointer;
+    }
+
+    JsonNode[] getValues() {
+        return values;
+    }
+
+    CanonicalValueTable getTable() {
+        return table;
+    }
+
+    String getValuesText() {
+        return valuesText;
+    }
+
+    String getSchemaPointer() {
+        return schemaPointer;
+    }
+
+    @Override
+    public void validate(JsonNode instance, ValidationContext context) {
+        if (!table.contains(instance)) {
+            context.report("enum", schemaPointer, MESSAGE, instance, valuesText);
+        }
+    }
+
+    /**
+     * An object or array can only be compared as a whole.
+     */
+    @Override
+    public boolean requiresTree() {
+        return true;
+    }
+
+    private static String text(JsonNode[] values) {
+        StringBuilder text = new StringBuilder().append('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                text.append(',');
+            }
+            text.append(values[i]);
+        }
+        return text.append(']').toString();
+    }
+}
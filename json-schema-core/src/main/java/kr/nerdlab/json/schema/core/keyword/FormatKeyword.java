@@ -0,0 +1,51 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.format.FormatValidator;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+
+/**
+ * {@code "format"}, for the formats the schema was compiled to assert; other values are not checked.
+ */
+final class FormatKeyword implements Keyword {
+    static final String MESSAGE = "'%s': string value '%s' is not a valid %s";
+
+    private final String format;
+    private final FormatValidator validator;
+    private final String schemaPointer;
+
+    FormatKeyword(String format, FormatValidator validator, String schemaPointer) {
+        this.format = format;
+        this.validator = validator;
+        this.schemaPointer = schemaPointer;
+    }
+
+    String getFormat() {
+        return format;
+    }
+
+    FormatValidator getValidator() {
+        return validator;
+    }
+
+    String getSchemaPointer() {
+        return schemaPointer;
+    }
+
+    @Override
+    public void validate(JsonNode instance, ValidationContext context) {
+        if (instance.isTextual()) {
+            check(validator, instance.textValue(), format, schemaPointer, context);
+        }
+    }
+
+    /**
+     * Shared with generated validators.
+     */
+    static void check(FormatValidator validator, String value, String format, String schemaPointer,
+                      ValidationContext context) {
+        if (!validator.isValid(value)) {
+            context.report("format", schemaPointer, MESSAGE, value, format);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+
+/**
+ * A validator class generated for one compiled schema by {@link BytecodeGenerator}.
+ * It reports the same errors as {@link SchemaNode#validate(JsonNode, ValidationContext)} on the schema it was
+ * generated from. Implementations are stateless and safe to share between threads.
+ */
+public interface GeneratedValidator {
+
+    void validate(JsonNode instance, ValidationContext context);
+}
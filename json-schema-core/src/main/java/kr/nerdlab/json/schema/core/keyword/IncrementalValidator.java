@@ -0,0 +1,156 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+import kr.nerdlab.json.schema.core.validation.ValidationError;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Revalidates a document after some of its values changed, visiting only the changed values and their ancestors.
+ * <p>
+ * The changed locations form a tree. A changed value is validated in full against its schema. On an ancestor of a
+ * changed value, {@code "type"} and every keyword that inspects the ancestor itself, such as {@code "required"} or
+ * {@code "uniqueItems"}, are evaluated again, while {@code "properties"} and {@code "items"} descend only into the
+ * children on the way to a change, and {@code "$ref"} continues the same way through the referenced schema. Errors of
+ * the previous run are taken over unless they are located at a changed value, below one, or at one of its ancestors,
+ * where they are found again.
+ */
+public final class IncrementalValidator {
+
+    private IncrementalValidator() {
+    }
+
+    /**
+     * @param root     the compiled root schema
+     * @param instance the document after the change
+     * @param previous every error of the last run over the document before the change
+     * @param changed  the locations of the added, removed or replaced values
+     * @param context  a new context at the root; errors taken over come first, followed by the new ones
+     */
+    public static void revalidate(SchemaNode root, JsonNode instance, List<ValidationError> previous,
+                                  Collection<JsonPointer> changed, ValidationContext context) {
+        if (changed.isEmpty()) {
+            for (ValidationError error : previous) {
+                context.carryOver(error);
+            }
+            return;
+        }
+        Change changes = Change.of(changed);
+        for (ValidationError error : previous) {
+            if (!changes.affects(error.getInstanceSegments())) {
+                context.carryOver(error);
+            }
+        }
+        if (!context.isStopped()) {
+            revalidate(root, instance, changes, context);
+        }
+    }
+
+    private static void revalidate(SchemaNode schema, JsonNode instance, Change change, ValidationContext context) {
+        if (change.whole) {
+            schema.validate(instance, context);
+            return;
+        }
+        if (!schema.acceptsType(JsonType.maskOf(instance))) {
+            schema.reportTypeMismatch(JsonType.of(instance), context);
+            return;
+        }
+        for (Keyword keyword : schema.getKeywords()) {
+            if (keyword instanceof PropertiesKeyword properties) {
+                if (instance.isObject()) {
+                    for (Map.Entry<String, Change> child : change.children.entrySet()) {
+                        SchemaNode propertySchema = properties.get(child.getKey());
+                        JsonNode value = instance.get(child.getKey());
+                        if (propertySchema != null && value != null) {
+                            context.pushProperty(child.getKey());
+                            revalidate(propertySchema, value, child.getValue(), context);
+                            context.pop();
+                        }
+                        if (context.isStopped()) {
+                            return;
+                        }
+                    }
+                }
+            } else if (keyword instanceof ItemsKeyword items) {
+                if (instance.isArray()) {
+                    for (Map.Entry<String, Change> child : change.children.entrySet()) {
+                        int index = index(child.getKey());
+                        if (index >= 0 && index < instance.size()) {
+                            context.pushIndex(index);
+                            revalidate(items.getItems(), instance.get(index), child.getValue(), context);
+                            context.pop();
+                        }
+                        if (context.isStopped()) {
+                            return;
+                        }
+                    }
+                }
+            } else if (keyword instanceof RefKeyword ref) {
+                revalidate(ref.getTarget(), instance, change, context);
+            } else {
+                keyword.validate(instance, context);
+            }
+            if (context.isStopped()) {
+                return;
+            }
+        }
+    }
+
+    private static int index(String segment) {
+        if (segment.isEmpty() || segment.length() > 9) {
+            return -1;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            if (segment.charAt(i) < '0' || segment.charAt(i) > '9') {
+                return -1;
+            }
+        }
+        return Integer.parseInt(segment);
+    }
+
+    /**
+     * A node of the tree of changed locations, keyed by property name or array index.
+     */
+    private static final class Change {
+        /**
+         * Whether the value at this location changed, which makes the locations below it irrelevant.
+         */
+        boolean whole;
+        final Map<String, Change> children = new LinkedHashMap<>();
+
+        static Change of(Collection<JsonPointer> changed) {
+            Change root = new Change();
+            for (JsonPointer pointer : changed) {
+                Change node = root;
+                for (JsonPointer rest = pointer; !rest.matches() && !node.whole; rest = rest.tail()) {
+                    node = node.children.computeIfAbsent(rest.getMatchingProperty(), segment -> new Change());
+                }
+                node.whole = true;
+                node.children.clear();
+            }
+            return root;
+        }
+
+        /**
+         * @return {@code true} if the location is a changed value, below one or an ancestor of one
+         */
+        boolean affects(List<Object> segments) {
+            Change node = this;
+            for (Object segment : segments) {
+                if (node.whole) {
+                    return true;
+                }
+                node = node.children.get(segment.toString());
+                if (node == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+
+/**
+ * {@code "minItems"} and {@code "maxItems"}. The streaming validator counts the items as it walks an array and
+ * checks the count when the array ends.
+ */
+final class ItemCountKeyword implements Keyword {
+    static final String MIN_MESSAGE = "'%s': array has %d items, fewer than minItems %d";
+    static final String MAX_MESSAGE = "'%s': array has %d items, more than maxItems %d";
+
+    private final boolean maximum;
+    private final long limit;
+    private final String schemaPointer;
+
+    /**
+     * @param maximum whether this is {@code "maxItems"} rather than {@code "minItems"}
+     */
+    ItemCountKeyword(boolean maximum, long limit, String schemaPointer) {
+        this.maximum = maximum;
+        this.limit = limit;
+        this.schemaPointer = schemaPointer;
+    }
+
+    boolean isMaximum() {
+        return maximum;
+    }
+
+    long getLimit() {
+        return limit;
+    }
+
+    String getSchemaPointer() {
+        return schemaPointer;
+    }
+
+    @Override
+    public void validate(JsonNode instance, ValidationContext context) {
+        if (instance.isArray()) {
+            check(instance.size(), context);
+        }
+    }
+
+    void check(int size, ValidationContext context) {
+        if (maximum) {
+            checkMaxItems(size, limit, schemaPointer, context);
+        } else {
+            checkMinItems(size, limit, schemaPointer, context);
+        }
+    }
+
+    /**
+     * Shared with generated validators.
+     */
+    static void checkMinItems(int size, long limit, String schemaPointer, ValidationContext context) {
+        if (size < limit) {
+            context.report("minItems", schemaPointer, MIN_MESSAGE, size, limit);
+        }
+    }
+
+    /**
+     * Shared with generated validators.
+     */
+    static void checkMaxItems(int size, long limit, String schemaPointer, ValidationContext context) {
+        if (size > limit) {
+            context.report("maxItems", schemaPointer, MAX_MESSAGE, size, limit);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+
+final class ItemsKeyword implements Keyword {
+    private final SchemaNode items;
+
+    ItemsKeyword(SchemaNode items) {
+        this.items = items;
+    }
+
+    SchemaNode getItems() {
+        return items;
+    }
+
+    @Override
+    public void validate(JsonNode instance, ValidationContext context) {
+        if (!instance.isArray()) {
+            return;
+        }
+        if (ParallelSupport.shouldSplit(instance.size(), context)) {
+            ParallelSupport.validate(instance.size(), (from, to, fork) -> validateRange(instance, from, to, fork), context);
+        } else {
+            validateRange(instance, 0, instance.size(), context);
+        }
+    }
+
+    private void validateRange(JsonNode instance, int from, int to, ValidationContext context) {
+        for (int i = from; i < to && !context.isStopped(); i++) {
+            context.pushIndex(i);
+            items.validate(instance.get(i), context);
+            context.pop();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * JSON Schema primitive types as bit flags, so that a {@code "type"} keyword (single or array form)
+ * can be checked against an instance with a single mask test.
+ */
+public enum JsonType {
+
+    NULL("null"),
+    BOOLEAN("boolean"),
+    OBJECT("object"),
+    ARRAY("array"),
+    NUMBER("number"),
+    STRING("string"),
+    INTEGER("integer"),
+    ;
+
+    private final String keyword;
+    private final int mask;
+
+    JsonType(String keyword) {
+        this.keyword = keyword;
+        this.mask = 1 << ordinal();
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public int getMask() {
+        return mask;
+    }
+
+    /**
+     * Resolves a {@code "type"} keyword value.
+     *
+     * @throws IllegalArgumentException if the value is not a known JSON Schema type
+     */
+    public static JsonType fromKeyword(String keyword) {
+        for (JsonType type : values()) {
+            if (type.keyword.equals(keyword)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown JSON Schema type: " + keyword);
+    }
+
+    /**
+     * Returns the type of the given instance, as reported in error messages.
+     * All numbers are reported as {@link #NUMBER}.
+     */
+    public static JsonType of(JsonNode node) {
+        switch (node.getNodeType()) {
+            case OBJECT:
+                return OBJECT;
+            case ARRAY:
+                return ARRAY;
+            case STRING:
+                return STRING;
+            case NUMBER:
+                return NUMBER;
+            case BOOLEAN:
+                return BOOLEAN;
+            default:
+                return NULL;
+        }
+    }
+
+    /**
+     * Returns the mask of every type the given instance satisfies.
+     * Integral numbers (including decimals with a zero fraction) satisfy both {@code number} and {@code integer}.
+     */
+    public static int maskOf(JsonNode node) {
+        switch (node.getNodeType()) {
+            case OBJECT:
+                return OBJECT.mask;
+            case ARRAY:
+                return ARRAY.mask;
+            case STRING:
+                return STRING.mask;
+            case BOOLEAN:
+                return BOOLEAN.mask;
+            case NUMBER:
+                return isIntegral(node) ? NUMBER.mask | INTEGER.mask : NUMBER.mask;
+            default:
+                return NULL.mask;
+        }
+    }
+
+    private static boolean isIntegral(JsonNode node) {
+        if (node.isIntegralNumber()) {
+            return true;
+        }
+        if (node.isBigDecimal()) {
+            return node.decimalValue().stripTrailingZeros().scale() <= 0;
+        }
+        double value = node.doubleValue();
+        return !Double.isInfinite(value) && value == Math.rint(value);
+    }
+}
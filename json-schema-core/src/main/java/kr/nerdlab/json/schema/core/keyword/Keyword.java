@@ -0,0 +1,31 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+
+/**
+ * A single schema keyword, compiled once from the schema document.
+ * Implementations hold only precomputed state and must be safe to share between threads.
+ */
+public interface Keyword {
+
+    /**
+     * Checks the instance against this keyword and reports every violation to the context.
+     * Keywords that validate children should return as soon as {@link ValidationContext#isStopped()}.
+     *
+     * @param instance the instance value the owning schema applies to
+     * @param context  the current instance location and the collector for errors
+     */
+    void validate(JsonNode instance, ValidationContext context);
+
+    /**
+     * Whether this keyword needs an object or array instance as a whole.
+     * The {@link StreamingValidator} materializes containers governed by such keywords as a tree;
+     * all other containers are validated token by token.
+     *
+     * @return {@code false} by default, for keywords that only inspect scalar values
+     */
+    default boolean requiresTree() {
+        return false;
+    }
+}
@@ -0,0 +1,80 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+
+/**
+ * {@code "minLength"} and {@code "maxLength"}: the length of a string is its number of code points, so a character
+ * outside the Basic Multilingual Plane counts once although Java holds it as two {@code char}s. A string of {@code n}
+ * chars has between {@code n - n / 2} and {@code n} code points, which decides most strings without looking at
+ * their characters; the others are counted in place.
+ */
+final class LengthKeyword implements Keyword {
+    static final String MIN_MESSAGE = "'%s': string length %d is less than minLength %d";
+    static final String MAX_MESSAGE = "'%s': string length %d is greater than maxLength %d";
+
+    private final boolean maximum;
+    private final long limit;
+    private final String schemaPointer;
+
+    /**
+     * @param maximum whether this is {@code "maxLength"} rather than {@code "minLength"}
+     */
+    LengthKeyword(boolean maximum, long limit, String schemaPointer) {
+        this.maximum = maximum;
+        this.limit = limit;
+        this.schemaPointer = schemaPointer;
+    }
+
+    boolean isMaximum() {
+        return maximum;
+    }
+
+    long getLimit() {
+        return limit;
+    }
+
+    String getSchemaPointer() {
+        return schemaPointer;
+    }
+
+    @Override
+    public void validate(JsonNode instance, ValidationContext context) {
+        if (!instance.isTextual()) {
+            return;
+        }
+        if (maximum) {
+            checkMaxLength(instance.textValue(), limit, schemaPointer, context);
+        } else {
+            checkMinLength(instance.textValue(), limit, schemaPointer, context);
+        }
+    }
+
+    /**
+     * Shared with generated validators.
+     */
+    static void checkMinLength(String value, long limit, String schemaPointer, ValidationContext context) {
+        int chars = value.length();
+        if (chars - chars / 2 >= limit) {
+            return;
+        }
+        int length = Character.codePointCount(value, 0, chars);
+        if (length < limit) {
+            context.report("minLength", schemaPointer, MIN_MESSAGE, length, limit);
+        }
+    }
+
+    /**
+     * Shared with generated validators.
+     */
+    static void checkMaxLength(String value, long limit, String schemaPointer, ValidationContext context) {
+        int chars = value.length();
+        if (chars <= limit) {
+            return;
+        }
+        int length = Character.codePointCount(value, 0, chars);
+        if (length > limit) {
+            context.report("maxLength", schemaPointer, MAX_MESSAGE, length, limit);
+        }
+    }
+}
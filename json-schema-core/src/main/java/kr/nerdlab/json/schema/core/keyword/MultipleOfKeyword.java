@@ -0,0 +1,157 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+
+import java.math.BigDecimal;
+
+/**
+ * {@code "multipleOf"}, decided exactly on the decimal values, so {@code 0.07} is a multiple of {@code 0.01} although
+ * neither is a double that divides the other.
+ * <p>
+ * An integer divisor checks integer instances with one remainder. A decimal divisor {@code u / 10^s}, with {@code u}
+ * and {@code 10^s} both fitting in a {@code long}, checks an instance {@code v} as {@code v * 10^s} being a multiple of
+ * {@code u}; a double instance is scaled to the integer whose decimal it is, and is not a multiple if no such integer
+ * exists. Only values outside these ranges are divided as {@link BigDecimal}s.
+ */
+final class MultipleOfKeyword implements Keyword {
+    static final String MESSAGE = "'%s': value %s is not a multiple of %s";
+
+    private static final int MAX_SCALE = 18;
+    /**
+     * Below this, every integer is a double and the shortest decimal of an integral double is the integer itself.
+     */
+    private static final double EXACT_INTEGERS = 0x1p53;
+
+    private final JsonNode divisor;
+    private final String schemaPointer;
+    private final String divisorText;
+    private final BigDecimal decimalDivisor;
+    /**
+     * The divisor if it is an integer that fits in a {@code long}, otherwise zero.
+     */
+    private final long longDivisor;
+    /**
+     * The divisor is {@code unscaledDivisor / scaleFactor} if {@code scaleFactor} is not zero.
+     */
+    private final long unscaledDivisor;
+    private final long scaleFactor;
+
+    /**
+     * @throws IllegalArgumentException if the divisor is not greater than zero
+     */
+    MultipleOfKeyword(JsonNode divisor, String schemaPointer) {
+        this.divisor = divisor;
+        this.schemaPointer = schemaPointer;
+        this.divisorText = Numbers.text(divisor);
+        this.decimalDivisor = Numbers.decimal(divisor).stripTrailingZeros();
+        if (decimalDivisor.signum() <= 0) {
+            throw new IllegalArgumentException("multipleOf must be greater than 0, but was " + divisorText + " at " + schemaPointer);
+        }
+        int scale = decimalDivisor.scale();
+        boolean fitsLong = decimalDivisor.unscaledValue().bitLength() < Long.SIZE;
+        this.longDivisor = scale <= 0 && decimalDivisor.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) <= 0
+                ? decimalDivisor.longValueExact() : 0;
+        boolean scaled = scale > 0 && scale <= MAX_SCALE && fitsLong;
+        this.unscaledDivisor = scaled ? decimalDivisor.unscaledValue().longValueExact() : 0;
+        this.scaleFactor = scaled ? pow10(scale) : 0;
+    }
+
+    JsonNode getDivisor() {
+        return divisor;
+    }
+
+    String getSchemaPointer() {
+        return schemaPointer;
+    }
+
+    /**
+     * @return the divisor if it is an integer that fits in a {@code long}, otherwise zero
+     */
+    long getLongDivisor() {
+        return longDivisor;
+    }
+
+    @Override
+    public void validate(JsonNode instance, ValidationContext context) {
+        if (!instance.isNumber()) {
+            return;
+        }
+        boolean valid;
+        if (Numbers.isLong(instance)) {
+            valid = isMultiple(instance.longValue());
+        } else if (Numbers.isDouble(instance)) {
+            valid = isMultiple(instance.doubleValue());
+        } else {
+            valid = isMultiple(Numbers.decimal(instance));
+        }
+        if (!valid) {
+            report(instance, context);
+        }
+    }
+
+    /**
+     * Shared with generated validators, which check {@code long} values against an integer divisor inline.
+     */
+    void report(JsonNode instance, ValidationContext context) {
+        context.report("multipleOf", schemaPointer, MESSAGE, Numbers.text(instance), divisorText);
+    }
+
+    private boolean isMultiple(long value) {
+        if (longDivisor != 0) {
+            return value % longDivisor == 0;
+        }
+        if (scaleFactor != 0) {
+            long scaled = value * scaleFactor;
+            if (Math.multiplyHigh(value, scaleFactor) == scaled >> 63) {
+                return scaled % unscaledDivisor == 0;
+            }
+        }
+        return isMultiple(BigDecimal.valueOf(value));
+    }
+
+    private boolean isMultiple(double value) {
+        if (!Double.isFinite(value)) {
+            return false;
+        }
+        if (longDivisor != 0 && Math.abs(value) < EXACT_INTEGERS) {
+            return value == Math.rint(value) && (long) value % longDivisor == 0;
+        }
+        if (scaleFactor != 0) {
+            double scaled = value * scaleFactor;
+            if (Math.abs(scaled) < EXACT_INTEGERS) {
+                // the integer k with k / 10^s == value is within rounding error of value * 10^s; k and 10^s are
+                // exact doubles, so the division rounds exactly as reading the decimal would
+                long nearest = (long) Math.rint(scaled);
+                long match = 0;
+                int matches = 0;
+                for (long k = nearest - 2; k <= nearest + 2; k++) {
+                    if ((double) k / scaleFactor == value) {
+                        match = k;
+                        matches++;
+                    }
+                }
+                if (matches == 0) {
+                    // value has more decimal places than the divisor
+                    return false;
+                }
+                if (matches == 1) {
+                    return match % unscaledDivisor == 0;
+                }
+            }
+        }
+        return isMultiple(BigDecimal.valueOf(value));
+    }
+
+    private boolean isMultiple(BigDecimal value) {
+        return value.remainder(decimalDivisor).signum() == 0;
+    }
+
+    private static long pow10(int exponent) {
+        long power = 1;
+        for (int i = 0; i < exponent; i++) {
+            power *= 10;
+        }
+        return power;
+    }
+}
@@ -0,0 +1,26 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.function.Supplier;
+
+/**
+ * Lets the {@link SchemaCompiler} reuse nodes compiled earlier, possibly for other schema documents, instead of
+ * compiling an identical sub-schema again.
+ * <p>
+ * The compiler only asks for sub-schemas that contain no {@code "$ref"}, since the meaning of a reference depends on
+ * the document around it. A node returned for a sub-schema must have been compiled from a sub-schema at the same
+ * pointer with the same canonical content, so that it reports the same errors at the same schema pointers.
+ *
+ * @see kr.nerdlab.json.schema.core.cache.SchemaRegistry
+ */
+public interface NodeInterner {
+
+    /**
+     * @param pointer  the pointer of the sub-schema, such as {@code #/definitions/Item}
+     * @param schema   the sub-schema
+     * @param compiler compiles the sub-schema if no node for it is known yet
+     * @return the node of an identical sub-schema, or the node {@code compiler} returned
+     */
+    SchemaNode intern(String pointer, JsonNode schema, Supplier<SchemaNode> compiler);
+}
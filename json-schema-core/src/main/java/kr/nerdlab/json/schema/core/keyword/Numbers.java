@@ -0,0 +1,63 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Number handling shared by the numeric keywords. A double stands for the shortest decimal that reads back as it,
+ * which is how it was written in the document, so {@code 0.1} is one tenth and not the binary fraction nearest to it.
+ */
+final class Numbers {
+
+    private Numbers() {
+    }
+
+    /**
+     * @return {@code true} if the number is an integer that fits in a {@code long}, read without allocating
+     */
+    static boolean isLong(JsonNode number) {
+        return number.isIntegralNumber() && number.canConvertToLong();
+    }
+
+    /**
+     * @return {@code true} if the number is held as a {@code double} or {@code float}
+     */
+    static boolean isDouble(JsonNode number) {
+        return number.isDouble() || number.isFloat();
+    }
+
+    /**
+     * @return the exact decimal value; allocates, so callers use it only where a primitive comparison cannot decide
+     */
+    static BigDecimal decimal(JsonNode number) {
+        if (number.isBigDecimal()) {
+            return number.decimalValue();
+        }
+        if (number.isBigInteger()) {
+            return new BigDecimal((BigInteger) number.numberValue());
+        }
+        if (isDouble(number)) {
+            return BigDecimal.valueOf(number.doubleValue());
+        }
+        return BigDecimal.valueOf(number.longValue());
+    }
+
+    /**
+     * @return the number as written in error messages: integers without a fraction, like {@code PojoValidator}
+     */
+    static String text(JsonNode number) {
+        if (isDouble(number)) {
+            return format(number.doubleValue());
+        }
+        return number.isBigDecimal() ? number.decimalValue().toString() : number.asText();
+    }
+
+    static String format(double value) {
+        if (Double.isFinite(value) && value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+}
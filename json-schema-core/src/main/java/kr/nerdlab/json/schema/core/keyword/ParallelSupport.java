@@ -0,0 +1,80 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+import kr.nerdlab.json.schema.core.validation.ValidationMode;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Splits the elements of a large container into {@link ForkJoinPool} tasks for
+ * {@linkplain ValidationMode#parallel(int, ForkJoinPool) parallel validation}.
+ * Each task validates a range on its own {@linkplain ValidationContext#fork() fork} of the context; the forks
+ * are merged in range order, so errors come out in document order.
+ */
+final class ParallelSupport {
+
+    /**
+     * Validates the elements {@code [from, to)} of a container on the given context.
+     */
+    @FunctionalInterface
+    interface RangeValidator {
+        void validate(int from, int to, ValidationContext context);
+    }
+
+    private ParallelSupport() {
+    }
+
+    /**
+     * @return {@code true} if a container with this many elements should be split
+     */
+    static boolean shouldSplit(int size, ValidationContext context) {
+        ValidationMode mode = context.getMode();
+        return mode.isParallel() && size > mode.getParallelThreshold();
+    }
+
+    static void validate(int size, RangeValidator validator, ValidationContext context) {
+        ValidationMode mode = context.getMode();
+        // tasks fork from this snapshot, never from the context that is still in use by the caller
+        ValidationContext base = context.fork();
+        RangeTask task = new RangeTask(validator, base, 0, size, mode.getParallelThreshold());
+        ValidationContext result = ForkJoinTask.getPool() == mode.getPool() ? task.invoke() : mode.getPool().invoke(task);
+        context.merge(result);
+    }
+
+    private static final class RangeTask extends RecursiveTask<ValidationContext> {
+        private static final long serialVersionUID = 1L;
+
+        // tasks only run in the pool and are never serialized
+        private final transient RangeValidator validator;
+        private final transient ValidationContext parent;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        RangeTask(RangeValidator validator, ValidationContext parent, int from, int to, int threshold) {
+            this.validator = validator;
+            this.parent = parent;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected ValidationContext compute() {
+            if (to - from <= threshold) {
+                ValidationContext fork = parent.fork();
+                validator.validate(from, to, fork);
+                return fork;
+            }
+            int middle = (from + to) >>> 1;
+            RangeTask left = new RangeTask(validator, parent, from, middle, threshold);
+            left.fork();
+            ValidationContext right = new RangeTask(validator, parent, middle, to, threshold).compute();
+            ValidationContext merged = left.join();
+            merged.merge(right);
+            return merged;
+        }
+    }
+}
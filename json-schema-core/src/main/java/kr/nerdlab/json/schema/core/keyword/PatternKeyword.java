@@ -0,0 +1,50 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.pattern.PatternBudgetExceededException;
+import kr.nerdlab.json.schema.core.pattern.PatternMatcher;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+
+/**
+ * {@code "pattern"}: as in ECMA-262, the expression may match anywhere in the string unless it is anchored.
+ */
+final class PatternKeyword implements Keyword {
+    static final String MESSAGE = "'%s': string value '%s' does not match pattern '%s'";
+    static final String BUDGET_MESSAGE = "'%s': matching string value '%s' against pattern '%s' exceeded the step budget";
+
+    private final PatternMatcher matcher;
+    private final String schemaPointer;
+
+    PatternKeyword(PatternMatcher matcher, String schemaPointer) {
+        this.matcher = matcher;
+        this.schemaPointer = schemaPointer;
+    }
+
+    PatternMatcher getMatcher() {
+        return matcher;
+    }
+
+    String getSchemaPointer() {
+        return schemaPointer;
+    }
+
+    @Override
+    public void validate(JsonNode instance, ValidationContext context) {
+        if (instance.isTextual()) {
+            check(matcher, instance.textValue(), schemaPointer, context);
+        }
+    }
+
+    /**
+     * Shared with generated validators, so both report a failed or aborted match the same way.
+     */
+    static void check(PatternMatcher matcher, String value, String schemaPointer, ValidationContext context) {
+        try {
+            if (!matcher.find(value)) {
+                context.report("pattern", schemaPointer, MESSAGE, value, matcher.pattern());
+            }
+        } catch (PatternBudgetExceededException e) {
+            context.report("pattern", schemaPointer, BUDGET_MESSAGE, value, matcher.pattern());
+        }
+    }
+}
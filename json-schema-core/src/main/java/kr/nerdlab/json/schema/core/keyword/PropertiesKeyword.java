@@ -0,0 +1,75 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+
+import java.util.Map;
+
+final class PropertiesKeyword implements Keyword {
+    private final Map<String, SchemaNode> properties;
+
+    PropertiesKeyword(Map<String, SchemaNode> properties) {
+        this.properties = properties;
+    }
+
+    SchemaNode get(String name) {
+        return properties.get(name);
+    }
+
+    Map<String, SchemaNode> getProperties() {
+        return properties;
+    }
+
+    @Override
+    public void validate(JsonNode instance, ValidationContext context) {
+        if (!instance.isObject()) {
+            return;
+        }
+        if (ParallelSupport.shouldSplit(instance.size(), context)) {
+            validateParallel(instance, context);
+            return;
+        }
+        for (Map.Entry<String, JsonNode> field : instance.properties()) {
+            if (context.isStopped()) {
+                break;
+            }
+            SchemaNode propertySchema = properties.get(field.getKey());
+            if (propertySchema != null) {
+                context.pushProperty(field.getKey());
+                propertySchema.validate(field.getValue(), context);
+                context.pop();
+            }
+        }
+    }
+
+    /**
+     * Collects the declared properties in document order, then validates them in ranges.
+     */
+    private void validateParallel(JsonNode instance, ValidationContext context) {
+        String[] names = new String[instance.size()];
+        JsonNode[] values = new JsonNode[names.length];
+        SchemaNode[] schemas = new SchemaNode[names.length];
+        int count = 0;
+        for (Map.Entry<String, JsonNode> field : instance.properties()) {
+            SchemaNode propertySchema = properties.get(field.getKey());
+            if (propertySchema != null) {
+                names[count] = field.getKey();
+                values[count] = field.getValue();
+                schemas[count] = propertySchema;
+                count++;
+            }
+        }
+        ParallelSupport.RangeValidator range = (from, to, fork) -> {
+            for (int i = from; i < to && !fork.isStopped(); i++) {
+                fork.pushProperty(names[i]);
+                schemas[i].validate(values[i], fork);
+                fork.pop();
+            }
+        };
+        if (ParallelSupport.shouldSplit(count, context)) {
+            ParallelSupport.validate(count, range, context);
+        } else {
+            range.validate(0, count, context);
+        }
+    }
+}
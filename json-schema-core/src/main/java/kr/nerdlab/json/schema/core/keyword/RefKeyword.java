@@ -0,0 +1,73 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@code "$ref"}: applies the referenced schema to the same instance.
+ * <p>
+ * The target is linked once, after the node holding the keyword was created, so that recursive schemas compile to a
+ * cyclic graph instead of being expanded. Errors are reported at the schema pointers of the target.
+ */
+final class RefKeyword implements Keyword {
+    private final String ref;
+    private final String schemaPointer;
+    private SchemaNode target;
+
+    RefKeyword(String ref, String schemaPointer) {
+        this.ref = ref;
+        this.schemaPointer = schemaPointer;
+    }
+
+    String getRef() {
+        return ref;
+    }
+
+    String getSchemaPointer() {
+        return schemaPointer;
+    }
+
+    /**
+     * @return the referenced schema, or {@code null} while it is not linked yet
+     */
+    SchemaNode getTarget() {
+        return target;
+    }
+
+    /**
+     * Called once while compiling or decoding, before the schema is published to other threads.
+     */
+    void link(SchemaNode target) {
+        if (this.target != null) {
+            throw new IllegalStateException("$ref at " + schemaPointer + " is already linked");
+        }
+        this.target = target;
+    }
+
+    /**
+     * @throws IllegalArgumentException if following {@code "$ref"} from one of the keywords leads back to a schema
+     *                                  already on the way without descending into the instance, which would never end
+     */
+    static void checkCycles(List<RefKeyword> refs) {
+        Set<RefKeyword> chain = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (RefKeyword start : refs) {
+            chain.clear();
+            // a schema holds at most one "$ref", so the references from a schema form a chain
+            for (RefKeyword ref = start; ref != null; ref = ref.target.getRef()) {
+                if (!chain.add(ref)) {
+                    throw new IllegalArgumentException("$ref at " + ref.schemaPointer + " refers to itself");
+                }
+            }
+        }
+    }
+
+    @Override
+    public void validate(JsonNode instance, ValidationContext context) {
+        target.validate(instance, context);
+    }
+}
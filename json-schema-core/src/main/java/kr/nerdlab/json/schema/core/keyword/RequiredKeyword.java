@@ -0,0 +1,43 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+
+final class RequiredKeyword implements Keyword {
+    static final String MESSAGE = "'%s': required property '%s' is missing";
+
+    private final String[] required;
+    private final String schemaPointer;
+
+    RequiredKeyword(String[] required, String schemaPointer) {
+        this.required = required;
+        this.schemaPointer = schemaPointer;
+    }
+
+    String[] getRequired() {
+        return required;
+    }
+
+    String getSchemaPointer() {
+        return schemaPointer;
+    }
+
+    @Override
+    public void validate(JsonNode instance, ValidationContext context) {
+        if (!instance.isObject()) {
+            return;
+        }
+        for (String name : required) {
+            if (!instance.has(name)) {
+                reportMissing(name, schemaPointer, context);
+                if (context.isStopped()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    static void reportMissing(String name, String schemaPointer, ValidationContext context) {
+        context.report("required", schemaPointer, MESSAGE, name);
+    }
+}
@@ -0,0 +1,350 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.format.FormatValidator;
+import kr.nerdlab.json.schema.core.format.Formats;
+import kr.nerdlab.json.schema.core.pattern.PatternCache;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles a schema document into a tree of {@link SchemaNode}s.
+ * All keyword values are read here exactly once; validating an instance afterward never touches the schema {@link JsonNode}.
+ * {@code "$ref"} is resolved at compile time: each referenced schema, typically an entry of {@code "definitions"} or
+ * {@code "$defs"}, is compiled once and shared by all references to it, and recursive references become cycles in
+ * the graph of nodes. Only JSON Pointer references into the same document, such as {@code #/definitions/Item}, are
+ * supported.
+ * Values of {@code "enum"} and {@code "const"} are copied, so that changing the document afterward does not change the
+ * compiled schema.
+ * A {@link NodeInterner} lets compilations share the nodes of identical sub-schemas across documents.
+ * {@code "format"} is asserted only for the {@link Formats} the compiler is given, by default none.
+ * Keywords this compiler does not know are ignored, as required for unknown keywords by the specification.
+ */
+public final class SchemaCompiler {
+
+    private static final String ROOT_POINTER = "#";
+
+    private SchemaCompiler() {
+    }
+
+    /**
+     * @param schema the schema document, either an object or a boolean schema
+     * @return the compiled root node
+     * @throws IllegalArgumentException if a keyword has a malformed value
+     */
+    public static SchemaNode compile(JsonNode schema) {
+        return compile(schema, PatternCache.shared());
+    }
+
+    /**
+     * @param schema   the schema document, either an object or a boolean schema
+     * @param patterns the cache {@code "pattern"} expressions are compiled through
+     * @return the compiled root node
+     * @throws IllegalArgumentException if a keyword has a malformed value
+     */
+    public static SchemaNode compile(JsonNode schema, PatternCache patterns) {
+        return compile(schema, patterns, null);
+    }
+
+    /**
+     * @param schema   the schema document, either an object or a boolean schema
+     * @param patterns the cache {@code "pattern"} expressions are compiled through
+     * @param interner the source of nodes compiled earlier for identical sub-schemas, or {@code null}
+     * @return the compiled root node
+     * @throws IllegalArgumentException if a keyword has a malformed value
+     */
+    public static SchemaNode compile(JsonNode schema, PatternCache patterns, NodeInterner interner) {
+        return compile(schema, patterns, interner, Formats.none());
+    }
+
+    /**
+     * @param schema   the schema document, either an object or a boolean schema
+     * @param patterns the cache {@code "pattern"} expressions are compiled through
+     * @param interner the source of nodes compiled earlier for identical sub-schemas, or {@code null}; it must only
+     *                 hold nodes compiled with the same formats
+     * @param formats  the formats whose {@code "format"} is asserted
+     * @return the compiled root node
+     * @throws IllegalArgumentException if a keyword has a malformed value
+     */
+    public static SchemaNode compile(JsonNode schema, PatternCache patterns, NodeInterner interner, Formats formats) {
+        Compilation compilation = new Compilation(schema, patterns, interner, formats);
+        SchemaNode root = compilation.compile(schema, ROOT_POINTER);
+        compilation.link();
+        return root;
+    }
+
+    /**
+     * The state of compiling one schema document: every node compiled so far by its pointer, so that each
+     * {@code "$ref"} target is compiled once and shared, and the references still to be linked.
+     */
+    private static final class Compilation {
+        private final JsonNode document;
+        private final PatternCache patterns;
+        private final NodeInterner interner;
+        private final Formats formats;
+        private final Map<String, SchemaNode> nodes = new HashMap<>();
+        private final Deque<RefKeyword> unlinked = new ArrayDeque<>();
+        private final List<RefKeyword> refs = new ArrayList<>();
+
+        Compilation(JsonNode document, PatternCache patterns, NodeInterner interner, Formats formats) {
+            this.document = document;
+            this.patterns = patterns;
+            this.interner = interner;
+            this.formats = formats;
+        }
+
+        SchemaNode compile(JsonNode schema, String pointer) {
+            SchemaNode node = nodes.get(pointer);
+            if (node == null) {
+                node = interner != null && !containsRef(schema)
+                        ? interner.intern(pointer, schema, () -> compileNode(schema, pointer))
+                        : compileNode(schema, pointer);
+                nodes.put(pointer, node);
+            }
+            return node;
+        }
+
+        /**
+         * Links every reference, compiling referenced schemas that were not reached from the root, such as the
+         * entries of {@code "definitions"} and {@code "$defs"}.
+         */
+        void link() {
+            while (!unlinked.isEmpty()) {
+                RefKeyword ref = unlinked.poll();
+                String pointer = targetPointer(ref);
+                JsonNode target = document.at(JsonPointer.compile(pointer.substring(ROOT_POINTER.length())));
+                if (target.isMissingNode()) {
+                    throw new IllegalArgumentException("Unresolvable $ref '" + ref.getRef() + "' at " + ref.getSchemaPointer());
+                }
+                ref.link(compile(target, pointer));
+            }
+            RefKeyword.checkCycles(refs);
+        }
+
+        private SchemaNode compileNode(JsonNode schema, String pointer) {
+            if (schema.isBoolean()) {
+                return schema.booleanValue()
+                        ? new SchemaNode(pointer, 0, "any", new Keyword[0])
+                        : new SchemaNode(pointer, 0, "any", new Keyword[]{new FalseKeyword(pointer)});
+            }
+            if (!schema.isObject()) {
+                throw new IllegalArgumentException("Schema must be an object or a boolean, but was: " + schema.getNodeType());
+            }
+
+            List<Keyword> keywords = new ArrayList<>();
+
+            JsonNode ref = schema.get("$ref");
+            if (ref != null && ref.isTextual()) {
+                RefKeyword keyword = new RefKeyword(ref.textValue(), pointer + "/$ref");
+                keywords.add(keyword);
+                unlinked.add(keyword);
+                refs.add(keyword);
+            }
+
+            JsonNode required = schema.get("required");
+            if (required != null && required.isArray() && !required.isEmpty()) {
+                String[] names = new String[required.size()];
+                for (int i = 0; i < names.length; i++) {
+                    names[i] = required.get(i).asText();
+                }
+                keywords.add(new RequiredKeyword(names, pointer + "/required"));
+            }
+
+            JsonNode properties = schema.get("properties");
+            if (properties != null && properties.isObject()) {
+                Map<String, SchemaNode> compiled = new HashMap<>(Math.max(4, properties.size() * 2));
+                String propertiesPointer = pointer + "/properties/";
+                for (Map.Entry<String, JsonNode> field : properties.properties()) {
+                    compiled.put(field.getKey(), compile(field.getValue(), propertiesPointer + escape(field.getKey())));
+                }
+                keywords.add(new PropertiesKeyword(compiled));
+            }
+
+            JsonNode minLength = schema.get("minLength");
+            if (minLength != null) {
+                keywords.add(new LengthKeyword(false, length(minLength, pointer + "/minLength"), pointer + "/minLength"));
+            }
+
+            JsonNode maxLength = schema.get("maxLength");
+            if (maxLength != null) {
+                keywords.add(new LengthKeyword(true, length(maxLength, pointer + "/maxLength"), pointer + "/maxLength"));
+            }
+
+            JsonNode pattern = schema.get("pattern");
+            if (pattern != null && pattern.isTextual()) {
+                keywords.add(new PatternKeyword(patterns.get(pattern.textValue()), pointer + "/pattern"));
+            }
+
+            JsonNode format = schema.get("format");
+            if (format != null && format.isTextual()) {
+                FormatValidator validator = formats.get(format.textValue());
+                if (validator != null) {
+                    keywords.add(new FormatKeyword(format.textValue(), validator, pointer + "/format"));
+                }
+            }
+
+            for (BoundKeyword.Kind kind : BoundKeyword.Kind.values()) {
+                // a boolean exclusiveMinimum or exclusiveMaximum is draft 4 syntax and is ignored
+                JsonNode limit = schema.get(kind.keyword);
+                if (limit != null && limit.isNumber()) {
+                    keywords.add(new BoundKeyword(kind, limit, pointer + "/" + kind.keyword));
+                }
+            }
+
+            JsonNode multipleOf = schema.get("multipleOf");
+            if (multipleOf != null && multipleOf.isNumber()) {
+                keywords.add(new MultipleOfKeyword(multipleOf, pointer + "/multipleOf"));
+            }
+
+            JsonNode values = schema.get("enum");
+            if (values != null && values.isArray()) {
+                JsonNode[] compiled = new JsonNode[values.size()];
+                for (int i = 0; i < compiled.length; i++) {
+                    compiled[i] = values.get(i).deepCopy();
+                }
+                keywords.add(new EnumKeyword(compiled, pointer + "/enum"));
+            }
+
+            JsonNode constValue = schema.get("const");
+            if (constValue != null) {
+                keywords.add(new ConstKeyword(constValue.deepCopy(), pointer + "/const"));
+            }
+
+            JsonNode minItems = schema.get("minItems");
+            if (minItems != null) {
+                keywords.add(new ItemCountKeyword(false, length(minItems, pointer + "/minItems"), pointer + "/minItems"));
+            }
+
+            JsonNode maxItems = schema.get("maxItems");
+            if (maxItems != null) {
+                keywords.add(new ItemCountKeyword(true, length(maxItems, pointer + "/maxItems"), pointer + "/maxItems"));
+            }
+
+            JsonNode uniqueItems = schema.get("uniqueItems");
+            if (uniqueItems != null && uniqueItems.isBoolean() && uniqueItems.booleanValue()) {
+                keywords.add(new UniqueItemsKeyword(pointer + "/uniqueItems"));
+            }
+
+            JsonNode items = schema.get("items");
+            if (items != null && (items.isObject() || items.isBoolean())) {
+                keywords.add(new ItemsKeyword(compile(items, pointer + "/items")));
+            }
+
+            return new SchemaNode(pointer, compileTypeMask(schema.get("type")), typeText(schema.get("type")), keywords.toArray(new Keyword[0]));
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value is not a non-negative integer; {@code 2.0} counts as one
+     */
+    private static long length(JsonNode value, String pointer) {
+        boolean integral = value.isIntegralNumber() || value.isNumber() && value.doubleValue() == Math.rint(value.doubleValue());
+        if (!integral || !value.canConvertToLong() || value.longValue() < 0) {
+            throw new IllegalArgumentException("Limit must be a non-negative integer, but was " + value + " at " + pointer);
+        }
+        return value.longValue();
+    }
+
+    /**
+     * Conservatively also true for a property named {@code $ref}, which only costs a missed chance to share.
+     */
+    private static boolean containsRef(JsonNode schema) {
+        if (schema.isObject() && schema.has("$ref")) {
+            return true;
+        }
+        for (JsonNode child : schema) {
+            if (child.isContainerNode() && containsRef(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the pointer of the referenced schema, such as {@code #/definitions/Item}
+     * @throws IllegalArgumentException if the reference is not a JSON Pointer into the same document
+     */
+    private static String targetPointer(RefKeyword ref) {
+        String fragment;
+        try {
+            URI uri = new URI(ref.getRef());
+            if (uri.getScheme() != null || !uri.getRawSchemeSpecificPart().isEmpty()) {
+                throw new IllegalArgumentException("Only references within the schema document are supported, but $ref at "
+                        + ref.getSchemaPointer() + " is '" + ref.getRef() + "'");
+            }
+            fragment = uri.getFragment() == null ? "" : uri.getFragment();
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid $ref '" + ref.getRef() + "' at " + ref.getSchemaPointer(), e);
+        }
+        if (!fragment.isEmpty() && fragment.charAt(0) != '/') {
+            throw new IllegalArgumentException("Only JSON Pointer fragments are supported, but $ref at "
+                    + ref.getSchemaPointer() + " is '" + ref.getRef() + "'");
+        }
+        return ROOT_POINTER + fragment;
+    }
+
+    private static int compileTypeMask(JsonNode type) {
+        if (type == null) {
+            return 0;
+        }
+        if (type.isTextual()) {
+            return maskOf(type.textValue());
+        }
+        int mask = 0;
+        for (JsonNode element : type) {
+            mask |= maskOf(element.asText());
+        }
+        return mask;
+    }
+
+    private static int maskOf(String keyword) {
+        return JsonType.fromKeyword(keyword).getMask();
+    }
+
+    private static String typeText(JsonNode type) {
+        if (type == null) {
+            return "any";
+        }
+        return type.isTextual() ? type.textValue() : type.toString();
+    }
+
+    /**
+     * Escapes a property name as a JSON Pointer reference token (RFC 6901).
+     */
+    private static String escape(String name) {
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+
+    static final class FalseKeyword implements Keyword {
+        static final String MESSAGE = "'%s': no value is allowed by a false schema";
+
+        private final String schemaPointer;
+
+        FalseKeyword(String schemaPointer) {
+            this.schemaPointer = schemaPointer;
+        }
+
+        String getSchemaPointer() {
+            return schemaPointer;
+        }
+
+        @Override
+        public void validate(JsonNode instance, ValidationContext context) {
+            context.report("false", schemaPointer, MESSAGE);
+        }
+
+        @Override
+        public boolean requiresTree() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+
+/**
+ * A compiled (sub-)schema: the {@code "type"} keyword as a bit mask plus the remaining keywords as prebuilt checkers.
+ * Instances are immutable once compiled and may be shared between threads and documents.
+ *
+ * @see SchemaCompiler
+ */
+public final class SchemaNode {
+    static final String TYPE_MESSAGE = "'%s': invalid type. Expected '%s' but found '%s'";
+    private static final String[] NO_REQUIRED = new String[0];
+
+    private final String schemaPointer;
+    private final int typeMask;
+    private final String typeText;
+    private final Keyword[] keywords;
+    private final PropertiesKeyword properties;
+    private final RequiredKeyword required;
+    private final ItemsKeyword items;
+    private final ItemCountKeyword minItems;
+    private final ItemCountKeyword maxItems;
+    private final RefKeyword ref;
+    private final boolean requiresTree;
+
+    SchemaNode(String schemaPointer, int typeMask, String typeText, Keyword[] keywords) {
+        this.schemaPointer = schemaPointer;
+        this.typeMask = typeMask;
+        this.typeText = typeText;
+        this.keywords = keywords;
+
+        PropertiesKeyword propertiesKeyword = null;
+        RequiredKeyword requiredKeyword = null;
+        ItemsKeyword itemsKeyword = null;
+        ItemCountKeyword minItemsKeyword = null;
+        ItemCountKeyword maxItemsKeyword = null;
+        RefKeyword refKeyword = null;
+        boolean anyRequiresTree = false;
+        for (Keyword keyword : keywords) {
+            if (keyword instanceof PropertiesKeyword p) propertiesKeyword = p;
+            else if (keyword instanceof RequiredKeyword r) requiredKeyword = r;
+            else if (keyword instanceof ItemsKeyword i) itemsKeyword = i;
+            else if (keyword instanceof ItemCountKeyword c && c.isMaximum()) maxItemsKeyword = c;
+            else if (keyword instanceof ItemCountKeyword c) minItemsKeyword = c;
+            else if (keyword instanceof RefKeyword r) refKeyword = r;
+            anyRequiresTree |= keyword.requiresTree();
+        }
+        this.properties = propertiesKeyword;
+        this.required = requiredKeyword;
+        this.items = itemsKeyword;
+        this.minItems = minItemsKeyword;
+        this.maxItems = maxItemsKeyword;
+        this.ref = refKeyword;
+        // a "$ref" beside other keywords applies a second schema to the same value, which a token walk cannot do
+        this.requiresTree = anyRequiresTree || (refKeyword != null && (keywords.length > 1 || typeMask != 0));
+    }
+
+    /**
+     * Validates the instance against this schema.
+     * When the instance does not match {@code "type"}, the remaining keywords are not evaluated.
+     *
+     * @param instance the instance at the current location of the context
+     * @param context  the current instance location and the collector for errors
+     */
+    public void validate(JsonNode instance, ValidationContext context) {
+        if (!acceptsType(JsonType.maskOf(instance))) {
+            reportTypeMismatch(JsonType.of(instance), context);
+            return;
+        }
+        for (Keyword keyword : keywords) {
+            keyword.validate(instance, context);
+            if (context.isStopped()) {
+                return;
+            }
+        }
+    }
+
+    void reportTypeMismatch(JsonType actual, ValidationContext context) {
+        context.report("type", schemaPointer + "/type", TYPE_MESSAGE, typeText, actual.getKeyword());
+    }
+
+    /**
+     * @param instanceMask the mask returned by {@link JsonType#maskOf(JsonNode)}
+     * @return {@code true} if this schema declares no {@code "type"} or one of the declared types matches
+     */
+    public boolean acceptsType(int instanceMask) {
+        return typeMask == 0 || (typeMask & instanceMask) != 0;
+    }
+
+    /**
+     * @return the location of this (sub-)schema in the schema document, such as {@code #/properties/name}
+     */
+    public String getSchemaPointer() {
+        return schemaPointer;
+    }
+
+    public int getTypeMask() {
+        return typeMask;
+    }
+
+    public String getTypeText() {
+        return typeText;
+    }
+
+    /**
+     * @return the compiled schema of the named property, or {@code null} if {@code "properties"} does not declare it
+     */
+    public SchemaNode getProperty(String name) {
+        return properties == null ? null : properties.get(name);
+    }
+
+    /**
+     * @return the names listed in {@code "required"}, never {@code null}
+     */
+    public String[] getRequired() {
+        return required == null ? NO_REQUIRED : required.getRequired();
+    }
+
+    /**
+     * @return the keywords in evaluation order; the array is not copied and must not be modified
+     */
+    Keyword[] getKeywords() {
+        return keywords;
+    }
+
+    String getRequiredPointer() {
+        return required == null ? null : required.getSchemaPointer();
+    }
+
+    RefKeyword getRef() {
+        return ref;
+    }
+
+    /**
+     * Follows {@code "$ref"} as long as it is the only keyword, for validators that walk a value token by token
+     * and need the schema that declares its properties and items.
+     *
+     * @return the schema equivalent to this one that is not a bare reference
+     */
+    public SchemaNode resolve() {
+        SchemaNode node = this;
+        while (node.ref != null && node.keywords.length == 1 && node.typeMask == 0) {
+            node = node.ref.getTarget();
+        }
+        return node;
+    }
+
+    /**
+     * @return the compiled {@code "items"} schema, or {@code null} if not declared
+     */
+    public SchemaNode getItems() {
+        return items == null ? null : items.getItems();
+    }
+
+    /**
+     * Checks {@code "minItems"} and {@code "maxItems"} for an array whose items were counted rather than read.
+     */
+    void checkItemCount(int size, ValidationContext context) {
+        if (minItems != null) {
+            minItems.check(size, context);
+        }
+        if (maxItems != null && !context.isStopped()) {
+            maxItems.check(size, context);
+        }
+    }
+
+    /**
+     * @return {@code true} if an object or array governed by this schema must be materialized to be validated
+     * @see Keyword#requiresTree()
+     */
+    public boolean requiresTree() {
+        return requiresTree;
+    }
+}
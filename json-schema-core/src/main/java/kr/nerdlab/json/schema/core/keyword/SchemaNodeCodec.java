@@ -0,0 +1,460 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.DecimalNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import kr.nerdlab.json.schema.core.format.FormatValidator;
+import kr.nerdlab.json.schema.core.format.Formats;
+import kr.nerdlab.json.schema.core.pattern.PatternCache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary form of a compiled {@link SchemaNode} tree, so that it can be restored without parsing or compiling
+ * the schema document.
+ * <p>
+ * The encoding starts with a symbol table holding every string once (pointers, property and required names,
+ * patterns, type texts), followed by the nodes, children before their parents, each referring to symbols and
+ * to earlier nodes by index, and the index of the root. Subschemas shared by several parents are written once.
+ * A {@code "$ref"} may refer to any node, including one written later, so recursive schemas keep their cycles; it is
+ * linked once all nodes are decoded.
+ * Patterns are stored as their source and compiled through a {@link PatternCache} when decoding; values of
+ * {@code "enum"} and {@code "const"} are stored as JSON text and read back the way the schema store reads documents.
+ * Numeric limits keep their representation, a {@code long}, a {@code double} or the decimal text of a big number, so
+ * that a decoded limit compares exactly as the compiled one. An asserted {@code "format"} is stored as its name and
+ * looked up in the {@link Formats} given when decoding.
+ * All integers are big-endian.
+ */
+public final class SchemaNodeCodec {
+    /**
+     * Changes whenever the encoding changes; data written with another version is rejected.
+     */
+    public static final int FORMAT_VERSION = 6;
+
+    private static final byte REQUIRED = 1;
+    private static final byte PROPERTIES = 2;
+    private static final byte PATTERN = 3;
+    private static final byte ITEMS = 4;
+    private static final byte FALSE = 5;
+    private static final byte REF = 6;
+    private static final byte ENUM = 7;
+    private static final byte CONST = 8;
+    private static final byte UNIQUE_ITEMS = 9;
+    private static final byte BOUND = 10;
+    private static final byte MULTIPLE_OF = 11;
+    private static final byte LENGTH = 12;
+    private static final byte FORMAT = 13;
+    private static final byte ITEM_COUNT = 14;
+
+    private static final byte LONG_NUMBER = 0;
+    private static final byte DOUBLE_NUMBER = 1;
+    private static final byte BIG_INTEGER_NUMBER = 2;
+    private static final byte BIG_DECIMAL_NUMBER = 3;
+
+    private SchemaNodeCodec() {
+    }
+
+    /**
+     * @param root the compiled root node
+     * @return the encoded tree
+     * @throws IllegalArgumentException if the tree contains a keyword without a binary form
+     */
+    public static byte[] encode(SchemaNode root) {
+        Encoder encoder = new Encoder();
+        try {
+            int rootIndex = encoder.collect(root);
+            encoder.writeNodes();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(encoder.nodes.size() + 1024);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(encoder.symbols.size());
+            for (String symbol : encoder.symbols.keySet()) {
+                byte[] utf8 = symbol.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(utf8.length);
+                out.write(utf8);
+            }
+            out.writeInt(encoder.nodeIndices.size());
+            encoder.nodes.writeTo(out);
+            out.writeInt(rootIndex);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // in-memory streams do not fail
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decodes a tree written by {@link #encode(SchemaNode)}, reading from the current position of the buffer.
+     *
+     * @param buffer   the encoded tree
+     * @param patterns the cache {@code "pattern"} expressions are compiled through
+     * @return the root node
+     * @throws IllegalArgumentException if the data is truncated, malformed or of another format version, or asserts a
+     *                                  {@code "format"}
+     */
+    public static SchemaNode decode(ByteBuffer buffer, PatternCache patterns) {
+        return decode(buffer, patterns, Formats.none());
+    }
+
+    /**
+     * Decodes a tree written by {@link #encode(SchemaNode)}, reading from the current position of the buffer.
+     *
+     * @param buffer   the encoded tree
+     * @param patterns the cache {@code "pattern"} expressions are compiled through
+     * @param formats  the validators of the formats the tree asserts
+     * @return the root node
+     * @throws IllegalArgumentException if the data is truncated, malformed or of another format version, or asserts a
+     *                                  {@code "format"} that {@code formats} does not
+     */
+    public static SchemaNode decode(ByteBuffer buffer, PatternCache patterns, Formats formats) {
+        try {
+            int version = buffer.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported compiled schema format version: " + version);
+            }
+            String[] symbols = new String[count(buffer)];
+            for (int i = 0; i < symbols.length; i++) {
+                byte[] utf8 = new byte[count(buffer)];
+                buffer.get(utf8);
+                symbols[i] = new String(utf8, StandardCharsets.UTF_8);
+            }
+            SchemaNode[] nodes = new SchemaNode[count(buffer)];
+            if (nodes.length == 0) {
+                throw new IllegalArgumentException("Compiled schema has no root node");
+            }
+            Map<RefKeyword, Integer> refs = new LinkedHashMap<>();
+            for (int i = 0; i < nodes.length; i++) {
+                String pointer = symbols[buffer.getInt()];
+                int typeMask = buffer.getInt();
+                String typeText = symbols[buffer.getInt()];
+                Keyword[] keywords = new Keyword[count(buffer)];
+                for (int k = 0; k < keywords.length; k++) {
+                    keywords[k] = decodeKeyword(buffer, symbols, nodes, i, patterns, formats, refs);
+                }
+                nodes[i] = new SchemaNode(pointer, typeMask, typeText, keywords);
+            }
+            for (Map.Entry<RefKeyword, Integer> ref : refs.entrySet()) {
+                ref.getKey().link(nodes[ref.getValue()]);
+            }
+            RefKeyword.checkCycles(List.copyOf(refs.keySet()));
+            int rootIndex = buffer.getInt();
+            if (rootIndex < 0 || rootIndex >= nodes.length) {
+                throw new IllegalArgumentException("Invalid root node in compiled schema: " + rootIndex);
+            }
+            return nodes[rootIndex];
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated or malformed compiled schema", e);
+        }
+    }
+
+    /**
+     * @param refs receives every decoded {@code "$ref"} with the index of its target, to be linked at the end
+     */
+    private static Keyword decodeKeyword(ByteBuffer buffer, String[] symbols, SchemaNode[] nodes, int current,
+                                         PatternCache patterns, Formats formats, Map<RefKeyword, Integer> refs) {
+        byte tag = buffer.get();
+        return switch (tag) {
+            case REQUIRED -> {
+                String pointer = symbols[buffer.getInt()];
+                String[] names = new String[count(buffer)];
+                for (int i = 0; i < names.length; i++) {
+                    names[i] = symbols[buffer.getInt()];
+                }
+                yield new RequiredKeyword(names, pointer);
+            }
+            case PROPERTIES -> {
+                int size = count(buffer);
+                Map<String, SchemaNode> properties = new HashMap<>(Math.max(4, size * 2));
+                for (int i = 0; i < size; i++) {
+                    String name = symbols[buffer.getInt()];
+                    properties.put(name, earlierNode(buffer, nodes, current));
+                }
+                yield new PropertiesKeyword(properties);
+            }
+            case PATTERN -> {
+                String regex = symbols[buffer.getInt()];
+                yield new PatternKeyword(patterns.get(regex), symbols[buffer.getInt()]);
+            }
+            case ITEMS -> new ItemsKeyword(earlierNode(buffer, nodes, current));
+            case FALSE -> new SchemaCompiler.FalseKeyword(symbols[buffer.getInt()]);
+            case REF -> {
+                RefKeyword ref = new RefKeyword(symbols[buffer.getInt()], symbols[buffer.getInt()]);
+                int target = buffer.getInt();
+                if (target < 0 || target >= nodes.length) {
+                    throw new IllegalArgumentException("Compiled schema refers to node " + target + " from node " + current);
+                }
+                refs.put(ref, target);
+                yield ref;
+            }
+            case ENUM -> {
+                String pointer = symbols[buffer.getInt()];
+                JsonNode[] values = new JsonNode[count(buffer)];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = value(symbols[buffer.getInt()]);
+                }
+                yield new EnumKeyword(values, pointer);
+            }
+            case CONST -> {
+                String pointer = symbols[buffer.getInt()];
+                yield new ConstKeyword(value(symbols[buffer.getInt()]), pointer);
+            }
+            case UNIQUE_ITEMS -> new UniqueItemsKeyword(symbols[buffer.getInt()]);
+            case BOUND -> {
+                BoundKeyword.Kind[] kinds = BoundKeyword.Kind.values();
+                int kind = buffer.get();
+                if (kind < 0 || kind >= kinds.length) {
+                    throw new IllegalArgumentException("Unknown bound in compiled schema: " + kind);
+                }
+                String pointer = symbols[buffer.getInt()];
+                yield new BoundKeyword(kinds[kind], number(buffer, symbols), pointer);
+            }
+            case MULTIPLE_OF -> {
+                String pointer = symbols[buffer.getInt()];
+                yield new MultipleOfKeyword(number(buffer, symbols), pointer);
+            }
+            case LENGTH -> {
+                boolean maximum = buffer.get() != 0;
+                long limit = buffer.getLong();
+                yield new LengthKeyword(maximum, limit, symbols[buffer.getInt()]);
+            }
+            case ITEM_COUNT -> {
+                boolean maximum = buffer.get() != 0;
+                long limit = buffer.getLong();
+                yield new ItemCountKeyword(maximum, limit, symbols[buffer.getInt()]);
+            }
+            case FORMAT -> {
+                String format = symbols[buffer.getInt()];
+                FormatValidator validator = formats.get(format);
+                if (validator == null) {
+                    throw new IllegalArgumentException("Compiled schema asserts format '" + format + "', which is not registered");
+                }
+                yield new FormatKeyword(format, validator, symbols[buffer.getInt()]);
+            }
+            default -> throw new IllegalArgumentException("Unknown keyword tag in compiled schema: " + tag);
+        };
+    }
+
+    private static JsonNode value(String json) {
+        try {
+            return ValueReader.MAPPER.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed value in compiled schema", e);
+        }
+    }
+
+    private static JsonNode number(ByteBuffer buffer, String[] symbols) {
+        byte type = buffer.get();
+        return switch (type) {
+            case LONG_NUMBER -> JsonNodeFactory.instance.numberNode(buffer.getLong());
+            case DOUBLE_NUMBER -> JsonNodeFactory.instance.numberNode(buffer.getDouble());
+            case BIG_INTEGER_NUMBER -> JsonNodeFactory.instance.numberNode(new BigInteger(symbols[buffer.getInt()]));
+            case BIG_DECIMAL_NUMBER -> DecimalNode.valueOf(new BigDecimal(symbols[buffer.getInt()]));
+            default -> throw new IllegalArgumentException("Unknown number type in compiled schema: " + type);
+        };
+    }
+
+    private static SchemaNode earlierNode(ByteBuffer buffer, SchemaNode[] nodes, int current) {
+        int index = buffer.getInt();
+        if (index < 0 || index >= current) {
+            throw new IllegalArgumentException("Compiled schema refers to node " + index + " from node " + current);
+        }
+        return nodes[index];
+    }
+
+    private static int count(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid length in compiled schema: " + count);
+        }
+        return count;
+    }
+
+    private static final class Encoder {
+        final Map<String, Integer> symbols = new LinkedHashMap<>();
+        final Map<SchemaNode, Integer> nodeIndices = new IdentityHashMap<>();
+        final ByteArrayOutputStream nodes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(nodes);
+        private final List<SchemaNode> order = new ArrayList<>();
+        /**
+         * Nodes whose children are being collected, to reject cycles through {@code "properties"} and {@code "items"},
+         * which this format cannot express; cycles run through {@code "$ref"}.
+         */
+        private final Map<SchemaNode, Boolean> inProgress = new IdentityHashMap<>();
+        private final Deque<SchemaNode> referenced = new ArrayDeque<>();
+
+        /**
+         * Numbers the node, the nodes below it and every node they refer to, children before their parents.
+         *
+         * @return the index of the node
+         */
+        int collect(SchemaNode node) {
+            int index = number(node);
+            while (!referenced.isEmpty()) {
+                number(referenced.poll());
+            }
+            return index;
+        }
+
+        private int number(SchemaNode node) {
+            Integer index = nodeIndices.get(node);
+            if (index != null) {
+                return index;
+            }
+            if (inProgress.put(node, Boolean.TRUE) != null) {
+                throw new IllegalArgumentException("Cannot encode a cyclic schema at " + node.getSchemaPointer());
+            }
+            for (Keyword keyword : node.getKeywords()) {
+                if (keyword instanceof PropertiesKeyword properties) {
+                    for (SchemaNode property : properties.getProperties().values()) {
+                        number(property);
+                    }
+                } else if (keyword instanceof ItemsKeyword items) {
+                    number(items.getItems());
+                } else if (keyword instanceof RefKeyword ref) {
+                    referenced.add(ref.getTarget());
+                }
+            }
+            inProgress.remove(node);
+            index = order.size();
+            order.add(node);
+            nodeIndices.put(node, index);
+            return index;
+        }
+
+        void writeNodes() throws IOException {
+            for (SchemaNode node : order) {
+                out.writeInt(symbol(node.getSchemaPointer()));
+                out.writeInt(node.getTypeMask());
+                out.writeInt(symbol(node.getTypeText()));
+                Keyword[] keywords = node.getKeywords();
+                out.writeInt(keywords.length);
+                for (Keyword keyword : keywords) {
+                    keyword(keyword);
+                }
+            }
+        }
+
+        private void keyword(Keyword keyword) throws IOException {
+            if (keyword instanceof RequiredKeyword required) {
+                out.writeByte(REQUIRED);
+                out.writeInt(symbol(required.getSchemaPointer()));
+                out.writeInt(required.getRequired().length);
+                for (String name : required.getRequired()) {
+                    out.writeInt(symbol(name));
+                }
+            } else if (keyword instanceof PropertiesKeyword properties) {
+                out.writeByte(PROPERTIES);
+                out.writeInt(properties.getProperties().size());
+                for (Map.Entry<String, SchemaNode> property : properties.getProperties().entrySet()) {
+                    out.writeInt(symbol(property.getKey()));
+                    out.writeInt(nodeIndices.get(property.getValue()));
+                }
+            } else if (keyword instanceof PatternKeyword pattern) {
+                out.writeByte(PATTERN);
+                out.writeInt(symbol(pattern.getMatcher().pattern()));
+                out.writeInt(symbol(pattern.getSchemaPointer()));
+            } else if (keyword instanceof ItemsKeyword items) {
+                out.writeByte(ITEMS);
+                out.writeInt(nodeIndices.get(items.getItems()));
+            } else if (keyword instanceof RefKeyword ref) {
+                out.writeByte(REF);
+                out.writeInt(symbol(ref.getRef()));
+                out.writeInt(symbol(ref.getSchemaPointer()));
+                out.writeInt(nodeIndices.get(ref.getTarget()));
+            } else if (keyword instanceof EnumKeyword enumKeyword) {
+                out.writeByte(ENUM);
+                out.writeInt(symbol(enumKeyword.getSchemaPointer()));
+                out.writeInt(enumKeyword.getValues().length);
+                for (JsonNode value : enumKeyword.getValues()) {
+                    out.writeInt(symbol(value.toString()));
+                }
+            } else if (keyword instanceof ConstKeyword constKeyword) {
+                out.writeByte(CONST);
+                out.writeInt(symbol(constKeyword.getSchemaPointer()));
+                out.writeInt(symbol(constKeyword.getValue().toString()));
+            } else if (keyword instanceof UniqueItemsKeyword uniqueItems) {
+                out.writeByte(UNIQUE_ITEMS);
+                out.writeInt(symbol(uniqueItems.getSchemaPointer()));
+            } else if (keyword instanceof BoundKeyword bound) {
+                out.writeByte(BOUND);
+                out.writeByte(bound.getKind().ordinal());
+                out.writeInt(symbol(bound.getSchemaPointer()));
+                number(bound.getLimit());
+            } else if (keyword instanceof MultipleOfKeyword multipleOf) {
+                out.writeByte(MULTIPLE_OF);
+                out.writeInt(symbol(multipleOf.getSchemaPointer()));
+                number(multipleOf.getDivisor());
+            } else if (keyword instanceof LengthKeyword length) {
+                out.writeByte(LENGTH);
+                out.writeByte(length.isMaximum() ? 1 : 0);
+                out.writeLong(length.getLimit());
+                out.writeInt(symbol(length.getSchemaPointer()));
+            } else if (keyword instanceof ItemCountKeyword count) {
+                out.writeByte(ITEM_COUNT);
+                out.writeByte(count.isMaximum() ? 1 : 0);
+                out.writeLong(count.getLimit());
+                out.writeInt(symbol(count.getSchemaPointer()));
+            } else if (keyword instanceof FormatKeyword format) {
+                out.writeByte(FORMAT);
+                out.writeInt(symbol(format.getFormat()));
+                out.writeInt(symbol(format.getSchemaPointer()));
+            } else if (keyword instanceof SchemaCompiler.FalseKeyword falseKeyword) {
+                out.writeByte(FALSE);
+                out.writeInt(symbol(falseKeyword.getSchemaPointer()));
+            } else {
+                throw new IllegalArgumentException("Keyword has no binary form: " + keyword.getClass().getName());
+            }
+        }
+
+        private void number(JsonNode number) throws IOException {
+            if (Numbers.isLong(number)) {
+                out.writeByte(LONG_NUMBER);
+                out.writeLong(number.longValue());
+            } else if (Numbers.isDouble(number)) {
+                out.writeByte(DOUBLE_NUMBER);
+                out.writeDouble(number.doubleValue());
+            } else if (number.isIntegralNumber()) {
+                out.writeByte(BIG_INTEGER_NUMBER);
+                out.writeInt(symbol(number.bigIntegerValue().toString()));
+            } else {
+                out.writeByte(BIG_DECIMAL_NUMBER);
+                out.writeInt(symbol(number.decimalValue().toString()));
+            }
+        }
+
+        private int symbol(String value) {
+            Integer index = symbols.get(value);
+            if (index == null) {
+                index = symbols.size();
+                symbols.put(value, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Created when the first {@code "enum"} or {@code "const"} is decoded, not when the class is initialized.
+     */
+    private static final class ValueReader {
+        static final ObjectMapper MAPPER = new ObjectMapper();
+    }
+}
@@ -0,0 +1,241 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadCapability;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.BigIntegerNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.DecimalNode;
+import com.fasterxml.jackson.databind.node.DoubleNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Validates a document directly from a {@link JsonParser} token stream against a compiled schema.
+ * <p>
+ * Objects and arrays are walked token by token with an explicit stack of schema contexts, so memory use is
+ * proportional to the nesting depth rather than to the document size. Only scalars, and containers governed by a keyword
+ * that {@linkplain Keyword#requiresTree() needs the whole value}, are materialized as {@link JsonNode}s.
+ * Subtrees not covered by the schema are skipped without being materialized.
+ * The reported errors are the same as those of {@link SchemaNode#validate(JsonNode, ValidationContext)}, but not
+ * always in the same order: whether a {@code "required"} property is missing is only known at the end of the object,
+ * and the number of items for {@code "minItems"} and {@code "maxItems"} at the end of the array, so those errors follow
+ * the errors found inside the container, where a tree is checked keyword by keyword. For the same
+ * reason, a mode that stops after a number of errors may stop at different ones.
+ * Once the context {@linkplain ValidationContext#isStopped() stops}, the rest of the value is skipped unchecked.
+ */
+public final class StreamingValidator {
+    private static final ObjectMapper TREE_READER = new ObjectMapper();
+
+    private StreamingValidator() {
+    }
+
+    /**
+     * Validates the next value of the parser. If the parser already points at a token, validation starts there.
+     * On return, the parser points at the last token of the validated value.
+     *
+     * @param parser  the parser to read from
+     * @param root    the compiled schema of the value
+     * @param context the collector for errors, positioned at the location of the value
+     * @throws IOException if the input cannot be read or is not well-formed JSON
+     */
+    public static void validate(JsonParser parser, SchemaNode root, ValidationContext context) throws IOException {
+        JsonToken token = parser.hasCurrentToken() ? parser.currentToken() : parser.nextToken();
+        if (token == null) {
+            throw new EOFException("No JSON content to validate");
+        }
+
+        Deque<Frame> stack = new ArrayDeque<>();
+        visit(parser, token, root, stack, context);
+
+        while (!stack.isEmpty()) {
+            if (context.isStopped()) {
+                skipOpenContainers(parser, stack.size());
+                return;
+            }
+            Frame frame = stack.peek();
+            token = parser.nextToken();
+            if (token == null) {
+                throw new EOFException("Unexpected end of JSON input");
+            }
+            switch (token) {
+                case END_OBJECT, END_ARRAY -> {
+                    frame.reportMissing(context);
+                    if (!frame.object && !context.isStopped()) {
+                        frame.schema.checkItemCount(frame.index, context);
+                    }
+                    stack.pop();
+                    if (!stack.isEmpty()) {
+                        context.pop();
+                    }
+                }
+                case FIELD_NAME -> {
+                    String name = parser.currentName();
+                    frame.markSeen(name);
+                    token = parser.nextToken();
+                    SchemaNode child = frame.schema.getProperty(name);
+                    if (child == null) {
+                        parser.skipChildren();
+                    } else {
+                        context.pushProperty(name);
+                        if (!visit(parser, token, child, stack, context)) {
+                            context.pop();
+                        }
+                    }
+                }
+                default -> {
+                    int index = frame.index++;
+                    SchemaNode child = frame.schema.getItems();
+                    if (child == null) {
+                        parser.skipChildren();
+                    } else {
+                        context.pushIndex(index);
+                        if (!visit(parser, token, child, stack, context)) {
+                            context.pop();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Validates a value, or opens a frame for a container that is walked token by token.
+     *
+     * @return {@code true} if a frame was pushed; its location segment stays on the context until the frame is closed
+     */
+    private static boolean visit(JsonParser parser, JsonToken token, SchemaNode schema,
+                                 Deque<Frame> stack, ValidationContext context) throws IOException {
+        schema = schema.resolve();
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            JsonType type = token == JsonToken.START_OBJECT ? JsonType.OBJECT : JsonType.ARRAY;
+            if (!schema.acceptsType(type.getMask())) {
+                schema.reportTypeMismatch(type, context);
+                parser.skipChildren();
+            } else if (schema.requiresTree()) {
+                schema.validate(readTree(parser), context);
+            } else {
+                stack.push(new Frame(schema, type == JsonType.OBJECT));
+                return true;
+            }
+            return false;
+        }
+        schema.validate(scalar(parser, token), context);
+        return false;
+    }
+
+    /**
+     * Reads past the end of the given number of open containers without materializing anything.
+     */
+    private static void skipOpenContainers(JsonParser parser, int depth) throws IOException {
+        while (depth > 0) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new EOFException("Unexpected end of JSON input");
+            }
+            if (token.isStructStart()) depth++;
+            else if (token.isStructEnd()) depth--;
+        }
+    }
+
+    static JsonNode readTree(JsonParser parser) throws IOException {
+        return parser.getCodec() != null ? parser.readValueAsTree() : TREE_READER.readTree(parser);
+    }
+
+    static JsonNode scalar(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_STRING:
+                return TextNode.valueOf(parser.getText());
+            case VALUE_NUMBER_INT:
+                switch (parser.getNumberType()) {
+                    case INT:
+                        return IntNode.valueOf(parser.getIntValue());
+                    case LONG:
+                        return LongNode.valueOf(parser.getLongValue());
+                    default:
+                        return BigIntegerNode.valueOf(parser.getBigIntegerValue());
+                }
+            case VALUE_NUMBER_FLOAT:
+                return parser.getNumberType() == JsonParser.NumberType.BIG_DECIMAL || exceedsDouble(parser)
+                        ? DecimalNode.valueOf(parser.getDecimalValue())
+                        : DoubleNode.valueOf(parser.getDoubleValue());
+            case VALUE_TRUE:
+                return BooleanNode.TRUE;
+            case VALUE_FALSE:
+                return BooleanNode.FALSE;
+            case VALUE_NULL:
+                return NullNode.instance;
+            default:
+                // VALUE_EMBEDDED_OBJECT and other non-JSON tokens
+                return readTree(parser);
+        }
+    }
+
+    /**
+     * Whether a decimal written in the document has more significant digits than a double keeps. Up to fifteen, the
+     * double reads back as the written decimal, which is how the numeric keywords take it; beyond that, as in
+     * {@code 9.999999999999999999999}, the double may round onto a limit the decimal does not reach.
+     */
+    private static boolean exceedsDouble(JsonParser parser) throws IOException {
+        if (parser.getReadCapabilities().isEnabled(StreamReadCapability.EXACT_FLOATS)) {
+            // binary formats hold the double itself
+            return false;
+        }
+        char[] text = parser.getTextCharacters();
+        int end = parser.getTextOffset() + parser.getTextLength();
+        int digits = 0;
+        for (int i = parser.getTextOffset(); i < end; i++) {
+            char c = text[i];
+            if (c == 'e' || c == 'E') {
+                break;
+            }
+            if ((c >= '1' && c <= '9' || c == '0' && digits > 0) && ++digits > 15) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static final class Frame {
+        private static final String[] NO_REQUIRED = new String[0];
+
+        final SchemaNode schema;
+        final boolean object;
+        final String[] required;
+        final boolean[] seen;
+        int index;
+
+        Frame(SchemaNode schema, boolean object) {
+            this.schema = schema;
+            this.object = object;
+            this.required = object ? schema.getRequired() : NO_REQUIRED;
+            this.seen = new boolean[required.length];
+        }
+
+        void markSeen(String name) {
+            for (int i = 0; i < required.length; i++) {
+                if (required[i].equals(name)) {
+                    seen[i] = true;
+                }
+            }
+        }
+
+        void reportMissing(ValidationContext context) {
+            for (int i = 0; i < required.length && !context.isStopped(); i++) {
+                if (!seen[i]) {
+                    RequiredKeyword.reportMissing(required[i], schema.getRequiredPointer(), context);
+                }
+            }
+        }
+    }
+}
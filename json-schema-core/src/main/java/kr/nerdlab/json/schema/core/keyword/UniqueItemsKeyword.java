@@ -0,0 +1,67 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.canonical.CanonicalJson;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+
+/**
+ * {@code "uniqueItems": true}: no two items of an array are equal, comparing numbers by value and objects regardless
+ * of member order. Items are hashed into a {@link CanonicalValueTable}, so an array is checked in time linear in its
+ * size; only the first duplicate is reported.
+ */
+final class UniqueItemsKeyword implements Keyword {
+    static final String MESSAGE = "'%s': array items at %d and %d are not unique";
+    /**
+     * Below this size, comparing every pair is cheaper than hashing every item.
+     */
+    private static final int PAIRWISE_LIMIT = 8;
+
+    private final String schemaPointer;
+
+    UniqueItemsKeyword(String schemaPointer) {
+        this.schemaPointer = schemaPointer;
+    }
+
+    String getSchemaPointer() {
+        return schemaPointer;
+    }
+
+    @Override
+    public void validate(JsonNode instance, ValidationContext context) {
+        if (instance.isArray()) {
+            check(instance, schemaPointer, context);
+        }
+    }
+
+    /**
+     * Shared with generated validators.
+     */
+    static void check(JsonNode array, String schemaPointer, ValidationContext context) {
+        int size = array.size();
+        if (size <= PAIRWISE_LIMIT) {
+            for (int i = 1; i < size; i++) {
+                JsonNode item = array.get(i);
+                for (int j = 0; j < i; j++) {
+                    if (CanonicalJson.equal(array.get(j), item)) {
+                        context.report("uniqueItems", schemaPointer, MESSAGE, j, i);
+                        return;
+                    }
+                }
+            }
+            return;
+        }
+        CanonicalValueTable seen = new CanonicalValueTable(size);
+        for (int i = 0; i < size; i++) {
+            int first = seen.addIfAbsent(array.get(i));
+            if (first >= 0) {
+                context.report("uniqueItems", schemaPointer, MESSAGE, first, i);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean requiresTree() {
+        return true;
+    }
+}
@@ -0,0 +1,268 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A parser that validates the next value of the underlying parser against a compiled schema while its consumer,
+ * typically an {@code ObjectMapper} binding the value to a class, reads it. The document is tokenized once for both.
+ * <p>
+ * Every token the consumer advances to is checked the way the {@link StreamingValidator} checks it, including tokens
+ * the consumer skips with {@link #skipChildren()}, so the reported errors are the same as those of
+ * {@link SchemaNode#validate(com.fasterxml.jackson.databind.JsonNode, ValidationContext)} once the value was read
+ * {@linkplain #isComplete() completely}, in the order the {@link StreamingValidator} reports them. Containers governed
+ * by a keyword that {@linkplain Keyword#requiresTree() needs the whole value} are buffered as tokens and validated
+ * when they end.
+ * Once the context {@linkplain ValidationContext#isStopped() stops}, tokens are only passed through.
+ * Tokens after the value are passed through unchecked.
+ */
+public final class ValidatingParser extends JsonParserDelegate {
+    private final SchemaNode root;
+    private final ValidationContext context;
+
+    private final Deque<StreamingValidator.Frame> stack = new ArrayDeque<>();
+    /**
+     * How deep the consumer is inside the value; the value is complete when this drops back to zero.
+     */
+    private int depth;
+    private boolean started;
+    private boolean complete;
+    /**
+     * The depth at which the container being skipped started, or {@code -1}.
+     */
+    private int skipFrom = -1;
+    /**
+     * The tokens of a container that is validated as a tree, and the depth and schema it started at.
+     */
+    private TokenBuffer capture;
+    private int captureFrom;
+    private SchemaNode captureSchema;
+    /**
+     * The schema of the property whose name was just read, or {@code null} if the schema does not declare it.
+     */
+    private SchemaNode property;
+    private String propertyName;
+
+    /**
+     * @param parser  the parser to read from; validation starts at its current token or, if it has none, at the next
+     * @param root    the compiled schema of the value
+     * @param context the collector for errors, positioned at the location of the value
+     */
+    public ValidatingParser(JsonParser parser, SchemaNode root, ValidationContext context) throws IOException {
+        super(parser);
+        this.root = root;
+        this.context = context;
+        if (parser.hasCurrentToken()) {
+            accept(parser.currentToken());
+        }
+    }
+
+    /**
+     * @return {@code true} once the last token of the value was read
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        JsonToken token = delegate.nextToken();
+        if (token != null && !complete) {
+            accept(token);
+        }
+        return token;
+    }
+
+    @Override
+    public JsonToken nextValue() throws IOException {
+        JsonToken token = nextToken();
+        return token == JsonToken.FIELD_NAME ? nextToken() : token;
+    }
+
+    @Override
+    public String nextFieldName() throws IOException {
+        return nextToken() == JsonToken.FIELD_NAME ? currentName() : null;
+    }
+
+    @Override
+    public boolean nextFieldName(SerializableString name) throws IOException {
+        return nextToken() == JsonToken.FIELD_NAME && name.getValue().equals(currentName());
+    }
+
+    @Override
+    public String nextTextValue() throws IOException {
+        return nextToken() == JsonToken.VALUE_STRING ? getText() : null;
+    }
+
+    @Override
+    public int nextIntValue(int defaultValue) throws IOException {
+        return nextToken() == JsonToken.VALUE_NUMBER_INT ? getIntValue() : defaultValue;
+    }
+
+    @Override
+    public long nextLongValue(long defaultValue) throws IOException {
+        return nextToken() == JsonToken.VALUE_NUMBER_INT ? getLongValue() : defaultValue;
+    }
+
+    @Override
+    public Boolean nextBooleanValue() throws IOException {
+        JsonToken token = nextToken();
+        return token == JsonToken.VALUE_TRUE ? Boolean.TRUE : token == JsonToken.VALUE_FALSE ? Boolean.FALSE : null;
+    }
+
+    /**
+     * Skips the children token by token, so that skipped values are validated as well.
+     */
+    @Override
+    public JsonParser skipChildren() throws IOException {
+        JsonToken token = currentToken();
+        if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+            return this;
+        }
+        int open = 1;
+        while (open > 0) {
+            token = nextToken();
+            if (token == null) {
+                return this;
+            }
+            if (token.isStructStart()) open++;
+            else if (token.isStructEnd()) open--;
+        }
+        return this;
+    }
+
+    private void accept(JsonToken token) throws IOException {
+        if (token.isStructStart()) {
+            depth++;
+        } else if (token.isStructEnd()) {
+            depth--;
+        }
+        if (!started) {
+            started = true;
+            if (!visit(token, root)) {
+                complete = depth == 0;
+            }
+            return;
+        }
+        complete = depth == 0;
+        if (context.isStopped()) {
+            return;
+        }
+        if (skipFrom >= 0) {
+            if (depth < skipFrom) {
+                skipFrom = -1;
+            }
+            return;
+        }
+        if (capture != null) {
+            capture(token);
+            if (depth < captureFrom) {
+                TokenBuffer tokens = capture;
+                capture = null;
+                try (JsonParser parser = tokens.asParser()) {
+                    parser.nextToken();
+                    captureSchema.validate(StreamingValidator.readTree(parser), context);
+                }
+                closeChild();
+            }
+            return;
+        }
+
+        StreamingValidator.Frame frame = stack.peek();
+        switch (token) {
+            case END_OBJECT, END_ARRAY -> {
+                frame.reportMissing(context);
+                stack.pop();
+                closeChild();
+            }
+            case FIELD_NAME -> {
+                propertyName = delegate.currentName();
+                frame.markSeen(propertyName);
+                property = frame.schema.getProperty(propertyName);
+            }
+            default -> {
+                SchemaNode child;
+                if (frame.object) {
+                    child = property;
+                    if (child != null) {
+                        context.pushProperty(propertyName);
+                    }
+                } else {
+                    int index = frame.index++;
+                    child = frame.schema.getItems();
+                    if (child != null) {
+                        context.pushIndex(index);
+                    }
+                }
+                openChild(token, child);
+            }
+        }
+    }
+
+    private void openChild(JsonToken token, SchemaNode child) throws IOException {
+        if (child == null) {
+            if (token.isStructStart()) {
+                skipFrom = depth;
+            }
+        } else if (!visit(token, child)) {
+            context.pop();
+        }
+    }
+
+    /**
+     * Validates a value, or starts walking or buffering a container.
+     *
+     * @return {@code true} if the value is a container whose location segment stays on the context until it ends
+     */
+    private boolean visit(JsonToken token, SchemaNode schema) throws IOException {
+        schema = schema.resolve();
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            JsonType type = token == JsonToken.START_OBJECT ? JsonType.OBJECT : JsonType.ARRAY;
+            if (!schema.acceptsType(type.getMask())) {
+                schema.reportTypeMismatch(type, context);
+                skipFrom = depth;
+                return false;
+            }
+            if (schema.requiresTree()) {
+                capture = new TokenBuffer(delegate);
+                capture(token);
+                captureFrom = depth;
+                captureSchema = schema;
+            } else {
+                stack.push(new StreamingValidator.Frame(schema, type == JsonType.OBJECT));
+            }
+            return true;
+        }
+        schema.validate(StreamingValidator.scalar(delegate, token), context);
+        return false;
+    }
+
+    /**
+     * Buffers the current token. A float the consumer has not read yet would be buffered as its text and read back
+     * as a {@code BigDecimal}; it is parsed first, so that the captured tree holds the same numbers as one read
+     * directly from the parser, and values in error messages print the same.
+     */
+    private void capture(JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_FLOAT && delegate.getNumberType() != JsonParser.NumberType.BIG_DECIMAL) {
+            delegate.getDoubleValue();
+        }
+        capture.copyCurrentEvent(delegate);
+    }
+
+    /**
+     * Removes the location segment of a container that ended, unless it was the value itself.
+     */
+    private void closeChild() {
+        if (depth > 0) {
+            context.pop();
+        }
+    }
+}
@@ -0,0 +1,485 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import kr.nerdlab.json.schema.core.format.FormatValidator;
+import kr.nerdlab.json.schema.core.pattern.PatternMatcher;
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.ConstantDynamic;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Writes the class file of a {@link GeneratedValidator} for a tree of {@link SchemaNode}s.
+ * <p>
+ * Every schema node becomes a static method. The {@code "type"} mask, required names and schema pointers are
+ * emitted as constants, {@code "properties"} becomes a hash {@code lookupswitch} on the property name, {@code "$ref"}
+ * a call of the referenced schema's method, recursive for recursive schemas, and pattern matchers, format validators,
+ * {@code "enum"} tables and {@code "const"} values are passed in as class data and loaded as dynamic constants, so
+ * the JIT can treat all of them as constants. Numeric limits and integer {@code "multipleOf"} divisors are inlined as
+ * {@code long} comparisons and remainders; other numbers go through their keyword. Keywords the writer does not know
+ * are called through their {@link Keyword} instance, also passed in as class data.
+ */
+final class ValidatorClassWriter {
+    static final String CLASS_NAME = SchemaNode.class.getPackageName().replace('.', '/') + "/SchemaValidator";
+
+    private static final String METHOD = Type.getMethodDescriptor(Type.VOID_TYPE,
+            Type.getType(JsonNode.class), Type.getType(ValidationContext.class));
+    private static final Handle CLASS_DATA_AT = new Handle(H_INVOKESTATIC, Type.getInternalName(MethodHandles.class),
+            "classDataAt", Type.getMethodDescriptor(Type.getType(Object.class), Type.getType(MethodHandles.Lookup.class),
+            Type.getType(String.class), Type.getType(Class.class), Type.INT_TYPE), false);
+
+    // locals of a node method; every slot holds a single type, so frames never merge unrelated references
+    private static final int INSTANCE = 0;
+    private static final int CONTEXT = 1;
+    private static final int FIELDS = 2;
+    private static final int FIELD = 3;
+    private static final int NAME = 4;
+    private static final int INDEX = 5;
+    private static final int SIZE = 6;
+    private static final int NUMBER = 7;
+
+    private final Map<SchemaNode, Integer> methods = new IdentityHashMap<>();
+    private final Deque<SchemaNode> pending = new ArrayDeque<>();
+    private final Map<Object, Integer> constants = new IdentityHashMap<>();
+    private final List<Object> classData = new ArrayList<>();
+    private final ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+        @Override
+        protected ClassLoader getClassLoader() {
+            return ValidatorClassWriter.class.getClassLoader();
+        }
+    };
+    private MethodVisitor method;
+
+    private ValidatorClassWriter() {
+    }
+
+    /**
+     * @return the class file, and in {@link #classData} the list its dynamic constants are loaded from
+     */
+    static ValidatorClassWriter write(SchemaNode root) {
+        ValidatorClassWriter writer = new ValidatorClassWriter();
+        writer.writeClass(root);
+        return writer;
+    }
+
+    List<Object> classData() {
+        return classData;
+    }
+
+    byte[] bytes() {
+        return classWriter.toByteArray();
+    }
+
+    private void writeClass(SchemaNode root) {
+        classWriter.visit(V21, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, CLASS_NAME, null, Type.getInternalName(Object.class),
+                new String[]{Type.getInternalName(GeneratedValidator.class)});
+
+        method = classWriter.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        method.visitCode();
+        method.visitVarInsn(ALOAD, 0);
+        method.visitMethodInsn(INVOKESPECIAL, Type.getInternalName(Object.class), "<init>", "()V", false);
+        method.visitInsn(RETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+
+        // the instance method takes 'this' in slot 0, so the arguments are one slot further
+        method = classWriter.visitMethod(ACC_PUBLIC, "validate", METHOD, null, null);
+        method.visitCode();
+        method.visitVarInsn(ALOAD, INSTANCE + 1);
+        method.visitVarInsn(ALOAD, CONTEXT + 1);
+        method.visitMethodInsn(INVOKESTATIC, CLASS_NAME, methodFor(root), METHOD, false);
+        method.visitInsn(RETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+
+        while (!pending.isEmpty()) {
+            writeMethod(pending.poll());
+        }
+        classWriter.visitEnd();
+    }
+
+    private String methodFor(SchemaNode node) {
+        Integer index = methods.get(node);
+        if (index == null) {
+            index = methods.size();
+            methods.put(node, index);
+            pending.add(node);
+        }
+        return "v" + index;
+    }
+
+    private void loadConstant(Class<?> type, Object value) {
+        Integer index = constants.get(value);
+        if (index == null) {
+            index = classData.size();
+            constants.put(value, index);
+            classData.add(value);
+        }
+        method.visitLdcInsn(new ConstantDynamic(ConstantDescs.DEFAULT_NAME, Type.getDescriptor(type), CLASS_DATA_AT, index));
+    }
+
+    private void writeMethod(SchemaNode node) {
+        method = classWriter.visitMethod(ACC_PRIVATE | ACC_STATIC, methodFor(node), METHOD, null, null);
+        method.visitCode();
+        if (node.getTypeMask() != 0) {
+            Label valid = new Label();
+            method.visitVarInsn(ALOAD, INSTANCE);
+            invoke(INVOKESTATIC, JsonType.class, "maskOf", int.class, JsonNode.class);
+            method.visitLdcInsn(node.getTypeMask());
+            method.visitInsn(IAND);
+            method.visitJumpInsn(IFNE, valid);
+            report("type", node.getSchemaPointer() + "/type", SchemaNode.TYPE_MESSAGE,
+                    () -> method.visitLdcInsn(node.getTypeText()),
+                    () -> {
+                        method.visitVarInsn(ALOAD, INSTANCE);
+                        invoke(INVOKESTATIC, JsonType.class, "of", JsonType.class, JsonNode.class);
+                        invoke(INVOKEVIRTUAL, JsonType.class, "getKeyword", String.class);
+                    });
+            method.visitInsn(RETURN);
+            method.visitLabel(valid);
+        }
+        Keyword[] keywords = node.getKeywords();
+        for (int i = 0; i < keywords.length; i++) {
+            writeKeyword(keywords[i]);
+            if (i < keywords.length - 1) {
+                returnIfStopped();
+            }
+        }
+        method.visitInsn(RETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+    }
+
+    private void writeKeyword(Keyword keyword) {
+        Label end = new Label();
+        if (keyword instanceof RequiredKeyword required) {
+            ifInstance("isObject", end);
+            for (String name : required.getRequired()) {
+                Label present = new Label();
+                method.visitVarInsn(ALOAD, INSTANCE);
+                method.visitLdcInsn(name);
+                invoke(INVOKEVIRTUAL, JsonNode.class, "has", boolean.class, String.class);
+                method.visitJumpInsn(IFNE, present);
+                report("required", required.getSchemaPointer(), RequiredKeyword.MESSAGE, () -> method.visitLdcInsn(name));
+                returnIfStopped();
+                method.visitLabel(present);
+            }
+        } else if (keyword instanceof PropertiesKeyword properties) {
+            writeProperties(properties.getProperties(), end);
+        } else if (keyword instanceof PatternKeyword pattern) {
+            ifInstance("isTextual", end);
+            loadConstant(PatternMatcher.class, pattern.getMatcher());
+            loadText();
+            method.visitLdcInsn(pattern.getSchemaPointer());
+            method.visitVarInsn(ALOAD, CONTEXT);
+            invoke(INVOKESTATIC, PatternKeyword.class, "check", void.class,
+                    PatternMatcher.class, String.class, String.class, ValidationContext.class);
+        } else if (keyword instanceof FormatKeyword format) {
+            ifInstance("isTextual", end);
+            loadConstant(FormatValidator.class, format.getValidator());
+            loadText();
+            method.visitLdcInsn(format.getFormat());
+            method.visitLdcInsn(format.getSchemaPointer());
+            method.visitVarInsn(ALOAD, CONTEXT);
+            invoke(INVOKESTATIC, FormatKeyword.class, "check", void.class,
+                    FormatValidator.class, String.class, String.class, String.class, ValidationContext.class);
+        } else if (keyword instanceof EnumKeyword enumKeyword) {
+            loadConstant(CanonicalValueTable.class, enumKeyword.getTable());
+            method.visitVarInsn(ALOAD, INSTANCE);
+            invoke(INVOKEVIRTUAL, CanonicalValueTable.class, "contains", boolean.class, JsonNode.class);
+            method.visitJumpInsn(IFNE, end);
+            report("enum", enumKeyword.getSchemaPointer(), EnumKeyword.MESSAGE,
+                    () -> method.visitVarInsn(ALOAD, INSTANCE),
+                    () -> method.visitLdcInsn(enumKeyword.getValuesText()));
+        } else if (keyword instanceof ConstKeyword constKeyword) {
+            loadConstant(JsonNode.class, constKeyword.getValue());
+            method.visitVarInsn(ALOAD, INSTANCE);
+            method.visitLdcInsn(constKeyword.getSchemaPointer());
+            method.visitVarInsn(ALOAD, CONTEXT);
+            invoke(INVOKESTATIC, ConstKeyword.class, "check", void.class,
+                    JsonNode.class, JsonNode.class, String.class, ValidationContext.class);
+        } else if (keyword instanceof UniqueItemsKeyword uniqueItems) {
+            ifInstance("isArray", end);
+            method.visitVarInsn(ALOAD, INSTANCE);
+            method.visitLdcInsn(uniqueItems.getSchemaPointer());
+            method.visitVarInsn(ALOAD, CONTEXT);
+            invoke(INVOKESTATIC, UniqueItemsKeyword.class, "check", void.class,
+                    JsonNode.class, String.class, ValidationContext.class);
+        } else if (keyword instanceof LengthKeyword length) {
+            ifInstance("isTextual", end);
+            loadText();
+            method.visitLdcInsn(length.getLimit());
+            method.visitLdcInsn(length.getSchemaPointer());
+            method.visitVarInsn(ALOAD, CONTEXT);
+            invoke(INVOKESTATIC, LengthKeyword.class, length.isMaximum() ? "checkMaxLength" : "checkMinLength",
+                    void.class, String.class, long.class, String.class, ValidationContext.class);
+        } else if (keyword instanceof ItemCountKeyword count) {
+            ifInstance("isArray", end);
+            method.visitVarInsn(ALOAD, INSTANCE);
+            invoke(INVOKEVIRTUAL, JsonNode.class, "size", int.class);
+            method.visitLdcInsn(count.getLimit());
+            method.visitLdcInsn(count.getSchemaPointer());
+            method.visitVarInsn(ALOAD, CONTEXT);
+            invoke(INVOKESTATIC, ItemCountKeyword.class, count.isMaximum() ? "checkMaxItems" : "checkMinItems",
+                    void.class, int.class, long.class, String.class, ValidationContext.class);
+        } else if (keyword instanceof BoundKeyword bound) {
+            long from = bound.getLongFrom();
+            long to = bound.getLongTo();
+            writeNumber(BoundKeyword.class, bound, end, valid -> {
+                if (from > to) {
+                    return;
+                }
+                if (from == Long.MIN_VALUE && to == Long.MAX_VALUE) {
+                    method.visitJumpInsn(GOTO, valid);
+                    return;
+                }
+                Label invalid = new Label();
+                if (from != Long.MIN_VALUE) {
+                    compareNumber(from);
+                    method.visitJumpInsn(to == Long.MAX_VALUE ? IFGE : IFLT, to == Long.MAX_VALUE ? valid : invalid);
+                }
+                if (to != Long.MAX_VALUE) {
+                    compareNumber(to);
+                    method.visitJumpInsn(IFLE, valid);
+                }
+                method.visitLabel(invalid);
+            });
+        } else if (keyword instanceof MultipleOfKeyword multipleOf) {
+            long divisor = multipleOf.getLongDivisor();
+            if (divisor == 0) {
+                validate(MultipleOfKeyword.class, multipleOf);
+            } else {
+                writeNumber(MultipleOfKeyword.class, multipleOf, end, valid -> {
+                    method.visitVarInsn(LLOAD, NUMBER);
+                    method.visitLdcInsn(divisor);
+                    method.visitInsn(LREM);
+                    method.visitInsn(LCONST_0);
+                    method.visitInsn(LCMP);
+                    method.visitJumpInsn(IFEQ, valid);
+                });
+            }
+        } else if (keyword instanceof ItemsKeyword items) {
+            Label loop = new Label();
+            ifInstance("isArray", end);
+            method.visitInsn(ICONST_0);
+            method.visitVarInsn(ISTORE, INDEX);
+            method.visitVarInsn(ALOAD, INSTANCE);
+            invoke(INVOKEVIRTUAL, JsonNode.class, "size", int.class);
+            method.visitVarInsn(ISTORE, SIZE);
+            method.visitLabel(loop);
+            method.visitVarInsn(ILOAD, INDEX);
+            method.visitVarInsn(ILOAD, SIZE);
+            method.visitJumpInsn(IF_ICMPGE, end);
+            jumpIfStopped(end);
+            method.visitVarInsn(ALOAD, CONTEXT);
+            method.visitVarInsn(ILOAD, INDEX);
+            invoke(INVOKEVIRTUAL, ValidationContext.class, "pushIndex", void.class, int.class);
+            method.visitVarInsn(ALOAD, INSTANCE);
+            method.visitVarInsn(ILOAD, INDEX);
+            invoke(INVOKEVIRTUAL, JsonNode.class, "get", JsonNode.class, int.class);
+            method.visitVarInsn(ALOAD, CONTEXT);
+            method.visitMethodInsn(INVOKESTATIC, CLASS_NAME, methodFor(items.getItems()), METHOD, false);
+            method.visitVarInsn(ALOAD, CONTEXT);
+            invoke(INVOKEVIRTUAL, ValidationContext.class, "pop", void.class);
+            method.visitIincInsn(INDEX, 1);
+            method.visitJumpInsn(GOTO, loop);
+        } else if (keyword instanceof RefKeyword ref) {
+            method.visitVarInsn(ALOAD, INSTANCE);
+            method.visitVarInsn(ALOAD, CONTEXT);
+            method.visitMethodInsn(INVOKESTATIC, CLASS_NAME, methodFor(ref.getTarget()), METHOD, false);
+        } else if (keyword instanceof SchemaCompiler.FalseKeyword falseKeyword) {
+            report("false", falseKeyword.getSchemaPointer(), SchemaCompiler.FalseKeyword.MESSAGE);
+        } else {
+            validate(Keyword.class, keyword);
+        }
+        method.visitLabel(end);
+    }
+
+    /**
+     * Writes the loop over the fields of an object: the hash of each name selects the candidate properties, which are
+     * then compared by {@link String#equals(Object)}, as {@code javac} compiles a {@code switch} on strings.
+     */
+    private void writeProperties(Map<String, SchemaNode> properties, Label end) {
+        Label loop = new Label();
+        ifInstance("isObject", end);
+        method.visitVarInsn(ALOAD, INSTANCE);
+        invoke(INVOKEVIRTUAL, JsonNode.class, "properties", Set.class);
+        invoke(INVOKEINTERFACE, Set.class, "iterator", Iterator.class);
+        method.visitVarInsn(ASTORE, FIELDS);
+        method.visitLabel(loop);
+        method.visitVarInsn(ALOAD, FIELDS);
+        invoke(INVOKEINTERFACE, Iterator.class, "hasNext", boolean.class);
+        method.visitJumpInsn(IFEQ, end);
+        jumpIfStopped(end);
+        method.visitVarInsn(ALOAD, FIELDS);
+        invoke(INVOKEINTERFACE, Iterator.class, "next", Object.class);
+        method.visitTypeInsn(CHECKCAST, Type.getInternalName(Map.Entry.class));
+        method.visitVarInsn(ASTORE, FIELD);
+        method.visitVarInsn(ALOAD, FIELD);
+        invoke(INVOKEINTERFACE, Map.Entry.class, "getKey", Object.class);
+        method.visitTypeInsn(CHECKCAST, Type.getInternalName(String.class));
+        method.visitVarInsn(ASTORE, NAME);
+
+        Map<Integer, List<String>> buckets = new TreeMap<>();
+        for (String name : properties.keySet()) {
+            buckets.computeIfAbsent(name.hashCode(), hash -> new ArrayList<>()).add(name);
+        }
+        int[] hashes = new int[buckets.size()];
+        Label[] bucketLabels = new Label[buckets.size()];
+        int bucket = 0;
+        for (int hash : buckets.keySet()) {
+            hashes[bucket] = hash;
+            bucketLabels[bucket++] = new Label();
+        }
+        method.visitVarInsn(ALOAD, NAME);
+        invoke(INVOKEVIRTUAL, String.class, "hashCode", int.class);
+        method.visitLookupSwitchInsn(loop, hashes, bucketLabels);
+
+        Map<String, Label> cases = new HashMap<>();
+        bucket = 0;
+        for (List<String> names : buckets.values()) {
+            method.visitLabel(bucketLabels[bucket++]);
+            for (String name : names) {
+                Label match = new Label();
+                cases.put(name, match);
+                method.visitVarInsn(ALOAD, NAME);
+                method.visitLdcInsn(name);
+                invoke(INVOKEVIRTUAL, String.class, "equals", boolean.class, Object.class);
+                method.visitJumpInsn(IFNE, match);
+            }
+            method.visitJumpInsn(GOTO, loop);
+        }
+        for (Map.Entry<String, SchemaNode> property : properties.entrySet()) {
+            method.visitLabel(cases.get(property.getKey()));
+            method.visitVarInsn(ALOAD, CONTEXT);
+            method.visitLdcInsn(property.getKey());
+            invoke(INVOKEVIRTUAL, ValidationContext.class, "pushProperty", void.class, String.class);
+            method.visitVarInsn(ALOAD, FIELD);
+            invoke(INVOKEINTERFACE, Map.Entry.class, "getValue", Object.class);
+            method.visitTypeInsn(CHECKCAST, Type.getInternalName(JsonNode.class));
+            method.visitVarInsn(ALOAD, CONTEXT);
+            method.visitMethodInsn(INVOKESTATIC, CLASS_NAME, methodFor(property.getValue()), METHOD, false);
+            method.visitVarInsn(ALOAD, CONTEXT);
+            invoke(INVOKEVIRTUAL, ValidationContext.class, "pop", void.class);
+            method.visitJumpInsn(GOTO, loop);
+        }
+    }
+
+    /**
+     * Writes a numeric keyword checked inline for {@code long} values and through the keyword for other numbers.
+     *
+     * @param type    the keyword's class, which has a {@code report(JsonNode, ValidationContext)} method
+     * @param keyword the keyword
+     * @param end     the label after the keyword
+     * @param check   writes the check of the {@code long} value in {@link #NUMBER}, jumping to its argument if the
+     *                value is valid and falling through to the report otherwise
+     */
+    private void writeNumber(Class<? extends Keyword> type, Keyword keyword, Label end, Consumer<Label> check) {
+        Label other = new Label();
+        ifInstance("isNumber", end);
+        method.visitVarInsn(ALOAD, INSTANCE);
+        invoke(INVOKESTATIC, Numbers.class, "isLong", boolean.class, JsonNode.class);
+        method.visitJumpInsn(IFEQ, other);
+        method.visitVarInsn(ALOAD, INSTANCE);
+        invoke(INVOKEVIRTUAL, JsonNode.class, "longValue", long.class);
+        method.visitVarInsn(LSTORE, NUMBER);
+        check.accept(end);
+        loadConstant(type, keyword);
+        method.visitVarInsn(ALOAD, INSTANCE);
+        method.visitVarInsn(ALOAD, CONTEXT);
+        invoke(INVOKEVIRTUAL, type, "report", void.class, JsonNode.class, ValidationContext.class);
+        method.visitJumpInsn(GOTO, end);
+        method.visitLabel(other);
+        validate(type, keyword);
+    }
+
+    private void compareNumber(long limit) {
+        method.visitVarInsn(LLOAD, NUMBER);
+        method.visitLdcInsn(limit);
+        method.visitInsn(LCMP);
+    }
+
+    private void validate(Class<? extends Keyword> type, Keyword keyword) {
+        loadConstant(type, keyword);
+        method.visitVarInsn(ALOAD, INSTANCE);
+        method.visitVarInsn(ALOAD, CONTEXT);
+        invoke(type.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL, type, "validate", void.class,
+                JsonNode.class, ValidationContext.class);
+    }
+
+    /**
+     * Writes {@code context.report(keyword, schemaPointer, template, arguments...)}.
+     *
+     * @param arguments each writes one argument onto the stack
+     */
+    private void report(String keyword, String schemaPointer, String template, Runnable... arguments) {
+        method.visitVarInsn(ALOAD, CONTEXT);
+        method.visitLdcInsn(keyword);
+        method.visitLdcInsn(schemaPointer);
+        method.visitLdcInsn(template);
+        method.visitLdcInsn(arguments.length);
+        method.visitTypeInsn(ANEWARRAY, Type.getInternalName(Object.class));
+        for (int i = 0; i < arguments.length; i++) {
+            method.visitInsn(DUP);
+            method.visitLdcInsn(i);
+            arguments[i].run();
+            method.visitInsn(AASTORE);
+        }
+        invoke(INVOKEVIRTUAL, ValidationContext.class, "report", void.class,
+                String.class, String.class, String.class, Object[].class);
+    }
+
+    private void ifInstance(String test, Label otherwise) {
+        method.visitVarInsn(ALOAD, INSTANCE);
+        invoke(INVOKEVIRTUAL, JsonNode.class, test, boolean.class);
+        method.visitJumpInsn(IFEQ, otherwise);
+    }
+
+    private void loadText() {
+        method.visitVarInsn(ALOAD, INSTANCE);
+        invoke(INVOKEVIRTUAL, JsonNode.class, "textValue", String.class);
+    }
+
+    private void jumpIfStopped(Label target) {
+        method.visitVarInsn(ALOAD, CONTEXT);
+        invoke(INVOKEVIRTUAL, ValidationContext.class, "isStopped", boolean.class);
+        method.visitJumpInsn(IFNE, target);
+    }
+
+    private void returnIfStopped() {
+        Label running = new Label();
+        method.visitVarInsn(ALOAD, CONTEXT);
+        invoke(INVOKEVIRTUAL, ValidationContext.class, "isStopped", boolean.class);
+        method.visitJumpInsn(IFEQ, running);
+        method.visitInsn(RETURN);
+        method.visitLabel(running);
+    }
+
+    private void invoke(int opcode, Class<?> owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+        Type[] parameters = new Type[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            parameters[i] = Type.getType(parameterTypes[i]);
+        }
+        method.visitMethodInsn(opcode, Type.getInternalName(owner), name,
+                Type.getMethodDescriptor(Type.getType(returnType), parameters), owner.isInterface());
+    }
+}
@@ -0,0 +1,60 @@
+package kr.nerdlab.json.schema.core.metadata;
+
+import kr.nerdlab.json.schema.annotation.SchemaDefinition;
+import kr.nerdlab.json.schema.annotation.SchemaProperty;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The schema-relevant structure of a class: its {@link SchemaDefinition}, if any, and the resolved descriptors
+ * of its {@link SchemaProperty} fields in declaration order.
+ * <p>
+ * Metadata is computed once per class and cached in a {@link ClassValue}, so it is released together with the class.
+ */
+public final class ClassMetadata {
+    private static final ClassValue<ClassMetadata> CACHE = new ClassValue<>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final SchemaDefinition schemaDefinition;
+    private final List<PropertyDescriptor> properties;
+
+    private ClassMetadata(Class<?> type) {
+        this.type = type;
+        this.schemaDefinition = type.getAnnotation(SchemaDefinition.class);
+
+        List<PropertyDescriptor> descriptors = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            SchemaProperty schemaProperty = field.getAnnotation(SchemaProperty.class);
+            if (schemaProperty != null) {
+                descriptors.add(new PropertyDescriptor(field, schemaProperty));
+            }
+        }
+        this.properties = List.copyOf(descriptors);
+    }
+
+    public static ClassMetadata of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return the {@link SchemaDefinition} of the class, or {@code null} if it is not annotated
+     */
+    public SchemaDefinition getSchemaDefinition() {
+        return schemaDefinition;
+    }
+
+    public List<PropertyDescriptor> getProperties() {
+        return properties;
+    }
+}
@@ -0,0 +1,124 @@
+package kr.nerdlab.json.schema.core.metadata;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import kr.nerdlab.json.schema.annotation.SchemaProperty;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * A field annotated with {@link SchemaProperty}, with its JSON name and schema type resolved once.
+ * Jackson's {@link JsonProperty} and {@link JsonDeserialize} hints are honored.
+ */
+public final class PropertyDescriptor {
+    private final Field field;
+    private final String name;
+    private final SchemaProperty schemaProperty;
+    private final Class<?> type;
+    private final Class<?> itemType;
+    private final PropertyKind kind;
+
+    PropertyDescriptor(Field field, SchemaProperty schemaProperty) {
+        this.field = field;
+        this.name = propertyName(field);
+        this.schemaProperty = schemaProperty;
+        this.type = fieldType(field);
+        this.kind = PropertyKind.of(type);
+        this.itemType = kind == PropertyKind.LIST ? listItemType(field, type) : null;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * @return the JSON property name
+     */
+    public String getName() {
+        return name;
+    }
+
+    public SchemaProperty getSchemaProperty() {
+        return schemaProperty;
+    }
+
+    /**
+     * @return the field type, or the {@code @JsonDeserialize(as = ...)} type if present
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return the list item type, or the {@code @JsonDeserialize(contentAs = ...)} type if present;
+     * {@code null} unless {@link #getKind()} is {@link PropertyKind#LIST}
+     */
+    public Class<?> getItemType() {
+        return itemType;
+    }
+
+    public PropertyKind getKind() {
+        return kind;
+    }
+
+    public boolean isRequired() {
+        return schemaProperty.required();
+    }
+
+    private static Class<?> fieldType(Field field) {
+        JsonDeserialize jsonDeserialize = field.getAnnotation(JsonDeserialize.class);
+        if (jsonDeserialize != null && jsonDeserialize.as() != Void.class) {
+            return jsonDeserialize.as();
+        }
+        return field.getType();
+    }
+
+    private static Class<?> listItemType(Field field, Class<?> type) {
+        JsonDeserialize jsonDeserialize = field.getAnnotation(JsonDeserialize.class);
+        if (jsonDeserialize != null && jsonDeserialize.contentAs() != Void.class) {
+            return jsonDeserialize.contentAs();
+        }
+        if (type.isArray()) {
+            return type.getComponentType();
+        }
+        if (field.getGenericType() instanceof ParameterizedType listType) {
+            Type argument = listType.getActualTypeArguments()[0];
+            if (argument instanceof Class<?> itemClass) {
+                return itemClass;
+            }
+            if (argument instanceof ParameterizedType parameterized && parameterized.getRawType() instanceof Class<?> raw) {
+                return raw;
+            }
+        }
+        return Object.class;
+    }
+
+    private static String propertyName(Field field) {
+        JsonProperty jsonProperty = field.getAnnotation(JsonProperty.class);
+        if (jsonProperty != null && !jsonProperty.value().isEmpty()) {
+            return jsonProperty.value();
+        }
+        return toDashCase(field.getName());
+    }
+
+    /**
+     * camelCase to lower-dash-case, equivalent to {@code replaceAll("([a-z])([A-Z]+)", "$1-$2").toLowerCase()}.
+     */
+    static String toDashCase(String name) {
+        StringBuilder result = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c) && i > 0 && isLowerAscii(name.charAt(i - 1))) {
+                result.append('-');
+            }
+            result.append(Character.toLowerCase(c));
+        }
+        return result.toString();
+    }
+
+    private static boolean isLowerAscii(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+}
@@ -0,0 +1,56 @@
+package kr.nerdlab.json.schema.core.metadata;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * How a Java property maps onto a JSON Schema type.
+ */
+public enum PropertyKind {
+    STRING("string"),
+    INTEGER("integer"),
+    NUMBER("number"),
+    BOOLEAN("boolean"),
+    /**
+     * A {@link Map}, emitted as a free-form object.
+     */
+    MAP("object"),
+    /**
+     * A {@link List} or an array; its item type is described by {@link PropertyDescriptor#getItemType()}.
+     */
+    LIST("array"),
+    /**
+     * Any other class, emitted as a reference to its definition.
+     */
+    OBJECT("object"),
+    ;
+
+    private static final Set<Class<?>> INTEGRAL_TYPES = Set.of(
+            byte.class, short.class, int.class, long.class,
+            Byte.class, Short.class, Integer.class, Long.class, BigInteger.class);
+
+    private final String schemaType;
+
+    PropertyKind(String schemaType) {
+        this.schemaType = schemaType;
+    }
+
+    public String getSchemaType() {
+        return schemaType;
+    }
+
+    public static PropertyKind of(Class<?> type) {
+        if (List.class.isAssignableFrom(type) || type.isArray()) return LIST;
+        if (Map.class.isAssignableFrom(type)) return MAP;
+        if (INTEGRAL_TYPES.contains(type)) return INTEGER;
+        if (Number.class.isAssignableFrom(type) || type == float.class || type == double.class) return NUMBER;
+        if (type == Boolean.class || type == boolean.class) return BOOLEAN;
+        if (type.isPrimitive() || type.isEnum() || CharSequence.class.isAssignableFrom(type)
+                || type.getName().startsWith("java.")) {
+            return STRING;
+        }
+        return OBJECT;
+    }
+}
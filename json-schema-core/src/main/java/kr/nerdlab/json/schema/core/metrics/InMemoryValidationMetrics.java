@@ -0,0 +1,68 @@
+package kr.nerdlab.json.schema.core.metrics;
+
+import kr.nerdlab.json.schema.core.validation.ValidationError;
+import kr.nerdlab.json.schema.core.validation.ValidationResult;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ValidationInstrumentation} that keeps {@link SchemaMetrics} per schema in memory, for printing or for
+ * export to a monitoring system.
+ * <p>
+ * Errors are counted by keyword from the recorded errors of each result, so they are not counted in
+ * {@link kr.nerdlab.json.schema.core.validation.ValidationMode#FAIL_FAST}, which records none. Every schema
+ * seen keeps a few tens of kilobytes of histograms until {@link #reset()}.
+ */
+public final class InMemoryValidationMetrics implements ValidationInstrumentation {
+    private final ConcurrentHashMap<String, SchemaMetrics> schemas = new ConcurrentHashMap<>();
+
+    @Override
+    public void schemaCacheHit(String schemaId) {
+        metricsOf(schemaId).recordCacheHit();
+    }
+
+    @Override
+    public void schemaCacheMiss(String schemaId) {
+        metricsOf(schemaId).recordCacheMiss();
+    }
+
+    @Override
+    public void schemaLoaded(String schemaId, long loadNanos) {
+        metricsOf(schemaId).recordLoad(loadNanos);
+    }
+
+    @Override
+    public void validated(String schemaId, long validationNanos, long documentBytes, long nodesVisited,
+                          ValidationResult result) {
+        SchemaMetrics metrics = metricsOf(schemaId);
+        metrics.recordValidation(validationNanos, documentBytes, nodesVisited, result.isValid());
+        for (ValidationError error : result.getErrors()) {
+            metrics.recordError(error.getKeyword());
+        }
+    }
+
+    /**
+     * @return the metrics of every schema seen so far, sorted by schema id
+     */
+    public Map<String, SchemaMetrics> getSchemas() {
+        return new TreeMap<>(schemas);
+    }
+
+    /**
+     * @return the metrics of the schema, or {@code null} if it was not seen
+     */
+    public SchemaMetrics getSchema(String schemaId) {
+        return schemas.get(schemaId);
+    }
+
+    public void reset() {
+        schemas.clear();
+    }
+
+    private SchemaMetrics metricsOf(String schemaId) {
+        SchemaMetrics metrics = schemas.get(schemaId);
+        return metrics != null ? metrics : schemas.computeIfAbsent(schemaId, SchemaMetrics::new);
+    }
+}
@@ -0,0 +1,8 @@
+package kr.nerdlab.json.schema.core.metrics;
+
+final class NoOpValidationInstrumentation implements ValidationInstrumentation {
+    static final NoOpValidationInstrumentation INSTANCE = new NoOpValidationInstrumentation();
+
+    private NoOpValidationInstrumentation() {
+    }
+}
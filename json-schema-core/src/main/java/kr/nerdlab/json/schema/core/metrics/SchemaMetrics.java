@@ -0,0 +1,106 @@
+package kr.nerdlab.json.schema.core.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measurements of one schema, collected by {@link InMemoryValidationMetrics}.
+ * Latency and load-time histograms are in nanoseconds, document sizes in bytes.
+ */
+public final class SchemaMetrics {
+    private final String schemaId;
+    private final Histogram latency = new Histogram();
+    private final Histogram documentSize = new Histogram();
+    private final Histogram loadTime = new Histogram();
+    private final LongAdder nodesVisited = new LongAdder();
+    private final LongAdder invalidCount = new LongAdder();
+    private final LongAdder cacheHitCount = new LongAdder();
+    private final LongAdder cacheMissCount = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> errorsByKeyword = new ConcurrentHashMap<>();
+
+    SchemaMetrics(String schemaId) {
+        this.schemaId = schemaId;
+    }
+
+    public String getSchemaId() {
+        return schemaId;
+    }
+
+    public Histogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return the sizes of validated documents whose size was known
+     */
+    public Histogram getDocumentSize() {
+        return documentSize;
+    }
+
+    public Histogram getLoadTime() {
+        return loadTime;
+    }
+
+    public long getValidationCount() {
+        return latency.getTotalCount();
+    }
+
+    public long getInvalidCount() {
+        return invalidCount.sum();
+    }
+
+    /**
+     * @return the instance values looked at over all validations whose count was known
+     */
+    public long getNodesVisited() {
+        return nodesVisited.sum();
+    }
+
+    public long getCacheHitCount() {
+        return cacheHitCount.sum();
+    }
+
+    public long getCacheMissCount() {
+        return cacheMissCount.sum();
+    }
+
+    /**
+     * @return the number of reported errors per failing keyword, sorted by keyword
+     */
+    public Map<String, Long> getErrorsByKeyword() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        errorsByKeyword.forEach((keyword, count) -> snapshot.put(keyword, count.sum()));
+        return snapshot;
+    }
+
+    void recordValidation(long nanos, long documentBytes, long nodes, boolean valid) {
+        latency.record(nanos);
+        if (documentBytes >= 0) {
+            documentSize.record(documentBytes);
+        }
+        if (nodes >= 0) {
+            nodesVisited.add(nodes);
+        }
+        if (!valid) {
+            invalidCount.increment();
+        }
+    }
+
+    void recordError(String keyword) {
+        errorsByKeyword.computeIfAbsent(keyword, k -> new LongAdder()).increment();
+    }
+
+    void recordCacheHit() {
+        cacheHitCount.increment();
+    }
+
+    void recordCacheMiss() {
+        cacheMissCount.increment();
+    }
+
+    void recordLoad(long nanos) {
+        loadTime.record(nanos);
+    }
+}
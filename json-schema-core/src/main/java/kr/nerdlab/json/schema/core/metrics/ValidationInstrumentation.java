@@ -0,0 +1,56 @@
+package kr.nerdlab.json.schema.core.metrics;
+
+import kr.nerdlab.json.schema.core.validation.ValidationResult;
+
+/**
+ * Receives measurements from an {@link kr.nerdlab.json.schema.core.AbstractJsonSchemaValidator}.
+ * <p>
+ * Schemas are identified by their normalized URI, or by the class name for schemas generated from a class.
+ * Callbacks run synchronously on the validating thread, possibly on many threads at once, so implementations
+ * must be thread-safe and cheap. Every method does nothing by default.
+ *
+ * @see InMemoryValidationMetrics
+ */
+public interface ValidationInstrumentation {
+
+    /**
+     * Called when a schema lookup was answered by the schema cache, without loading.
+     */
+    default void schemaCacheHit(String schemaId) {
+    }
+
+    /**
+     * Called when a schema lookup had to load the schema.
+     */
+    default void schemaCacheMiss(String schemaId) {
+    }
+
+    /**
+     * Called after a schema was loaded and compiled, whether or not that succeeded.
+     *
+     * @param loadNanos the time spent reading and compiling the schema
+     */
+    default void schemaLoaded(String schemaId, long loadNanos) {
+    }
+
+    /**
+     * Called after a document was validated.
+     *
+     * @param validationNanos the time spent validating, excluding the schema lookup; for streamed input it
+     *                        includes parsing
+     * @param documentBytes   the size of the document, or {@code -1} if unknown
+     * @param nodesVisited    the number of instance values the validator looked at, or {@code -1} if unknown
+     * @param result          the result; its errors are empty in {@link kr.nerdlab.json.schema.core.validation.ValidationMode#FAIL_FAST}
+     */
+    default void validated(String schemaId, long validationNanos, long documentBytes, long nodesVisited,
+                           ValidationResult result) {
+    }
+
+    /**
+     * Instrumentation that records nothing. Validators skip taking measurements altogether when given this
+     * instance, so it adds no overhead.
+     */
+    static ValidationInstrumentation none() {
+        return NoOpValidationInstrumentation.INSTANCE;
+    }
+}
@@ -0,0 +1,234 @@
+package kr.nerdlab.json.schema.core.patch;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import kr.nerdlab.json.schema.core.canonical.CanonicalJson;
+import kr.nerdlab.json.schema.core.exception.JsonPatchException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An RFC 6902 JSON Patch that can be applied to a document in place and reports which locations it changed, so
+ * that the document can be {@linkplain kr.nerdlab.json.schema.core.CompiledSchema#revalidate revalidated}
+ * incrementally.
+ * <p>
+ * Operations modify the containers of the document directly instead of copying it, so applying a small patch to a
+ * large document costs as much as the patch. As a consequence a patch whose operation fails leaves the document
+ * partially patched; apply it to a {@link JsonNode#deepCopy() copy} where that matters.
+ * Instances are immutable and can be applied to any number of documents.
+ */
+public final class JsonPatch {
+    private final List<Operation> operations;
+
+    private JsonPatch(List<Operation> operations) {
+        this.operations = operations;
+    }
+
+    /**
+     * @param patch the patch document, an array of operation objects
+     * @return the parsed patch
+     * @throws JsonPatchException if the patch is malformed
+     */
+    public static JsonPatch parse(JsonNode patch) {
+        if (!patch.isArray()) {
+            throw new JsonPatchException("JSON Patch must be an array of operations");
+        }
+        List<Operation> operations = new ArrayList<>(patch.size());
+        for (int i = 0; i < patch.size(); i++) {
+            JsonNode operation = patch.get(i);
+            String op = text(operation, "op", i);
+            JsonPointer path = pointer(operation, "path", i);
+            operations.add(switch (op) {
+                case "add", "replace", "test" -> new Operation(op, path, null, value(operation, i));
+                case "remove" -> new Operation(op, path, null, null);
+                case "move", "copy" -> new Operation(op, path, pointer(operation, "from", i), null);
+                default -> throw new JsonPatchException("Unknown operation '" + op + "' at index " + i);
+            });
+        }
+        return new JsonPatch(List.copyOf(operations));
+    }
+
+    /**
+     * Applies the operations in order.
+     *
+     * @param document the document to patch; its containers are modified
+     * @return the patched document, which is a different node only if an operation replaced the root, and the
+     * changed locations
+     * @throws JsonPatchException if an operation cannot be applied
+     */
+    public Applied apply(JsonNode document) {
+        Set<JsonPointer> changed = new LinkedHashSet<>();
+        JsonNode current = document;
+        for (Operation operation : operations) {
+            current = switch (operation.op()) {
+                case "add" -> add(current, operation.path(), operation.value().deepCopy(), changed);
+                case "remove" -> {
+                    remove(current, operation.path(), changed);
+                    yield current;
+                }
+                case "replace" -> replace(current, operation.path(), operation.value().deepCopy(), changed);
+                case "move" -> {
+                    if (isProperPrefix(operation.from(), operation.path())) {
+                        throw new JsonPatchException("Cannot move " + operation.from() + " into its own child " + operation.path());
+                    }
+                    if (operation.from().equals(operation.path())) {
+                        yield current;
+                    }
+                    JsonNode value = remove(current, operation.from(), changed);
+                    yield add(current, operation.path(), value, changed);
+                }
+                case "copy" -> add(current, operation.path(), get(current, operation.from()).deepCopy(), changed);
+                case "test" -> {
+                    // RFC 6902 4.6: numbers are equal by value and object members in any order
+                    if (!CanonicalJson.equal(get(current, operation.path()), operation.value())) {
+                        throw new JsonPatchException("Test failed at " + operation.path());
+                    }
+                    yield current;
+                }
+                default -> throw new IllegalStateException(operation.op());
+            };
+        }
+        return new Applied(current, List.copyOf(changed));
+    }
+
+    /**
+     * The outcome of {@link #apply(JsonNode)}.
+     *
+     * @param document the patched document
+     * @param changed  the locations whose values were added, removed or replaced. When elements are inserted into or
+     *                 removed from an array anywhere but at its end, the following elements move, so the array
+     *                 itself is reported.
+     */
+    public record Applied(JsonNode document, List<JsonPointer> changed) {
+    }
+
+    private static JsonNode add(JsonNode document, JsonPointer path, JsonNode value, Set<JsonPointer> changed) {
+        if (path.matches()) {
+            changed.add(path);
+            return value;
+        }
+        JsonNode parent = get(document, path.head());
+        String name = path.last().getMatchingProperty();
+        if (parent instanceof ObjectNode object) {
+            object.set(name, value);
+            changed.add(path);
+        } else if (parent instanceof ArrayNode array) {
+            int index = "-".equals(name) ? array.size() : index(name, array.size(), path);
+            array.insert(index, value);
+            changed.add(index == array.size() - 1 ? path.head().appendIndex(index) : path.head());
+        } else {
+            throw new JsonPatchException("Cannot add to a scalar at " + path.head());
+        }
+        return document;
+    }
+
+    private static JsonNode remove(JsonNode document, JsonPointer path, Set<JsonPointer> changed) {
+        if (path.matches()) {
+            throw new JsonPatchException("Cannot remove the whole document");
+        }
+        JsonNode parent = get(document, path.head());
+        String name = path.last().getMatchingProperty();
+        if (parent instanceof ObjectNode object) {
+            JsonNode removed = object.remove(name);
+            if (removed == null) {
+                throw new JsonPatchException("No value at " + path);
+            }
+            changed.add(path);
+            return removed;
+        }
+        if (parent instanceof ArrayNode array) {
+            int index = index(name, array.size() - 1, path);
+            boolean last = index == array.size() - 1;
+            JsonNode removed = array.remove(index);
+            changed.add(last ? path : path.head());
+            return removed;
+        }
+        throw new JsonPatchException("No value at " + path);
+    }
+
+    private static JsonNode replace(JsonNode document, JsonPointer path, JsonNode value, Set<JsonPointer> changed) {
+        if (path.matches()) {
+            changed.add(path);
+            return value;
+        }
+        JsonNode parent = get(document, path.head());
+        String name = path.last().getMatchingProperty();
+        if (parent instanceof ObjectNode object && object.has(name)) {
+            object.set(name, value);
+        } else if (parent instanceof ArrayNode array) {
+            array.set(index(name, array.size() - 1, path), value);
+        } else {
+            throw new JsonPatchException("No value at " + path);
+        }
+        changed.add(path);
+        return document;
+    }
+
+    private static JsonNode get(JsonNode document, JsonPointer path) {
+        JsonNode value = document.at(path);
+        if (value.isMissingNode()) {
+            throw new JsonPatchException("No value at " + path);
+        }
+        return value;
+    }
+
+    /**
+     * @param max the largest index allowed
+     */
+    private static int index(String segment, int max, JsonPointer path) {
+        if (segment.isEmpty() || segment.length() > 9 || (segment.length() > 1 && segment.charAt(0) == '0')) {
+            throw new JsonPatchException("Invalid array index in " + path);
+        }
+        int index = 0;
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new JsonPatchException("Invalid array index in " + path);
+            }
+            index = index * 10 + (c - '0');
+        }
+        if (index > max) {
+            throw new JsonPatchException("Array index out of bounds in " + path);
+        }
+        return index;
+    }
+
+    private static boolean isProperPrefix(JsonPointer prefix, JsonPointer path) {
+        String p = prefix.toString();
+        String s = path.toString();
+        return s.length() > p.length() && s.startsWith(p) && s.charAt(p.length()) == '/';
+    }
+
+    private static String text(JsonNode operation, String field, int index) {
+        JsonNode value = operation.get(field);
+        if (value == null || !value.isTextual()) {
+            throw new JsonPatchException("Operation at index " + index + " has no textual '" + field + "'");
+        }
+        return value.textValue();
+    }
+
+    private static JsonPointer pointer(JsonNode operation, String field, int index) {
+        String text = text(operation, field, index);
+        try {
+            return JsonPointer.compile(text);
+        } catch (IllegalArgumentException e) {
+            throw new JsonPatchException("Operation at index " + index + " has an invalid '" + field + "': " + text, e);
+        }
+    }
+
+    private static JsonNode value(JsonNode operation, int index) {
+        JsonNode value = operation.get("value");
+        if (value == null) {
+            throw new JsonPatchException("Operation at index " + index + " has no 'value'");
+        }
+        return value;
+    }
+
+    private record Operation(String op, JsonPointer path, JsonPointer from, JsonNode value) {
+    }
+}
@@ -0,0 +1,94 @@
+package kr.nerdlab.json.schema.core.pattern;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Fallback for expressions the {@link LinearPattern} engine does not support, such as backreferences and
+ * lookaround. Matching runs on {@link java.util.regex} over a view of the input that counts character reads
+ * and aborts once they exceed the step budget.
+ */
+final class BudgetedPattern implements PatternMatcher {
+    private final Pattern pattern;
+    private final long stepBudget;
+    private final LongAdder budgetExceeded;
+
+    BudgetedPattern(Pattern pattern, long stepBudget, LongAdder budgetExceeded) {
+        this.pattern = pattern;
+        this.stepBudget = stepBudget;
+        this.budgetExceeded = budgetExceeded;
+    }
+
+    @Override
+    public boolean find(CharSequence input) {
+        try {
+            return pattern.matcher(new CountingSequence(input, 0, input.length(), new long[]{stepBudget})).find();
+        } catch (StepsExhausted e) {
+            budgetExceeded.increment();
+            throw new PatternBudgetExceededException(pattern.pattern(), stepBudget);
+        }
+    }
+
+    @Override
+    public String pattern() {
+        return pattern.pattern();
+    }
+
+    @Override
+    public boolean isLinear() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return pattern.pattern();
+    }
+
+    private static final class StepsExhausted extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        StepsExhausted() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * A window of the input whose reads draw from a budget shared with all of its subsequences.
+     */
+    private static final class CountingSequence implements CharSequence {
+        private final CharSequence input;
+        private final int start;
+        private final int end;
+        private final long[] remaining;
+
+        CountingSequence(CharSequence input, int start, int end, long[] remaining) {
+            this.input = input;
+            this.start = start;
+            this.end = end;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (--remaining[0] < 0) {
+                throw new StepsExhausted();
+            }
+            return input.charAt(start + index);
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return new CountingSequence(input, start + from, start + to, remaining);
+        }
+
+        @Override
+        public String toString() {
+            return input.subSequence(start, end).toString();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package kr.nerdlab.json.schema.core.pattern;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable set of code points, stored as sorted, disjoint, inclusive ranges.
+ */
+final class CharClass {
+    static final CharClass DIGIT = new Builder().add('0', '9').build();
+    static final CharClass WORD = new Builder().add('0', '9').add('A', 'Z').add('_', '_').add('a', 'z').build();
+    /**
+     * ECMA-262 WhiteSpace and LineTerminator.
+     */
+    static final CharClass SPACE = new Builder()
+            .add('\t', '\r').add(' ', ' ').add('\u00a0', '\u00a0').add('\u1680', '\u1680')
+            .add('\u2000', '\u200a').add('\u2028', '\u2029').add('\u202f', '\u202f').add('\u205f', '\u205f')
+            .add('\u3000', '\u3000').add('\ufeff', '\ufeff')
+            .build();
+
+    /**
+     * Lower and upper bounds, alternating.
+     */
+    private final int[] ranges;
+
+    private CharClass(int[] ranges) {
+        this.ranges = ranges;
+    }
+
+    boolean contains(int c) {
+        int low = 0;
+        int high = ranges.length / 2 - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (c < ranges[middle * 2]) high = middle - 1;
+            else if (c > ranges[middle * 2 + 1]) low = middle + 1;
+            else return true;
+        }
+        return false;
+    }
+
+    CharClass negate() {
+        List<int[]> complement = new ArrayList<>();
+        int next = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i] > next) complement.add(new int[]{next, ranges[i] - 1});
+            next = ranges[i + 1] + 1;
+        }
+        if (next <= Character.MAX_CODE_POINT) complement.add(new int[]{next, Character.MAX_CODE_POINT});
+        int[] negated = new int[complement.size() * 2];
+        for (int i = 0; i < complement.size(); i++) {
+            negated[i * 2] = complement.get(i)[0];
+            negated[i * 2 + 1] = complement.get(i)[1];
+        }
+        return new CharClass(negated);
+    }
+
+    static final class Builder {
+        private final List<int[]> ranges = new ArrayList<>();
+
+        Builder add(int low, int high) {
+            ranges.add(new int[]{low, high});
+            return this;
+        }
+
+        Builder add(CharClass set) {
+            for (int i = 0; i < set.ranges.length; i += 2) {
+                add(set.ranges[i], set.ranges[i + 1]);
+            }
+            return this;
+        }
+
+        CharClass build() {
+            ranges.sort((a, b) -> Integer.compare(a[0], b[0]));
+            int[] merged = new int[ranges.size() * 2];
+            int size = 0;
+            for (int[] range : ranges) {
+                if (size > 0 && range[0] <= merged[size - 1] + 1) {
+                    if (range[1] > merged[size - 1]) merged[size - 1] = range[1];
+                } else {
+                    merged[size++] = range[0];
+                    merged[size++] = range[1];
+                }
+            }
+            return new CharClass(Arrays.copyOf(merged, size));
+        }
+    }
+}
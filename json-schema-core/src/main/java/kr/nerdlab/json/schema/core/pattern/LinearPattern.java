@@ -0,0 +1,694 @@
+package kr.nerdlab.json.schema.core.pattern;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A regular expression matched in time linear in the input length, by simulating its Thompson NFA with a
+ * Pike VM: all alternatives advance over the input together, so no input character is read twice.
+ * <p>
+ * Supports the ECMA-262 subset JSON Schema recommends for {@code "pattern"}: literals, {@code .}, character
+ * classes with ranges and negation, {@code \d \D \w \W \s \S}, control, hexadecimal and unicode escapes,
+ * {@code ^ $ \b \B}, groups (capturing, non-capturing and named, all treated as plain groups), alternation and
+ * greedy or lazy quantifiers including counted repetition. Characters are code points, and {@code .} and {@code $}
+ * know the line terminators {@link java.util.regex} knows, so an expression matches the same strings whichever engine
+ * {@link PatternCache} picks: {@code $} also matches before a line terminator that ends the input.
+ * Backreferences, lookaround and unicode property escapes are not supported;
+ * {@link #compile(String)} returns {@code null} for them so the caller can fall back to a backtracking engine.
+ */
+final class LinearPattern implements PatternMatcher {
+    private static final int CHAR = 0;
+    private static final int CLASS = 1;
+    private static final int ANY = 2;
+    private static final int SPLIT = 3;
+    private static final int JUMP = 4;
+    private static final int MATCH = 5;
+    private static final int BEGIN = 6;
+    private static final int END = 7;
+    private static final int WORD_BOUNDARY = 8;
+    private static final int NOT_WORD_BOUNDARY = 9;
+
+    /**
+     * Counted repetition is expanded into copies; larger programs are left to the fallback engine.
+     */
+    static final int MAX_PROGRAM_SIZE = 10_000;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final String pattern;
+    private final int[] ops;
+    private final int[] args;
+    private final int[] alternatives;
+    private final CharClass[] classes;
+    private final boolean anchoredStart;
+
+    private LinearPattern(String pattern, Program program) {
+        this.pattern = pattern;
+        this.ops = Arrays.copyOf(program.ops, program.size);
+        this.args = Arrays.copyOf(program.args, program.size);
+        this.alternatives = Arrays.copyOf(program.alternatives, program.size);
+        this.classes = program.classes.toArray(CharClass[]::new);
+        this.anchoredStart = program.size > 0 && ops[0] == BEGIN;
+    }
+
+    /**
+     * @return the compiled pattern, or {@code null} if the expression uses syntax this engine does not support,
+     * or is not valid ECMA-262
+     */
+    static LinearPattern compile(String pattern) {
+        Node root = new Parser(pattern).parse();
+        if (root == null) {
+            return null;
+        }
+        Program program = new Program();
+        if (!root.emit(program)) {
+            return null;
+        }
+        program.add(MATCH, 0, 0);
+        return program.size > MAX_PROGRAM_SIZE ? null : new LinearPattern(pattern, program);
+    }
+
+    @Override
+    public boolean find(CharSequence input) {
+        int length = input.length();
+        Scratch scratch = SCRATCH.get();
+        scratch.prepare(ops.length, length);
+        int[] current = scratch.current;
+        int[] next = scratch.next;
+        int generation = scratch.nextGeneration();
+        int currentCount = 0;
+
+        for (int position = 0; ; ) {
+            if (position == 0 || !anchoredStart) {
+                int added = addThread(0, input, position, length, current, currentCount, generation, scratch);
+                if (added < 0) {
+                    return true;
+                }
+                currentCount = added;
+            }
+            if (position >= length || (currentCount == 0 && anchoredStart)) {
+                return false;
+            }
+            int c = Character.codePointAt(input, position);
+            int width = Character.charCount(c);
+            int nextGeneration = scratch.nextGeneration();
+            int nextCount = 0;
+            for (int i = 0; i < currentCount; i++) {
+                int pc = current[i];
+                boolean consumed = switch (ops[pc]) {
+                    case CHAR -> c == args[pc];
+                    case CLASS -> classes[args[pc]].contains(c);
+                    case ANY -> !isLineTerminator(c);
+                    default -> false;
+                };
+                if (consumed) {
+                    int added = addThread(pc + 1, input, position + width, length, next, nextCount, nextGeneration, scratch);
+                    if (added < 0) {
+                        return true;
+                    }
+                    nextCount = added;
+                }
+            }
+            int[] swap = current;
+            current = next;
+            next = swap;
+            currentCount = nextCount;
+            generation = nextGeneration;
+            position += width;
+        }
+    }
+
+    /**
+     * Follows the empty transitions from {@code start} and adds every reachable consuming instruction to the list.
+     *
+     * @return the new size of the list, or {@code -1} if a match was reached
+     */
+    private int addThread(int start, CharSequence input, int position, int length,
+                          int[] list, int count, int generation, Scratch scratch) {
+        int[] marks = scratch.marks;
+        int[] stack = scratch.stack;
+        int top = 0;
+        stack[top++] = start;
+        while (top > 0) {
+            int pc = stack[--top];
+            if (marks[pc] == generation) {
+                continue;
+            }
+            marks[pc] = generation;
+            switch (ops[pc]) {
+                case JUMP -> stack[top++] = args[pc];
+                case SPLIT -> {
+                    stack[top++] = alternatives[pc];
+                    stack[top++] = args[pc];
+                }
+                case BEGIN -> {
+                    if (position == 0) stack[top++] = pc + 1;
+                }
+                case END -> {
+                    if (isEnd(input, position, length)) stack[top++] = pc + 1;
+                }
+                case WORD_BOUNDARY, NOT_WORD_BOUNDARY -> {
+                    boolean before = position > 0 && isWordChar(input.charAt(position - 1));
+                    boolean after = position < length && isWordChar(input.charAt(position));
+                    if ((before != after) == (ops[pc] == WORD_BOUNDARY)) stack[top++] = pc + 1;
+                }
+                case MATCH -> {
+                    return -1;
+                }
+                default -> list[count++] = pc;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public String pattern() {
+        return pattern;
+    }
+
+    @Override
+    public boolean isLinear() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    static boolean isLineTerminator(int c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /**
+     * {@code $}: the end of the input, or a final line terminator, {@code \r\n} counting as one.
+     */
+    private static boolean isEnd(CharSequence input, int position, int length) {
+        if (position == length) {
+            return true;
+        }
+        if (position == length - 2) {
+            return input.charAt(position) == '\r' && input.charAt(position + 1) == '\n';
+        }
+        // not between the two characters of a final \r\n
+        return position == length - 1 && isLineTerminator(input.charAt(position))
+                && !(input.charAt(position) == '\n' && position > 0 && input.charAt(position - 1) == '\r');
+    }
+
+    /**
+     * Per-thread working memory of the VM, grown to the largest program matched on the thread.
+     */
+    private static final class Scratch {
+        int[] current = new int[0];
+        int[] next = new int[0];
+        int[] stack = new int[0];
+        int[] marks = new int[0];
+        int generation;
+
+        /**
+         * Makes room for a program of the given size and for one generation per input position.
+         */
+        void prepare(int size, int inputLength) {
+            if (marks.length < size) {
+                current = new int[size];
+                next = new int[size];
+                stack = new int[size * 2 + 1];
+                marks = new int[size];
+                generation = 0;
+            } else if (generation > Integer.MAX_VALUE - inputLength - 2) {
+                Arrays.fill(marks, 0);
+                generation = 0;
+            }
+        }
+
+        int nextGeneration() {
+            return ++generation;
+        }
+    }
+
+    private static final class Program {
+        int[] ops = new int[16];
+        int[] args = new int[16];
+        int[] alternatives = new int[16];
+        int size;
+        final List<CharClass> classes = new ArrayList<>();
+
+        int add(int op, int arg, int alternative) {
+            if (size == ops.length) {
+                ops = Arrays.copyOf(ops, size * 2);
+                args = Arrays.copyOf(args, size * 2);
+                alternatives = Arrays.copyOf(alternatives, size * 2);
+            }
+            ops[size] = op;
+            args[size] = arg;
+            alternatives[size] = alternative;
+            return size++;
+        }
+
+        boolean full() {
+            return size > MAX_PROGRAM_SIZE;
+        }
+    }
+
+    // --- Syntax tree ---
+
+    private interface Node {
+        /**
+         * @return {@code false} if the program grew beyond {@link #MAX_PROGRAM_SIZE}
+         */
+        boolean emit(Program program);
+
+        default boolean isAssertion() {
+            return false;
+        }
+    }
+
+    private record CharNode(int c) implements Node {
+        @Override
+        public boolean emit(Program program) {
+            program.add(CHAR, c, 0);
+            return !program.full();
+        }
+    }
+
+    private record ClassNode(CharClass charClass) implements Node {
+        @Override
+        public boolean emit(Program program) {
+            program.classes.add(charClass);
+            program.add(CLASS, program.classes.size() - 1, 0);
+            return !program.full();
+        }
+    }
+
+    private record OpNode(int op) implements Node {
+        @Override
+        public boolean emit(Program program) {
+            program.add(op, 0, 0);
+            return !program.full();
+        }
+
+        @Override
+        public boolean isAssertion() {
+            return op != ANY;
+        }
+    }
+
+    private record Sequence(List<Node> items) implements Node {
+        @Override
+        public boolean emit(Program program) {
+            for (Node item : items) {
+                if (!item.emit(program)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private record Alternation(List<Node> alternatives) implements Node {
+        @Override
+        public boolean emit(Program program) {
+            List<Integer> jumps = new ArrayList<>();
+            for (int i = 0; i < alternatives.size() - 1; i++) {
+                int split = program.add(SPLIT, program.size + 1, 0);
+                if (!alternatives.get(i).emit(program)) {
+                    return false;
+                }
+                jumps.add(program.add(JUMP, 0, 0));
+                program.alternatives[split] = program.size;
+            }
+            if (!alternatives.get(alternatives.size() - 1).emit(program)) {
+                return false;
+            }
+            for (int jump : jumps) {
+                program.args[jump] = program.size;
+            }
+            return !program.full();
+        }
+    }
+
+    /**
+     * {@code max < 0} means unbounded. Greediness does not change whether there is a match, so it is ignored.
+     */
+    private record Repeat(Node body, int min, int max) implements Node {
+        @Override
+        public boolean emit(Program program) {
+            for (int i = 0; i < min; i++) {
+                if (!body.emit(program)) {
+                    return false;
+                }
+            }
+            if (max < 0) {
+                // loop: SPLIT body, exit; body; JUMP split
+                int split = program.add(SPLIT, program.size + 1, 0);
+                if (!body.emit(program)) {
+                    return false;
+                }
+                program.add(JUMP, split, 0);
+                program.alternatives[split] = program.size;
+                return !program.full();
+            }
+            List<Integer> splits = new ArrayList<>();
+            for (int i = min; i < max; i++) {
+                splits.add(program.add(SPLIT, program.size + 1, 0));
+                if (!body.emit(program)) {
+                    return false;
+                }
+            }
+            for (int split : splits) {
+                program.alternatives[split] = program.size;
+            }
+            return !program.full();
+        }
+    }
+
+    // --- Parser ---
+
+    private static final class Parser {
+        private final String source;
+        private int position;
+
+        Parser(String source) {
+            this.source = source;
+        }
+
+        /**
+         * @return the syntax tree, or {@code null} if the expression is unsupported or malformed
+         */
+        Node parse() {
+            try {
+                Node root = parseAlternation();
+                return position == source.length() ? root : null;
+            } catch (Unsupported e) {
+                return null;
+            }
+        }
+
+        private Node parseAlternation() {
+            List<Node> alternatives = new ArrayList<>();
+            alternatives.add(parseSequence());
+            while (position < source.length() && source.charAt(position) == '|') {
+                position++;
+                alternatives.add(parseSequence());
+            }
+            return alternatives.size() == 1 ? alternatives.get(0) : new Alternation(alternatives);
+        }
+
+        private Node parseSequence() {
+            List<Node> items = new ArrayList<>();
+            while (position < source.length()) {
+                char c = source.charAt(position);
+                if (c == '|' || c == ')') {
+                    break;
+                }
+                items.add(parseQuantifier(parseAtom()));
+            }
+            return items.size() == 1 ? items.get(0) : new Sequence(items);
+        }
+
+        private Node parseAtom() {
+            char c = source.charAt(position++);
+            switch (c) {
+                case '(' -> {
+                    if (source.startsWith("?:", position)) {
+                        position += 2;
+                    } else if (source.startsWith("?<", position) && position + 2 < source.length()
+                            && source.charAt(position + 2) != '=' && source.charAt(position + 2) != '!') {
+                        int close = source.indexOf('>', position);
+                        if (close < 0) throw new Unsupported();
+                        position = close + 1;
+                    } else if (position < source.length() && source.charAt(position) == '?') {
+                        // lookahead and lookbehind
+                        throw new Unsupported();
+                    }
+                    Node group = parseAlternation();
+                    expect(')');
+                    return group;
+                }
+                case '[' -> {
+                    return parseClass();
+                }
+                case '.' -> {
+                    return new OpNode(ANY);
+                }
+                case '^' -> {
+                    return new OpNode(BEGIN);
+                }
+                case '$' -> {
+                    return new OpNode(END);
+                }
+                case '\\' -> {
+                    return parseEscape();
+                }
+                case '*', '+', '?', ')', ']' -> throw new Unsupported();
+                case '{' -> {
+                    if (isQuantifierAt(position - 1)) throw new Unsupported();
+                    return new CharNode(c);
+                }
+                default -> {
+                    return new CharNode(surrogatePair(c));
+                }
+            }
+        }
+
+        private Node parseQuantifier(Node atom) {
+            if (position >= source.length()) {
+                return atom;
+            }
+            int min;
+            int max;
+            char c = source.charAt(position);
+            if (c == '*') {
+                min = 0;
+                max = -1;
+                position++;
+            } else if (c == '+') {
+                min = 1;
+                max = -1;
+                position++;
+            } else if (c == '?') {
+                min = 0;
+                max = 1;
+                position++;
+            } else if (c == '{' && isQuantifierAt(position)) {
+                position++;
+                min = parseNumber();
+                max = min;
+                if (source.charAt(position) == ',') {
+                    position++;
+                    max = source.charAt(position) == '}' ? -1 : parseNumber();
+                }
+                position++; // '}'
+                if (max >= 0 && max < min) throw new Unsupported();
+            } else {
+                return atom;
+            }
+            if (position < source.length() && source.charAt(position) == '?') {
+                position++; // lazy
+            }
+            if (atom.isAssertion()) {
+                throw new Unsupported();
+            }
+            if (position < source.length() && "*+?".indexOf(source.charAt(position)) >= 0) {
+                throw new Unsupported();
+            }
+            return min == 1 && max == 1 ? atom : new Repeat(atom, min, max);
+        }
+
+        /**
+         * @return {@code true} if {@code {n}}, {@code {n,}} or {@code {n,m}} starts at the index;
+         * otherwise a brace is a literal character (ECMA-262 Annex B)
+         */
+        private boolean isQuantifierAt(int index) {
+            int i = index + 1;
+            int digits = 0;
+            while (i < source.length() && Character.isDigit(source.charAt(i))) {
+                i++;
+                digits++;
+            }
+            if (digits == 0 || i >= source.length()) return false;
+            if (source.charAt(i) == ',') {
+                i++;
+                while (i < source.length() && Character.isDigit(source.charAt(i))) i++;
+            }
+            return i < source.length() && source.charAt(i) == '}';
+        }
+
+        private int parseNumber() {
+            int start = position;
+            while (Character.isDigit(source.charAt(position))) {
+                position++;
+            }
+            if (position - start > 5) throw new Unsupported();
+            return Integer.parseInt(source, start, position, 10);
+        }
+
+        private Node parseEscape() {
+            if (position >= source.length()) throw new Unsupported();
+            char c = source.charAt(position++);
+            return switch (c) {
+                case 'd' -> new ClassNode(CharClass.DIGIT);
+                case 'D' -> new ClassNode(CharClass.DIGIT.negate());
+                case 'w' -> new ClassNode(CharClass.WORD);
+                case 'W' -> new ClassNode(CharClass.WORD.negate());
+                case 's' -> new ClassNode(CharClass.SPACE);
+                case 'S' -> new ClassNode(CharClass.SPACE.negate());
+                case 'b' -> new OpNode(WORD_BOUNDARY);
+                case 'B' -> new OpNode(NOT_WORD_BOUNDARY);
+                default -> new CharNode(parseCharacterEscape(c));
+            };
+        }
+
+        /**
+         * Escapes that denote a single character, valid both inside and outside a class.
+         */
+        private int parseCharacterEscape(char c) {
+            switch (c) {
+                case 't':
+                    return '\t';
+                case 'n':
+                    return '\n';
+                case 'v':
+                    return '\u000b';
+                case 'f':
+                    return '\f';
+                case 'r':
+                    return '\r';
+                case '0':
+                    if (position < source.length() && Character.isDigit(source.charAt(position))) throw new Unsupported();
+                    return '\0';
+                case 'x':
+                    return (char) parseHex(2);
+                case 'u':
+                    if (position < source.length() && source.charAt(position) == '{') throw new Unsupported();
+                    char unit = (char) parseHex(4);
+                    if (Character.isHighSurrogate(unit) && source.startsWith("\\u", position)) {
+                        // an escaped surrogate pair stands for one code point, as in java.util.regex
+                        int mark = position;
+                        position += 2;
+                        char low = (char) parseHex(4);
+                        if (Character.isLowSurrogate(low)) return Character.toCodePoint(unit, low);
+                        position = mark;
+                    }
+                    return unit;
+                case 'c':
+                    if (position < source.length() && isAsciiLetter(source.charAt(position))) {
+                        return (char) (source.charAt(position++) % 32);
+                    }
+                    throw new Unsupported();
+                default:
+                    // backreferences, \k, \p, \P and other letter escapes are left to the fallback engine
+                    if (Character.isLetterOrDigit(c)) throw new Unsupported();
+                    return c;
+            }
+        }
+
+        private int parseHex(int digits) {
+            if (position + digits > source.length()) throw new Unsupported();
+            int value = 0;
+            for (int i = 0; i < digits; i++) {
+                int digit = Character.digit(source.charAt(position++), 16);
+                if (digit < 0) throw new Unsupported();
+                value = value * 16 + digit;
+            }
+            return value;
+        }
+
+        private Node parseClass() {
+            boolean negated = position < source.length() && source.charAt(position) == '^';
+            if (negated) position++;
+            CharClass.Builder builder = new CharClass.Builder();
+            while (true) {
+                if (position >= source.length()) throw new Unsupported();
+                char c = source.charAt(position);
+                if (c == ']') {
+                    position++;
+                    break;
+                }
+                CharClass set = parseClassSet();
+                if (set != null) {
+                    builder.add(set);
+                    continue;
+                }
+                int low = parseClassChar();
+                if (position + 1 < source.length() && source.charAt(position) == '-' && source.charAt(position + 1) != ']') {
+                    position++;
+                    if (parseClassSet() != null) throw new Unsupported();
+                    int high = parseClassChar();
+                    if (high < low) throw new Unsupported();
+                    builder.add(low, high);
+                } else {
+                    builder.add(low, low);
+                }
+            }
+            CharClass charClass = builder.build();
+            return new ClassNode(negated ? charClass.negate() : charClass);
+        }
+
+        /**
+         * @return the class escape {@code \d \D \w \W \s \S} at the position, consuming it, or {@code null}
+         */
+        private CharClass parseClassSet() {
+            if (source.charAt(position) != '\\' || position + 1 >= source.length()) {
+                return null;
+            }
+            CharClass set = switch (source.charAt(position + 1)) {
+                case 'd' -> CharClass.DIGIT;
+                case 'D' -> CharClass.DIGIT.negate();
+                case 'w' -> CharClass.WORD;
+                case 'W' -> CharClass.WORD.negate();
+                case 's' -> CharClass.SPACE;
+                case 'S' -> CharClass.SPACE.negate();
+                default -> null;
+            };
+            if (set != null) {
+                position += 2;
+            }
+            return set;
+        }
+
+        private int parseClassChar() {
+            char c = source.charAt(position++);
+            if (c != '\\') {
+                return surrogatePair(c);
+            }
+            if (position >= source.length()) throw new Unsupported();
+            char escaped = source.charAt(position++);
+            if (escaped == 'b') return '\b';
+            if (escaped == '-') return '-';
+            return parseCharacterEscape(escaped);
+        }
+
+        /**
+         * @return the code point of the literal just read, joined with the low surrogate that follows a high one
+         */
+        private int surrogatePair(char c) {
+            if (Character.isHighSurrogate(c) && position < source.length() && Character.isLowSurrogate(source.charAt(position))) {
+                return Character.toCodePoint(c, source.charAt(position++));
+            }
+            return c;
+        }
+
+        private void expect(char c) {
+            if (position >= source.length() || source.charAt(position) != c) throw new Unsupported();
+            position++;
+        }
+
+        private static boolean isAsciiLetter(char c) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+        }
+    }
+
+    private static final class Unsupported extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Unsupported() {
+            super(null, null, false, false);
+        }
+    }
+}
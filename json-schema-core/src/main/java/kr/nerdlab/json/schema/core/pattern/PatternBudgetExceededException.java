@@ -0,0 +1,13 @@
+package kr.nerdlab.json.schema.core.pattern;
+
+/**
+ * Thrown when a pattern that needs the backtracking engine takes more steps than its budget allows,
+ * which usually means catastrophic backtracking.
+ */
+public class PatternBudgetExceededException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public PatternBudgetExceededException(String pattern, long budget) {
+        super("Matching pattern '" + pattern + "' exceeded the budget of " + budget + " steps");
+    }
+}
@@ -0,0 +1,126 @@
+package kr.nerdlab.json.schema.core.pattern;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles {@code "pattern"} expressions and keeps the most recently used ones, up to a fixed capacity.
+ * <p>
+ * Expressions within the ECMA-262 subset supported by the linear-time engine are matched in time proportional
+ * to the input length, which makes them immune to catastrophic backtracking (ReDoS). Other expressions, such as
+ * those with backreferences or lookaround, fall back to {@link java.util.regex} limited by a step budget; a
+ * match that exceeds it fails with a {@link PatternBudgetExceededException}.
+ * Instances are thread-safe.
+ */
+public final class PatternCache {
+    public static final int DEFAULT_CAPACITY = 1024;
+    /**
+     * Character reads allowed for one fallback match; a linear scan of a 1 MB string stays far below it.
+     */
+    public static final long DEFAULT_STEP_BUDGET = 10_000_000L;
+
+    private static final PatternCache SHARED = new PatternCache();
+
+    private final int capacity;
+    private final boolean linearEngine;
+    private final long stepBudget;
+    private final Map<String, PatternMatcher> patterns;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder linear = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder budgetExceeded = new LongAdder();
+
+    public PatternCache() {
+        this(DEFAULT_CAPACITY, true, DEFAULT_STEP_BUDGET);
+    }
+
+    /**
+     * @param capacity     the maximum number of cached patterns
+     * @param linearEngine whether to use the linear-time engine where possible; if {@code false}, every
+     *                     expression runs on {@link java.util.regex} with the step budget
+     * @param stepBudget   the character reads allowed for one match on {@link java.util.regex}
+     */
+    public PatternCache(int capacity, boolean linearEngine, long stepBudget) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1, but was: " + capacity);
+        }
+        if (stepBudget < 1) {
+            throw new IllegalArgumentException("stepBudget must be at least 1, but was: " + stepBudget);
+        }
+        this.capacity = capacity;
+        this.linearEngine = linearEngine;
+        this.stepBudget = stepBudget;
+        this.patterns = new LinkedHashMap<>(Math.min(capacity, 64), 0.75f, true);
+    }
+
+    /**
+     * @return the cache used when no other is configured
+     */
+    public static PatternCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * @param regex the expression
+     * @return the compiled expression
+     * @throws java.util.regex.PatternSyntaxException if the expression is not valid
+     */
+    public PatternMatcher get(String regex) {
+        synchronized (patterns) {
+            PatternMatcher cached = patterns.get(regex);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        PatternMatcher compiled = compile(regex);
+        synchronized (patterns) {
+            PatternMatcher raced = patterns.putIfAbsent(regex, compiled);
+            if (raced != null) {
+                return raced;
+            }
+            if (patterns.size() > capacity) {
+                var eldest = patterns.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+        if (compiled.isLinear()) linear.increment();
+        else fallbacks.increment();
+        return compiled;
+    }
+
+    private PatternMatcher compile(String regex) {
+        if (linearEngine) {
+            LinearPattern pattern = LinearPattern.compile(regex);
+            if (pattern != null) {
+                return pattern;
+            }
+        }
+        return new BudgetedPattern(Pattern.compile(regex), stepBudget, budgetExceeded);
+    }
+
+    public PatternStats stats() {
+        return new PatternStats(hits.sum(), misses.sum(), evictions.sum(),
+                linear.sum(), fallbacks.sum(), budgetExceeded.sum());
+    }
+
+    public int size() {
+        synchronized (patterns) {
+            return patterns.size();
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (patterns) {
+            patterns.clear();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package kr.nerdlab.json.schema.core.pattern;
+
+/**
+ * A compiled {@code "pattern"} regular expression.
+ * Matching follows JSON Schema: the expression may match anywhere in the input unless it is anchored.
+ * Implementations are immutable and safe to share between threads.
+ *
+ * @see PatternCache
+ */
+public interface PatternMatcher {
+
+    /**
+     * @return {@code true} if the expression matches somewhere in the input
+     * @throws PatternBudgetExceededException if the backtracking engine gave up before finding an answer
+     */
+    boolean find(CharSequence input);
+
+    /**
+     * @return the source of the expression
+     */
+    String pattern();
+
+    /**
+     * @return {@code true} if matching takes time linear in the input length, {@code false} for the
+     * budgeted backtracking fallback
+     */
+    boolean isLinear();
+}
@@ -0,0 +1,20 @@
+package kr.nerdlab.json.schema.core.pattern;
+
+/**
+ * A snapshot of the counters of a {@link PatternCache}.
+ *
+ * @param hitCount             lookups answered from the cache
+ * @param missCount            lookups that compiled a pattern
+ * @param evictionCount        patterns evicted to stay within the capacity
+ * @param linearCount          compiled patterns that use the linear-time engine
+ * @param fallbackCount        compiled patterns that fell back to {@link java.util.regex}
+ * @param budgetExceededCount  fallback matches aborted because they exceeded the step budget
+ */
+public record PatternStats(long hitCount, long missCount, long evictionCount,
+                           long linearCount, long fallbackCount, long budgetExceededCount) {
+
+    public double hitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+}
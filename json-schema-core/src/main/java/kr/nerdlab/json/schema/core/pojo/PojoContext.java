@@ -0,0 +1,13 @@
+package kr.nerdlab.json.schema.core.pojo;
+
+import kr.nerdlab.json.schema.core.validation.ValidationContext;
+import kr.nerdlab.json.schema.core.validation.ValidationMode;
+
+/**
+ * Per-thread, reusable state of a POJO validation.
+ * Nothing is allocated until an error is reported.
+ */
+final class PojoContext {
+    final ValidationContext validation = new ValidationContext(ValidationMode.COLLECT_ALL);
+    boolean inUse;
+}
@@ -0,0 +1,59 @@
+package kr.nerdlab.json.schema.core.pojo;
+
+import kr.nerdlab.json.schema.core.metadata.ClassMetadata;
+import kr.nerdlab.json.schema.core.metadata.PropertyDescriptor;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The property constraints of one class, built once from its {@link ClassMetadata} and cached in a
+ * {@link ClassValue}. Fields that can never fail validation are left out.
+ */
+final class PojoSchema {
+    private static final ClassValue<PojoSchema> CACHE = new ClassValue<>() {
+        @Override
+        protected PojoSchema computeValue(Class<?> type) {
+            return new PojoSchema(type);
+        }
+    };
+
+    private final PropertyConstraint[] constraints;
+
+    private PojoSchema(Class<?> type) {
+        List<PropertyDescriptor> properties = ClassMetadata.of(type).getProperties();
+        List<PropertyConstraint> constraints = new ArrayList<>(properties.size());
+        if (!properties.isEmpty()) {
+            MethodHandles.Lookup lookup = privateLookup(type);
+            for (PropertyDescriptor property : properties) {
+                PropertyConstraint constraint = PropertyConstraint.of(property, lookup);
+                if (constraint != null) {
+                    constraints.add(constraint);
+                }
+            }
+        }
+        this.constraints = constraints.toArray(PropertyConstraint[]::new);
+    }
+
+    static PojoSchema of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    void validate(Object target, PojoContext context) {
+        for (PropertyConstraint constraint : constraints) {
+            constraint.validate(target, context);
+            if (context.validation.isStopped()) {
+                return;
+            }
+        }
+    }
+
+    private static MethodHandles.Lookup privateLookup(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access fields of " + type.getName(), e);
+        }
+    }
+}
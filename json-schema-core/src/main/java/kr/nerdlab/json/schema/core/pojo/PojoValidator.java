@@ -0,0 +1,61 @@
+package kr.nerdlab.json.schema.core.pojo;
+
+import kr.nerdlab.json.schema.annotation.SchemaProperty;
+import kr.nerdlab.json.schema.core.validation.ValidationMode;
+import kr.nerdlab.json.schema.core.validation.ValidationResult;
+
+import java.util.Set;
+
+/**
+ * Validates an object graph directly against the keywords of its {@link SchemaProperty} annotations, without
+ * converting it to a JSON tree first.
+ * <p>
+ * Supported keywords are {@code required}, {@code pattern}, {@code minLength}, {@code maxLength},
+ * {@code minimum}, {@code maximum}, {@code exclusiveMinimum}, {@code exclusiveMaximum}, {@code multipleOf},
+ * {@code minItems}, {@code maxItems} and {@code uniqueItems}. Nested beans, and beans inside lists and arrays,
+ * are validated recursively. Error messages and locations use the same notation as the tree validator; schema
+ * pointers refer to the schema the {@code DefaultJsonSchemaGenerator} generates for the root class.
+ * <p>
+ * Field accessors are generated once per class. Validating a valid object allocates nothing after warm-up,
+ * except for {@code uniqueItems} on collections larger than a few items. The object graph must be acyclic,
+ * as any graph that serializes to JSON is.
+ */
+public final class PojoValidator {
+    private static final ThreadLocal<PojoContext> CONTEXT = ThreadLocal.withInitial(PojoContext::new);
+
+    private PojoValidator() {
+    }
+
+    /**
+     * @return the validation errors, or an empty set if the object is valid
+     */
+    public static Set<String> validate(Object target) {
+        return validate(target, ValidationMode.COLLECT_ALL).getMessages();
+    }
+
+    public static ValidationResult validate(Object target, ValidationMode mode) {
+        PojoContext context = CONTEXT.get();
+        if (context.inUse) {
+            context = new PojoContext();
+        }
+        context.inUse = true;
+        try {
+            context.validation.reset(mode);
+            validateObject(target, context);
+            return context.validation.toResult();
+        } finally {
+            context.inUse = false;
+        }
+    }
+
+    /**
+     * @return {@code true} if the object is valid, stopping at the first violation
+     */
+    public static boolean isValid(Object target) {
+        return validate(target, ValidationMode.FAIL_FAST).isValid();
+    }
+
+    static void validateObject(Object target, PojoContext context) {
+        PojoSchema.of(target.getClass()).validate(target, context);
+    }
+}
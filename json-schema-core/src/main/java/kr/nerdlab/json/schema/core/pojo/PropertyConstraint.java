@@ -0,0 +1,452 @@
+package kr.nerdlab.json.schema.core.pojo;
+
+import kr.nerdlab.json.schema.annotation.SchemaProperty;
+import kr.nerdlab.json.schema.core.metadata.PropertyDescriptor;
+import kr.nerdlab.json.schema.core.metadata.PropertyKind;
+import kr.nerdlab.json.schema.core.pattern.PatternBudgetExceededException;
+import kr.nerdlab.json.schema.core.pattern.PatternCache;
+import kr.nerdlab.json.schema.core.pattern.PatternMatcher;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * The validation keywords of one {@link SchemaProperty} field, together with a {@link MethodHandle} reading the
+ * field. Primitive fields are read through a handle returning {@code long} or {@code double}, so they are never
+ * boxed.
+ */
+final class PropertyConstraint {
+    private static final MethodType OBJECT_GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType LONG_GETTER = MethodType.methodType(long.class, Object.class);
+    private static final MethodType DOUBLE_GETTER = MethodType.methodType(double.class, Object.class);
+    /**
+     * Up to this size uniqueness is checked pairwise, without allocating a set.
+     */
+    private static final int PAIRWISE_UNIQUE_LIMIT = 16;
+
+    private enum Access { REFERENCE, LONG, DOUBLE, NONE }
+
+    private final String name;
+    private final String pointerName;
+    private final String definitionPointer;
+    private final PropertyKind kind;
+    private final Access access;
+    private final MethodHandle getter;
+    private final boolean required;
+
+    private final PatternMatcher pattern;
+    private final long minLength;
+    private final long maxLength;
+
+    private final double minimum;
+    private final double maximum;
+    private final double exclusiveMinimum;
+    private final double exclusiveMaximum;
+    private final double multipleOf;
+    private final long integralMultipleOf;
+
+    private final long minItems;
+    private final long maxItems;
+    private final boolean uniqueItems;
+
+    private PropertyConstraint(PropertyDescriptor descriptor, MethodHandles.Lookup lookup) {
+        SchemaProperty property = descriptor.getSchemaProperty();
+        Field field = descriptor.getField();
+        this.name = descriptor.getName();
+        this.pointerName = name.replace("~", "~0").replace("/", "~1");
+        this.definitionPointer = "#/definitions/" + field.getDeclaringClass().getSimpleName();
+        this.kind = descriptor.getKind();
+        this.required = property.required();
+
+        this.pattern = property.pattern().isEmpty() ? null : PatternCache.shared().get(property.pattern());
+        this.minLength = property.minLength();
+        this.maxLength = property.maxLength();
+
+        this.minimum = property.minimum();
+        this.maximum = property.maximum();
+        this.exclusiveMinimum = property.exclusiveMinimum();
+        this.exclusiveMaximum = property.exclusiveMaximum();
+        this.multipleOf = property.multipleOf();
+        this.integralMultipleOf = isIntegral(multipleOf) && multipleOf != 0 ? (long) multipleOf : 0;
+
+        this.minItems = property.minItems();
+        this.maxItems = property.maxItems();
+        this.uniqueItems = property.uniqueItems();
+
+        Class<?> fieldType = field.getType();
+        if (fieldType == boolean.class) {
+            this.access = Access.NONE;
+            this.getter = null;
+        } else if (fieldType == float.class || fieldType == double.class) {
+            this.access = hasNumericKeywords() ? Access.DOUBLE : Access.NONE;
+            this.getter = access == Access.NONE ? null : unreflect(lookup, field, DOUBLE_GETTER);
+        } else if (fieldType.isPrimitive() && fieldType != char.class) {
+            this.access = hasNumericKeywords() ? Access.LONG : Access.NONE;
+            this.getter = access == Access.NONE ? null : unreflect(lookup, field, LONG_GETTER);
+        } else {
+            this.access = Access.REFERENCE;
+            this.getter = unreflect(lookup, field, OBJECT_GETTER);
+        }
+    }
+
+    /**
+     * @return the constraint of the descriptor, or {@code null} if the field can never produce an error
+     */
+    static PropertyConstraint of(PropertyDescriptor descriptor, MethodHandles.Lookup lookup) {
+        PropertyConstraint constraint = new PropertyConstraint(descriptor, lookup);
+        return constraint.access == Access.NONE ? null : constraint;
+    }
+
+    void validate(Object owner, PojoContext context) {
+        switch (access) {
+            case LONG -> {
+                long value = readLong(owner);
+                context.validation.pushProperty(name);
+                checkLong(value, context);
+                context.validation.pop();
+            }
+            case DOUBLE -> {
+                double value = readDouble(owner);
+                context.validation.pushProperty(name);
+                checkDouble(value, context);
+                context.validation.pop();
+            }
+            case REFERENCE -> {
+                Object value = readReference(owner);
+                if (value == null) {
+                    if (required) {
+                        context.validation.report("required", ownerPointer(context, 0) + "/required",
+                                "'%s': required property '%s' is missing", name);
+                    }
+                    return;
+                }
+                context.validation.pushProperty(name);
+                checkValue(value, context);
+                context.validation.pop();
+            }
+            case NONE -> {
+            }
+        }
+    }
+
+    private void checkValue(Object value, PojoContext context) {
+        if (value instanceof CharSequence string) {
+            checkString(string, context);
+        } else if (value instanceof Enum<?> constant) {
+            checkString(constant.name(), context);
+        } else if (value instanceof Number number) {
+            checkNumber(number, context);
+        } else if (value instanceof List<?> list) {
+            checkList(list, context);
+        } else if (value instanceof Collection<?> collection) {
+            checkCollection(collection, context);
+        } else if (value.getClass().isArray()) {
+            checkArray(value, context);
+        } else if (kind == PropertyKind.OBJECT) {
+            PojoValidator.validateObject(value, context);
+        }
+    }
+
+    private void checkString(CharSequence value, PojoContext context) {
+        if (minLength >= 0 || maxLength >= 0) {
+            int length = Character.codePointCount(value, 0, value.length());
+            if (minLength >= 0 && length < minLength) {
+                report(context, "minLength", "'%s': string length %d is less than minLength %d", length, minLength);
+            }
+            if (maxLength >= 0 && length > maxLength) {
+                report(context, "maxLength", "'%s': string length %d is greater than maxLength %d", length, maxLength);
+            }
+        }
+        if (pattern != null) {
+            try {
+                if (!pattern.find(value)) {
+                    report(context, "pattern", "'%s': string value '%s' does not match pattern '%s'",
+                            value.toString(), pattern.pattern());
+                }
+            } catch (PatternBudgetExceededException e) {
+                report(context, "pattern", "'%s': matching string value '%s' against pattern '%s' exceeded the step budget",
+                        value.toString(), pattern.pattern());
+            }
+        }
+    }
+
+    private void checkNumber(Number value, PojoContext context) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            checkLong(value.longValue(), context);
+        } else if (value instanceof BigDecimal || value instanceof BigInteger) {
+            checkBig(value instanceof BigDecimal decimal ? decimal : new BigDecimal((BigInteger) value), context);
+        } else {
+            checkDouble(value.doubleValue(), context);
+        }
+    }
+
+    private void checkLong(long value, PojoContext context) {
+        if (!Double.isNaN(minimum) && value < minimum) {
+            reportBelowMinimum(Long.toString(value), context);
+        }
+        if (!Double.isNaN(maximum) && value > maximum) {
+            reportAboveMaximum(Long.toString(value), context);
+        }
+        if (!Double.isNaN(exclusiveMinimum) && value <= exclusiveMinimum) {
+            reportNotAboveExclusiveMinimum(Long.toString(value), context);
+        }
+        if (!Double.isNaN(exclusiveMaximum) && value >= exclusiveMaximum) {
+            reportNotBelowExclusiveMaximum(Long.toString(value), context);
+        }
+        if (!Double.isNaN(multipleOf)) {
+            boolean multiple = integralMultipleOf != 0
+                    ? value % integralMultipleOf == 0
+                    : isMultiple(BigDecimal.valueOf(value));
+            if (!multiple) {
+                reportNotMultiple(Long.toString(value), context);
+            }
+        }
+    }
+
+    private void checkDouble(double value, PojoContext context) {
+        if (!Double.isNaN(minimum) && value < minimum) {
+            reportBelowMinimum(formatNumber(value), context);
+        }
+        if (!Double.isNaN(maximum) && value > maximum) {
+            reportAboveMaximum(formatNumber(value), context);
+        }
+        if (!Double.isNaN(exclusiveMinimum) && value <= exclusiveMinimum) {
+            reportNotAboveExclusiveMinimum(formatNumber(value), context);
+        }
+        if (!Double.isNaN(exclusiveMaximum) && value >= exclusiveMaximum) {
+            reportNotBelowExclusiveMaximum(formatNumber(value), context);
+        }
+        if (!Double.isNaN(multipleOf)) {
+            boolean multiple = integralMultipleOf != 0 && isIntegral(value) && Math.abs(value) < 0x1p53
+                    ? (long) value % integralMultipleOf == 0
+                    : Double.isFinite(value) && (isExactQuotient(value) || isMultiple(BigDecimal.valueOf(value)));
+            if (!multiple) {
+                reportNotMultiple(formatNumber(value), context);
+            }
+        }
+    }
+
+    private void checkBig(BigDecimal value, PojoContext context) {
+        if (!Double.isNaN(minimum) && value.compareTo(BigDecimal.valueOf(minimum)) < 0) {
+            reportBelowMinimum(value.toString(), context);
+        }
+        if (!Double.isNaN(maximum) && value.compareTo(BigDecimal.valueOf(maximum)) > 0) {
+            reportAboveMaximum(value.toString(), context);
+        }
+        if (!Double.isNaN(exclusiveMinimum) && value.compareTo(BigDecimal.valueOf(exclusiveMinimum)) <= 0) {
+            reportNotAboveExclusiveMinimum(value.toString(), context);
+        }
+        if (!Double.isNaN(exclusiveMaximum) && value.compareTo(BigDecimal.valueOf(exclusiveMaximum)) >= 0) {
+            reportNotBelowExclusiveMaximum(value.toString(), context);
+        }
+        if (!Double.isNaN(multipleOf) && !isMultiple(value)) {
+            reportNotMultiple(value.toString(), context);
+        }
+    }
+
+    /**
+     * Allocation-free positive check: the quotient is integral and multiplies back to the value exactly.
+     */
+    private boolean isExactQuotient(double value) {
+        double quotient = value / multipleOf;
+        return isIntegral(quotient) && quotient * multipleOf == value;
+    }
+
+    private boolean isMultiple(BigDecimal value) {
+        return multipleOf != 0 && value.remainder(BigDecimal.valueOf(multipleOf)).signum() == 0;
+    }
+
+    private void checkList(List<?> list, PojoContext context) {
+        int size = list.size();
+        checkItemCount(size, context);
+        if (list instanceof RandomAccess) {
+            if (uniqueItems) {
+                checkUnique(list, size, context);
+            }
+            if (kind == PropertyKind.LIST) {
+                for (int i = 0; i < size && !context.validation.isStopped(); i++) {
+                    validateItem(list.get(i), i, context);
+                }
+            }
+        } else {
+            checkCollection(list, context);
+        }
+    }
+
+    private void checkCollection(Collection<?> collection, PojoContext context) {
+        if (!(collection instanceof List<?>)) {
+            checkItemCount(collection.size(), context);
+        }
+        if (uniqueItems && !(collection instanceof Set<?>)) {
+            List<?> items = List.copyOf(collection);
+            checkUnique(items, items.size(), context);
+        }
+        int index = 0;
+        for (Object item : collection) {
+            if (context.validation.isStopped()) {
+                return;
+            }
+            validateItem(item, index++, context);
+        }
+    }
+
+    private void checkArray(Object array, PojoContext context) {
+        int size = Array.getLength(array);
+        checkItemCount(size, context);
+        if (array instanceof Object[] items) {
+            if (uniqueItems) {
+                checkUnique(List.of(items), size, context);
+            }
+            for (int i = 0; i < size && !context.validation.isStopped(); i++) {
+                validateItem(items[i], i, context);
+            }
+        } else if (uniqueItems) {
+            List<Object> items = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                items.add(Array.get(array, i));
+            }
+            checkUnique(items, size, context);
+        }
+    }
+
+    private void checkItemCount(int size, PojoContext context) {
+        if (minItems >= 0 && size < minItems) {
+            report(context, "minItems", "'%s': array has %d items, fewer than minItems %d", size, minItems);
+        }
+        if (maxItems >= 0 && size > maxItems) {
+            report(context, "maxItems", "'%s': array has %d items, more than maxItems %d", size, maxItems);
+        }
+    }
+
+    private void checkUnique(List<?> items, int size, PojoContext context) {
+        if (size <= PAIRWISE_UNIQUE_LIMIT) {
+            for (int i = 1; i < size; i++) {
+                Object item = items.get(i);
+                for (int j = 0; j < i; j++) {
+                    if (Objects.equals(items.get(j), item)) {
+                        reportDuplicate(j, i, context);
+                        return;
+                    }
+                }
+            }
+            return;
+        }
+        Set<Object> seen = new HashSet<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            if (!seen.add(items.get(i))) {
+                reportDuplicate(items.indexOf(items.get(i)), i, context);
+                return;
+            }
+        }
+    }
+
+    private static void validateItem(Object item, int index, PojoContext context) {
+        if (item == null || PropertyKind.of(item.getClass()) != PropertyKind.OBJECT) {
+            return;
+        }
+        context.validation.pushIndex(index);
+        PojoValidator.validateObject(item, context);
+        context.validation.pop();
+    }
+
+    private void reportDuplicate(int first, int second, PojoContext context) {
+        report(context, "uniqueItems", "'%s': array items at %d and %d are not unique", first, second);
+    }
+
+    private void reportBelowMinimum(String value, PojoContext context) {
+        report(context, "minimum", "'%s': value %s is less than minimum %s", value, formatNumber(minimum));
+    }
+
+    private void reportAboveMaximum(String value, PojoContext context) {
+        report(context, "maximum", "'%s': value %s is greater than maximum %s", value, formatNumber(maximum));
+    }
+
+    private void reportNotAboveExclusiveMinimum(String value, PojoContext context) {
+        report(context, "exclusiveMinimum", "'%s': value %s is not greater than exclusiveMinimum %s", value, formatNumber(exclusiveMinimum));
+    }
+
+    private void reportNotBelowExclusiveMaximum(String value, PojoContext context) {
+        report(context, "exclusiveMaximum", "'%s': value %s is not less than exclusiveMaximum %s", value, formatNumber(exclusiveMaximum));
+    }
+
+    private void reportNotMultiple(String value, PojoContext context) {
+        report(context, "multipleOf", "'%s': value %s is not a multiple of %s", value, formatNumber(multipleOf));
+    }
+
+    /**
+     * Reports a violation of this property's value; the property name is on top of the location stack.
+     */
+    private void report(PojoContext context, String keyword, String template, Object... arguments) {
+        context.validation.report(keyword, ownerPointer(context, 1) + "/properties/" + pointerName + "/" + keyword,
+                template, arguments);
+    }
+
+    /**
+     * The generator emits the root class at {@code #} and every other class under {@code #/definitions}.
+     *
+     * @param segments the number of location segments pushed since the owner was entered
+     */
+    private String ownerPointer(PojoContext context, int segments) {
+        return context.validation.depth() == segments ? "#" : definitionPointer;
+    }
+
+    private boolean hasNumericKeywords() {
+        return !Double.isNaN(minimum) || !Double.isNaN(maximum) || !Double.isNaN(multipleOf)
+                || !Double.isNaN(exclusiveMinimum) || !Double.isNaN(exclusiveMaximum);
+    }
+
+    private Object readReference(Object owner) {
+        try {
+            return (Object) getter.invokeExact(owner);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot read property '" + name + "'", e);
+        }
+    }
+
+    private long readLong(Object owner) {
+        try {
+            return (long) getter.invokeExact(owner);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot read property '" + name + "'", e);
+        }
+    }
+
+    private double readDouble(Object owner) {
+        try {
+            return (double) getter.invokeExact(owner);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot read property '" + name + "'", e);
+        }
+    }
+
+    private static MethodHandle unreflect(MethodHandles.Lookup lookup, Field field, MethodType type) {
+        try {
+            return lookup.unreflectGetter(field).asType(type);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access field " + field, e);
+        }
+    }
+
+    private static boolean isIntegral(double value) {
+        return Double.isFinite(value) && value == Math.rint(value);
+    }
+
+    static String formatNumber(double value) {
+        if (isIntegral(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+}
@@ -0,0 +1,208 @@
+package kr.nerdlab.json.schema.core.validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mutable state of one validation run: the current instance location and the errors found so far.
+ * <p>
+ * The location is a stack of segments that validators push and pop as they descend; it is copied only when
+ * an error is reported, so walking valid content never builds path strings. Once the error budget of the
+ * {@link ValidationMode} is used up, {@link #isStopped()} turns {@code true} and validators should return.
+ * A context is not thread-safe; it can be reused for another run after {@link #reset(ValidationMode)}.
+ * For parallel validation every task works on its own {@link #fork()} of the context, which is
+ * {@linkplain #merge(ValidationContext) merged} back in document order.
+ */
+public final class ValidationContext {
+    private static final Object[] ROOT = new Object[0];
+
+    private ValidationMode mode;
+    private String[] names = new String[16];
+    private int[] indices = new int[16];
+    private int depth;
+    private long pushCount;
+    private List<ValidationError> errors;
+    private int errorCount;
+    private boolean stopped;
+    /**
+     * Shared by all forks of a fail-fast run, so that the first violation anywhere stops the other tasks.
+     */
+    private AtomicBoolean cancellation;
+
+    public ValidationContext(ValidationMode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Prepares the context for a new run, discarding the location and errors of the previous one.
+     */
+    public void reset(ValidationMode mode) {
+        this.mode = mode;
+        this.depth = 0;
+        this.pushCount = 0;
+        this.errors = null;
+        this.errorCount = 0;
+        this.stopped = false;
+        this.cancellation = null;
+    }
+
+    public void pushProperty(String name) {
+        ensureDepth();
+        names[depth] = name;
+        depth++;
+        pushCount++;
+    }
+
+    public void pushIndex(int index) {
+        ensureDepth();
+        names[depth] = null;
+        indices[depth] = index;
+        depth++;
+        pushCount++;
+    }
+
+    public void pop() {
+        depth--;
+    }
+
+    /**
+     * @return the number of segments between the root and the current location
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * @return the number of instance values validated so far, including the root and the values of merged forks
+     */
+    public long getNodesVisited() {
+        return pushCount + 1;
+    }
+
+    /**
+     * Reports a violation at the current location.
+     *
+     * @param keyword       the failing keyword
+     * @param schemaPointer the location of the keyword in the schema
+     * @param template      the message template; see {@link ValidationError}
+     * @param arguments     the message arguments following the instance path
+     */
+    public void report(String keyword, String schemaPointer, String template, Object... arguments) {
+        errorCount++;
+        if (mode.isRecordingErrors()) {
+            if (errors == null) {
+                errors = new ArrayList<>();
+            }
+            errors.add(new ValidationError(keyword, snapshot(), schemaPointer, template, arguments));
+        }
+        if (errorCount >= mode.getMaxErrors()) {
+            stopped = true;
+            if (cancellation != null && !mode.isRecordingErrors()) {
+                cancellation.set(true);
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} once the error budget is used up and validation should not continue
+     */
+    public boolean isStopped() {
+        return stopped || (cancellation != null && cancellation.get());
+    }
+
+    public ValidationMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Creates a context for validating part of the current instance on another thread.
+     * The fork starts at the current location with the full error budget and no errors.
+     */
+    public ValidationContext fork() {
+        if (cancellation == null) {
+            cancellation = new AtomicBoolean();
+        }
+        ValidationContext fork = new ValidationContext(mode);
+        fork.names = Arrays.copyOf(names, Math.max(16, depth * 2));
+        fork.indices = Arrays.copyOf(indices, fork.names.length);
+        fork.depth = depth;
+        fork.cancellation = cancellation;
+        return fork;
+    }
+
+    /**
+     * Appends the errors of a fork, as if they had been reported here, until the error budget is used up.
+     * Merging the forks of consecutive parts in order gives the same errors as validating sequentially.
+     */
+    public void merge(ValidationContext fork) {
+        pushCount += fork.pushCount;
+        for (int i = 0; i < fork.errorCount && !stopped; i++) {
+            errorCount++;
+            if (mode.isRecordingErrors()) {
+                if (errors == null) {
+                    errors = new ArrayList<>();
+                }
+                errors.add(fork.errors.get(i));
+            }
+            if (errorCount >= mode.getMaxErrors()) {
+                stopped = true;
+            }
+        }
+    }
+
+    /**
+     * Adds an error found by an earlier run, as if it had been reported here, unless the error budget is used up.
+     * Incremental revalidation uses it to keep the errors of the parts of a document that did not change.
+     */
+    public void carryOver(ValidationError error) {
+        if (stopped) {
+            return;
+        }
+        errorCount++;
+        if (mode.isRecordingErrors()) {
+            if (errors == null) {
+                errors = new ArrayList<>();
+            }
+            errors.add(error);
+        }
+        if (errorCount >= mode.getMaxErrors()) {
+            stopped = true;
+        }
+    }
+
+    public boolean hasErrors() {
+        return errorCount > 0;
+    }
+
+    /**
+     * @return the result of the run; the context no longer refers to the returned errors
+     */
+    public ValidationResult toResult() {
+        if (errorCount == 0) {
+            return ValidationResult.VALID;
+        }
+        List<ValidationError> recorded = errors == null ? List.of() : errors;
+        errors = null;
+        return new ValidationResult(true, recorded, stopped);
+    }
+
+    private Object[] snapshot() {
+        if (depth == 0) {
+            return ROOT;
+        }
+        Object[] segments = new Object[depth];
+        for (int i = 0; i < depth; i++) {
+            segments[i] = names[i] != null ? names[i] : Integer.valueOf(indices[i]);
+        }
+        return segments;
+    }
+
+    private void ensureDepth() {
+        if (depth == names.length) {
+            names = Arrays.copyOf(names, depth * 2);
+            indices = Arrays.copyOf(indices, depth * 2);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package kr.nerdlab.json.schema.core.validation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A single violation: the failing keyword, where it failed in the instance and where that keyword is in the schema.
+ * <p>
+ * The instance location is kept as raw segments and the message as a template with its arguments;
+ * both are rendered only when first read.
+ */
+public final class ValidationError {
+    private final String keyword;
+    private final Object[] instanceSegments;
+    private final String schemaPointer;
+    private final String template;
+    private final Object[] arguments;
+    private String instancePath;
+    private String message;
+
+    /**
+     * @param instanceSegments property names ({@link String}) and array indices ({@link Integer}) from the root
+     * @param template         a {@link String#format(String, Object...)} template whose first argument is the
+     *                         instance path, followed by {@code arguments}
+     */
+    ValidationError(String keyword, Object[] instanceSegments, String schemaPointer, String template, Object[] arguments) {
+        this.keyword = keyword;
+        this.instanceSegments = instanceSegments;
+        this.schemaPointer = schemaPointer;
+        this.template = template;
+        this.arguments = arguments;
+    }
+
+    /**
+     * @return the name of the failing keyword, such as {@code "required"} or {@code "pattern"}
+     */
+    public String getKeyword() {
+        return keyword;
+    }
+
+    /**
+     * @return the property names ({@link String}) and array indices ({@link Integer}) leading to the instance
+     */
+    public List<Object> getInstanceSegments() {
+        return Collections.unmodifiableList(Arrays.asList(instanceSegments));
+    }
+
+    /**
+     * @return the instance location as used in messages: {@code #} for the root, otherwise the segments joined by
+     * {@code /} without escaping
+     */
+    public String getInstancePath() {
+        String path = instancePath;
+        if (path == null) {
+            if (instanceSegments.length == 0) {
+                path = "#";
+            } else {
+                StringBuilder builder = new StringBuilder();
+                for (int i = 0; i < instanceSegments.length; i++) {
+                    if (i > 0) builder.append('/');
+                    builder.append(instanceSegments[i]);
+                }
+                path = builder.toString();
+            }
+            instancePath = path;
+        }
+        return path;
+    }
+
+    /**
+     * @return the instance location as an RFC 6901 JSON Pointer, the empty string for the root
+     */
+    public String getInstancePointer() {
+        StringBuilder pointer = new StringBuilder();
+        for (Object segment : instanceSegments) {
+            pointer.append('/').append(segment.toString().replace("~", "~0").replace("/", "~1"));
+        }
+        return pointer.toString();
+    }
+
+    /**
+     * @return the location of the failing keyword in the schema, as a URI fragment such as
+     * {@code #/properties/name/pattern}
+     */
+    public String getSchemaPointer() {
+        return schemaPointer;
+    }
+
+    public String getMessage() {
+        String rendered = message;
+        if (rendered == null) {
+            Object[] formatArguments = new Object[arguments.length + 1];
+            formatArguments[0] = getInstancePath();
+            System.arraycopy(arguments, 0, formatArguments, 1, arguments.length);
+            rendered = String.format(template, formatArguments);
+            message = rendered;
+        }
+        return rendered;
+    }
+
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+}
@@ -0,0 +1,117 @@
+package kr.nerdlab.json.schema.core.validation;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * How much of an instance is validated and how much is reported about its errors, and whether large
+ * containers of a tree are validated in parallel.
+ *
+ * @see ValidationResult
+ */
+public final class ValidationMode {
+    /**
+     * Stops at the first violation and only answers whether the instance is valid; no errors are recorded.
+     */
+    public static final ValidationMode FAIL_FAST = new ValidationMode(1, false);
+
+    /**
+     * Validates the whole instance and records every error.
+     */
+    public static final ValidationMode COLLECT_ALL = new ValidationMode(Integer.MAX_VALUE, true);
+
+    private final int maxErrors;
+    private final boolean recordingErrors;
+    private final int parallelThreshold;
+    private final ForkJoinPool pool;
+
+    private ValidationMode(int maxErrors, boolean recordingErrors) {
+        this(maxErrors, recordingErrors, 0, null);
+    }
+
+    private ValidationMode(int maxErrors, boolean recordingErrors, int parallelThreshold, ForkJoinPool pool) {
+        this.maxErrors = maxErrors;
+        this.recordingErrors = recordingErrors;
+        this.parallelThreshold = parallelThreshold;
+        this.pool = pool;
+    }
+
+    /**
+     * Records errors and stops once {@code maxErrors} of them have been found.
+     *
+     * @param maxErrors the error budget, at least 1
+     */
+    public static ValidationMode maxErrors(int maxErrors) {
+        if (maxErrors < 1) {
+            throw new IllegalArgumentException("maxErrors must be at least 1, but was: " + maxErrors);
+        }
+        return new ValidationMode(maxErrors, true);
+    }
+
+    /**
+     * Same as {@link #parallel(int, ForkJoinPool)} on the {@linkplain ForkJoinPool#commonPool() common pool}.
+     */
+    public ValidationMode parallel(int threshold) {
+        return parallel(threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns a mode with the same error budget that validates arrays with more than {@code threshold} items, and
+     * objects with more than {@code threshold} declared properties, as fork-join tasks of at most {@code threshold}
+     * elements each. Errors are merged in document order, so the result is the same as that of sequential
+     * validation. Only validation of trees is parallel; streaming and POJO validation ignore this setting.
+     *
+     * @param threshold the largest container validated sequentially, at least 1
+     * @param pool      the pool to run the tasks in
+     */
+    public ValidationMode parallel(int threshold, ForkJoinPool pool) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be at least 1, but was: " + threshold);
+        }
+        return new ValidationMode(maxErrors, recordingErrors, threshold, pool);
+    }
+
+    /**
+     * @return this mode without parallel validation
+     */
+    public ValidationMode sequential() {
+        return isParallel() ? new ValidationMode(maxErrors, recordingErrors) : this;
+    }
+
+    public boolean isParallel() {
+        return pool != null;
+    }
+
+    /**
+     * @return the largest container validated sequentially; {@code 0} if not {@linkplain #isParallel() parallel}
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * @return the pool for parallel validation, or {@code null} if not {@linkplain #isParallel() parallel}
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public int getMaxErrors() {
+        return maxErrors;
+    }
+
+    /**
+     * @return {@code false} if errors are only counted, as in {@link #FAIL_FAST}
+     */
+    public boolean isRecordingErrors() {
+        return recordingErrors;
+    }
+
+    @Override
+    public String toString() {
+        String budget;
+        if (!recordingErrors) budget = "FAIL_FAST";
+        else if (maxErrors == Integer.MAX_VALUE) budget = "COLLECT_ALL";
+        else budget = "maxErrors(" + maxErrors + ")";
+        return isParallel() ? budget + ".parallel(" + parallelThreshold + ")" : budget;
+    }
+}
@@ -0,0 +1,62 @@
+package kr.nerdlab.json.schema.core.validation;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The outcome of validating one instance.
+ */
+public final class ValidationResult {
+    static final ValidationResult VALID = new ValidationResult(false, List.of(), false);
+
+    private final boolean failed;
+    private final List<ValidationError> errors;
+    private final boolean truncated;
+
+    ValidationResult(boolean failed, List<ValidationError> errors, boolean truncated) {
+        this.failed = failed;
+        this.errors = errors;
+        this.truncated = truncated;
+    }
+
+    public boolean isValid() {
+        return !failed;
+    }
+
+    /**
+     * @return the recorded errors in the order they were found; always empty in {@link ValidationMode#FAIL_FAST}
+     */
+    public List<ValidationError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * @return the distinct rendered messages of {@link #getErrors()}, in order
+     */
+    public Set<String> getMessages() {
+        if (errors.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> messages = new LinkedHashSet<>();
+        for (ValidationError error : errors) {
+            messages.add(error.getMessage());
+        }
+        return messages;
+    }
+
+    /**
+     * @return {@code true} if the error budget of the {@link ValidationMode} was used up, so validation stopped
+     * early and the instance may have more errors than reported
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    @Override
+    public String toString() {
+        if (!failed) return "valid";
+        return errors.isEmpty() ? "invalid" : String.join(", ", getMessages());
+    }
+}
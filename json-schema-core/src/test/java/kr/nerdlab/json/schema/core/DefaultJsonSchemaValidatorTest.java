@@ -0,0 +1,41 @@
+package kr.nerdlab.json.schema.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.core.metrics.InMemoryValidationMetrics;
+import kr.nerdlab.json.schema.core.metrics.SchemaMetrics;
+import kr.nerdlab.json.schema.test.entity.WebAppConfigurationImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class DefaultJsonSchemaValidatorTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void compilesTheSchemaOfAClassOnce() throws Exception {
+        InMemoryValidationMetrics metrics = new InMemoryValidationMetrics();
+        DefaultJsonSchemaValidator validator = DefaultJsonSchemaValidator.builder(mapper, new DefaultJsonSchemaGenerator(mapper))
+                .instrumentation(metrics)
+                .build();
+        File document = Files.writeString(directory.resolve("web.json"), "{\"display-name\": \"demo\"}").toFile();
+
+        validator.validate(document, WebAppConfigurationImpl.class);
+        validator.validate(document, WebAppConfigurationImpl.class);
+
+        SchemaMetrics schema = metrics.getSchema(WebAppConfigurationImpl.class.getName());
+        assertEquals(1, schema.getCacheMissCount());
+        assertEquals(1, schema.getCacheHitCount());
+        assertEquals(1, schema.getLoadTime().getTotalCount());
+        assertEquals(2, schema.getValidationCount());
+        assertSame(validator.compile(WebAppConfigurationImpl.class), validator.compile(WebAppConfigurationImpl.class));
+    }
+}
@@ -0,0 +1,131 @@
+package kr.nerdlab.json.schema.core;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import kr.nerdlab.json.schema.annotation.PrecomputedSchemaProvider;
+import kr.nerdlab.json.schema.annotation.SchemaDefinition;
+import kr.nerdlab.json.schema.processor.SchemaDefinitionProcessor;
+import kr.nerdlab.json.schema.test.entity.WebAppConfigurationImpl;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the annotation processor over the test entities and checks its output against the runtime generator.
+ */
+class PrecomputedSchemaTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String ENTITY_PACKAGE = WebAppConfigurationImpl.class.getPackageName();
+    private static final String RESOURCE = PrecomputedSchemaProvider.resourceName(WebAppConfigurationImpl.class.getName());
+
+    @TempDir
+    static Path output;
+
+    @BeforeAll
+    static void compileEntities() throws IOException {
+        Path sources = Path.of("src/test/java", ENTITY_PACKAGE.replace('.', '/'));
+        List<Path> files;
+        try (Stream<Path> list = Files.list(sources)) {
+            files = list.filter(file -> file.toString().endsWith(".java")).toList();
+        }
+        String classPath = Stream.of(SchemaDefinition.class, JsonProperty.class, JsonDeserialize.class)
+                .map(PrecomputedSchemaTest::location)
+                .collect(Collectors.joining(File.pathSeparator));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                    List.of("-classpath", classPath, "-d", output.toString()), null,
+                    fileManager.getJavaFileObjectsFromPaths(files));
+            task.setProcessors(List.of(new SchemaDefinitionProcessor()));
+            assertTrue(task.call(), "the test entities did not compile");
+        }
+    }
+
+    @Test
+    void writesTheSchemaTheRuntimeGeneratorBuilds() throws IOException {
+        JsonNode precomputed = mapper.readTree(output.resolve(RESOURCE).toFile());
+
+        assertEquals(new DefaultJsonSchemaGenerator(mapper, false).generateNode(WebAppConfigurationImpl.class), precomputed);
+    }
+
+    @Test
+    void loadsTheSchemaThroughTheGeneratedRegistry(@TempDir Path overlay) throws Exception {
+        // a marked copy of the resource, found first, tells a precomputed schema from one generated by reflection
+        ObjectNode marked = (ObjectNode) mapper.readTree(output.resolve(RESOURCE).toFile());
+        marked.put("$comment", "precomputed");
+        Files.createDirectories(overlay.resolve(RESOURCE).getParent());
+        mapper.writeValue(overlay.resolve(RESOURCE).toFile(), marked);
+
+        try (EntityClassLoader loader = new EntityClassLoader(overlay, output)) {
+            Map<String, String> resources = DefaultJsonSchemaGenerator.precomputedSchemaResources(loader);
+            assertEquals(RESOURCE, resources.get(WebAppConfigurationImpl.class.getName()));
+
+            Class<?> entity = loader.loadClass(WebAppConfigurationImpl.class.getName());
+            assertEquals(loader, entity.getClassLoader());
+            JsonNode loaded = new DefaultJsonSchemaGenerator(mapper).generateNode(entity);
+            assertEquals(marked, loaded);
+            JsonNode generated = new DefaultJsonSchemaGenerator(mapper, false).generateNode(entity);
+            assertNotNull(generated.get("properties"));
+            assertNull(generated.get("$comment"));
+        }
+    }
+
+    private static String location(Class<?> type) {
+        try {
+            return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Loads the entity package, and resources, from the compiler output before its parent, which holds the same
+     * entities compiled without the processor.
+     */
+    private static final class EntityClassLoader extends URLClassLoader {
+        EntityClassLoader(Path overlay, Path classes) throws IOException {
+            super(new URL[]{overlay.toUri().toURL(), classes.toUri().toURL()}, PrecomputedSchemaTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(ENTITY_PACKAGE + ".")) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                return loaded != null ? loaded : findClass(name);
+            }
+        }
+
+        @Override
+        public URL getResource(String name) {
+            URL own = findResource(name);
+            return own != null ? own : super.getResource(name);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package kr.nerdlab.json.schema.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import kr.nerdlab.json.schema.core.validation.ValidationMode;
+import kr.nerdlab.json.schema.test.entity.WebAppConfigurationImpl;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that binding through a {@link kr.nerdlab.json.schema.core.keyword.ValidatingParser} reports what validating
+ * the document's tree reports.
+ */
+class ValidatingReaderTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void reportsTheErrorsOfTheTreeIncludingIgnoredProperties() throws IOException {
+        ValidatingReader<WebAppConfigurationImpl> reader = reader();
+        // "$schema" is ignored by the mapper, and skipped as a whole
+        String document = """
+                {"$schema": {"draft": [7]}, "display-name": "demo",
+                 "servlets": [{"servlet-name": "a"}, {"servlet-name": "b", "servlet-class": "B"}],
+                 "servlet-mappings": [{"servlet-name": "a", "url-pattern": "/a"}, {"url-pattern": "b"}]}""";
+
+        ValidatingReader.Result<WebAppConfigurationImpl> result = reader.read(document.getBytes(StandardCharsets.UTF_8));
+
+        assertNotNull(result.value());
+        assertEquals("demo", result.value().getDisplayName());
+        assertEquals(2, result.value().getServletMappings().size());
+        assertEquals(4, result.validation().getMessages().size(), () -> result.validation().getMessages().toString());
+        assertEquals(treeErrors(reader, document), new HashSet<>(result.validation().getMessages()));
+    }
+
+    @Test
+    void readsADocumentThatCannotBeBoundToItsEnd() throws IOException {
+        ValidatingReader<WebAppConfigurationImpl> reader = reader();
+        // binding fails at "servlets"; the errors after it are still found
+        String document = """
+                {"servlets": {"servlet-name": "a"}, "$schema": 7,
+                 "servlet-mappings": [{"servlet-name": "a", "url-pattern": "a"}]}""";
+
+        ValidatingReader.Result<WebAppConfigurationImpl> result = reader.read(document.getBytes(StandardCharsets.UTF_8));
+
+        assertNull(result.value());
+        assertFalse(result.isValid());
+        assertEquals(3, result.validation().getMessages().size(), () -> result.validation().getMessages().toString());
+        assertEquals(treeErrors(reader, document), new HashSet<>(result.validation().getMessages()));
+    }
+
+    @Test
+    void bindsAValidDocument() throws IOException {
+        ValidatingReader<WebAppConfigurationImpl> reader = reader();
+        String document = """
+                {"$schema": "web.json", "servlets": [{"servlet-name": "a", "servlet-class": "A"}],
+                 "servlet-mappings": [{"servlet-name": "a", "url-pattern": "/a"}]}""";
+
+        ValidatingReader.Result<WebAppConfigurationImpl> result = reader.read(document.getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(result.isValid());
+        assertEquals("A", result.value().getServlets().get(0).getServletClass());
+        assertEquals(Set.of(), treeErrors(reader, document));
+    }
+
+    /**
+     * The generated schema, with a constraint on the "$schema" property the entity ignores.
+     */
+    private static ValidatingReader<WebAppConfigurationImpl> reader() {
+        ObjectNode schema = new DefaultJsonSchemaGenerator(mapper, false).generateNode(WebAppConfigurationImpl.class).deepCopy();
+        ((ObjectNode) schema.get("properties")).putObject("$schema").put("type", "string");
+        return new ValidatingReader<>(mapper, WebAppConfigurationImpl.class, CompiledSchema.compile(schema),
+                ValidationMode.COLLECT_ALL);
+    }
+
+    private static Set<String> treeErrors(ValidatingReader<?> reader, String document) throws IOException {
+        JsonNode tree = mapper.readTree(document);
+        return new HashSet<>(reader.getSchema().validate(tree));
+    }
+}
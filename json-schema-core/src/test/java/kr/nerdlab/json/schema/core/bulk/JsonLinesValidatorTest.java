@@ -0,0 +1,86 @@
+package kr.nerdlab.json.schema.core.bulk;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import kr.nerdlab.json.schema.core.format.Formats;
+import kr.nerdlab.json.schema.core.pattern.PatternCache;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JsonLinesValidatorTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void reportsContentAfterAValidRecord() throws IOException {
+        CompiledSchema schema = CompiledSchema.compile(mapper.readTree("{\"type\": \"object\"}"));
+        JsonLinesValidator validator = new JsonLinesValidator(mapper.getFactory(), schema, Runnable::run);
+        List<RecordResult> results = new ArrayList<>();
+
+        BulkValidationSummary summary = validator.validate(
+                new ByteArrayInputStream("{\"a\":1} {\"b\":2}\n{}\n".getBytes(StandardCharsets.UTF_8)), results::add);
+
+        assertEquals(2, summary.recordCount());
+        assertEquals(1, summary.invalidCount());
+        assertEquals(Set.of("'#': unexpected content after the end of the record"), results.get(0).errors());
+        assertEquals(Set.of(), results.get(1).errors());
+    }
+
+    @Test
+    void endsABatchBeforeItExceedsTheByteLimit() throws IOException {
+        CompiledSchema schema = CompiledSchema.compile(mapper.readTree("{\"type\": \"object\"}"));
+        AtomicInteger parsed = new AtomicInteger();
+        JsonFactory factory = new JsonFactory() {
+            @Override
+            public JsonParser createParser(byte[] data) throws IOException {
+                parsed.incrementAndGet();
+                return super.createParser(data);
+            }
+        };
+        // nine bytes per record: two records per batch, and a record longer than the limit on its own
+        JsonLinesValidator validator = new JsonLinesValidator(factory, schema, Runnable::run,
+                JsonLinesValidator.DEFAULT_BATCH_SIZE, JsonLinesValidator.DEFAULT_MAX_RECORD_BYTES, 20);
+        List<Integer> parsedWhenAccepted = new ArrayList<>();
+
+        BulkValidationSummary summary = validator.validate(new ByteArrayInputStream(
+                "{\"id\": 1}\n{\"id\": 2}\n{\"id\": 3}\n{\"id\": 4}\n{\"name\": \"a long record\"}\n{\"id\": 5}\n"
+                        .getBytes(StandardCharsets.UTF_8)), result -> parsedWhenAccepted.add(parsed.get()));
+
+        assertEquals(6, summary.recordCount());
+        // the results of a batch are handed over once the next batch is validated, never later
+        assertEquals(List.of(4, 4, 5, 5, 6, 6), parsedWhenAccepted);
+    }
+
+    @Test
+    void reportsAnExceptionAsTheFailureOfItsRecord() throws IOException {
+        Formats formats = Formats.none().with("fragile", value -> {
+            if (value.equals("boom")) {
+                throw new IllegalStateException("cannot check " + value);
+            }
+            return true;
+        });
+        CompiledSchema schema = CompiledSchema.compile(mapper.readTree("{\"format\": \"fragile\"}"),
+                new PatternCache(), null, formats);
+        JsonLinesValidator validator = new JsonLinesValidator(mapper.getFactory(), schema, Runnable::run);
+        List<RecordResult> results = new ArrayList<>();
+
+        BulkValidationSummary summary = validator.validate(
+                new ByteArrayInputStream("\"a\"\n\"boom\"\n\"b\"\n".getBytes(StandardCharsets.UTF_8)), results::add);
+
+        assertEquals(3, summary.recordCount());
+        assertEquals(1, summary.invalidCount());
+        assertEquals(new RecordResult(2, 4,
+                Set.of("'#': validation failed: java.lang.IllegalStateException: cannot check boom")), results.get(1));
+        assertEquals(Set.of(), results.get(2).errors());
+    }
+}
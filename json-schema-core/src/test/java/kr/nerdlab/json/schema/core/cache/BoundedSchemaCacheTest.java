@@ -0,0 +1,168 @@
+package kr.nerdlab.json.schema.core.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedSchemaCacheTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final SchemaLoader loader = uri -> {
+        loads.incrementAndGet();
+        return CompiledSchema.compile(mapper.readTree("{\"type\": \"object\"}"));
+    };
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() throws IOException {
+        BoundedSchemaCache cache = new BoundedSchemaCache(2, Duration.ofMinutes(1));
+        URI a = URI.create("https://example.com/a.json");
+        URI b = URI.create("https://example.com/b.json");
+        URI c = URI.create("https://example.com/c.json");
+
+        CompiledSchema first = cache.get(a, loader);
+        cache.get(b, loader);
+        cache.get(a, loader);
+        cache.get(c, loader);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.stats().evictionCount());
+        assertSame(first, cache.get(a, loader));
+        assertEquals(3, loads.get());
+        cache.get(b, loader);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void reloadsAnEntryAfterItsTimeToLive() throws Exception {
+        BoundedSchemaCache cache = new BoundedSchemaCache(10, Duration.ofMillis(50));
+        URI uri = URI.create("https://example.com/a.json");
+
+        CompiledSchema first = cache.get(uri, loader);
+        assertSame(first, cache.get(uri, loader));
+        Thread.sleep(100);
+        CompiledSchema second = cache.get(uri, loader);
+
+        assertNotSame(first, second);
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.stats().evictionCount());
+    }
+
+    @Test
+    void loadsOnceForConcurrentMisses() throws Exception {
+        BoundedSchemaCache cache = new BoundedSchemaCache();
+        URI uri = URI.create("https://example.com/a.json");
+        int callers = 8;
+        CountDownLatch release = new CountDownLatch(1);
+        SchemaLoader slow = key -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loader.load(key);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<CompiledSchema>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> cache.get(uri, slow)));
+            }
+            // every caller has missed before the one load finishes
+            while (cache.stats().missCount() < callers) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+            CompiledSchema loaded = results.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<CompiledSchema> result : results) {
+                assertSame(loaded, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().loadSuccessCount());
+    }
+
+    @Test
+    void reloadsAFileAfterItChanges() throws IOException {
+        BoundedSchemaCache cache = new BoundedSchemaCache();
+        Path file = Files.writeString(directory.resolve("schema.json"), "{\"type\": \"object\"}");
+        SchemaLoader fromFile = uri -> {
+            loads.incrementAndGet();
+            return CompiledSchema.compile(mapper.readTree(Path.of(uri).toFile()));
+        };
+
+        CompiledSchema first = cache.get(file.toUri(), fromFile);
+        assertSame(first, cache.get(file.toUri(), fromFile));
+        Files.writeString(file, "{\"type\": \"array\"}");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+        CompiledSchema edited = cache.get(file.toUri(), fromFile);
+
+        assertNotSame(first, edited);
+        assertEquals(2, loads.get());
+        assertEquals(1, edited.validate(mapper.readTree("{}")).size());
+    }
+
+    @Test
+    void countsHitsMissesAndLoadTime() throws IOException {
+        BoundedSchemaCache cache = new BoundedSchemaCache();
+        URI uri = URI.create("https://example.com/a.json");
+        URI broken = URI.create("https://example.com/broken.json");
+
+        cache.get(uri, loader);
+        cache.get(uri, loader);
+        cache.get(uri, loader);
+        assertThrows(IOException.class, () -> cache.get(broken, key -> {
+            throw new IOException("unreachable");
+        }));
+
+        SchemaCacheStats stats = cache.stats();
+        assertEquals(2, stats.hitCount());
+        assertEquals(2, stats.missCount());
+        assertEquals(1, stats.loadSuccessCount());
+        assertEquals(1, stats.loadFailureCount());
+        assertTrue(stats.totalLoadTimeNanos() > 0);
+        assertEquals(0.5, stats.hitRate());
+        assertEquals(stats.totalLoadTimeNanos() / 2.0, stats.averageLoadPenaltyNanos());
+    }
+
+    @Test
+    void cachesFileUrisWithoutALocalPath() throws IOException {
+        BoundedSchemaCache cache = new BoundedSchemaCache();
+
+        // the default file system has no path for a URI with a host
+        URI remote = URI.create("file://server/schemas/order.json");
+        CompiledSchema loaded = cache.get(remote, loader);
+
+        assertSame(loaded, cache.get(remote, loader));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().hitCount());
+    }
+}
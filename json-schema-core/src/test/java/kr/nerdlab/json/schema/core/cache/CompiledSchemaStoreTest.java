@@ -0,0 +1,35 @@
+package kr.nerdlab.json.schema.core.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CompiledSchemaStoreTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restoresWhatAnotherStoreWrote() throws IOException {
+        byte[] schema = "{\"required\": [\"id\"], \"properties\": {\"id\": {\"type\": \"integer\"}}}"
+                .getBytes(StandardCharsets.UTF_8);
+        new CompiledSchemaStore(directory).get(schema);
+
+        CompiledSchemaStore restarted = new CompiledSchemaStore(directory);
+        CompiledSchema restored = restarted.get(schema);
+
+        assertEquals(1, restarted.getHitCount());
+        assertEquals(0, restarted.getMissCount());
+        assertEquals(Set.of("'id': invalid type. Expected 'integer' but found 'string'"),
+                restored.validate(mapper.readTree("{\"id\": \"1\"}")));
+    }
+}
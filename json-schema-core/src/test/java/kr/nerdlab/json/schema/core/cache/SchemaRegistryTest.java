@@ -0,0 +1,82 @@
+package kr.nerdlab.json.schema.core.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SchemaRegistryTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private static final String ADDRESS = "{\"type\": \"object\", \"required\": [\"street\"],"
+            + " \"properties\": {\"street\": {\"type\": \"string\", \"maxLength\": 100}}}";
+    // the same definition with its members reordered and a number written differently
+    private static final String ADDRESS_REORDERED = "{\"properties\": {\"street\": {\"maxLength\": 100.0,"
+            + " \"type\": \"string\"}}, \"required\": [\"street\"], \"type\": \"object\"}";
+
+    @Test
+    void sharesTheNodeOfADefinitionTwoRootsEmbed() throws IOException {
+        SchemaRegistry registry = new SchemaRegistry();
+
+        CompiledSchema order = registry.compile(json("{\"type\": \"object\", \"properties\": {"
+                + "\"id\": {\"type\": \"integer\"}, \"address\": " + ADDRESS + "}}"));
+        CompiledSchema customer = registry.compile(json("{\"type\": \"object\", \"properties\": {"
+                + "\"name\": {\"type\": \"string\"}, \"address\": " + ADDRESS_REORDERED + "}}"));
+
+        assertSame(order.getRoot().getProperty("address"), customer.getRoot().getProperty("address"));
+        assertNotSame(order.getRoot(), customer.getRoot());
+        // order: root, id, address, street; customer: root and name, then address as a whole
+        assertEquals(new SchemaRegistryStats(2, 0, 1, 6, 6), registry.getStats());
+        assertEquals(1, order.validate(json("{\"address\": {\"street\": 1}}")).size());
+        assertEquals(1, customer.validate(json("{\"address\": {}}")).size());
+    }
+
+    @Test
+    void answersAnIdenticalDocumentWithTheSameSchema() throws IOException {
+        SchemaRegistry registry = new SchemaRegistry();
+
+        CompiledSchema first = registry.compile(json(ADDRESS));
+        CompiledSchema second = registry.compile(json(ADDRESS_REORDERED));
+
+        assertSame(first, second);
+        assertEquals(1, registry.getStats().sharedSchemaCount());
+    }
+
+    @Test
+    void keepsDifferentDefinitionsAtTheSamePointerApart() throws IOException {
+        SchemaRegistry registry = new SchemaRegistry();
+
+        CompiledSchema street = registry.compile(json("{\"properties\": {\"address\": " + ADDRESS + "}}"));
+        CompiledSchema zip = registry.compile(json("{\"properties\": {\"address\": "
+                + ADDRESS.replace("street", "zip") + "}}"));
+
+        assertNotSame(street.getRoot().getProperty("address"), zip.getRoot().getProperty("address"));
+        assertEquals(0, registry.getStats().nodeHitCount());
+    }
+
+    @Test
+    void isNotChangedByChangesToACompiledDocument() throws IOException {
+        SchemaRegistry registry = new SchemaRegistry();
+        JsonNode schema = json("{\"properties\": {\"address\": " + ADDRESS + "}}");
+        CompiledSchema before = registry.compile(schema);
+
+        ((ObjectNode) schema.get("properties").get("address")).put("maxProperties", 3);
+        CompiledSchema after = registry.compile(schema);
+
+        assertNotSame(before, after);
+        assertNotSame(before.getRoot().getProperty("address"), after.getRoot().getProperty("address"));
+        assertSame(before.getRoot().getProperty("address").getProperty("street"),
+                after.getRoot().getProperty("address").getProperty("street"));
+    }
+
+    private static JsonNode json(String json) throws IOException {
+        return mapper.readTree(json);
+    }
+}
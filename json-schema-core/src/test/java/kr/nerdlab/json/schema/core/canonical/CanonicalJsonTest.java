@@ -0,0 +1,83 @@
+package kr.nerdlab.json.schema.core.canonical;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CanonicalJsonTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final ObjectMapper exactMapper = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .enable(DeserializationFeature.USE_BIG_INTEGER_FOR_INTS);
+
+    // every group is one value in different notations, read as ints, longs, doubles, BigIntegers and BigDecimals
+    private static final List<List<String>> NUMBERS = List.of(
+            List.of("0", "-0", "0.0", "-0.0", "0e5", "0E-3"),
+            List.of("1", "1.0", "1e0", "10E-1", "100e-2", "0.1e1"),
+            List.of("-7", "-7.0", "-0.7e1"),
+            List.of("2.5", "2.50", "25e-1", "0.25E1"),
+            List.of("10000000000", "1e10", "1.0E10", "10000000000.000"),
+            List.of("-9223372036854775808", "-9223372036854775808.0", "-9.223372036854775808e18"));
+
+    @Test
+    void comparesNumbersByValue() throws IOException {
+        for (ObjectMapper reader : List.of(mapper, exactMapper)) {
+            for (int i = 0; i < NUMBERS.size(); i++) {
+                for (int j = 0; j < NUMBERS.size(); j++) {
+                    for (String a : NUMBERS.get(i)) {
+                        for (String b : NUMBERS.get(j)) {
+                            JsonNode x = reader.readTree(a);
+                            JsonNode y = reader.readTree(b);
+                            if (i == j) {
+                                assertTrue(CanonicalJson.equal(x, y), a + " = " + b);
+                                assertEquals(CanonicalJson.hash(x), CanonicalJson.hash(y), a + " = " + b);
+                            } else {
+                                assertFalse(CanonicalJson.equal(x, y), a + " != " + b);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void comparesNumbersBeyondLongExactly() throws IOException {
+        JsonNode integer = exactMapper.readTree("123456789012345678901234567890");
+        JsonNode decimal = exactMapper.readTree("1.23456789012345678901234567890e29");
+        JsonNode next = exactMapper.readTree("123456789012345678901234567891");
+
+        assertTrue(CanonicalJson.equal(integer, decimal));
+        assertEquals(CanonicalJson.hash(integer), CanonicalJson.hash(decimal));
+        assertFalse(CanonicalJson.equal(integer, next));
+        assertFalse(CanonicalJson.equal(exactMapper.readTree("0.1"), exactMapper.readTree("0.10000000000000001")));
+        // a double is the shortest decimal that reads back as it, which is how the number was written
+        assertTrue(CanonicalJson.equal(exactMapper.readTree("0.1"), mapper.readTree("0.1")));
+        assertFalse(CanonicalJson.equal(mapper.readTree("9223372036854775807"), mapper.readTree("9223372036854775807.0")));
+    }
+
+    @Test
+    void ignoresTheOrderOfObjectMembersOnly() throws IOException {
+        JsonNode object = mapper.readTree("{\"a\": 1, \"b\": [1, 2.0, {\"c\": null, \"d\": true}]}");
+        JsonNode reordered = mapper.readTree("{\"b\": [1.0, 2, {\"d\": true, \"c\": null}], \"a\": 1e0}");
+
+        assertTrue(CanonicalJson.equal(object, reordered));
+        assertEquals(CanonicalJson.hash(object), CanonicalJson.hash(reordered));
+        assertEquals(CanonicalJson.hash(object, 42), CanonicalJson.hash(reordered, 42));
+
+        for (String other : List.of("{\"a\": 1, \"b\": [2.0, 1, {\"c\": null, \"d\": true}]}",
+                "{\"a\": \"1\", \"b\": [1, 2.0, {\"c\": null, \"d\": true}]}",
+                "{\"a\": 1, \"b\": [1, 2.0, {\"c\": null, \"d\": true}], \"e\": 1}",
+                "{\"a\": 1, \"b\": [1, 2.0, {\"c\": null, \"d\": 1}]}")) {
+            assertFalse(CanonicalJson.equal(object, mapper.readTree(other)), other);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package kr.nerdlab.json.schema.core.dataformat;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.json.UTF8StreamJsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileParser;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import kr.nerdlab.json.schema.core.DefaultJsonSchemaGenerator;
+import kr.nerdlab.json.schema.core.DefaultJsonSchemaValidator;
+import kr.nerdlab.json.schema.core.exception.JsonValidationException;
+import kr.nerdlab.json.schema.core.validation.ValidationError;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InputFormatsTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final InputFormats formats = InputFormats.detecting(mapper.getFactory());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void detectsTheBinaryFormatsOnTheClassPath() {
+        assertEquals(List.of("JSON", "Smile", "CBOR"), formats.getFormatNames());
+        assertEquals(List.of("JSON"), InputFormats.only(mapper.getFactory()).getFormatNames());
+    }
+
+    @Test
+    void readsSmileAndCborDocumentsAsTheirTree() throws IOException {
+        JsonNode document = mapper.readTree("""
+                {"id": 7, "name": "ünïcode", "ratio": 0.25, "tags": ["a", null, true], "nested": {"empty": {}}}""");
+        byte[] smile = new SmileMapper().writeValueAsBytes(document);
+        byte[] cbor = new CBORMapper().writeValueAsBytes(document);
+
+        assertEquals(document, read(smile, SmileParser.class));
+        assertEquals(document, read(cbor, CBORParser.class));
+        try (JsonParser parser = formats.createParser(new ByteArrayInputStream(cbor))) {
+            assertInstanceOf(CBORParser.class, parser);
+            assertEquals(document, mapper.readTree(parser));
+        }
+        try (JsonParser parser = formats.createParser(Files.write(directory.resolve("document.sml"), smile))) {
+            assertInstanceOf(SmileParser.class, parser);
+            assertEquals(document, mapper.readTree(parser));
+        }
+    }
+
+    @Test
+    void readsUnrecognizedInputAsJson() throws IOException {
+        byte[] text = "{\"id\": 1}".getBytes(StandardCharsets.UTF_8);
+        assertEquals(mapper.readTree(text), read(text, UTF8StreamJsonParser.class));
+
+        byte[] broken = "{id: 1}".getBytes(StandardCharsets.UTF_8);
+        JsonParseException expected = assertThrows(JsonParseException.class, () -> mapper.readTree(broken));
+        JsonParseException detected = assertThrows(JsonParseException.class, () -> read(broken, UTF8StreamJsonParser.class));
+        assertEquals(expected.getOriginalMessage(), detected.getOriginalMessage());
+    }
+
+    @Test
+    void validatesBinaryDocumentsLikeTheirJson() throws IOException {
+        Path schema = Files.writeString(directory.resolve("schema.json"), "{\"required\": [\"id\"]}");
+        JsonNode document = mapper.readTree("{\"$schema\": \"" + schema.toUri() + "\", \"name\": \"a\"}");
+        DefaultJsonSchemaValidator validator = DefaultJsonSchemaValidator.builder(mapper, new DefaultJsonSchemaGenerator(mapper))
+                .build();
+        List<String> expected = List.of("'#': required property 'id' is missing");
+
+        for (ObjectMapper binary : List.of(new SmileMapper(), new CBORMapper())) {
+            Path file = Files.write(directory.resolve("document." + binary.getFactory().getFormatName()),
+                    binary.writeValueAsBytes(document));
+
+            assertEquals(expected, errors(() -> validator.validate(file)));
+            assertEquals(expected, errors(() -> validator.validate(file.toFile())));
+            assertEquals(expected, errors(() -> validator.validate(file.toFile(), schema.toUri())));
+        }
+    }
+
+    private static JsonNode read(byte[] data, Class<? extends JsonParser> format) throws IOException {
+        try (JsonParser parser = formats.createParser(data)) {
+            assertInstanceOf(format, parser);
+            return mapper.readTree(parser);
+        }
+    }
+
+    private static List<String> errors(Executable validation) {
+        JsonValidationException e = assertThrows(JsonValidationException.class, validation);
+        return e.getErrors().stream().map(ValidationError::getMessage).toList();
+    }
+}
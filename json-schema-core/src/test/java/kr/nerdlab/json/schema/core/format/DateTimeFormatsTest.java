@@ -0,0 +1,50 @@
+package kr.nerdlab.json.schema.core.format;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DateTimeFormatsTest {
+
+    @Test
+    void acceptsLeapSecondsAtTheLastMinuteOfAUtcDay() {
+        for (String value : List.of("1990-12-31T23:59:60Z", "1990-12-31T23:59:60.5z", "1990-12-31T15:59:60-08:00",
+                "1991-01-01T00:59:60+01:00", "1990-12-31T23:59:60-00:00", "1991-01-01T05:29:60+05:30")) {
+            assertTrue(DateTimeFormats.isDateTime(value), value);
+        }
+        for (String value : List.of("1990-12-31T23:59:60+01:00", "1990-12-31T23:58:60Z", "1990-12-31T12:00:60Z",
+                "1990-12-31T15:59:60+08:00", "1990-12-31T23:59:61Z")) {
+            assertFalse(DateTimeFormats.isDateTime(value), value);
+        }
+        assertTrue(DateTimeFormats.isTime("23:59:60Z"));
+        assertTrue(DateTimeFormats.isTime("09:14:60+09:15"));
+        assertFalse(DateTimeFormats.isTime("23:59:60+09:00"));
+    }
+
+    @Test
+    void requiresAnRfc3339Offset() {
+        for (String value : List.of("1985-04-12T23:20:50.52Z", "1985-04-12t23:20:50Z", "1996-12-19T16:39:57-08:00",
+                "1937-01-01T12:00:27.87+00:20", "2000-01-01T00:00:00+23:59", "2000-01-01T00:00:00-23:59")) {
+            assertTrue(DateTimeFormats.isDateTime(value), value);
+        }
+        for (String value : List.of("1985-04-12T23:20:50", "1985-04-12T23:20:50+0800", "1985-04-12T23:20:50+08",
+                "1985-04-12T23:20:50+24:00", "1985-04-12T23:20:50+08:60", "1985-04-12T23:20:50 Z",
+                "1985-04-12T23:20:50.Z", "1985-04-12 23:20:50Z", "1985-04-12T24:00:00Z", "1985-04-12T23:20:50Zulu")) {
+            assertFalse(DateTimeFormats.isDateTime(value), value);
+        }
+    }
+
+    @Test
+    void checksTheDaysOfTheMonth() {
+        for (String value : List.of("2000-02-29", "2024-02-29", "2023-01-31", "2023-04-30", "0000-02-29")) {
+            assertTrue(DateTimeFormats.isDate(value), value);
+        }
+        for (String value : List.of("1900-02-29", "2023-02-29", "2023-04-31", "2023-13-01", "2023-00-10", "2023-01-00",
+                "2023-1-01", "20230101")) {
+            assertFalse(DateTimeFormats.isDate(value), value);
+        }
+    }
+}
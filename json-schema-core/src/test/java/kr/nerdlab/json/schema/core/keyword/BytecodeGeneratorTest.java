@@ -0,0 +1,60 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import kr.nerdlab.json.schema.core.format.Formats;
+import kr.nerdlab.json.schema.core.pattern.PatternCache;
+import kr.nerdlab.json.schema.core.validation.ValidationMode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BytecodeGeneratorTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void reportsTheSameErrorsAsTheSchemaNodes() throws IOException {
+        JsonNode schema = json("""
+                {"type": "object", "required": ["id", "name", "missing"],
+                 "properties": {
+                   "id": {"type": "integer", "minimum": 1, "maximum": 100, "multipleOf": 3},
+                   "name": {"type": "string", "minLength": 2, "maxLength": 5, "pattern": "^[a-z]+$"},
+                   "email": {"type": "string", "format": "email"},
+                   "kind": {"enum": ["a", "b", 1]},
+                   "version": {"const": 2},
+                   "ratio": {"type": "number", "exclusiveMaximum": 1, "multipleOf": 0.25},
+                   "Aa": {"type": "string"}, "BB": {"type": "integer"},
+                   "tags": {"type": "array", "uniqueItems": true, "items": {"type": "string", "maxLength": 3}},
+                   "never": false,
+                   "child": {"$ref": "#"}
+                 }}""");
+        CompiledSchema interpreted = CompiledSchema.compile(schema, PatternCache.shared(), null, Formats.builtIn());
+        CompiledSchema generated = CompiledSchema.compileToBytecode(schema, Formats.builtIn());
+        assertTrue(generated.isBytecodeGenerated());
+
+        // "Aa" and "BB" have the same hash code, so they share a case of the property switch
+        for (JsonNode instance : List.of(
+                json("{\"id\": 3, \"name\": \"abc\", \"missing\": null}"),
+                json("[1, 2]"),
+                json("{\"id\": 0, \"name\": \"ABCDEFG\", \"email\": \"nope\", \"kind\": \"c\", \"version\": 2.0,"
+                        + " \"ratio\": 1.1, \"Aa\": 1, \"BB\": \"x\", \"tags\": [\"a\", \"long\", \"a\"], \"never\": 1}"),
+                json("{\"id\": 101, \"name\": \"a\", \"ratio\": 0.5, \"child\": {\"id\": 4, \"child\": {\"name\": 7}}}"),
+                json("{\"id\": 12345678901234567890, \"name\": \"ab\", \"kind\": 1.0}"),
+                json("{\"id\": 100, \"ratio\": 1, \"tags\": []}"),
+                json("{\"id\": 1, \"ratio\": 0, \"name\": \"abcde\"}"))) {
+            for (ValidationMode mode : List.of(ValidationMode.COLLECT_ALL, ValidationMode.FAIL_FAST, ValidationMode.maxErrors(3))) {
+                assertEquals(interpreted.validate(instance, mode).getMessages(), generated.validate(instance, mode).getMessages(),
+                        instance + " in " + mode);
+            }
+        }
+    }
+
+    private static JsonNode json(String text) throws IOException {
+        return mapper.readTree(text);
+    }
+}
@@ -0,0 +1,64 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import kr.nerdlab.json.schema.core.patch.JsonPatch;
+import kr.nerdlab.json.schema.core.validation.ValidationMode;
+import kr.nerdlab.json.schema.core.validation.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class IncrementalValidatorTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void findsTheErrorsOfAFullValidation() throws IOException {
+        CompiledSchema schema = CompiledSchema.compile(json("""
+                {"type": "object", "required": ["id", "items"],
+                 "properties": {
+                   "id": {"type": "integer", "minimum": 1},
+                   "owner": {"$ref": "#/$defs/person"},
+                   "items": {"type": "array", "uniqueItems": true, "items": {
+                     "type": "object", "required": ["sku"],
+                     "properties": {"sku": {"type": "string", "pattern": "^[A-Z]{3}$"}, "count": {"type": "integer"}}}}
+                 },
+                 "$defs": {"person": {"type": "object", "required": ["name"], "properties": {"name": {"type": "string"}}}}}"""));
+        JsonNode document = json("""
+                {"id": 0, "owner": {"name": 7},
+                 "items": [{"sku": "ABC", "count": 1}, {"sku": "abc"}, {"count": "two"}]}""");
+        ValidationResult previous = schema.validate(document, ValidationMode.COLLECT_ALL);
+        assertFalse(previous.isValid());
+
+        for (String patch : List.of(
+                "[{\"op\": \"replace\", \"path\": \"/id\", \"value\": 5}]",
+                "[{\"op\": \"replace\", \"path\": \"/items/1/sku\", \"value\": \"XYZ\"}]",
+                "[{\"op\": \"add\", \"path\": \"/items/0\", \"value\": {\"sku\": \"XYZ\"}}]",
+                "[{\"op\": \"remove\", \"path\": \"/items/2/sku\"}]",
+                "[{\"op\": \"add\", \"path\": \"/items/-\", \"value\": {\"sku\": \"lower\", \"count\": 1.5}}]",
+                "[{\"op\": \"remove\", \"path\": \"/owner/name\"}, {\"op\": \"add\", \"path\": \"/owner/nick\", \"value\": 1}]",
+                "[{\"op\": \"move\", \"from\": \"/items/1\", \"path\": \"/items/3\"}]",
+                "[{\"op\": \"remove\", \"path\": \"/id\"}]",
+                "[{\"op\": \"replace\", \"path\": \"/items\", \"value\": [{\"sku\": \"AAA\"}, {\"sku\": \"AAA\"}]}]",
+                "[{\"op\": \"replace\", \"path\": \"/owner\", \"value\": {\"name\": \"Kim\"}}, {\"op\": \"add\", \"path\": \"/id\", \"value\": 1}]",
+                "[{\"op\": \"replace\", \"path\": \"\", \"value\": []}]")) {
+            JsonPatch.Applied applied = JsonPatch.parse(json(patch)).apply(document);
+            document = applied.document();
+            ValidationResult incremental = schema.revalidate(document, previous, applied.changed(), ValidationMode.COLLECT_ALL);
+            ValidationResult full = schema.validate(document, ValidationMode.COLLECT_ALL);
+            // errors that were taken over come first, so only the sets are the same
+            assertEquals(new HashSet<>(full.getMessages()), new HashSet<>(incremental.getMessages()), patch);
+            previous = incremental;
+        }
+    }
+
+    private static JsonNode json(String text) throws IOException {
+        return mapper.readTree(text);
+    }
+}
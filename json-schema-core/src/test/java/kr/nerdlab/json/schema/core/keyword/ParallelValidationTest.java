@@ -0,0 +1,85 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import kr.nerdlab.json.schema.core.validation.ValidationMode;
+import kr.nerdlab.json.schema.core.validation.ValidationResult;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelValidationTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterAll
+    static void shutDownPool() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void reportsTheErrorsOfSequentialValidationInTheSameOrder() throws IOException {
+        // a wide object of arrays of objects, with errors spread over the elements of every range
+        ObjectNode schemaProperties = mapper.createObjectNode();
+        ObjectNode instance = mapper.createObjectNode();
+        for (int p = 0; p < 40; p++) {
+            schemaProperties.set("p" + p, mapper.readTree("""
+                    {"type": "array", "items": {"type": "object", "required": ["id"],
+                     "properties": {"id": {"type": "integer", "minimum": 0}, "name": {"type": "string", "maxLength": 3}}}}"""));
+            ArrayNode items = instance.putArray("p" + p);
+            for (int i = 0; i < 50; i++) {
+                ObjectNode item = items.addObject();
+                if ((p + i) % 7 != 0) item.put("id", (p * i) % 11 == 0 ? -i : i);
+                item.put("name", (p + i) % 5 == 0 ? "too long" : "ok");
+            }
+        }
+        ObjectNode schema = mapper.createObjectNode();
+        schema.put("type", "object");
+        schema.set("properties", schemaProperties);
+        CompiledSchema compiled = CompiledSchema.compile(schema);
+
+        ValidationResult all = compiled.validate(instance, ValidationMode.COLLECT_ALL);
+        assertTrue(all.getErrors().size() > 500, () -> all.getErrors().size() + " errors");
+
+        for (ValidationMode mode : List.of(ValidationMode.COLLECT_ALL, ValidationMode.maxErrors(25),
+                ValidationMode.maxErrors(333), ValidationMode.FAIL_FAST)) {
+            ValidationResult sequential = compiled.validate(instance, mode);
+            for (int threshold : new int[]{1, 4, 16}) {
+                ValidationResult parallel = compiled.validate(instance, mode.parallel(threshold, pool));
+                String label = mode + " at threshold " + threshold;
+                assertEquals(describe(sequential), describe(parallel), label);
+                assertEquals(List.copyOf(sequential.getMessages()), List.copyOf(parallel.getMessages()), label);
+                assertEquals(sequential.isTruncated(), parallel.isTruncated(), label);
+            }
+        }
+    }
+
+    @Test
+    void acceptsAValidInstanceInParallel() throws IOException {
+        CompiledSchema compiled = CompiledSchema.compile(mapper.readTree(
+                "{\"type\": \"array\", \"items\": {\"type\": \"integer\", \"maximum\": 1000}}"));
+        ArrayNode instance = mapper.createArrayNode();
+        for (int i = 0; i < 1000; i++) {
+            instance.add(i);
+        }
+
+        assertTrue(compiled.validate(instance, ValidationMode.COLLECT_ALL.parallel(8, pool)).isValid());
+        instance.add(1001);
+        assertFalse(compiled.validate(instance, ValidationMode.FAIL_FAST.parallel(8, pool)).isValid());
+    }
+
+    private static List<String> describe(ValidationResult result) {
+        return result.getErrors().stream()
+                .map(e -> e.getKeyword() + " " + e.getInstancePointer() + " " + e.getSchemaPointer() + " " + e.getMessage())
+                .toList();
+    }
+}
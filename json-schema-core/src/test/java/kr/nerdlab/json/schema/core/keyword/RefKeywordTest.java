@@ -0,0 +1,75 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import kr.nerdlab.json.schema.core.pattern.PatternCache;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RefKeywordTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void validatesARecursiveSchemaAtAnyDepth() throws IOException {
+        JsonNode source = mapper.readTree("""
+                {"$ref": "#/definitions/node",
+                 "definitions": {"node": {"type": "object", "required": ["value"],
+                   "properties": {"value": {"type": "integer"}, "children": {"type": "array", "items": {"$ref": "#/definitions/node"}}}}}}""");
+        JsonNode instance = mapper.readTree("""
+                {"value": 1, "children": [
+                  {"value": 2, "children": [{"value": "three"}, {"children": [{"value": 5, "children": [{}]}]}]},
+                  {"value": 6}]}""");
+        CompiledSchema schema = CompiledSchema.compile(source);
+
+        Set<String> errors = schema.validate(instance);
+
+        assertEquals(Set.of(
+                "'children/0/children/0/value': invalid type. Expected 'integer' but found 'string'",
+                "'children/0/children/1': required property 'value' is missing",
+                "'children/0/children/1/children/0/children/0': required property 'value' is missing"), errors);
+        try (JsonParser parser = mapper.treeAsTokens(instance)) {
+            assertEquals(errors, new HashSet<>(schema.validate(parser)));
+        }
+        assertEquals(errors, new HashSet<>(CompiledSchema.compileToBytecode(source).validate(instance)));
+        SchemaNode decoded = SchemaNodeCodec.decode(ByteBuffer.wrap(SchemaNodeCodec.encode(schema.getRoot())), new PatternCache());
+        assertEquals(errors, new HashSet<>(CompiledSchema.restore(decoded, mapper.writeValueAsBytes(source)).validate(instance)));
+
+        // the definition is compiled once, and the recursion is a cycle back to it
+        for (SchemaNode root : new SchemaNode[]{schema.getRoot(), decoded}) {
+            SchemaNode node = root.resolve();
+            assertEquals("#/definitions/node", node.getSchemaPointer());
+            assertSame(node, node.getProperty("children").getItems().resolve());
+        }
+    }
+
+    @Test
+    void rejectsAnUnresolvableReference() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> CompiledSchema.compile(mapper.readTree("""
+                {"properties": {"child": {"$ref": "#/definitions/missing"}}, "definitions": {"node": {}}}""")));
+
+        assertEquals("Unresolvable $ref '#/definitions/missing' at #/properties/child/$ref", e.getMessage());
+    }
+
+    @Test
+    void rejectsReferencesOutsideTheDocumentAndEndlessChains() {
+        assertEquals("Only references within the schema document are supported, but $ref at #/$ref is 'other.json#/a'",
+                assertThrows(IllegalArgumentException.class,
+                        () -> CompiledSchema.compile(mapper.readTree("{\"$ref\": \"other.json#/a\"}"))).getMessage());
+        assertEquals("Only JSON Pointer fragments are supported, but $ref at #/$ref is '#anchor'",
+                assertThrows(IllegalArgumentException.class,
+                        () -> CompiledSchema.compile(mapper.readTree("{\"$ref\": \"#anchor\"}"))).getMessage());
+        IllegalArgumentException cycle = assertThrows(IllegalArgumentException.class, () -> CompiledSchema.compile(mapper.readTree("""
+                {"$ref": "#/definitions/a", "definitions": {"a": {"$ref": "#/definitions/b"}, "b": {"$ref": "#/definitions/a"}}}""")));
+        assertEquals("$ref at #/definitions/a/$ref refers to itself", cycle.getMessage());
+    }
+}
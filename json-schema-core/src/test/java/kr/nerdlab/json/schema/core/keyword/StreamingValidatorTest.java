@@ -0,0 +1,70 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import kr.nerdlab.json.schema.core.validation.ValidationMode;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StreamingValidatorTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void reportsMissingRequiredPropertiesAtTheEndOfTheObject() throws IOException {
+        CompiledSchema schema = CompiledSchema.compile(mapper.readTree("""
+                {"type": "object", "required": ["id"],
+                 "properties": {"name": {"type": "string"}, "child": {"type": "object", "required": ["id"]}}}"""));
+        String document = "{\"name\": 1, \"child\": {}}";
+
+        Set<String> tree = schema.validate(mapper.readTree(document));
+        Set<String> streamed;
+        try (JsonParser parser = mapper.createParser(document)) {
+            streamed = schema.validate(parser);
+        }
+
+        assertEquals(new HashSet<>(tree), new HashSet<>(streamed));
+        assertEquals(List.of(
+                "'#': required property 'id' is missing",
+                "'name': invalid type. Expected 'string' but found 'number'",
+                "'child': required property 'id' is missing"), List.copyOf(tree));
+        assertEquals(List.of(
+                "'name': invalid type. Expected 'string' but found 'number'",
+                "'child': required property 'id' is missing",
+                "'#': required property 'id' is missing"), List.copyOf(streamed));
+    }
+
+    @Test
+    void comparesDecimalsWithMoreDigitsThanADoubleExactly() throws IOException {
+        CompiledSchema schema = CompiledSchema.compile(mapper.readTree("""
+                {"type": "array", "items": {"exclusiveMaximum": 10, "minimum": 0.3}}"""));
+        ObjectMapper exact = new ObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+        // each of these reads as a double that lies on a limit
+        String below = "[9.999999999999999999999, 0.30000000000000000001, 9.99999999999999]";
+        String above = "[10.000000000000000000001, 0.29999999999999999999]";
+        List<String> errors = List.of(
+                "'0': value 10.000000000000000000001 is not less than exclusiveMaximum 10",
+                "'1': value 0.29999999999999999999 is less than minimum 0.3");
+
+        assertEquals(Set.of(), streamed(schema, below));
+        assertEquals(Set.of(), schema.validate(exact.readTree(below)));
+        assertEquals(errors, List.copyOf(streamed(schema, above)));
+        assertEquals(errors, List.copyOf(schema.validate(exact.readTree(above))));
+        // the default mapper rounds first, which the class documentation of CompiledSchema points out
+        assertEquals(1, schema.validate(mapper.readTree(below)).size());
+    }
+
+    private static Set<String> streamed(CompiledSchema schema, String document) throws IOException {
+        try (JsonParser parser = mapper.createParser(document)) {
+            return schema.validate(parser);
+        }
+    }
+}
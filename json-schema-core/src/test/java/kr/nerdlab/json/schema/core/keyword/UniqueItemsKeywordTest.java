@@ -0,0 +1,93 @@
+package kr.nerdlab.json.schema.core.keyword;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs every case on arrays short enough to be compared pairwise and on arrays long enough to be hashed.
+ */
+class UniqueItemsKeywordTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final JsonNode source = json("""
+            {"type": "object", "properties": {
+              "items": {"type": "array", "uniqueItems": true},
+              "kind": {"enum": [1, {"a": 1, "b": [2.0, {"c": null}]}, "x"]},
+              "version": {"const": {"major": 2, "minor": 0}}}}""");
+    private static final CompiledSchema schema = CompiledSchema.compile(source);
+    private static final CompiledSchema generated = CompiledSchema.compileToBytecode(source);
+
+    @Test
+    void treatsNumbersOfEqualValueAsEqual() throws IOException {
+        for (int padding : new int[]{0, 20}) {
+            assertEquals(Set.of("'items': array items at " + padding + " and " + (padding + 2) + " are not unique"),
+                    validate("{\"items\": " + array(padding, "1, 2, 1.0, 1e0") + "}"));
+            assertEquals(Set.of("'items': array items at " + padding + " and " + (padding + 1) + " are not unique"),
+                    validate("{\"items\": " + array(padding, "10.50, 1.05e1") + "}"));
+            assertEquals(Set.of(), validate("{\"items\": " + array(padding, "1, 1.5, \"1\", true, 0, -0.5") + "}"));
+        }
+    }
+
+    @Test
+    void treatsObjectsWithReorderedMembersAsEqual() throws IOException {
+        for (int padding : new int[]{0, 20}) {
+            assertEquals(Set.of("'items': array items at " + padding + " and " + (padding + 2) + " are not unique"),
+                    validate("{\"items\": " + array(padding, """
+                            {"a": 1, "b": {"x": [1, 2], "y": 2}}, {"a": 1}, {"b": {"y": 2.0, "x": [1.0, 2]}, "a": 1}""") + "}"));
+            // arrays keep their order
+            assertEquals(Set.of(), validate("{\"items\": " + array(padding, """
+                    {"a": [1, 2]}, {"a": [2, 1]}, {"a": [1, 2], "b": null}""") + "}"));
+        }
+    }
+
+    @Test
+    void comparesEnumAndConstValuesTheSameWay() throws IOException {
+        assertEquals(Set.of(), validate("""
+                {"kind": 1.0, "version": {"minor": 0.0, "major": 2}}"""));
+        assertEquals(Set.of(), validate("""
+                {"kind": {"b": [2, {"c": null}], "a": 1.0}}"""));
+        assertEquals(Set.of(
+                "'kind': value {\"a\":1,\"b\":[{\"c\":null},2]} is not one of the enum values [1,{\"a\":1,\"b\":[2.0,{\"c\":null}]},\"x\"]",
+                "'version': value {\"major\":2} does not equal const {\"major\":2,\"minor\":0}"), validate("""
+                {"kind": {"a": 1, "b": [{"c": null}, 2]}, "version": {"major": 2}}"""));
+    }
+
+    /**
+     * @return the errors, after checking that the streaming and generated validators report the same
+     */
+    private static Set<String> validate(String document) throws IOException {
+        JsonNode instance = mapper.readTree(document);
+        Set<String> errors = schema.validate(instance);
+        try (JsonParser parser = mapper.createParser(document)) {
+            assertEquals(errors, schema.validate(parser), document);
+        }
+        assertEquals(errors, generated.validate(instance), document);
+        return errors;
+    }
+
+    /**
+     * @param padding how many distinct strings precede the items
+     */
+    private static String array(int padding, String items) {
+        StringBuilder array = new StringBuilder("[");
+        for (int i = 0; i < padding; i++) {
+            array.append("\"padding ").append(i).append("\", ");
+        }
+        return array.append(items).append(']').toString();
+    }
+
+    private static JsonNode json(String text) {
+        try {
+            return mapper.readTree(text);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package kr.nerdlab.json.schema.core.patch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.core.exception.JsonPatchException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonPatchTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void testComparesNumbersByValue() throws IOException {
+        JsonNode document = json("{\"int\": 1, \"long\": 10000000000, \"decimal\": 2.50, \"object\": {\"a\": 1, \"b\": [1.0]}}");
+
+        JsonPatch.parse(json("[{\"op\": \"test\", \"path\": \"/int\", \"value\": 1.0},"
+                + " {\"op\": \"test\", \"path\": \"/long\", \"value\": 1e10},"
+                + " {\"op\": \"test\", \"path\": \"/decimal\", \"value\": 2.5},"
+                + " {\"op\": \"test\", \"path\": \"/object\", \"value\": {\"b\": [1], \"a\": 1.00}}]")).apply(document);
+
+        JsonPatch different = JsonPatch.parse(json("[{\"op\": \"test\", \"path\": \"/int\", \"value\": 1.5}]"));
+        assertThrows(JsonPatchException.class, () -> different.apply(document));
+        JsonPatch text = JsonPatch.parse(json("[{\"op\": \"test\", \"path\": \"/int\", \"value\": \"1\"}]"));
+        assertThrows(JsonPatchException.class, () -> text.apply(document));
+        assertEquals(json("{\"int\": 1, \"long\": 10000000000, \"decimal\": 2.50, \"object\": {\"a\": 1, \"b\": [1.0]}}"),
+                document);
+    }
+
+    @Test
+    void testAppliesTheExamplesOfRfc6902() throws IOException {
+        // A.1 to A.16; A.13, a patch with a duplicate "op" member, is rejected by the JSON parser if at all
+        assertPatched("{\"foo\": \"bar\"}", "[{\"op\": \"add\", \"path\": \"/baz\", \"value\": \"qux\"}]",
+                "{\"baz\": \"qux\", \"foo\": \"bar\"}");
+        assertPatched("{\"foo\": [\"bar\", \"baz\"]}", "[{\"op\": \"add\", \"path\": \"/foo/1\", \"value\": \"qux\"}]",
+                "{\"foo\": [\"bar\", \"qux\", \"baz\"]}");
+        assertPatched("{\"baz\": \"qux\", \"foo\": \"bar\"}", "[{\"op\": \"remove\", \"path\": \"/baz\"}]",
+                "{\"foo\": \"bar\"}");
+        assertPatched("{\"foo\": [\"bar\", \"qux\", \"baz\"]}", "[{\"op\": \"remove\", \"path\": \"/foo/1\"}]",
+                "{\"foo\": [\"bar\", \"baz\"]}");
+        assertPatched("{\"baz\": \"qux\", \"foo\": \"bar\"}", "[{\"op\": \"replace\", \"path\": \"/baz\", \"value\": \"boo\"}]",
+                "{\"baz\": \"boo\", \"foo\": \"bar\"}");
+        assertPatched("{\"foo\": {\"bar\": \"baz\", \"waldo\": \"fred\"}, \"qux\": {\"corge\": \"grault\"}}",
+                "[{\"op\": \"move\", \"from\": \"/foo/waldo\", \"path\": \"/qux/thud\"}]",
+                "{\"foo\": {\"bar\": \"baz\"}, \"qux\": {\"corge\": \"grault\", \"thud\": \"fred\"}}");
+        assertPatched("{\"foo\": [\"all\", \"grass\", \"cows\", \"eat\"]}",
+                "[{\"op\": \"move\", \"from\": \"/foo/1\", \"path\": \"/foo/3\"}]",
+                "{\"foo\": [\"all\", \"cows\", \"eat\", \"grass\"]}");
+        assertPatched("{\"baz\": \"qux\", \"foo\": [\"a\", 2, \"c\"]}",
+                "[{\"op\": \"test\", \"path\": \"/baz\", \"value\": \"qux\"}, {\"op\": \"test\", \"path\": \"/foo/1\", \"value\": 2}]",
+                "{\"baz\": \"qux\", \"foo\": [\"a\", 2, \"c\"]}");
+        assertFails("{\"baz\": \"qux\"}", "[{\"op\": \"test\", \"path\": \"/baz\", \"value\": \"bar\"}]");
+        assertPatched("{\"foo\": \"bar\"}", "[{\"op\": \"add\", \"path\": \"/child\", \"value\": {\"grandchild\": {}}}]",
+                "{\"foo\": \"bar\", \"child\": {\"grandchild\": {}}}");
+        assertPatched("{\"foo\": \"bar\"}", "[{\"op\": \"add\", \"path\": \"/baz\", \"value\": \"qux\", \"xyz\": 123}]",
+                "{\"foo\": \"bar\", \"baz\": \"qux\"}");
+        assertFails("{\"foo\": \"bar\"}", "[{\"op\": \"add\", \"path\": \"/baz/bat\", \"value\": \"qux\"}]");
+        assertPatched("{\"/\": 9, \"~1\": 10}", "[{\"op\": \"test\", \"path\": \"/~01\", \"value\": 10}]",
+                "{\"/\": 9, \"~1\": 10}");
+        assertFails("{\"/\": 9, \"~1\": 10}", "[{\"op\": \"test\", \"path\": \"/~01\", \"value\": \"10\"}]");
+        assertPatched("{\"foo\": [\"bar\"]}", "[{\"op\": \"add\", \"path\": \"/foo/-\", \"value\": [\"abc\", \"def\"]}]",
+                "{\"foo\": [\"bar\", [\"abc\", \"def\"]]}");
+    }
+
+    private static void assertPatched(String document, String patch, String expected) throws IOException {
+        assertEquals(json(expected), JsonPatch.parse(json(patch)).apply(json(document)).document(), patch);
+    }
+
+    private static void assertFails(String document, String patch) throws IOException {
+        JsonPatch parsed = JsonPatch.parse(json(patch));
+        JsonNode target = json(document);
+        assertThrows(JsonPatchException.class, () -> parsed.apply(target), patch);
+    }
+
+    private static JsonNode json(String text) throws IOException {
+        return mapper.readTree(text);
+    }
+}
@@ -0,0 +1,86 @@
+package kr.nerdlab.json.schema.core.pattern;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LinearPatternTest {
+    // inputs avoid '\s' on non-ASCII spaces and '\b' next to non-ASCII letters, where ECMA-262 and java.util.regex
+    // disagree
+    private static final List<String> INPUTS = List.of("", "a", "ab", "abc", "aaa", "aab", "abab", "ba", "cab", "a-b",
+            "hello world", "Hello", "x1", "42", "-12.50", "1e10", "a_b9", "foo.bar", "foo@example.com", "2024-02-29",
+            "12:30:59", "tab\there", "line\nbreak", "\r\nx", "aaaaaaaaaaaaaaaaaaaaaaaaaaaaab", "한글", "ÿ", "a{2}", "[x]", "a|b",
+            "a\n", "ab\r\n", "b\r", "\n", "x\u0085", "😀", "a😀b", "😁x");
+
+    private static final List<String> PATTERNS = List.of(
+            "a", "ab", "^a", "b$", "^ab$", "^$", ".", "^.$", "a.c", "a|b", "^(a|b)+$", "^(?:ab)*$", "(?<name>ab)+",
+            "a*", "a+b", "^a?b", "^a{2}", "^a{2,}$", "^a{1,2}b", "a+?b", "a*?$", "[abc]", "[^abc]", "^[a-z]+$",
+            "[A-Z]", "^[\\w.]+@[\\w.]+$", "\\d", "^\\d+$", "\\D", "\\w+", "\\W", "\\s", "\\S+", "\\bworld", "\\Bb",
+            "^-?\\d+(\\.\\d+)?$", "^\\d{4}-\\d{2}-\\d{2}$", "^[0-2]\\d:[0-5]\\d(:[0-5]\\d)?$", "\\t", "\\n", "[\\r\\n]",
+            "\\x41", "\\u0061b", "\\.", "\\{2\\}", "\\[x\\]", "a\\|b", "[.]", "[a\\-b]", "^(a+)+$", "^(a|aa)+b$",
+            "^(a*)*c$", "[\\u0080-\\uffff]", "[^\\x00-\\x7f]+", "^.{3}$", "(^a|b$)", "a$", "^[😀]$", "^[😀-😂]+x?$",
+            "a😀", "^\\uD83D\\uDE00$", "^\\W$", "^.b?$");
+
+    @Test
+    void agreesWithJavaUtilRegex() {
+        for (String pattern : PATTERNS) {
+            LinearPattern linear = LinearPattern.compile(pattern);
+            assertNotNull(linear, pattern);
+            Pattern reference = Pattern.compile(pattern);
+            for (String input : INPUTS) {
+                assertEquals(reference.matcher(input).find(), linear.find(input), () -> "/" + pattern + "/ on " + input);
+            }
+        }
+    }
+
+    @Test
+    void matchesCodePointsAndLineTerminatorsLikeJavaUtilRegex() {
+        assertTrue(LinearPattern.compile("^.$").find("😀"));
+        assertTrue(LinearPattern.compile("^[😀]$").find("😀"));
+        assertFalse(LinearPattern.compile("^[😀]$").find("\uD83D"));
+        assertTrue(LinearPattern.compile("a$").find("a\n"));
+        assertTrue(LinearPattern.compile("a$").find("a\r\n"));
+        assertFalse(LinearPattern.compile("a$").find("a\n\n"));
+        assertFalse(LinearPattern.compile("\r$").find("\r\n"));
+    }
+
+    @Test
+    void leavesUnsupportedSyntaxToTheFallback() {
+        for (String pattern : List.of("(a)\\1", "a(?=b)", "a(?!b)", "(?<=a)b", "(?<!a)b", "\\p{L}")) {
+            assertNull(LinearPattern.compile(pattern), pattern);
+        }
+
+        PatternCache cache = new PatternCache();
+        PatternMatcher backreference = cache.get("^(a+)\\1$");
+        assertFalse(backreference.isLinear());
+        assertTrue(backreference.find("aaaa"));
+        assertFalse(backreference.find("aaa"));
+        assertTrue(cache.get("^a+$").isLinear());
+        assertEquals(1, cache.stats().linearCount());
+        assertEquals(1, cache.stats().fallbackCount());
+    }
+
+    @Test
+    void stopsBacktrackingAtTheStepBudget() {
+        String input = "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaa!";
+
+        // the backreference needs the backtracking engine, which takes exponential time on this input
+        PatternCache cache = new PatternCache(16, true, 100_000);
+        PatternMatcher backtracking = cache.get("^(a+)+\\1$");
+        assertFalse(backtracking.isLinear());
+        assertThrows(PatternBudgetExceededException.class, () -> backtracking.find(input));
+        assertEquals(1, cache.stats().budgetExceededCount());
+
+        PatternMatcher linear = cache.get("^(a+)+$");
+        assertTrue(linear.isLinear());
+        assertFalse(linear.find(input));
+    }
+}
@@ -0,0 +1,140 @@
+package kr.nerdlab.json.schema.core.pojo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.nerdlab.json.schema.annotation.SchemaDefinition;
+import kr.nerdlab.json.schema.annotation.SchemaProperty;
+import kr.nerdlab.json.schema.core.CompiledSchema;
+import kr.nerdlab.json.schema.core.DefaultJsonSchemaGenerator;
+import kr.nerdlab.json.schema.core.keyword.SchemaNode;
+import kr.nerdlab.json.schema.core.keyword.SchemaNodeCodec;
+import kr.nerdlab.json.schema.core.pattern.PatternCache;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the POJO validator reports what the compiled schema of the generated JSON schema reports for the
+ * serialized object, on the tree, streaming and generated validators and on a decoded schema alike.
+ */
+class PojoValidatorTest {
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final JsonNode source = new DefaultJsonSchemaGenerator(mapper, false).generateNode(Order.class);
+    private static final CompiledSchema schema = CompiledSchema.compile(source);
+
+    @Test
+    void reportsTheErrorsOfTheGeneratedSchema() throws IOException {
+        Order order = new Order(null, "ab", List.of(new Line("x", 0), new Line(null, 2), new Line("x", 0)), 150.0);
+
+        Set<String> errors = PojoValidator.validate(order);
+
+        assertEquals(Set.of(
+                "'#': required property 'id' is missing",
+                "'customer': string length 2 is less than minLength 3",
+                "'customer': string value 'ab' does not match pattern '^[A-Z]'",
+                "'lines': array has 3 items, more than maxItems 2",
+                "'lines': array items at 0 and 2 are not unique",
+                "'lines/0/sku': string value 'x' does not match pattern '^S-'",
+                "'lines/0/quantity': value 0 is less than minimum 1",
+                "'lines/1': required property 'sku' is missing",
+                "'lines/2/sku': string value 'x' does not match pattern '^S-'",
+                "'lines/2/quantity': value 0 is less than minimum 1",
+                "'total': value 150 is greater than maximum 100"), errors);
+        assertEquivalent(order, errors);
+    }
+
+    @Test
+    void reportsTooFewItemsLikeTheGeneratedSchema() throws IOException {
+        Order order = new Order("A-1", "Acme", List.of(), 10.0);
+
+        Set<String> errors = PojoValidator.validate(order);
+
+        assertEquals(Set.of("'lines': array has 0 items, fewer than minItems 1"), errors);
+        assertEquivalent(order, errors);
+    }
+
+    @Test
+    void acceptsWhatTheGeneratedSchemaAccepts() throws IOException {
+        Order order = new Order("A-1", "Acme", List.of(new Line("S-1", 1), new Line("S-2", 5)), 99.5);
+
+        assertTrue(PojoValidator.validate(order).isEmpty());
+        assertEquivalent(order, Set.of());
+    }
+
+    private static void assertEquivalent(Order order, Set<String> errors) throws IOException {
+        // the engines report missing required properties at different points, so only the sets are compared
+        JsonNode tree = mapper.valueToTree(order);
+        assertEquals(errors, new HashSet<>(schema.validate(tree)));
+        try (JsonParser parser = mapper.treeAsTokens(tree)) {
+            assertEquals(errors, new HashSet<>(schema.validate(parser)));
+        }
+        assertEquals(errors, new HashSet<>(CompiledSchema.compileToBytecode(source).validate(tree)));
+        SchemaNode decoded = SchemaNodeCodec.decode(ByteBuffer.wrap(SchemaNodeCodec.encode(schema.getRoot())), new PatternCache());
+        assertEquals(errors, new HashSet<>(CompiledSchema.restore(decoded, mapper.writeValueAsBytes(source)).validate(tree)));
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @SchemaDefinition(title = "Order")
+    static final class Order {
+        @JsonProperty("id")
+        @SchemaProperty(required = true)
+        private final String id;
+
+        @JsonProperty("customer")
+        @SchemaProperty(minLength = 3, maxLength = 20, pattern = "^[A-Z]")
+        private final String customer;
+
+        @JsonProperty("lines")
+        @SchemaProperty(minItems = 1, maxItems = 2, uniqueItems = true)
+        private final List<Line> lines;
+
+        @JsonProperty("total")
+        @SchemaProperty(minimum = 0, maximum = 100)
+        private final double total;
+
+        Order(String id, String customer, List<Line> lines, double total) {
+            this.id = id;
+            this.customer = customer;
+            this.lines = lines;
+            this.total = total;
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @SchemaDefinition(title = "Line")
+    static final class Line {
+        @JsonProperty("sku")
+        @SchemaProperty(required = true, pattern = "^S-")
+        private final String sku;
+
+        @JsonProperty("quantity")
+        @SchemaProperty(minimum = 1)
+        private final int quantity;
+
+        Line(String sku, int quantity) {
+            this.sku = sku;
+            this.quantity = quantity;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Line line && Objects.equals(line.sku, sku) && line.quantity == quantity;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sku, quantity);
+        }
+    }
+}
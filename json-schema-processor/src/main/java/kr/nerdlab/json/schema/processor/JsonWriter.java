@@ -0,0 +1,90 @@
+package kr.nerdlab.json.schema.processor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal indented JSON serializer for the map/list trees built by {@link SchemaDefinitionProcessor},
+ * so that the processor needs nothing but the JDK on the compiler's classpath.
+ */
+final class JsonWriter {
+    private static final String INDENT = "  ";
+
+    private JsonWriter() {
+    }
+
+    static String write(Object value) {
+        StringBuilder out = new StringBuilder();
+        write(value, out, 0);
+        return out.append('\n').toString();
+    }
+
+    private static void write(Object value, StringBuilder out, int depth) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof String s) {
+            writeString(s, out);
+        } else if (value instanceof Boolean || value instanceof Long || value instanceof Integer) {
+            out.append(value);
+        } else if (value instanceof Double d) {
+            out.append(Double.toString(d));
+        } else if (value instanceof Map<?, ?> map) {
+            if (map.isEmpty()) {
+                out.append("{ }");
+                return;
+            }
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                out.append(first ? "\n" : ",\n");
+                first = false;
+                indent(out, depth + 1);
+                writeString(entry.getKey().toString(), out);
+                out.append(" : ");
+                write(entry.getValue(), out, depth + 1);
+            }
+            out.append('\n');
+            indent(out, depth);
+            out.append('}');
+        } else if (value instanceof List<?> list) {
+            out.append("[ ");
+            for (int i = 0; i < list.size(); i++) {
+                if (i > 0) out.append(", ");
+                write(list.get(i), out, depth + 1);
+            }
+            out.append(list.isEmpty() ? "]" : " ]");
+        } else {
+            throw new IllegalArgumentException("Unsupported JSON value: " + value.getClass());
+        }
+    }
+
+    private static void writeString(String value, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                case '\b' -> out.append("\\b");
+                case '\f' -> out.append("\\f");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    private static void indent(StringBuilder out, int depth) {
+        for (int i = 0; i < depth; i++) {
+            out.append(INDENT);
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package kr.nerdlab.json.schema.processor;
+
+import kr.nerdlab.json.schema.annotation.PrecomputedSchemaProvider;
+import kr.nerdlab.json.schema.annotation.SchemaDefinition;
+import kr.nerdlab.json.schema.annotation.SchemaProperty;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Generates JSON Schemas for {@link SchemaDefinition} classes at compile time.
+ * <p>
+ * For every annotated class, the schema is written to the class output as
+ * {@code META-INF/json-schema/<binary class name>.json}, following the same rules as the runtime generator
+ * ({@link SchemaProperty}, Jackson's {@code @JsonProperty} and {@code @JsonDeserialize(as/contentAs)}).
+ * A registry class implementing {@link PrecomputedSchemaProvider} is generated alongside and registered as a service.
+ * <p>
+ * The registry class name defaults to {@code JsonSchemaRegistry} in the package of the first annotated class
+ * and can be set with {@code -Ajsonschema.registry=<fully qualified name>}.
+ */
+@SupportedAnnotationTypes("kr.nerdlab.json.schema.annotation.SchemaDefinition")
+@SupportedOptions(SchemaDefinitionProcessor.REGISTRY_OPTION)
+public class SchemaDefinitionProcessor extends AbstractProcessor {
+    static final String REGISTRY_OPTION = "jsonschema.registry";
+
+    private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+    private static final String JSON_DESERIALIZE = "com.fasterxml.jackson.databind.annotation.JsonDeserialize";
+    private static final Set<String> INTEGRAL_TYPES = Set.of(
+            "java.lang.Byte", "java.lang.Short", "java.lang.Integer", "java.lang.Long", "java.math.BigInteger");
+
+    private final List<String> registries = new ArrayList<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Map<String, String> resources = new TreeMap<>();
+        List<TypeElement> roots = new ArrayList<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(SchemaDefinition.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@SchemaDefinition is only supported on classes");
+                continue;
+            }
+            TypeElement root = (TypeElement) element;
+            String binaryName = elements().getBinaryName(root).toString();
+            String resource = PrecomputedSchemaProvider.resourceName(binaryName);
+            try {
+                writeResource(resource, JsonWriter.write(buildSchema(root)), root);
+                resources.put(binaryName, resource);
+                roots.add(root);
+            } catch (IOException e) {
+                error(root, "Failed to write JSON Schema resource " + resource + ": " + e.getMessage());
+            }
+        }
+
+        if (!resources.isEmpty()) {
+            writeRegistry(resources, roots);
+        }
+        if (roundEnv.processingOver() && !registries.isEmpty()) {
+            writeServiceFile();
+        }
+        return false;
+    }
+
+    // --- Schema ---
+
+    private Map<String, Object> buildSchema(TypeElement root) {
+        SchemaDefinition schemaDefinition = root.getAnnotation(SchemaDefinition.class);
+
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("$schema", schemaDefinition.version().getUrl());
+        schema.put("title", schemaDefinition.title());
+        if (!schemaDefinition.description().isEmpty()) {
+            schema.put("description", schemaDefinition.description());
+        }
+        schema.put("type", "object");
+        schema.put("additionalProperties", schemaDefinition.additionalProperties());
+        Map<String, Object> definitions = new LinkedHashMap<>();
+        schema.put("definitions", definitions);
+
+        Set<String> processed = new HashSet<>();
+        processed.add(root.getQualifiedName().toString());
+        writeProperties(root, schema, definitions, processed);
+        return schema;
+    }
+
+    private void writeDefinition(TypeElement type, Map<String, Object> definitions, Set<String> processed) {
+        if (!processed.add(type.getQualifiedName().toString())) {
+            return;
+        }
+        Map<String, Object> definition = new LinkedHashMap<>();
+        definition.put("type", "object");
+        definition.put("title", type.getSimpleName().toString());
+        writeProperties(type, definition, definitions, processed);
+        definitions.put(type.getSimpleName().toString(), definition);
+    }
+
+    private void writeProperties(TypeElement type, Map<String, Object> target, Map<String, Object> definitions, Set<String> processed) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        List<String> required = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            SchemaProperty schemaProperty = field.getAnnotation(SchemaProperty.class);
+            if (schemaProperty == null) {
+                continue;
+            }
+            String name = propertyName(field);
+            properties.put(name, buildPropertyNode(field, schemaProperty, definitions, processed));
+            if (schemaProperty.required()) {
+                required.add(name);
+            }
+        }
+        target.put("properties", properties);
+        if (!required.isEmpty()) {
+            target.put("required", required);
+        }
+    }
+
+    private Map<String, Object> buildPropertyNode(VariableElement field, SchemaProperty schemaProperty,
+                                                  Map<String, Object> definitions, Set<String> processed) {
+        Map<String, Object> propertyNode = new LinkedHashMap<>();
+
+        // @formatter:off
+        if (!schemaProperty.description().isEmpty()) propertyNode.put("description", schemaProperty.description());
+        if (!schemaProperty.comment().isEmpty()) propertyNode.put("$comment", schemaProperty.comment());
+        if (!schemaProperty.defaultValue().isEmpty()) propertyNode.put("default", schemaProperty.defaultValue());
+        if (schemaProperty.examples().length != 0) propertyNode.put("examples", List.of(schemaProperty.examples()));
+        if (schemaProperty.readOnly()) propertyNode.put("readOnly", true);
+        if (schemaProperty.writeOnly()) propertyNode.put("writeOnly", true);
+        if (schemaProperty.deprecated()) propertyNode.put("deprecated", true);
+        if (!schemaProperty.pattern().isEmpty()) propertyNode.put("pattern", schemaProperty.pattern());
+        if (!schemaProperty.format().isEmpty()) propertyNode.put("format", schemaProperty.format());
+        if (schemaProperty.minLength() >= 0) propertyNode.put("minLength", schemaProperty.minLength());
+        if (schemaProperty.maxLength() >= 0) propertyNode.put("maxLength", schemaProperty.maxLength());
+        if (!schemaProperty.contentEncoding().isEmpty()) propertyNode.put("contentEncoding", schemaProperty.contentEncoding());
+        if (!schemaProperty.contentMediaType().isEmpty()) propertyNode.put("contentMediaType", schemaProperty.contentMediaType());
+        if (!Double.isNaN(schemaProperty.minimum())) propertyNode.put("minimum", schemaProperty.minimum());
+        if (!Double.isNaN(schemaProperty.maximum())) propertyNode.put("maximum", schemaProperty.maximum());
+        if (!Double.isNaN(schemaProperty.exclusiveMinimum())) propertyNode.put("exclusiveMinimum", schemaProperty.exclusiveMinimum());
+        if (!Double.isNaN(schemaProperty.exclusiveMaximum())) propertyNode.put("exclusiveMaximum", schemaProperty.exclusiveMaximum());
+        if (!Double.isNaN(schemaProperty.multipleOf())) propertyNode.put("multipleOf", schemaProperty.multipleOf());
+        if (schemaProperty.minItems() >= 0) propertyNode.put("minItems", schemaProperty.minItems());
+        if (schemaProperty.maxItems() >= 0) propertyNode.put("maxItems", schemaProperty.maxItems());
+        if (schemaProperty.uniqueItems()) propertyNode.put("uniqueItems", true);
+        // @formatter:on
+
+        TypeMirror fieldType = deserializeAs(field, "as");
+        if (fieldType == null) {
+            fieldType = field.asType();
+        }
+
+        String kind = kindOf(fieldType);
+        switch (kind) {
+            case "array" -> {
+                propertyNode.put("type", "array");
+                TypeMirror itemType = deserializeAs(field, "contentAs");
+                if (itemType == null) {
+                    itemType = itemType(fieldType);
+                }
+                Map<String, Object> items = new LinkedHashMap<>();
+                String itemKind = kindOf(itemType);
+                if (itemKind == null) {
+                    TypeElement itemElement = (TypeElement) types().asElement(itemType);
+                    items.put("$ref", "#/definitions/" + itemElement.getSimpleName());
+                    writeDefinition(itemElement, definitions, processed);
+                } else {
+                    items.put("type", "map".equals(itemKind) ? "object" : itemKind);
+                }
+                propertyNode.put("items", items);
+            }
+            case "map" -> propertyNode.put("type", "object");
+            case null -> {
+                TypeElement typeElement = (TypeElement) types().asElement(fieldType);
+                propertyNode.put("$ref", "#/definitions/" + typeElement.getSimpleName());
+                writeDefinition(typeElement, definitions, processed);
+            }
+            default -> propertyNode.put("type", kind);
+        }
+        return propertyNode;
+    }
+
+    /**
+     * Mirrors {@code PropertyKind.of(Class)} of the runtime generator.
+     *
+     * @return the schema type, {@code "map"} for maps, or {@code null} for classes emitted as a definition reference
+     */
+    private String kindOf(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "boolean";
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+                return "integer";
+            case FLOAT:
+            case DOUBLE:
+                return "number";
+            case CHAR:
+                return "string";
+            case ARRAY:
+                return "array";
+            case DECLARED:
+                break;
+            default:
+                return "string";
+        }
+
+        TypeElement element = (TypeElement) types().asElement(type);
+        String name = element.getQualifiedName().toString();
+        TypeMirror erased = types().erasure(type);
+        if (isAssignable(erased, "java.util.List")) return "array";
+        if (isAssignable(erased, "java.util.Map")) return "map";
+        if (INTEGRAL_TYPES.contains(name)) return "integer";
+        if (isAssignable(erased, "java.lang.Number")) return "number";
+        if (name.equals("java.lang.Boolean")) return "boolean";
+        if (element.getKind() == ElementKind.ENUM || isAssignable(erased, "java.lang.CharSequence") || name.startsWith("java.")) {
+            return "string";
+        }
+        return null;
+    }
+
+    private TypeMirror itemType(TypeMirror listType) {
+        if (listType instanceof ArrayType arrayType) {
+            return arrayType.getComponentType();
+        }
+        if (listType instanceof DeclaredType declared && !declared.getTypeArguments().isEmpty()) {
+            TypeMirror argument = declared.getTypeArguments().get(0);
+            if (argument.getKind() == TypeKind.DECLARED) {
+                return types().erasure(argument);
+            }
+        }
+        return elements().getTypeElement("java.lang.Object").asType();
+    }
+
+    private boolean isAssignable(TypeMirror type, String className) {
+        TypeElement target = elements().getTypeElement(className);
+        return target != null && types().isAssignable(type, types().erasure(target.asType()));
+    }
+
+    /**
+     * @return the {@code @JsonDeserialize} class member, or {@code null} if absent or {@code Void}
+     */
+    private TypeMirror deserializeAs(VariableElement field, String member) {
+        AnnotationValue value = annotationValue(field, JSON_DESERIALIZE, member);
+        if (value == null || !(value.getValue() instanceof TypeMirror type)) {
+            return null;
+        }
+        Element element = types().asElement(type);
+        if (element instanceof TypeElement typeElement && typeElement.getQualifiedName().contentEquals("java.lang.Void")) {
+            return null;
+        }
+        return type;
+    }
+
+    private String propertyName(VariableElement field) {
+        AnnotationValue value = annotationValue(field, JSON_PROPERTY, "value");
+        if (value != null && !value.getValue().toString().isEmpty()) {
+            return value.getValue().toString();
+        }
+        return toDashCase(field.getSimpleName().toString());
+    }
+
+    private static AnnotationValue annotationValue(Element element, String annotationType, String member) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+            if (!type.getQualifiedName().contentEquals(annotationType)) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals(member)) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * camelCase to lower-dash-case, as the runtime generator does.
+     */
+    static String toDashCase(String name) {
+        StringBuilder result = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c) && i > 0 && name.charAt(i - 1) >= 'a' && name.charAt(i - 1) <= 'z') {
+                result.append('-');
+            }
+            result.append(Character.toLowerCase(c));
+        }
+        return result.toString();
+    }
+
+    // --- Output ---
+
+    private void writeResource(String resource, String content, Element origin) throws IOException {
+        FileObject file = filer().createResource(StandardLocation.CLASS_OUTPUT, "", resource, origin);
+        try (Writer writer = file.openWriter()) {
+            writer.write(content);
+        }
+    }
+
+    private void writeRegistry(Map<String, String> resources, List<TypeElement> roots) {
+        String registry = registryName(roots.get(0));
+        int lastDot = registry.lastIndexOf('.');
+        String packageName = lastDot < 0 ? "" : registry.substring(0, lastDot);
+        String simpleName = registry.substring(lastDot + 1);
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import java.util.Map;\n\n");
+        source.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+        source.append("public final class ").append(simpleName)
+                .append(" implements kr.nerdlab.json.schema.annotation.PrecomputedSchemaProvider {\n");
+        source.append("    private static final Map<String, String> RESOURCES = Map.ofEntries(\n");
+        int i = 0;
+        for (Map.Entry<String, String> entry : resources.entrySet()) {
+            source.append("            Map.entry(\"").append(entry.getKey()).append("\", \"").append(entry.getValue()).append("\")")
+                    .append(++i < resources.size() ? ",\n" : "\n");
+        }
+        source.append("    );\n\n");
+        source.append("    @Override\n");
+        source.append("    public Map<String, String> schemaResources() {\n");
+        source.append("        return RESOURCES;\n");
+        source.append("    }\n");
+        source.append("}\n");
+
+        try {
+            JavaFileObject file = filer().createSourceFile(registry, roots.toArray(new Element[0]));
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+            registries.add(registry);
+        } catch (IOException e) {
+            error(roots.get(0), "Failed to write JSON Schema registry " + registry + ": " + e.getMessage());
+        }
+    }
+
+    private String registryName(TypeElement firstRoot) {
+        String configured = processingEnv.getOptions().get(REGISTRY_OPTION);
+        String name;
+        if (configured != null && !configured.isBlank()) {
+            name = configured.trim();
+        } else {
+            PackageElement pkg = elements().getPackageOf(firstRoot);
+            name = pkg.isUnnamed() ? "JsonSchemaRegistry" : pkg.getQualifiedName() + ".JsonSchemaRegistry";
+        }
+        // later rounds get a numbered registry of their own
+        return registries.isEmpty() ? name : name + (registries.size() + 1);
+    }
+
+    private void writeServiceFile() {
+        String resource = "META-INF/services/" + PrecomputedSchemaProvider.class.getName();
+        try {
+            FileObject file = filer().createResource(StandardLocation.CLASS_OUTPUT, "", resource);
+            try (Writer writer = file.openWriter()) {
+                for (String registry : registries) {
+                    writer.write(registry);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            messager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + resource + ": " + e.getMessage());
+        }
+    }
+
+    private void error(Element element, String message) {
+        messager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private Elements elements() {
+        return processingEnv.getElementUtils();
+    }
+
+    private Types types() {
+        return processingEnv.getTypeUtils();
+    }
+
+    private Filer filer() {
+        return processingEnv.getFiler();
+    }
+
+    private Messager messager() {
+        return processingEnv.getMessager();
+    }
+}